@@ -29,6 +29,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.handler.MoonHandler;
 import org.openhab.binding.astro.internal.handler.SunHandler;
@@ -51,6 +52,7 @@ public class AstroHandlerFactory extends BaseThingHandlerFactory {
     private static final Map<String, AstroThingHandler> ASTRO_THING_HANDLERS = new HashMap<>();
     private final CronScheduler scheduler;
     private final TimeZoneProvider timeZoneProvider;
+    private final EphemerisCache ephemerisCache = new EphemerisCache();
 
     @Activate
     public AstroHandlerFactory(final @Reference CronScheduler scheduler,
@@ -69,9 +71,9 @@ public class AstroHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         AstroThingHandler thingHandler = null;
         if (thingTypeUID.equals(THING_TYPE_SUN)) {
-            thingHandler = new SunHandler(thing, scheduler, timeZoneProvider);
+            thingHandler = new SunHandler(thing, scheduler, timeZoneProvider, ephemerisCache);
         } else if (thingTypeUID.equals(THING_TYPE_MOON)) {
-            thingHandler = new MoonHandler(thing, scheduler, timeZoneProvider);
+            thingHandler = new MoonHandler(thing, scheduler, timeZoneProvider, ephemerisCache);
         }
         if (thingHandler != null) {
             ASTRO_THING_HANDLERS.put(thing.getUID().toString(), thingHandler);
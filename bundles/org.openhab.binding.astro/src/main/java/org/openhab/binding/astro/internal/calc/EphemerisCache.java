@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Planet;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * Shares the Sun and Moon calculations between all things of the binding. Things at the same location get the same
+ * {@link Planet} instance, which is calculated only once per positional interval. The daily event tables of the Sun
+ * are kept for today and the next days per location.
+ *
+ * The returned {@link Planet} instances are shared and must not be modified.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EphemerisCache {
+
+    /** Number of days after today for which the daily Sun event tables are kept */
+    private static final int DAYS_AHEAD = 3;
+
+    private final SunCalc sunCalc = new SunCalc();
+    private final MoonCalc moonCalc = new MoonCalc();
+
+    private final Map<Location, PositionalEntry> positionalEntries = new ConcurrentHashMap<>();
+    private final Map<Location, Map<ZonedDateTime, Sun>> sunDays = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the Sun data including the position for the current time. The data is recalculated when it was not
+     * calculated within the current interval yet. Intervals are aligned to the epoch, so things with the same location
+     * and interval share the calculation.
+     *
+     * @param interval positional interval in seconds
+     */
+    public Sun getSun(double latitude, double longitude, double altitude, boolean useMeteorologicalSeason,
+            int interval) {
+        return (Sun) getPositional(new Location(true, latitude, longitude, altitude, useMeteorologicalSeason),
+                interval, () -> {
+                    Calendar now = Calendar.getInstance();
+                    Sun sun = sunCalc.getSunInfo(now, latitude, longitude, altitude, useMeteorologicalSeason);
+                    sunCalc.setPositionalInfo(now, latitude, longitude, altitude, sun);
+                    return sun;
+                });
+    }
+
+    /**
+     * Returns the Moon data including the position for the current time, see
+     * {@link #getSun(double, double, double, boolean, int)}.
+     *
+     * @param interval positional interval in seconds
+     */
+    public Moon getMoon(double latitude, double longitude, int interval) {
+        return (Moon) getPositional(new Location(false, latitude, longitude, 0, false), interval, () -> {
+            Calendar now = Calendar.getInstance();
+            Moon moon = moonCalc.getMoonInfo(now, latitude, longitude);
+            moonCalc.setPositionalInfo(now, latitude, longitude, moon);
+            return moon;
+        });
+    }
+
+    /**
+     * Returns the Sun data of the day of the given date. The positional data of the returned instance is not set.
+     */
+    public Sun getSunDay(double latitude, double longitude, double altitude, boolean useMeteorologicalSeason,
+            ZonedDateTime date) {
+        ZonedDateTime day = date.truncatedTo(ChronoUnit.DAYS);
+        ZonedDateTime today = ZonedDateTime.now(date.getZone()).truncatedTo(ChronoUnit.DAYS);
+        if (day.isBefore(today) || day.isAfter(today.plusDays(DAYS_AHEAD))) {
+            return sunCalc.getSunInfo(GregorianCalendar.from(day), latitude, longitude, altitude,
+                    useMeteorologicalSeason);
+        }
+
+        Map<ZonedDateTime, Sun> days = sunDays.computeIfAbsent(
+                new Location(true, latitude, longitude, altitude, useMeteorologicalSeason),
+                k -> new ConcurrentHashMap<>());
+        days.keySet().removeIf(d -> d.isBefore(today.withZoneSameInstant(d.getZone()).truncatedTo(ChronoUnit.DAYS)));
+        return days.computeIfAbsent(day, d -> sunCalc.getSunInfo(GregorianCalendar.from(d), latitude, longitude,
+                altitude, useMeteorologicalSeason));
+    }
+
+    /**
+     * Calculates the Sun position at the given date.
+     */
+    public Position getSunPosition(double latitude, double longitude, double altitude, ZonedDateTime date) {
+        // the position does not depend on the daily data
+        Sun sun = new Sun();
+        sunCalc.setPositionalInfo(GregorianCalendar.from(date), latitude, longitude, altitude, sun);
+        return sun.getPosition();
+    }
+
+    /**
+     * Calculates the Moon position at the given date.
+     */
+    public Position getMoonPosition(double latitude, double longitude, ZonedDateTime date) {
+        Moon moon = new Moon();
+        moonCalc.setPosition(GregorianCalendar.from(date), latitude, longitude, moon);
+        return moon.getPosition();
+    }
+
+    private Planet getPositional(Location location, int interval, Supplier<Planet> calculation) {
+        PositionalEntry result = positionalEntries.compute(location, (k, entry) -> {
+            long now = System.currentTimeMillis();
+            long intervalMillis = Math.max(interval, 1) * 1000L;
+            long intervalStart = now - now % intervalMillis;
+            if (entry != null && entry.calculated >= intervalStart
+                    && entry.day.equals(ZonedDateTime.now().truncatedTo(ChronoUnit.DAYS))) {
+                return entry;
+            }
+            return new PositionalEntry(calculation.get());
+        });
+        return result.planet;
+    }
+
+    private static class PositionalEntry {
+        private final Planet planet;
+        private final long calculated = System.currentTimeMillis();
+        private final ZonedDateTime day = ZonedDateTime.now().truncatedTo(ChronoUnit.DAYS);
+
+        private PositionalEntry(Planet planet) {
+            this.planet = planet;
+        }
+    }
+
+    private static class Location {
+        private final boolean sun;
+        private final double latitude;
+        private final double longitude;
+        private final double altitude;
+        private final boolean useMeteorologicalSeason;
+
+        private Location(boolean sun, double latitude, double longitude, double altitude,
+                boolean useMeteorologicalSeason) {
+            this.sun = sun;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitude = altitude;
+            this.useMeteorologicalSeason = useMeteorologicalSeason;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Location other = (Location) obj;
+            return sun == other.sun && Double.compare(latitude, other.latitude) == 0
+                    && Double.compare(longitude, other.longitude) == 0
+                    && Double.compare(altitude, other.altitude) == 0
+                    && useMeteorologicalSeason == other.useMeteorologicalSeason;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sun, latitude, longitude, altitude, useMeteorologicalSeason);
+        }
+    }
+}
@@ -116,6 +116,13 @@ public class MoonCalc {
         distance.setDistance(getDistance(julianDate));
     }
 
+    /**
+     * Calculates the moon azimuth, elevation and zodiac only, without the data that depends on the moon phases.
+     */
+    public void setPosition(Calendar calendar, double latitude, double longitude, Moon moon) {
+        setAzimuthElevationZodiac(DateTimeUtils.dateToJulianDate(calendar), latitude, longitude, moon);
+    }
+
     /**
      * Calculates the age and the current phase.
      */
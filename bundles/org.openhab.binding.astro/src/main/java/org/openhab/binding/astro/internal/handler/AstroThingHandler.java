@@ -205,10 +205,14 @@ public abstract class AstroThingHandler extends BaseThingHandler {
 
                 // Repeat positional job every configured seconds
                 // Use scheduleAtFixedRate to avoid time drift associated with scheduleWithFixedDelay
+                // The daily job already published the positional data, the positional job starts at the next
+                // multiple of the interval, so things at the same location share the calculation
                 if (isPositionalChannelLinked()) {
                     Job positionalJob = new PositionalJob(thingUID);
-                    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(positionalJob, 0, thingConfig.interval,
-                            TimeUnit.SECONDS);
+                    long intervalMillis = thingConfig.interval * 1000L;
+                    long initialDelay = intervalMillis - System.currentTimeMillis() % intervalMillis;
+                    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(positionalJob, initialDelay,
+                            intervalMillis, TimeUnit.MILLISECONDS);
                     scheduledFutures.add(future);
                     logger.info("Scheduled {} every {} seconds", positionalJob, thingConfig.interval);
                 }
@@ -16,8 +16,6 @@ import static org.openhab.binding.astro.internal.AstroBindingConstants.THING_TYP
 
 import java.time.ZonedDateTime;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,7 +25,7 @@ import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.scheduler.CronScheduler;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
-import org.openhab.binding.astro.internal.calc.MoonCalc;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.job.DailyJobMoon;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Moon;
@@ -47,23 +45,24 @@ public class MoonHandler extends AstroThingHandler {
 
     private final String[] positionalChannelIds = new String[] { "phase#name", "phase#age", "phase#agePercent",
             "phase#ageDegree", "phase#illumination", "position#azimuth", "position#elevation", "zodiac#sign" };
-    private final MoonCalc moonCalc = new MoonCalc();
+    private final EphemerisCache ephemerisCache;
     private @Nullable Moon moon;
 
     /**
      * Constructor
      */
-    public MoonHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider) {
+    public MoonHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
+            final EphemerisCache ephemerisCache) {
         super(thing, scheduler, timeZoneProvider);
+        this.ephemerisCache = ephemerisCache;
     }
 
     @Override
     public void publishPositionalInfo() {
-        moon = getMoonAt(ZonedDateTime.now());
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
-        moonCalc.setPositionalInfo(Calendar.getInstance(), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, moon);
+        moon = ephemerisCache.getMoon(latitude != null ? latitude : 0, longitude != null ? longitude : 0,
+                thingConfig.interval);
         publishPlanet();
     }
 
@@ -88,21 +87,12 @@ public class MoonHandler extends AstroThingHandler {
         return new DailyJobMoon(thing.getUID().getAsString(), this);
     }
 
-    private Moon getMoonAt(ZonedDateTime date) {
-        Double latitude = thingConfig.latitude;
-        Double longitude = thingConfig.longitude;
-        return moonCalc.getMoonInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0);
-    }
-
     @Override
     protected @Nullable Position getPositionAt(ZonedDateTime date) {
-        Moon localMoon = getMoonAt(date);
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
-        moonCalc.setPositionalInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, localMoon);
-        return localMoon.getPosition();
+        return ephemerisCache.getMoonPosition(latitude != null ? latitude : 0, longitude != null ? longitude : 0,
+                date);
     }
 
 }
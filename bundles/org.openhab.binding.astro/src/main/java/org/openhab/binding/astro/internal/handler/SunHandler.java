@@ -17,7 +17,6 @@ import static org.openhab.binding.astro.internal.AstroBindingConstants.THING_TYP
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,7 +26,7 @@ import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.scheduler.CronScheduler;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
-import org.openhab.binding.astro.internal.calc.SunCalc;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.job.DailyJobSun;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Planet;
@@ -49,24 +48,25 @@ public class SunHandler extends AstroThingHandler {
 
     private final String[] positionalChannelIds = new String[] { "position#azimuth", "position#elevation",
             "radiation#direct", "radiation#diffuse", "radiation#total" };
-    private final SunCalc sunCalc = new SunCalc();
+    private final EphemerisCache ephemerisCache;
     private @Nullable Sun sun;
 
     /**
      * Constructor
      */
-    public SunHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider) {
+    public SunHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
+            final EphemerisCache ephemerisCache) {
         super(thing, scheduler, timeZoneProvider);
+        this.ephemerisCache = ephemerisCache;
     }
 
     @Override
     public void publishPositionalInfo() {
-        sun = getSunAt(ZonedDateTime.now());
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
         Double altitude = thingConfig.altitude;
-        sunCalc.setPositionalInfo(Calendar.getInstance(), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, altitude != null ? altitude : 0, sun);
+        sun = ephemerisCache.getSun(latitude != null ? latitude : 0, longitude != null ? longitude : 0,
+                altitude != null ? altitude : 0, thingConfig.useMeteorologicalSeason, thingConfig.interval);
         publishPlanet();
     }
 
@@ -75,6 +75,19 @@ public class SunHandler extends AstroThingHandler {
         return sun;
     }
 
+    /**
+     * Sets the name of the current sun phase. The sun data is shared with the other things at the same location, so
+     * it is copied before it is changed.
+     */
+    public void setPhaseName(SunPhaseName phaseName) {
+        Sun sun = this.sun;
+        if (sun != null) {
+            Sun copy = new Sun(sun);
+            copy.getPhase().setName(phaseName);
+            this.sun = copy;
+        }
+    }
+
     @Override
     public void dispose() {
         super.dispose();
@@ -95,9 +108,8 @@ public class SunHandler extends AstroThingHandler {
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
         Double altitude = thingConfig.altitude;
-        return sunCalc.getSunInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, altitude != null ? altitude : 0,
-                thingConfig.useMeteorologicalSeason);
+        return ephemerisCache.getSunDay(latitude != null ? latitude : 0, longitude != null ? longitude : 0,
+                altitude != null ? altitude : 0, thingConfig.useMeteorologicalSeason, date);
     }
 
     public @Nullable ZonedDateTime getEventTime(SunPhaseName sunPhase, ZonedDateTime date, boolean begin) {
@@ -108,13 +120,11 @@ public class SunHandler extends AstroThingHandler {
 
     @Override
     protected @Nullable Position getPositionAt(ZonedDateTime date) {
-        Sun localSun = getSunAt(date);
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
         Double altitude = thingConfig.altitude;
-        sunCalc.setPositionalInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, altitude != null ? altitude : 0, localSun);
-        return localSun.getPosition();
+        return ephemerisCache.getSunPosition(latitude != null ? latitude : 0, longitude != null ? longitude : 0,
+                altitude != null ? altitude : 0, date);
     }
 
 }
@@ -18,8 +18,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.openhab.binding.astro.internal.AstroHandlerFactory;
 import org.openhab.binding.astro.internal.handler.AstroThingHandler;
-import org.openhab.binding.astro.internal.model.Planet;
-import org.openhab.binding.astro.internal.model.Sun;
+import org.openhab.binding.astro.internal.handler.SunHandler;
 import org.openhab.binding.astro.internal.model.SunPhaseName;
 
 /**
@@ -52,10 +51,8 @@ public final class SunPhaseJob extends AbstractJob {
         if (astroHandler != null) {
             Channel phaseNameChannel = astroHandler.getThing().getChannel(CHANNEL_ID_SUN_PHASE_NAME);
             if (phaseNameChannel != null) {
-                Planet planet = astroHandler.getPlanet();
-                if (planet != null && planet instanceof Sun) {
-                    final Sun typedSun = (Sun) planet;
-                    typedSun.getPhase().setName(sunPhaseName);
+                if (astroHandler instanceof SunHandler) {
+                    ((SunHandler) astroHandler).setPhaseName(sunPhaseName);
                     astroHandler.publishChannelIfLinked(phaseNameChannel.getUID());
                 }
             } else {
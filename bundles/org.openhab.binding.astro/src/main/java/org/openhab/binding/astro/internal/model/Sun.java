@@ -39,6 +39,24 @@ public class Sun extends RiseSet implements Planet {
 
     private SunPhase phase = new SunPhase();
 
+    public Sun() {
+    }
+
+    /**
+     * Creates a copy of the given sun data with its own phase. All other data is shared with the given instance.
+     */
+    public Sun(Sun sun) {
+        ranges = sun.ranges;
+        super.setRise(sun.getRise());
+        super.setSet(sun.getSet());
+        position = sun.position;
+        zodiac = sun.zodiac;
+        season = sun.season;
+        eclipse = sun.eclipse;
+        radiation = sun.radiation;
+        phase.setName(sun.phase.getName());
+    }
+
     /**
      * Returns the astro dawn range.
      */
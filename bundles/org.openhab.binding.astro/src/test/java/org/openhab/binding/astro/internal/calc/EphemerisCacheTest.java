@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.Assert.*;
+
+import java.time.ZonedDateTime;
+import java.util.GregorianCalendar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.model.Sun;
+import org.openhab.binding.astro.internal.model.SunPhaseName;
+
+/**
+ * Tests that the {@link EphemerisCache} shares the calculations per location and returns the same data as the
+ * calculations themselves.
+ *
+ * @author agent - Initial contribution
+ */
+public class EphemerisCacheTest {
+
+    private static final double AMSTERDAM_LATITUDE = 52.367607;
+    private static final double AMSTERDAM_LONGITUDE = 4.8978293;
+    private static final double AMSTERDAM_ALTITUDE = 0.0;
+    private static final double BERLIN_LATITUDE = 52.520008;
+    private static final double BERLIN_LONGITUDE = 13.404954;
+    private static final int DAILY_INTERVAL = 86400;
+
+    private EphemerisCache cache;
+
+    @Before
+    public void init() {
+        cache = new EphemerisCache();
+    }
+
+    @Test
+    public void testPositionalDataIsSharedPerLocation() {
+        Sun sun = cache.getSun(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false, DAILY_INTERVAL);
+
+        assertSame(sun,
+                cache.getSun(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false, DAILY_INTERVAL));
+        assertNotSame(sun, cache.getSun(BERLIN_LATITUDE, BERLIN_LONGITUDE, AMSTERDAM_ALTITUDE, false, DAILY_INTERVAL));
+        assertNotSame(sun,
+                cache.getSun(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, true, DAILY_INTERVAL));
+        assertNotNull(sun.getPosition().getAzimuth());
+
+        Moon moon = cache.getMoon(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, DAILY_INTERVAL);
+        assertSame(moon, cache.getMoon(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, DAILY_INTERVAL));
+    }
+
+    @Test
+    public void testSunDayIsSharedPerDay() {
+        ZonedDateTime now = ZonedDateTime.now();
+        Sun today = cache.getSunDay(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false, now);
+
+        assertSame(today, cache.getSunDay(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false,
+                now.withHour(23).withMinute(0)));
+        Sun tomorrow = cache.getSunDay(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false,
+                now.plusDays(1));
+        assertNotSame(today, tomorrow);
+
+        Sun expected = new SunCalc().getSunInfo(GregorianCalendar.from(now.plusDays(1)), AMSTERDAM_LATITUDE,
+                AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false);
+        assertEquals(expected.getAllRanges().get(SunPhaseName.SUN_RISE).getStart().getTimeInMillis(),
+                tomorrow.getAllRanges().get(SunPhaseName.SUN_RISE).getStart().getTimeInMillis());
+    }
+
+    @Test
+    public void testChangedPhaseDoesNotChangeCachedSun() {
+        Sun sun = cache.getSun(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, false, DAILY_INTERVAL);
+        SunPhaseName phaseName = sun.getPhase().getName();
+
+        Sun copy = new Sun(sun);
+        copy.getPhase().setName(phaseName == SunPhaseName.NOON ? SunPhaseName.NIGHT : SunPhaseName.NOON);
+
+        assertEquals(phaseName, sun.getPhase().getName());
+        assertNotEquals(phaseName, copy.getPhase().getName());
+        assertSame(sun.getPosition(), copy.getPosition());
+        assertSame(sun.getRise(), copy.getRise());
+    }
+
+    @Test
+    public void testPositionMatchesCalculation() {
+        ZonedDateTime date = ZonedDateTime.now().minusHours(3);
+        Sun sun = new Sun();
+        new SunCalc().setPositionalInfo(GregorianCalendar.from(date), AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE,
+                AMSTERDAM_ALTITUDE, sun);
+
+        Position position = cache.getSunPosition(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, AMSTERDAM_ALTITUDE, date);
+        assertEquals(sun.getPosition().getAzimuth(), position.getAzimuth());
+        assertEquals(sun.getPosition().getElevation(), position.getElevation());
+    }
+}
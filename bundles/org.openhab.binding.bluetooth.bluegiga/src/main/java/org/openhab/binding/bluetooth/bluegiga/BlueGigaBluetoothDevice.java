@@ -371,6 +371,9 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         }
 
         // Notify listeners of all scan records - for RSSI, beacon processing (etc)
+        if (!hasListeners()) {
+            return;
+        }
         BluetoothScanNotification scanNotification = new BluetoothScanNotification();
         scanNotification.setRssi(event.getRssi());
 
@@ -391,7 +394,7 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
             scanNotification.setManufacturerData(manufacturerData);
         }
 
-        notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
+        notifyScanRecord(scanNotification);
     }
 
     private void handleGroupFoundEvent(BlueGigaGroupFoundEvent event) {
@@ -115,12 +115,18 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice {
         device.enableRSSINotifications(n -> {
             updateLastSeenTime();
             rssi = (int) n;
+            if (!hasListeners()) {
+                return;
+            }
             BluetoothScanNotification notification = new BluetoothScanNotification();
             notification.setRssi(n);
-            notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+            notifyScanRecord(notification);
         });
         device.enableManufacturerDataNotifications(n -> {
             updateLastSeenTime();
+            if (!hasListeners()) {
+                return;
+            }
             for (Map.Entry<Short, byte[]> entry : n.entrySet()) {
                 BluetoothScanNotification notification = new BluetoothScanNotification();
                 byte[] data = new byte[entry.getValue().length + 2];
@@ -131,7 +137,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice {
                     logger.debug("Received manufacturer data for '{}': {}", address, HexUtils.bytesToHex(data, " "));
                 }
                 notification.setManufacturerData(data);
-                notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+                notifyScanRecord(notification);
             }
         });
         device.enableConnectedNotifications(connected -> {
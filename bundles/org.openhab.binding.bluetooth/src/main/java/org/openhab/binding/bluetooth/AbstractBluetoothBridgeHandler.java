@@ -27,6 +27,7 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
 import org.slf4j.Logger;
@@ -60,6 +61,12 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    // Addresses of the child things that currently have a handler
+    private final Set<String> handledAddresses = ConcurrentHashMap.newKeySet();
+
+    // Delivers (and optionally batches) the received scan records to the device listeners
+    private final BluetoothAdvertisementPipeline advertisementPipeline = new BluetoothAdvertisementPipeline();
+
     /**
      * Constructor
      *
@@ -81,6 +88,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
+        advertisementPipeline.start(scheduler, config.advertisementBatchInterval);
     }
 
     @Override
@@ -90,11 +98,10 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
             inactiveRemovalJob.cancel(true);
         }
         this.inactiveRemovalJob = null;
+        advertisementPipeline.stop();
 
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                removeDevice(device);
-            }
+        for (BD device : devices.values()) {
+            removeDevice(device);
         }
     }
 
@@ -104,21 +111,20 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private void removeInactiveDevices() {
         // clean up orphaned entries
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                if (shouldRemove(device)) {
-                    logger.debug("Removing device '{}' due to inactivity", device.getAddress());
-                    removeDevice(device);
-                }
+        for (BD device : devices.values()) {
+            if (shouldRemove(device)) {
+                logger.debug("Removing device '{}' due to inactivity", device.getAddress());
+                removeDevice(device);
             }
         }
+        logger.debug("Scan records of adapter '{}': {} received, {} without listeners, {} merged, {} delivered",
+                getUID(), advertisementPipeline.getReceivedCount(), advertisementPipeline.getFilteredCount(),
+                advertisementPipeline.getCoalescedCount(), advertisementPipeline.getDeliveredCount());
     }
 
     protected void removeDevice(BluetoothDevice device) {
         device.dispose();
-        synchronized (devices) {
-            devices.remove(device.getAddress());
-        }
+        devices.remove(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
@@ -156,9 +162,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
-        synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
-        }
+        devices.values().forEach(this::deviceDiscovered);
     }
 
     @Override
@@ -170,34 +174,43 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     @Override
     public BD getDevice(BluetoothAddress address) {
-        synchronized (devices) {
-            if (devices.containsKey(address)) {
-                return devices.get(address);
-            }
-            BD device = createDevice(address);
+        return devices.computeIfAbsent(address, addr -> {
+            BD device = createDevice(addr);
             device.updateLastSeenTime();
-            devices.put(address, device);
             return device;
-        }
+        });
     }
 
     protected abstract BD createDevice(BluetoothAddress address);
 
     @Override
-    public boolean hasHandlerForDevice(BluetoothAddress address) {
-        String addrStr = address.toString();
-        /*
-         * This type of search is inefficient and won't scale as the number of bluetooth Thing children increases on
-         * this bridge. But implementing a more efficient search would require a bit more overhead.
-         * Luckily though, it is reasonable to assume that the number of Thing children will remain small.
-         */
-        for (Thing childThing : getThing().getThings()) {
-            Object childAddr = childThing.getConfiguration().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
-            if (addrStr.equals(childAddr)) {
-                return childThing.getHandler() != null;
-            }
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        Object childAddr = childThing.getConfiguration().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
+        if (childAddr != null) {
+            handledAddresses.add(childAddr.toString());
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        Object childAddr = childThing.getConfiguration().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
+        if (childAddr != null) {
+            handledAddresses.remove(childAddr.toString());
         }
-        return false;
+    }
+
+    @Override
+    public boolean hasHandlerForDevice(BluetoothAddress address) {
+        return handledAddresses.contains(address.toString());
+    }
+
+    /**
+     * Returns the pipeline that delivers the scan records received by this adapter to the device listeners
+     *
+     * @return the advertisement pipeline of this adapter
+     */
+    public BluetoothAdvertisementPipeline getAdvertisementPipeline() {
+        return advertisementPipeline;
     }
 
     public void deviceDiscovered(BluetoothDevice device) {
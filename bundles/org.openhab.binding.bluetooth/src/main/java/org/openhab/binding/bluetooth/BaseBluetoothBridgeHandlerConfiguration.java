@@ -26,4 +26,5 @@ public class BaseBluetoothBridgeHandlerConfiguration {
     public boolean backgroundDiscovery = false;
     public int inactiveDeviceCleanupInterval = 60;
     public int inactiveDeviceCleanupThreshold = 300;
+    public int advertisementBatchInterval = 0;
 }
@@ -286,6 +286,22 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
     protected void dispose() {
     }
 
+    /**
+     * Forwards a received scan record to the listeners. If the adapter provides an
+     * {@link BluetoothAdvertisementPipeline}, the scan record is delivered through it, so it may be dropped (no
+     * listeners) or merged with other scan records of this device.
+     *
+     * @param notification the scan record
+     */
+    protected void notifyScanRecord(BluetoothScanNotification notification) {
+        BluetoothAdapter adapter = getAdapter();
+        if (adapter instanceof AbstractBluetoothBridgeHandler) {
+            ((AbstractBluetoothBridgeHandler<?>) adapter).getAdvertisementPipeline().submit(this, notification);
+        } else {
+            notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+        }
+    }
+
     /**
      * Notify the listeners of an event
      *
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.BluetoothDevice.BluetoothEventType;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * The {@link BluetoothAdvertisementPipeline} forwards the scan records (advertisements) an adapter receives to the
+ * listeners of the devices.
+ * <p>
+ * Scan records of devices without listeners (no handler, no ongoing discovery) are dropped right away. If a batch
+ * interval is set, all scan records of a device that arrive within one interval are merged (latest RSSI, latest
+ * name, ...) and delivered as a single notification at the end of the interval. The manufacturer data is merged per
+ * manufacturer id: a device that advertises data of several manufacturers gets one notification with the latest data
+ * of every manufacturer, the notification with the most recently received manufacturer data is delivered last.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementPipeline {
+
+    private final Map<BluetoothAddress, PendingScanRecord> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong filtered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    private volatile int batchInterval = 0;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * Starts delivering merged scan records every batchInterval milliseconds. An interval of 0 delivers every
+     * scan record immediately.
+     *
+     * @param scheduler the scheduler to run the delivery on
+     * @param batchInterval the interval in milliseconds
+     */
+    public synchronized void start(ScheduledExecutorService scheduler, int batchInterval) {
+        stop();
+        this.batchInterval = batchInterval;
+        if (batchInterval > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the delivery. Pending scan records are dropped.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+        }
+        this.flushJob = null;
+        batchInterval = 0;
+        pending.clear();
+    }
+
+    /**
+     * Submits a received scan record of the given device
+     *
+     * @param device the device the scan record belongs to
+     * @param notification the scan record
+     */
+    public void submit(BaseBluetoothDevice device, BluetoothScanNotification notification) {
+        received.incrementAndGet();
+        if (!device.hasListeners()) {
+            filtered.incrementAndGet();
+            return;
+        }
+        if (batchInterval <= 0) {
+            deliver(device, notification);
+            return;
+        }
+        pending.compute(device.getAddress(), (address, record) -> {
+            if (record == null) {
+                return new PendingScanRecord(device, notification);
+            }
+            coalesced.incrementAndGet();
+            record.merge(notification);
+            return record;
+        });
+    }
+
+    /**
+     * Delivers all pending scan records
+     */
+    void flush() {
+        for (BluetoothAddress address : pending.keySet()) {
+            PendingScanRecord record = pending.remove(address);
+            if (record != null) {
+                record.deliver();
+            }
+        }
+    }
+
+    /**
+     * Returns whether scan records are batched
+     */
+    public boolean isBatching() {
+        return batchInterval > 0;
+    }
+
+    /**
+     * Returns the number of scan records submitted to this pipeline
+     */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /**
+     * Returns the number of scan records dropped since their device had no listeners
+     */
+    public long getFilteredCount() {
+        return filtered.get();
+    }
+
+    /**
+     * Returns the number of scan records merged into a pending scan record of the same device
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of notifications delivered to device listeners
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    private void deliver(BaseBluetoothDevice device, BluetoothScanNotification notification) {
+        delivered.incrementAndGet();
+        device.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+    }
+
+    /**
+     * Returns the manufacturer id of manufacturer specific data, which starts with the id in little endian order
+     */
+    private static int getManufacturerId(byte[] manufacturerData) {
+        if (manufacturerData.length < 2) {
+            return -1;
+        }
+        return (manufacturerData[0] & 0xFF) | (manufacturerData[1] & 0xFF) << 8;
+    }
+
+    private class PendingScanRecord {
+        private final BaseBluetoothDevice device;
+        private final BluetoothScanNotification notification;
+
+        // the latest data of every manufacturer id, the most recently received last
+        private final Map<Integer, byte[]> manufacturerData = new LinkedHashMap<>();
+
+        private PendingScanRecord(BaseBluetoothDevice device, BluetoothScanNotification notification) {
+            this.device = device;
+            this.notification = notification;
+            addManufacturerData(notification.getManufacturerData());
+        }
+
+        private void merge(BluetoothScanNotification update) {
+            if (update.getRssi() != Integer.MIN_VALUE) {
+                notification.setRssi(update.getRssi());
+            }
+            if (update.getData() != null) {
+                notification.setData(update.getData());
+            }
+            addManufacturerData(update.getManufacturerData());
+            if (update.getBeaconType() != BluetoothBeaconType.BEACON_UNKNOWN) {
+                notification.setBeaconType(update.getBeaconType());
+            }
+            if (!update.getDeviceName().isEmpty()) {
+                notification.setDeviceName(update.getDeviceName());
+            }
+        }
+
+        private void addManufacturerData(byte @Nullable [] data) {
+            if (data != null) {
+                int manufacturerId = getManufacturerId(data);
+                manufacturerData.remove(manufacturerId);
+                manufacturerData.put(manufacturerId, data);
+            }
+        }
+
+        private void deliver() {
+            if (manufacturerData.size() <= 1) {
+                for (byte[] data : manufacturerData.values()) {
+                    notification.setManufacturerData(data);
+                }
+                BluetoothAdvertisementPipeline.this.deliver(device, notification);
+                return;
+            }
+            // a notification carries the data of a single manufacturer
+            for (byte[] data : manufacturerData.values()) {
+                BluetoothScanNotification copy = new BluetoothScanNotification();
+                copy.setRssi(notification.getRssi());
+                copy.setData(notification.getData());
+                copy.setManufacturerData(data);
+                copy.setBeaconType(notification.getBeaconType());
+                copy.setDeviceName(notification.getDeviceName());
+                BluetoothAdvertisementPipeline.this.deliver(device, copy);
+            }
+        }
+    }
+}
@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.bluetooth.discovery.internal;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -164,9 +163,9 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
     private class DiscoveryCache {
 
-        private Map<BluetoothAdapter, SnapshotFuture> discoveryFutures = new HashMap<>();
+        private final Map<BluetoothAdapter, SnapshotFuture> discoveryFutures = new ConcurrentHashMap<>();
 
-        private @Nullable BluetoothDeviceSnapshot latestSnapshot;
+        private volatile @Nullable BluetoothDeviceSnapshot latestSnapshot;
 
         /**
          * This is meant to be used as part of a Map.compute function
@@ -186,7 +185,33 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             return this;
         }
 
-        public synchronized void handleDiscovery(BluetoothDevice device) {
+        public void handleDiscovery(BluetoothDevice device) {
+            if (isUpToDate(device)) {
+                // a device that is seen again without any new identity fields does not need to take the lock
+                return;
+            }
+            handleNewDiscovery(device);
+        }
+
+        /**
+         * Checks without locking whether the adapter of the device already produced a result for the latest
+         * snapshot and the device has no newer fields than that snapshot
+         *
+         * @param device the discovered device
+         * @return true if the discovery of the device would not change anything
+         */
+        private boolean isUpToDate(BluetoothDevice device) {
+            BluetoothDeviceSnapshot latestSnapshot = this.latestSnapshot;
+            SnapshotFuture snapshotFuture = discoveryFutures.get(device.getAdapter());
+            if (latestSnapshot == null || snapshotFuture == null || !snapshotFuture.snapshot.equals(latestSnapshot)) {
+                return false;
+            }
+            BluetoothDeviceSnapshot snapshot = new BluetoothDeviceSnapshot(device);
+            snapshot.merge(latestSnapshot);
+            return snapshot.equals(latestSnapshot);
+        }
+
+        private synchronized void handleNewDiscovery(BluetoothDevice device) {
             if (!discoveryFutures.isEmpty()) {
                 CompletableFuture
                         // we have an ongoing futures so lets create our discovery after they all finish
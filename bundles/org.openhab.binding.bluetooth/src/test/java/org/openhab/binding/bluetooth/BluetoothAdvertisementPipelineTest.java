@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * Tests {@link BluetoothAdvertisementPipeline}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementPipelineTest {
+
+    private static final int TIMEOUT = 2000;
+
+    private final MockBluetoothAdapter adapter = new MockBluetoothAdapter();
+    private final BluetoothAdvertisementPipeline pipeline = new BluetoothAdvertisementPipeline();
+
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        pipeline.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void recordsOfDevicesWithoutListenersAreDropped() {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+
+        pipeline.submit(device, scanRecord(-60, null, null));
+        pipeline.submit(device, scanRecord(-61, null, null));
+
+        assertThat(pipeline.getReceivedCount(), is(2L));
+        assertThat(pipeline.getFilteredCount(), is(2L));
+        assertThat(pipeline.getDeliveredCount(), is(0L));
+    }
+
+    @Test
+    public void recordsAreDeliveredImmediatelyWithoutBatchInterval() throws InterruptedException {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received = listen(device);
+
+        pipeline.start(scheduler, 0);
+        assertFalse(pipeline.isBatching());
+        pipeline.submit(device, scanRecord(-60, null, null));
+        pipeline.submit(device, scanRecord(-61, null, null));
+
+        assertThat(received.poll(TIMEOUT, TimeUnit.MILLISECONDS).getRssi(), is(-60));
+        assertThat(received.poll(TIMEOUT, TimeUnit.MILLISECONDS).getRssi(), is(-61));
+        assertThat(pipeline.getDeliveredCount(), is(2L));
+        assertThat(pipeline.getCoalescedCount(), is(0L));
+    }
+
+    @Test
+    public void recordsOfOneDeviceAreMergedWithinInterval() throws InterruptedException {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received = listen(device);
+
+        // the interval is long enough that only the explicit flush delivers
+        pipeline.start(scheduler, 60000);
+        assertTrue(pipeline.isBatching());
+        pipeline.submit(device, scanRecord(-60, new byte[] { 1 }, "Beacon"));
+        pipeline.submit(device, scanRecord(-70, new byte[] { 2 }, null));
+        pipeline.submit(device, scanRecord(-65, null, null));
+        pipeline.flush();
+
+        BluetoothScanNotification notification = received.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertThat(notification.getRssi(), is(-65));
+        assertArrayEquals(new byte[] { 2 }, notification.getManufacturerData());
+        assertThat(notification.getDeviceName(), is("Beacon"));
+        assertThat(notification.getBeaconType(), is(BluetoothBeaconType.BEACON_ADVERTISEMENT));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+        assertThat(pipeline.getReceivedCount(), is(3L));
+        assertThat(pipeline.getCoalescedCount(), is(2L));
+        assertThat(pipeline.getDeliveredCount(), is(1L));
+    }
+
+    @Test
+    public void manufacturerDataIsMergedPerManufacturer() throws InterruptedException {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received = listen(device);
+
+        // the manufacturer data starts with the manufacturer id in little endian order
+        pipeline.start(scheduler, 60000);
+        pipeline.submit(device, scanRecord(-60, new byte[] { (byte) 0x99, 0x04, 1 }, null));
+        pipeline.submit(device, scanRecord(-61, new byte[] { 0x4C, 0x00, 2 }, null));
+        pipeline.submit(device, scanRecord(-62, new byte[] { (byte) 0x99, 0x04, 3 }, null));
+        pipeline.flush();
+
+        // one notification per manufacturer, the most recently updated one last
+        BluetoothScanNotification apple = received.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertArrayEquals(new byte[] { 0x4C, 0x00, 2 }, apple.getManufacturerData());
+        assertThat(apple.getRssi(), is(-62));
+        BluetoothScanNotification ruuvi = received.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertArrayEquals(new byte[] { (byte) 0x99, 0x04, 3 }, ruuvi.getManufacturerData());
+        assertThat(ruuvi.getRssi(), is(-62));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+        assertThat(pipeline.getCoalescedCount(), is(2L));
+        assertThat(pipeline.getDeliveredCount(), is(2L));
+    }
+
+    @Test
+    public void recordsOfDifferentDevicesAreNotMerged() throws InterruptedException {
+        MockBluetoothDevice device1 = adapter.getDevice(TestUtils.randomAddress());
+        MockBluetoothDevice device2 = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received1 = listen(device1);
+        BlockingQueue<BluetoothScanNotification> received2 = listen(device2);
+
+        pipeline.start(scheduler, 60000);
+        pipeline.submit(device1, scanRecord(-60, null, null));
+        pipeline.submit(device2, scanRecord(-80, null, null));
+        pipeline.flush();
+
+        assertThat(received1.poll(TIMEOUT, TimeUnit.MILLISECONDS).getRssi(), is(-60));
+        assertThat(received2.poll(TIMEOUT, TimeUnit.MILLISECONDS).getRssi(), is(-80));
+        assertThat(pipeline.getCoalescedCount(), is(0L));
+        assertThat(pipeline.getDeliveredCount(), is(2L));
+    }
+
+    @Test
+    public void pendingRecordsAreDeliveredByTheScheduler() throws InterruptedException {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received = listen(device);
+
+        pipeline.start(scheduler, 50);
+        pipeline.submit(device, scanRecord(-60, null, null));
+        pipeline.submit(device, scanRecord(-62, null, null));
+
+        assertThat(received.poll(TIMEOUT, TimeUnit.MILLISECONDS).getRssi(), is(-62));
+    }
+
+    @Test
+    public void stopDropsPendingRecords() throws InterruptedException {
+        MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+        BlockingQueue<BluetoothScanNotification> received = listen(device);
+
+        pipeline.start(scheduler, 60000);
+        pipeline.submit(device, scanRecord(-60, null, null));
+        pipeline.stop();
+        pipeline.flush();
+
+        assertFalse(pipeline.isBatching());
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private static BluetoothScanNotification scanRecord(int rssi, byte @Nullable [] manufacturerData,
+            @Nullable String name) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        notification.setBeaconType(BluetoothBeaconType.BEACON_ADVERTISEMENT);
+        if (manufacturerData != null) {
+            notification.setManufacturerData(manufacturerData);
+        }
+        if (name != null) {
+            notification.setDeviceName(name);
+        }
+        return notification;
+    }
+
+    private static BlockingQueue<BluetoothScanNotification> listen(BluetoothDevice device) {
+        BlockingQueue<BluetoothScanNotification> received = new LinkedBlockingQueue<>();
+        device.addListener(new BluetoothDeviceListener() {
+            @Override
+            public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
+                received.add(scanNotification);
+            }
+
+            @Override
+            public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
+            }
+
+            @Override
+            public void onServicesDiscovered() {
+            }
+
+            @Override
+            public void onCharacteristicReadComplete(BluetoothCharacteristic characteristic,
+                    BluetoothCompletionStatus status) {
+            }
+
+            @Override
+            public void onCharacteristicWriteComplete(BluetoothCharacteristic characteristic,
+                    BluetoothCompletionStatus status) {
+            }
+
+            @Override
+            public void onCharacteristicUpdate(BluetoothCharacteristic characteristic) {
+            }
+
+            @Override
+            public void onDescriptorUpdate(BluetoothDescriptor bluetoothDescriptor) {
+            }
+        });
+        return received;
+    }
+}
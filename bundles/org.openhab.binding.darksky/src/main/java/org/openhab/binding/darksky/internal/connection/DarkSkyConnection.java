@@ -31,7 +31,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpResponseException;
 import org.eclipse.jetty.client.api.ContentResponse;
-import org.eclipse.smarthome.core.cache.ExpiringCacheMap;
 import org.eclipse.smarthome.core.library.types.PointType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.io.net.http.HttpUtil;
@@ -39,6 +38,7 @@ import org.openhab.binding.darksky.internal.config.DarkSkyAPIConfiguration;
 import org.openhab.binding.darksky.internal.handler.DarkSkyAPIHandler;
 import org.openhab.binding.darksky.internal.model.DarkSkyJsonWeatherData;
 import org.openhab.binding.darksky.internal.utils.ByteArrayFileCache;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,16 +70,18 @@ public class DarkSkyConnection {
     private final HttpClient httpClient;
 
     private static final ByteArrayFileCache IMAGE_CACHE = new ByteArrayFileCache("org.openhab.binding.darksky");
-    private final ExpiringCacheMap<String, String> cache;
+    private final SharedResponseCache responseCache;
+    private final long cacheMaxAge;
 
     private final Gson gson = new Gson();
 
-    public DarkSkyConnection(DarkSkyAPIHandler handler, HttpClient httpClient) {
+    public DarkSkyConnection(DarkSkyAPIHandler handler, HttpClient httpClient, SharedResponseCache responseCache) {
         this.handler = handler;
         this.httpClient = httpClient;
+        this.responseCache = responseCache;
 
         DarkSkyAPIConfiguration config = handler.getDarkSkyAPIConfig();
-        cache = new ExpiringCacheMap<>(TimeUnit.MINUTES.toMillis(config.refreshInterval));
+        cacheMaxAge = TimeUnit.MINUTES.toMillis(config.refreshInterval);
     }
 
     /**
@@ -106,8 +108,7 @@ public class DarkSkyConnection {
         String url = String.format(Locale.ROOT, WEATHER_URL, apikey, location.getLatitude().doubleValue(),
                 location.getLongitude().doubleValue());
 
-        return gson.fromJson(getResponseFromCache(buildURL(url, getRequestParams(config))),
-                DarkSkyJsonWeatherData.class);
+        return getResponseFromCache(buildURL(url, getRequestParams(config)), DarkSkyJsonWeatherData.class);
     }
 
     /**
@@ -170,8 +171,12 @@ public class DarkSkyConnection {
         }
     }
 
-    private @Nullable String getResponseFromCache(String url) {
-        return cache.putIfAbsentAndGet(url, () -> getResponse(url));
+    /**
+     * Returns the parsed response of the URL. The responses are shared with the other bridges of the binding, so
+     * things with the same location only cause a single request.
+     */
+    private <T> @Nullable T getResponseFromCache(String url, Class<T> type) {
+        return responseCache.get(url, cacheMaxAge, () -> gson.fromJson(getResponse(url), type));
     }
 
     private String getResponse(String url) {
@@ -40,6 +40,7 @@ import org.eclipse.smarthome.io.net.http.HttpClientFactory;
 import org.openhab.binding.darksky.internal.discovery.DarkSkyDiscoveryService;
 import org.openhab.binding.darksky.internal.handler.DarkSkyAPIHandler;
 import org.openhab.binding.darksky.internal.handler.DarkSkyWeatherAndForecastHandler;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -62,6 +63,7 @@ public class DarkSkyHandlerFactory extends BaseThingHandlerFactory {
 
     private final Map<ThingUID, ServiceRegistration<?>> discoveryServiceRegs = new HashMap<>();
     private final HttpClient httpClient;
+    private final SharedResponseCache responseCache;
     private final LocaleProvider localeProvider;
     private final LocationProvider locationProvider;
     private final TranslationProvider i18nProvider;
@@ -69,8 +71,9 @@ public class DarkSkyHandlerFactory extends BaseThingHandlerFactory {
     @Activate
     public DarkSkyHandlerFactory(final @Reference HttpClientFactory httpClientFactory,
             final @Reference LocaleProvider localeProvider, final @Reference LocationProvider locationProvider,
-            final @Reference TranslationProvider i18nProvider) {
+            final @Reference TranslationProvider i18nProvider, final @Reference SharedResponseCache responseCache) {
         this.httpClient = httpClientFactory.getCommonHttpClient();
+        this.responseCache = responseCache;
         this.localeProvider = localeProvider;
         this.locationProvider = locationProvider;
         this.i18nProvider = i18nProvider;
@@ -86,7 +89,8 @@ public class DarkSkyHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_WEATHER_API.equals(thingTypeUID)) {
-            DarkSkyAPIHandler handler = new DarkSkyAPIHandler((Bridge) thing, httpClient, localeProvider);
+            DarkSkyAPIHandler handler = new DarkSkyAPIHandler((Bridge) thing, httpClient, responseCache,
+                    localeProvider);
             // register discovery service
             DarkSkyDiscoveryService discoveryService = new DarkSkyDiscoveryService(handler, locationProvider,
                     localeProvider, i18nProvider);
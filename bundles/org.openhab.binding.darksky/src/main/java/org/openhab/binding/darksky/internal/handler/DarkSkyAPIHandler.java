@@ -36,6 +36,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.darksky.internal.config.DarkSkyAPIConfiguration;
 import org.openhab.binding.darksky.internal.connection.DarkSkyConnection;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,15 +57,18 @@ public class DarkSkyAPIHandler extends BaseBridgeHandler {
     private @Nullable ScheduledFuture<?> refreshJob;
 
     private final HttpClient httpClient;
+    private final SharedResponseCache responseCache;
     private final LocaleProvider localeProvider;
     private @NonNullByDefault({}) DarkSkyConnection connection;
 
     // keeps track of the parsed config
     private @NonNullByDefault({}) DarkSkyAPIConfiguration config;
 
-    public DarkSkyAPIHandler(Bridge bridge, HttpClient httpClient, LocaleProvider localeProvider) {
+    public DarkSkyAPIHandler(Bridge bridge, HttpClient httpClient, SharedResponseCache responseCache,
+            LocaleProvider localeProvider) {
         super(bridge);
         this.httpClient = httpClient;
+        this.responseCache = responseCache;
         this.localeProvider = localeProvider;
     }
 
@@ -103,7 +107,7 @@ public class DarkSkyAPIHandler extends BaseBridgeHandler {
         }
 
         if (configValid) {
-            connection = new DarkSkyConnection(this, httpClient);
+            connection = new DarkSkyConnection(this, httpClient, responseCache);
 
             updateStatus(ThingStatus.UNKNOWN);
 
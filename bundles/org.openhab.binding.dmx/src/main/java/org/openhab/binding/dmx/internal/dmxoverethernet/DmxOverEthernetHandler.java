@@ -34,6 +34,10 @@ import org.slf4j.LoggerFactory;
  */
 
 public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
+    // unchanged universes are only repeated a few times and then kept alive at a reduced rate
+    private static final int KEEP_ALIVE_TIME = 800;
+    private static final int REPEAT_COUNT = 3;
+
     private final Logger logger = LoggerFactory.getLogger(DmxOverEthernetHandler.class);
 
     protected DmxOverEthernetPacket packetTemplate;
@@ -44,9 +48,13 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
 
     DatagramSocket socket = null;
     private long lastSend = 0;
+    private long lastBufferVersion = -1;
     private int repeatCounter = 0;
     private int sequenceNo = 0;
 
+    private DmxOverEthernetPacket payloadPacket = null;
+    private DatagramPacket sendPacket = null;
+
     @Override
     protected void openConnection() {
         if (getThing().getStatus() != ThingStatus.ONLINE) {
@@ -91,20 +99,31 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
             boolean needsSending = false;
             long now = System.currentTimeMillis();
             universe.calculateBuffer(now);
-            if ((universe.getLastBufferChanged() > lastSend) || refreshAlways) {
+            long bufferVersion = universe.getBufferVersion();
+            boolean bufferChanged = bufferVersion != lastBufferVersion || packetTemplate != payloadPacket
+                    || universe.getBufferSize() != packetTemplate.getPayloadSize();
+            if (bufferChanged || refreshAlways) {
                 needsSending = true;
                 repeatCounter = 0;
-            } else if (now - lastSend > 800) {
+            } else if (now - lastSend > KEEP_ALIVE_TIME) {
                 needsSending = true;
-            } else if (repeatCounter < 3) {
+            } else if (repeatCounter < REPEAT_COUNT) {
                 needsSending = true;
                 repeatCounter++;
             }
             if (needsSending) {
-                packetTemplate.setPayload(universe.getBuffer(), universe.getBufferSize());
+                // the packet keeps the payload, it only needs to be updated if the universe changed
+                if (bufferChanged) {
+                    packetTemplate.setPayload(universe);
+                    lastBufferVersion = bufferVersion;
+                    payloadPacket = packetTemplate;
+                }
                 packetTemplate.setSequence(sequenceNo);
-                DatagramPacket sendPacket = new DatagramPacket(packetTemplate.getRawPacket(),
-                        packetTemplate.getPacketLength());
+                if (sendPacket == null) {
+                    sendPacket = new DatagramPacket(packetTemplate.getRawPacket(), packetTemplate.getPacketLength());
+                } else {
+                    sendPacket.setData(packetTemplate.getRawPacket(), 0, packetTemplate.getPacketLength());
+                }
                 for (IpNode receiverNode : receiverNodes) {
                     sendPacket.setAddress(receiverNode.getAddress());
                     sendPacket.setPort(receiverNode.getPort());
@@ -47,6 +47,7 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
 
     private final Logger logger = LoggerFactory.getLogger(Lib485BridgeHandler.class);
     private final Map<IpNode, Socket> receiverNodes = new HashMap<>();
+    private final byte[] frame = new byte[Universe.MAX_UNIVERSE_SIZE];
 
     public Lib485BridgeHandler(Bridge lib485Bridge) {
         super(lib485Bridge);
@@ -102,11 +103,12 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
             long now = System.currentTimeMillis();
             universe.calculateBuffer(now);
+            int frameSize = universe.copyBuffer(frame, 0);
             for (IpNode receiverNode : receiverNodes.keySet()) {
                 Socket socket = receiverNodes.get(receiverNode);
                 if (socket.isConnected()) {
                     try {
-                        socket.getOutputStream().write(universe.getBuffer());
+                        socket.getOutputStream().write(frame, 0, frameSize);
                     } catch (IOException e) {
                         logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
                                 e.getMessage());
@@ -252,7 +252,7 @@ public class DmxChannel extends BaseDmxChannel {
      * @param calculationTime UNIX timestamp
      * @return value 0-255
      */
-    public synchronized Integer getNewValue(long calculationTime) {
+    public synchronized int getNewValue(long calculationTime) {
         return (getNewHiResValue(calculationTime) >> 8);
     }
 
@@ -263,7 +263,7 @@ public class DmxChannel extends BaseDmxChannel {
      * @param calculationTime UNIX timestamp
      * @return value 0-65535
      */
-    public synchronized Integer getNewHiResValue(long calculationTime) {
+    public synchronized int getNewHiResValue(long calculationTime) {
         if (hasRunningActions()) {
             logger.trace("checking actions, list is {}", actions);
             BaseAction action = actions.get(0);
@@ -13,6 +13,8 @@
 package org.openhab.binding.dmx.internal.multiverse;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -38,14 +40,16 @@ public class Universe {
     private int universeId;
     private int bufferSize = MIN_UNIVERSE_SIZE;
 
-    private final short[] buffer = new short[MAX_UNIVERSE_SIZE];
+    private final byte[] buffer = new byte[MAX_UNIVERSE_SIZE];
     private final short[] cie1931Curve = new short[DmxChannel.MAX_VALUE << 8 + 1];
 
     private long bufferChanged;
+    private long bufferVersion;
     private int refreshTime = DEFAULT_REFRESH_TIME;
 
     private final List<DmxChannel> channels = new ArrayList<>();
-    private final List<Integer> applyCurve = new ArrayList<>();
+    // indexed by channel id
+    private final BitSet applyCurve = new BitSet(MAX_UNIVERSE_SIZE + 1);
 
     /**
      * universe constructor
@@ -140,6 +144,15 @@ public class Universe {
         return bufferChanged;
     }
 
+    /**
+     * get the version of the buffer, it is increased on every change of the buffer
+     *
+     * @return version
+     */
+    public long getBufferVersion() {
+        return bufferVersion;
+    }
+
     /**
      * get size of the buffer
      *
@@ -179,21 +192,27 @@ public class Universe {
     public void calculateBuffer(long time) {
         universeLock.lock();
         try {
-            for (DmxChannel channel : channels) {
+            boolean changed = false;
+            for (int i = 0; i < channels.size(); i++) {
+                DmxChannel channel = channels.get(i);
                 logger.trace("calculating new value for {}", channel);
                 int channelId = channel.getChannelId();
                 int vx = channel.getNewHiResValue(time);
-                int value;
-                if (applyCurve.contains(channelId)) {
-                    value = cie1931Curve[vx];
+                byte value;
+                if (applyCurve.get(channelId)) {
+                    value = (byte) cie1931Curve[vx];
                 } else {
-                    value = vx >> 8;
+                    value = (byte) (vx >> 8);
                 }
                 if (buffer[channelId - 1] != value) {
-                    buffer[channelId - 1] = (short) value;
-                    bufferChanged = time;
+                    buffer[channelId - 1] = value;
+                    changed = true;
                 }
             }
+            if (changed) {
+                bufferChanged = time;
+                bufferVersion++;
+            }
         } finally {
             universeLock.unlock();
         }
@@ -205,16 +224,29 @@ public class Universe {
      * @return byte array with channel values
      */
     public byte[] getBuffer() {
-        byte[] b = new byte[bufferSize];
         universeLock.lock();
         try {
-            for (int i = 0; i < bufferSize; i++) {
-                b[i] = (byte) buffer[i];
-            }
+            return Arrays.copyOf(buffer, bufferSize);
+        } finally {
+            universeLock.unlock();
+        }
+    }
+
+    /**
+     * copy the universe buffer to a given array (e.g. the payload of a packet), without allocating a new array
+     *
+     * @param target the array the channel values are copied to
+     * @param offset the position of the first channel in the target array
+     * @return the number of copied channels ({@link #getBufferSize()})
+     */
+    public int copyBuffer(byte[] target, int offset) {
+        universeLock.lock();
+        try {
+            System.arraycopy(buffer, 0, target, offset, bufferSize);
+            return bufferSize;
         } finally {
             universeLock.unlock();
         }
-        return b;
     }
 
     /**
@@ -223,9 +255,16 @@ public class Universe {
      * @param listString
      */
     public void setDimCurveChannels(String listString) {
-        applyCurve.clear();
+        BitSet newApplyCurve = new BitSet(MAX_UNIVERSE_SIZE + 1);
         for (BaseDmxChannel channel : BaseDmxChannel.fromString(listString, universeId)) {
-            applyCurve.add(channel.getChannelId());
+            newApplyCurve.set(channel.getChannelId());
+        }
+        universeLock.lock();
+        try {
+            applyCurve.clear();
+            applyCurve.or(newApplyCurve);
+        } finally {
+            universeLock.unlock();
         }
         logger.debug("applying dim curve in universe {} to channels {}", universeId, applyCurve);
     }
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal.multiverse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.thing.Thing;
+import org.mockito.Mockito;
+import org.openhab.binding.dmx.internal.ValueSet;
+import org.openhab.binding.dmx.internal.action.FadeAction;
+import org.openhab.binding.dmx.internal.dmxoverethernet.ArtnetPacket;
+import org.openhab.binding.dmx.internal.dmxoverethernet.DmxOverEthernetPacket;
+
+/**
+ * Measures the frame calculation of fully used universes with running fades and chasers. This is not a unit test,
+ * run it from the IDE with the main method:
+ *
+ * <pre>
+ * UniverseBenchmark [universes] [frames]
+ * </pre>
+ *
+ * Every frame calculates the buffer of all universes like the bridge handlers (50 frames per second) and copies the
+ * changed universes into their packets.
+ *
+ * @author agent - Initial contribution
+ */
+public class UniverseBenchmark {
+
+    private static final int DEFAULT_UNIVERSES = 16;
+    private static final int DEFAULT_FRAMES = 10000;
+    private static final int FRAME_TIME = 20;
+
+    private static final String CHASE_CONFIG = "500:255,128,0:250|500:0,128,255:250|1000:64,64,64:-1";
+
+    public static void main(String[] args) {
+        int universeCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_UNIVERSES;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+        Thing thing = Mockito.mock(Thing.class);
+
+        List<Universe> universes = createUniverses(universeCount);
+        long now = System.currentTimeMillis();
+        for (Universe universe : universes) {
+            for (int channelId = 1; channelId <= Universe.MAX_UNIVERSE_SIZE; channelId++) {
+                DmxChannel channel = universe.registerChannel(new BaseDmxChannel(universe.getUniverseId(), channelId),
+                        thing);
+                // fade over the whole benchmark, so every frame changes
+                channel.setChannelAction(new FadeAction(frames * FRAME_TIME, 255, -1));
+            }
+        }
+        run("Fade", universes, frames, now);
+
+        universes = createUniverses(universeCount);
+        List<ValueSet> values = ValueSet.parseChaseConfig(CHASE_CONFIG);
+        for (Universe universe : universes) {
+            for (int channelId = 1; channelId <= Universe.MAX_UNIVERSE_SIZE; channelId++) {
+                DmxChannel channel = universe.registerChannel(new BaseDmxChannel(universe.getUniverseId(), channelId),
+                        thing);
+                // the same actions as added by the ChaserThingHandler
+                channel.clearAction();
+                for (ValueSet value : values) {
+                    channel.addChannelAction(
+                            new FadeAction(value.getFadeTime(), value.getValue(channelId - 1), value.getHoldTime()));
+                }
+            }
+        }
+        run("Chaser", universes, frames, now);
+    }
+
+    private static List<Universe> createUniverses(int universeCount) {
+        List<Universe> universes = new ArrayList<>();
+        for (int i = 1; i <= universeCount; i++) {
+            Universe universe = new Universe(i);
+            universe.setDimCurveChannels(String.format("%d:1/256", i));
+            universes.add(universe);
+        }
+        return universes;
+    }
+
+    private static void run(String name, List<Universe> universes, int frames, long startTime) {
+        List<DmxOverEthernetPacket> packets = new ArrayList<>();
+        long[] versions = new long[universes.size()];
+        for (Universe universe : universes) {
+            DmxOverEthernetPacket packet = new ArtnetPacket();
+            packet.setUniverse(universe.getUniverseId());
+            packets.add(packet);
+        }
+
+        int sentPackets = 0;
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            long time = startTime + frame * FRAME_TIME;
+            for (int i = 0; i < universes.size(); i++) {
+                Universe universe = universes.get(i);
+                universe.calculateBuffer(time);
+                if (universe.getBufferVersion() != versions[i]) {
+                    packets.get(i).setPayload(universe);
+                    versions[i] = universe.getBufferVersion();
+                    sentPackets++;
+                }
+            }
+        }
+        long duration = System.nanoTime() - start;
+        System.out.println(String.format("%s: %8.2f us/frame for %d universes (%d changed packets in %d frames)", name,
+                duration / 1e3 / frames, universes.size(), sentPackets, frames));
+    }
+}
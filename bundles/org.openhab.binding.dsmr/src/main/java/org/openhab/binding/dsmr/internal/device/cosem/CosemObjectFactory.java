@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,11 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList = new ArrayList<>();
 
+    /**
+     * Lookup cache for numeric OBIS keys as received by the parser
+     */
+    private final Map<Long, ResolvedOBISIdentifier> obisKeyLookupTable = new HashMap<>();
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -92,13 +98,9 @@ public class CosemObjectFactory {
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
         OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
 
         try {
             obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
         } catch (final ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
@@ -106,44 +108,96 @@ public class CosemObjectFactory {
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
-        CosemObject cosemObject = null;
+        return getCosemObject(resolve(obisId), cosemStringValues);
+    }
+
+    /**
+     * Return Cosem Object from the numeric OBIS key or null if the values couldn't be parsed correctly or no
+     * corresponding Cosem Object was found. The Cosem Object types matching the key are looked up once and kept, so
+     * subsequent telegrams don't need to parse the OBIS Identifier or search the lookup tables again.
+     *
+     * @param obisKey numeric key of the OBIS message identifier (see {@link OBISIdentifier#toKey})
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public @Nullable CosemObject getCosemObject(long obisKey, String cosemStringValues) {
+        ResolvedOBISIdentifier resolved = obisKeyLookupTable.get(obisKey);
+
+        if (resolved == null) {
+            resolved = resolve(OBISIdentifier.fromKey(obisKey));
+            obisKeyLookupTable.put(obisKey, resolved);
+        }
+        logger.trace("Received obisId: {}, values: {}", resolved.obisId, cosemStringValues);
+        CosemObject cosemObject = getCosemObject(resolved, cosemStringValues);
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
+        if (cosemObject != null && resolved.wildcard) {
+            // The type is now in the dynamic lookup table, resolve it from there the next time.
+            obisKeyLookupTable.remove(obisKey);
+        }
+        return cosemObject;
+    }
+
+    /**
+     * Looks up the Cosem Object types that could match the given OBIS Identifier.
+     *
+     * @param obisId the OBIS Identifier to look up
+     * @return the Cosem Object types to try, in order
+     */
+    private ResolvedOBISIdentifier resolve(OBISIdentifier obisId) {
+        OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        CosemObjectType cosemObjectType = obisLookupTableFixed.get(reducedObisId);
+
+        if (cosemObjectType != null) {
             logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableMultipleFixed.containsKey(reducedObisId)) {
-            for (CosemObjectType cosemObjectType : obisLookupTableMultipleFixed.get(reducedObisId)) {
-                cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
-                if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-                    break;
-                }
-            }
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
+            return new ResolvedOBISIdentifier(obisId, reducedObisId, Collections.singletonList(cosemObjectType), false);
+        }
+        List<CosemObjectType> cosemObjectTypes = obisLookupTableMultipleFixed.get(reducedObisId);
+
+        if (cosemObjectTypes != null) {
+            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+            return new ResolvedOBISIdentifier(obisId, reducedObisId, cosemObjectTypes, false);
+        }
+        cosemObjectType = obisLookupTableDynamic.get(reducedObisId);
+        if (cosemObjectType != null) {
             logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
-        } else if (obisLookupTableFixed.containsKey(reducedObisIdGroupE)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisIdGroupE), obisId,
-                    cosemStringValues);
-        } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
-                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
-                    if (cosemObject != null) {
-                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
-                                cosemObject);
-                        obisLookupTableDynamic.put(reducedObisId, obisMsgType);
-                        break;
-                    }
-                }
-            }
+            return new ResolvedOBISIdentifier(obisId, reducedObisId, Collections.singletonList(cosemObjectType), false);
+        }
+        cosemObjectType = obisLookupTableFixed.get(obisId.getReducedOBISIdentifierGroupE());
+        if (cosemObjectType != null) {
+            return new ResolvedOBISIdentifier(obisId, reducedObisId, Collections.singletonList(cosemObjectType), false);
         }
+        List<CosemObjectType> wildcardTypes = new ArrayList<>();
 
-        if (cosemObject == null) {
-            logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+        for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
+            if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
+                wildcardTypes.add(obisMsgType);
+            }
         }
+        return new ResolvedOBISIdentifier(obisId, reducedObisId, wildcardTypes, true);
+    }
 
-        return cosemObject;
+    /**
+     * Tries the resolved Cosem Object types in order and returns the first Cosem Object the values could be parsed for.
+     *
+     * @param resolved the resolved OBIS Identifier
+     * @param cosemStringValues the values of the CosemObject
+     * @return CosemObject or null if parsing failed
+     */
+    private @Nullable CosemObject getCosemObject(ResolvedOBISIdentifier resolved, String cosemStringValues) {
+        for (CosemObjectType cosemObjectType : resolved.cosemObjectTypes) {
+            CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, resolved.obisId, cosemStringValues);
+
+            if (cosemObject != null) {
+                if (resolved.wildcard) {
+                    logger.trace("Searched reducedObisId {} in the wild card type list, result: {}",
+                            resolved.reducedObisId, cosemObject);
+                    obisLookupTableDynamic.put(resolved.reducedObisId, cosemObjectType);
+                }
+                return cosemObject;
+            }
+        }
+        logger.debug("Received unknown Cosem Object(OBIS id: {})", resolved.obisId);
+        return null;
     }
 
     /**
@@ -170,4 +224,23 @@ public class CosemObjectFactory {
         }
         return null;
     }
+
+    /**
+     * The Cosem Object types that could match an OBIS Identifier
+     */
+    private static class ResolvedOBISIdentifier {
+        private final OBISIdentifier obisId;
+        private final OBISIdentifier reducedObisId;
+        private final List<CosemObjectType> cosemObjectTypes;
+        /** true if the types are taken from the wild card type list */
+        private final boolean wildcard;
+
+        ResolvedOBISIdentifier(OBISIdentifier obisId, OBISIdentifier reducedObisId,
+                List<CosemObjectType> cosemObjectTypes, boolean wildcard) {
+            this.obisId = obisId;
+            this.reducedObisId = reducedObisId;
+            this.cosemObjectTypes = cosemObjectTypes;
+            this.wildcard = wildcard;
+        }
+    }
 }
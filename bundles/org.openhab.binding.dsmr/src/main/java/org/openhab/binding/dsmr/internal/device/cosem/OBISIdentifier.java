@@ -38,6 +38,22 @@ public class OBISIdentifier {
      */
     private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
 
+    /**
+     * Key returned for OBIS Identifiers that can't be represented as a numeric key
+     */
+    public static final long INVALID_KEY = -1L;
+
+    /**
+     * Maximum value of a group that fits in a numeric key
+     */
+    private static final int KEY_GROUP_MAX_VALUE = 0xFF;
+
+    /**
+     * Number of bits of a group in a numeric key. Group values are stored + 1, so 0 means the group is not present.
+     */
+    private static final int KEY_GROUP_BITS = 9;
+    private static final long KEY_GROUP_MASK = (1L << KEY_GROUP_BITS) - 1;
+
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private @Nullable Integer groupB;
@@ -123,6 +139,64 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Returns the numeric key of an OBIS Identifier given the individual group values. A negative value for group B, E
+     * or F means the group is not present. The key can be used to look up OBIS Identifiers without creating objects.
+     *
+     * @param groupA A value
+     * @param groupB B value or -1 if not present
+     * @param groupC C value
+     * @param groupD D value
+     * @param groupE E value or -1 if not present
+     * @param groupF F value or -1 if not present
+     * @return the numeric key or {@link #INVALID_KEY} if a group value is out of range
+     */
+    public static long toKey(int groupA, int groupB, int groupC, int groupD, int groupE, int groupF) {
+        if (groupA < 0 || groupC < 0 || groupD < 0 || groupA > KEY_GROUP_MAX_VALUE || groupB > KEY_GROUP_MAX_VALUE
+                || groupC > KEY_GROUP_MAX_VALUE || groupD > KEY_GROUP_MAX_VALUE || groupE > KEY_GROUP_MAX_VALUE
+                || groupF > KEY_GROUP_MAX_VALUE) {
+            return INVALID_KEY;
+        }
+        long key = toKeyGroup(groupA);
+        key = (key << KEY_GROUP_BITS) | toKeyGroup(groupB);
+        key = (key << KEY_GROUP_BITS) | toKeyGroup(groupC);
+        key = (key << KEY_GROUP_BITS) | toKeyGroup(groupD);
+        key = (key << KEY_GROUP_BITS) | toKeyGroup(groupE);
+        return (key << KEY_GROUP_BITS) | toKeyGroup(groupF);
+    }
+
+    /**
+     * Creates the {@link OBISIdentifier} of a numeric key.
+     *
+     * @param key the numeric key as created by {@link #toKey(int, int, int, int, int, int)}
+     * @return the OBIS Identifier represented by the key
+     */
+    public static OBISIdentifier fromKey(long key) {
+        return new OBISIdentifier(fromKeyGroup(key, 5), fromNullableKeyGroup(key, 4), fromKeyGroup(key, 3),
+                fromKeyGroup(key, 2), fromNullableKeyGroup(key, 1), fromNullableKeyGroup(key, 0));
+    }
+
+    private static long toKeyGroup(int value) {
+        return value < 0 ? 0 : value + 1;
+    }
+
+    private static int fromKeyGroup(long key, int group) {
+        return (int) ((key >>> (group * KEY_GROUP_BITS)) & KEY_GROUP_MASK) - 1;
+    }
+
+    private static @Nullable Integer fromNullableKeyGroup(long key, int group) {
+        int value = fromKeyGroup(key, group);
+        return value < 0 ? null : value;
+    }
+
+    /**
+     * @return the numeric key of this OBIS Identifier or {@link #INVALID_KEY} if it can't be represented as a key
+     */
+    public long getKey() {
+        return toKey(groupA, groupB == null ? -1 : groupB, groupC, groupD, groupE == null ? -1 : groupE,
+                groupF == null ? -1 : groupF);
+    }
+
     public boolean isConflict() {
         return conflict;
     }
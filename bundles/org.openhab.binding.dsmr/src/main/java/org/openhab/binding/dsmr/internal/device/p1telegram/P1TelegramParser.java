@@ -18,11 +18,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +33,10 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The parser works on the received bytes and reuses its buffers between telegrams. OBIS identifiers are decoded into
+ * a numeric key while they are received and the CRC is calculated and read while the telegram is received, so a
+ * complete telegram can be validated without processing it a second time.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -60,9 +64,14 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal characters of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Maximum number of groups in an OBIS identifier (A-B:C.D.E*F)
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int OBIS_GROUPS = 6;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -83,10 +92,45 @@ public class P1TelegramParser implements TelegramParser {
      */
     private final StringBuilder rawData = new StringBuilder();
 
+    /**
+     * Values of the groups of the current obisId read so far.
+     */
+    private final int[] obisGroups = new int[OBIS_GROUPS];
+
+    /**
+     * Separator characters following each group of the current obisId.
+     */
+    private final char[] obisSeparators = new char[OBIS_GROUPS];
+
+    /**
+     * Number of complete groups of the current obisId.
+     */
+    private int obisGroupCount;
+
+    /**
+     * Value of the group of the current obisId being read or -1 if no digit of the group was read yet.
+     */
+    private int obisGroupValue = -1;
+
+    /**
+     * true if the current obisId can't be represented as a numeric key and must be parsed from its String form.
+     */
+    private boolean obisKeyInvalid;
+
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of crc characters read.
+     */
+    private int crcValueLength;
+
+    /**
+     * true if a character not valid in a crc value was read.
+     */
+    private boolean crcValueInvalid;
 
     /**
      * CRC calculation helper
@@ -242,18 +286,18 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                Integer.toHexString(crcValue));
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (!crcValueInvalid && crcValueLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -325,6 +369,7 @@ public class P1TelegramParser implements TelegramParser {
                 break;
             case DATA_OBIS_ID:
                 obisId.append(c);
+                decodeObisIdCharacter(c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
@@ -339,7 +384,7 @@ public class P1TelegramParser implements TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    decodeCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -348,6 +393,87 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Decodes the next character of the obisId into the numeric groups.
+     *
+     * @param c the obisId character
+     */
+    private void decodeObisIdCharacter(char c) {
+        if (obisKeyInvalid) {
+            return;
+        }
+        if (c >= '0' && c <= '9') {
+            obisGroupValue = (obisGroupValue < 0 ? 0 : obisGroupValue * 10) + (c - '0');
+            // Group values are stored as a single byte in the key, larger values are parsed from the String
+            obisKeyInvalid = obisGroupValue > 0xFF;
+        } else if ((c == '-' || c == ':' || c == '.' || c == '*') && obisGroupValue >= 0
+                && obisGroupCount < OBIS_GROUPS - 1) {
+            obisGroups[obisGroupCount] = obisGroupValue;
+            obisSeparators[obisGroupCount] = c;
+            obisGroupCount++;
+            obisGroupValue = -1;
+        } else {
+            obisKeyInvalid = true;
+        }
+    }
+
+    /**
+     * Returns the numeric key of the current obisId. The groups are matched the same way as
+     * {@link OBISIdentifier#OBISIdentifier(String)} does: A-B:C.D.E*F, where A, B, E and F are optional.
+     *
+     * @return the numeric key or {@link OBISIdentifier#INVALID_KEY} if the obisId must be parsed from its String form
+     */
+    private long getObisKey() {
+        if (obisKeyInvalid || obisGroupValue < 0) {
+            return OBISIdentifier.INVALID_KEY;
+        }
+        final int count = obisGroupCount + 1;
+        obisGroups[obisGroupCount] = obisGroupValue;
+        obisSeparators[obisGroupCount] = 0;
+        int i = 0;
+        int groupA = 0;
+        int groupB = -1;
+
+        if (obisSeparators[i] == '-') {
+            groupA = obisGroups[i++];
+        }
+        if (i < count && obisSeparators[i] == ':') {
+            groupB = obisGroups[i++];
+        }
+        if (count - i < 2 || obisSeparators[i] != '.') {
+            return OBISIdentifier.INVALID_KEY;
+        }
+        final int groupC = obisGroups[i++];
+        final int groupD = obisGroups[i++];
+        int groupE = -1;
+        int groupF = -1;
+
+        if (i < count && obisSeparators[i - 1] == '.') {
+            groupE = obisGroups[i++];
+        }
+        if (i < count) {
+            groupF = obisGroups[i++];
+        }
+        return i == count ? OBISIdentifier.toKey(groupA, groupB, groupC, groupD, groupE, groupF)
+                : OBISIdentifier.INVALID_KEY;
+    }
+
+    /**
+     * Decodes the next hexadecimal character of the crc value.
+     *
+     * @param c the crc character
+     */
+    private void decodeCrcCharacter(char c) {
+        int digit = Character.digit(c, 16);
+
+        if (digit < 0 || Character.isLowerCase(c) || crcValueLength >= CRC_LENGTH) {
+            crcValueInvalid = true;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+        }
+        crcValueLength++;
+    }
+
     /**
      * Clears all internal state
      */
@@ -355,7 +481,9 @@ public class P1TelegramParser implements TelegramParser {
         obisId.setLength(0);
         obisValue.setLength(0);
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueInvalid = false;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
@@ -369,21 +497,25 @@ public class P1TelegramParser implements TelegramParser {
     private void clearObisData() {
         obisId.setLength(0);
         obisValue.setLength(0);
+        obisGroupCount = 0;
+        obisGroupValue = -1;
+        obisKeyInvalid = false;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
+        if (obisId.length() > 0) {
             final String obisValueString = obisValue.toString();
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
+            final long obisKey = getObisKey();
+            CosemObject cosemObject = obisKey == OBISIdentifier.INVALID_KEY
+                    ? factory.getCosemObject(obisId.toString(), obisValueString)
+                    : factory.getCosemObject(obisKey, obisValueString);
 
             if (cosemObject == null) {
                 if (lenientMode) {
-                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                    unknownCosemObjects.add(new SimpleEntry<>(obisId.toString(), obisValueString));
                 }
             } else {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -13,7 +13,10 @@
 package org.openhab.binding.dsmr.internal.handler;
 
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +34,7 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectType;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
@@ -57,9 +61,15 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private @NonNullByDefault({}) DSMRMeter meter;
 
     /**
-     * Last received cosem objects.
+     * Channel states of the last received telegram. A new map is created for each telegram, so it can be handed over
+     * as a whole to the state update cycle.
      */
-    private List<CosemObject> lastReceivedValues = Collections.emptyList();
+    private volatile Map<String, State> lastReceivedStates = Collections.emptyMap();
+
+    /**
+     * Channel id prefix per Cosem Object type, to not create the channel id from the type name for every value.
+     */
+    private final Map<CosemObjectType, String> channelPrefixes = new EnumMap<>(CosemObjectType.class);
 
     /**
      * Reference to the meter watchdog.
@@ -122,33 +132,48 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     }
 
     /**
-     * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
+     * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedStates are
      * cleared after processing here so when it does contain values the next time this method is called and it contains
      * values those are new values.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
-        if (!lastReceivedValues.isEmpty()) {
-            for (CosemObject cosemObject : lastReceivedValues) {
-                String channel = cosemObject.getType().name().toLowerCase();
-
-                for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
-                    if (!entry.getKey().isEmpty()) {
-                        /* CosemObject has a specific sub channel */
-                        channel += "_" + entry.getKey();
-                    }
-                    State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
-                }
+        final Map<String, State> states = lastReceivedStates;
+
+        if (!states.isEmpty()) {
+            lastReceivedStates = Collections.emptyMap();
+            for (Entry<String, State> entry : states.entrySet()) {
+                logger.debug("Updating state for channel {} to value {}", entry.getKey(), entry.getValue());
+                updateState(entry.getKey(), entry.getValue());
             }
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
             }
-            lastReceivedValues = Collections.emptyList();
         }
     }
 
+    /**
+     * Creates the channel states of the given Cosem Objects.
+     *
+     * @param cosemObjects the Cosem Objects of this meter
+     * @return map of channel id to state
+     */
+    private Map<String, State> toChannelStates(List<CosemObject> cosemObjects) {
+        final Map<String, State> states = new LinkedHashMap<>();
+
+        for (CosemObject cosemObject : cosemObjects) {
+            String channelPrefix = channelPrefixes.computeIfAbsent(cosemObject.getType(),
+                    type -> type.name().toLowerCase());
+
+            for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
+                /* CosemObject can have a specific sub channel */
+                states.put(entry.getKey().isEmpty() ? channelPrefix : channelPrefix + "_" + entry.getKey(),
+                        entry.getValue());
+            }
+        }
+        return states;
+    }
+
     /**
      * Callback for received meter values. When this method is called but the telegram has no values for this meter this
      * meter is set to offline because something is wrong, possible the meter has been removed.
@@ -157,7 +182,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     @Override
     public void telegramReceived(P1Telegram telegram) {
-        lastReceivedValues = Collections.emptyList();
+        lastReceivedStates = Collections.emptyMap();
         final DSMRMeter localMeter = meter;
 
         if (localMeter == null) {
@@ -173,7 +198,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
             if (logger.isTraceEnabled()) {
                 logger.trace("Received {} objects for {}", filteredValues.size(), getThing().getThingTypeUID().getId());
             }
-            lastReceivedValues = filteredValues;
+            lastReceivedStates = toChannelStates(filteredValues);
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateState();
             }
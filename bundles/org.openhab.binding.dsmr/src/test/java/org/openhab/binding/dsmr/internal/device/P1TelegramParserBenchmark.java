@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
+import org.openhab.binding.dsmr.internal.device.p1telegram.TelegramParser;
+
+/**
+ * Measures the time to parse the recorded telegrams, including decrypting a Smarty telegram. This is not a unit test,
+ * run it from the IDE with the main method:
+ *
+ * <pre>
+ * P1TelegramParserBenchmark [iterations]
+ * </pre>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class P1TelegramParserBenchmark {
+
+    private static final String[] TELEGRAMS = { "ace4000", "dsmr_40", "dsmr_42", "dsmr_50", "flu5", "Iskra_AM550",
+            "Landis_Gyr_E350", "Landis_Gyr_ZCF110", "Sagemcom_XS210", "smarty" };
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int DEFAULT_ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        for (String telegramName : TELEGRAMS) {
+            byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+            AtomicInteger received = new AtomicInteger();
+
+            report(telegramName, new P1TelegramParser(t -> received.incrementAndGet()), data, received, iterations);
+        }
+        AtomicInteger received = new AtomicInteger();
+        P1TelegramListener listener = t -> received.incrementAndGet();
+        SmartyDecrypter decrypter = new SmartyDecrypter(new P1TelegramParser(listener),
+                new DSMRTelegramListener(SmartyDecrypterTest.KEY), SmartyDecrypterTest.KEY);
+
+        report("smarty (encrypted)", decrypter, SmartyDecrypterTest.getTelegramBytes(), received, iterations);
+    }
+
+    private static void report(String name, TelegramParser parser, byte[] data, AtomicInteger received,
+            int iterations) {
+        run(parser, data, WARMUP_ITERATIONS);
+        received.set(0);
+        long start = System.nanoTime();
+
+        run(parser, data, iterations);
+        long duration = System.nanoTime() - start;
+
+        System.out.println(String.format("%-20s %8.2f us/telegram, %8.1f MB/s, %d/%d telegrams received", name,
+                duration / 1000.0 / iterations, (double) data.length * iterations * 1000 / duration, received.get(),
+                iterations));
+    }
+
+    private static void run(TelegramParser parser, byte[] data, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            parser.parse(data, data.length);
+        }
+    }
+}
@@ -32,8 +32,8 @@ import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
 @NonNullByDefault
 public class SmartyDecrypterTest {
 
-    private static final String KEY = "D491470F47126332B07D1923B3504188";
-    private static final int[] TELEGRAM = new int[] { 0xDB, 0x08, 0x53, 0x41, 0x47, 0x67, 0x70, 0x01, 0xBD, 0x54, 0x82,
+    static final String KEY = "D491470F47126332B07D1923B3504188";
+    static final int[] TELEGRAM = new int[] { 0xDB, 0x08, 0x53, 0x41, 0x47, 0x67, 0x70, 0x01, 0xBD, 0x54, 0x82,
             0x02, 0x7A, 0x30, 0x00, 0x05, 0xA8, 0xE3, 0x80, 0x6E, 0xE6, 0xE6, 0x39, 0x27, 0x4C, 0x7B, 0xC5, 0x70, 0x95,
             0xF8, 0x72, 0xB0, 0x8D, 0xDE, 0x62, 0x1F, 0xB7, 0x4E, 0xE8, 0x1E, 0x5E, 0xBE, 0x34, 0x2C, 0x93, 0xD8, 0xE7,
             0x37, 0x81, 0xFB, 0x2A, 0x1E, 0xB8, 0x71, 0x00, 0x74, 0xA5, 0x4F, 0xC5, 0x7A, 0xA7, 0xD1, 0xD9, 0x92, 0x36,
@@ -81,15 +81,23 @@ public class SmartyDecrypterTest {
         SmartyDecrypter decoder = new SmartyDecrypter(new P1TelegramParser(telegramListener),
                 new DSMRTelegramListener(KEY), KEY);
         decoder.setLenientMode(true);
-        byte[] data = new byte[TELEGRAM.length];
-
-        for (int i = 0; i < TELEGRAM.length; i++) {
-            data[i] = (byte) TELEGRAM[i];
-        }
+        byte[] data = getTelegramBytes();
 
         decoder.parse(data, data.length);
         String expected = new String(TelegramReaderUtil.readRawTelegram("smarty"), StandardCharsets.UTF_8);
 
         assertThat("Should have correctly decrypted the telegram", telegramResult.get(), is(equalTo(expected)));
     }
+
+    /**
+     * @return the encrypted Smarty test telegram
+     */
+    static byte[] getTelegramBytes() {
+        byte[] data = new byte[TELEGRAM.length];
+
+        for (int i = 0; i < TELEGRAM.length; i++) {
+            data[i] = (byte) TELEGRAM[i];
+        }
+        return data;
+    }
 }
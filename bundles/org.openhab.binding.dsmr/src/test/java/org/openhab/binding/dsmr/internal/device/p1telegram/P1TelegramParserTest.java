@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -64,4 +65,23 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum());
     }
+
+    /**
+     * Parsing the same telegram again uses the OBIS keys resolved the first time and should give the same result.
+     */
+    @Test
+    public void testRepeatedParsing() {
+        List<P1Telegram> telegrams = new ArrayList<>();
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        parser.parse(data, data.length);
+        parser.parse(data, data.length);
+        assertEquals("Expected 2 telegrams", 2, telegrams.size());
+        for (P1Telegram telegram : telegrams) {
+            assertEquals("Expected telegram state", TelegramState.OK, telegram.getTelegramState());
+            assertEquals("Expected number of objects", numberOfCosemObjects,
+                    telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum());
+        }
+    }
 }
@@ -14,7 +14,14 @@ package org.openhab.binding.enocean.internal.eep;
 
 import static org.openhab.binding.enocean.internal.messages.ESP3Packet.*;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -39,36 +46,72 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Constructor references per EEP type (like A5_02_05::new), they are created from the EEP class of the type the
+     * first time the type is used. Decoding a telegram then calls the constructor directly instead of by reflection.
+     */
+    private static final Map<EEPType, Function<ERP1Message, EEP>> DECODERS = new ConcurrentHashMap<>();
+    private static final Map<EEPType, Supplier<EEP>> ENCODERS = new ConcurrentHashMap<>();
+
     public static EEP createEEP(EEPType eepType) {
+        Supplier<EEP> encoder = ENCODERS.computeIfAbsent(eepType,
+                type -> createConstructorReference(type, Supplier.class, "get"));
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
-            }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+            return encoder.get();
+        } catch (RuntimeException e) {
+            logCannotInstantiate(eepType, e);
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
+        Function<ERP1Message, EEP> decoder = DECODERS.computeIfAbsent(eepType,
+                type -> createConstructorReference(type, Function.class, "apply", ERP1Message.class));
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
-            }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
-            logger.error("Cannot instantiate EEP {}-{}-{}: {}",
-                    HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
+            return decoder.apply(packet);
+        } catch (RuntimeException e) {
+            logCannotInstantiate(eepType, e);
+            throw new IllegalArgumentException(e);
+        }
+    }
 
+    /**
+     * Creates the functional interface instance a constructor reference to the EEP class of the given type would
+     * compile to.
+     *
+     * @param eepType the EEP type
+     * @param functionalInterface the interface the reference implements
+     * @param methodName the name of the single abstract method of the interface
+     * @param parameterTypes the parameter types of the constructor
+     * @return the constructor reference
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T createConstructorReference(EEPType eepType, Class<?> functionalInterface, String methodName,
+            Class<?>... parameterTypes) {
+        Class<? extends EEP> cl = eepType.getEEPClass();
+        if (cl == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+        try {
+            MethodHandle constructor = LOOKUP.findConstructor(cl, MethodType.methodType(void.class, parameterTypes));
+            MethodType erasedType = MethodType.genericMethodType(parameterTypes.length);
+            return (T) LambdaMetafactory.metafactory(LOOKUP, methodName, MethodType.methodType(functionalInterface),
+                    erasedType, constructor, constructor.type()).getTarget().invoke();
+        } catch (Throwable e) {
+            logCannotInstantiate(eepType, e);
             throw new IllegalArgumentException(e);
         }
     }
 
+    private static void logCannotInstantiate(EEPType eepType, Throwable e) {
+        logger.error("Cannot instantiate EEP {}-{}-{}: {}",
+                HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
+    }
+
     public static EEP buildEEPFromTeachInERP1(ERP1Message msg) {
         if (!msg.getIsTeachIn() && !(msg.getRORG() == RORG.RPS)) {
             return null;
@@ -51,26 +51,16 @@ public class EnOceanESP2Transceiver extends EnOceanTransceiver {
     byte packetType = -1;
 
     @Override
-    protected void processMessage(byte firstByte) {
-        byte[] readingBuffer = new byte[ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
+    protected void processMessage(byte[] data, int length) {
         byte _byte;
 
         try {
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
-
             if (readingTask == null || readingTask.isCancelled()) {
                 return;
             }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+            for (int p = 0; p < length; p++) {
+                _byte = data[p];
 
                 switch (state) {
                     case WaitingForFirstSyncByte:
@@ -51,26 +51,16 @@ public class EnOceanESP3Transceiver extends EnOceanTransceiver {
     byte packetType = -1;
 
     @Override
-    protected void processMessage(byte firstByte) {
-        byte[] readingBuffer = new byte[ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
+    protected void processMessage(byte[] data, int length) {
         byte _byte;
 
         try {
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
-
             if (readingTask == null || readingTask.isCancelled()) {
                 return;
             }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+            for (int p = 0; p < length; p++) {
+                _byte = data[p];
 
                 switch (state) {
                     case WaitingForSyncByte:
@@ -142,10 +132,13 @@ public class EnOceanESP3Transceiver extends EnOceanTransceiver {
                                             break;
                                         case RADIO_ERP1: {
                                             ERP1Message msg = (ERP1Message) packet;
-                                            logger.debug("{} with RORG {} for {} payload {} received",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(
-                                                            Arrays.copyOf(dataBuffer, dataLength + optionalLength)));
+                                            if (logger.isDebugEnabled()) {
+                                                logger.debug("{} with RORG {} for {} payload {} received",
+                                                        packet.getPacketType().name(), msg.getRORG().name(),
+                                                        HexUtils.bytesToHex(msg.getSenderId()),
+                                                        HexUtils.bytesToHex(Arrays.copyOf(dataBuffer,
+                                                                dataLength + optionalLength)));
+                                            }
 
                                             if (msg.getRORG() != RORG.Unknown) {
                                                 informListeners(msg);
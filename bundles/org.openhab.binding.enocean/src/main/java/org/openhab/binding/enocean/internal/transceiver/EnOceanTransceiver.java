@@ -15,11 +15,11 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -50,6 +50,9 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     public static final int ENOCEAN_MAX_DATA = 65790;
 
+    // Number of bytes read from the serial port at once
+    private static final int READ_BUFFER_SIZE = 1024;
+
     // Thread management
     protected Future<?> readingTask = null;
     private Future<?> timeOut = null;
@@ -137,8 +140,8 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     RequestQueue requestQueue;
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<PacketListener>> listeners;
-    protected PacketListener teachInListener;
+    protected Map<Long, Set<PacketListener>> listeners;
+    protected volatile PacketListener teachInListener;
 
     protected InputStream inputStream;
     protected OutputStream outputStream;
@@ -150,7 +153,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
             SerialPortManager serialPortManager) {
         requestQueue = new RequestQueue(scheduler);
 
-        listeners = new HashMap<>();
+        listeners = new ConcurrentHashMap<>();
         teachInListener = null;
 
         this.errorListener = errorListener;
@@ -246,17 +249,23 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
-            int bytesRead = read(buffer, 1);
+            int bytesRead = read(buffer, buffer.length);
             if (bytesRead > 0) {
-                processMessage(buffer[0]);
+                processMessage(buffer, bytesRead);
             }
         }
     }
 
-    protected abstract void processMessage(byte firstByte);
+    /**
+     * Processes the bytes read from the serial port. A packet can be split over several calls.
+     *
+     * @param data buffer containing the bytes read, the buffer is reused for the next read
+     * @param length number of bytes read
+     */
+    protected abstract void processMessage(byte[] data, int length);
 
     protected int read(byte[] buffer, int length) {
         try {
@@ -277,6 +286,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     return;
                 }
 
+                PacketListener teachInListener = this.teachInListener;
                 if (teachInListener != null) {
                     if (msg.getIsTeachIn() || (msg.getRORG() == RORG.RPS)) {
                         logger.info("Received teach in message from {}", HexUtils.bytesToHex(msg.getSenderId()));
@@ -291,8 +301,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<PacketListener> pl = listeners.get(s);
+                Set<PacketListener> pl = listeners.get(toLong(senderId));
                 if (pl != null) {
                     pl.forEach(l -> l.packetReceived(msg));
                 }
@@ -302,6 +311,14 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
         }
     }
 
+    private static long toLong(byte[] senderId) {
+        long result = 0;
+        for (byte b : senderId) {
+            result = (result << 8) | (b & 0xFF);
+        }
+        return result;
+    }
+
     protected void handleResponse(Response response) throws IOException {
         if (currentRequest != null) {
             if (currentRequest.ResponseListener != null) {
@@ -339,19 +356,22 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     protected abstract byte[] serializePacket(BasePacket packet) throws EnOceanException;
 
     public void addPacketListener(PacketListener listener, long senderIdToListenTo) {
-        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new HashSet<>()).add(listener)) {
+        boolean[] added = new boolean[1];
+        listeners.compute(senderIdToListenTo, (k, pl) -> {
+            Set<PacketListener> result = pl == null ? ConcurrentHashMap.newKeySet() : pl;
+            added[0] = result.add(listener);
+            return result;
+        });
+        if (added[0]) {
             logger.debug("Listener added: {}", senderIdToListenTo);
         }
     }
 
     public void removePacketListener(PacketListener listener, long senderIdToListenTo) {
-        HashSet<PacketListener> pl = listeners.get(senderIdToListenTo);
-        if (pl != null) {
+        listeners.computeIfPresent(senderIdToListenTo, (k, pl) -> {
             pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(senderIdToListenTo);
-            }
-        }
+            return pl.isEmpty() ? null : pl;
+        });
     }
 
     public void startDiscovery(PacketListener teachInListener) {
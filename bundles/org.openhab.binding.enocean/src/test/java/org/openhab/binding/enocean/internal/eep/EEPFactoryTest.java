@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
+import static org.openhab.binding.enocean.internal.transceiver.ESP3Telegrams.*;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+
+/**
+ * Tests that the {@link EEPFactory} with its constructor references builds the same EEPs as constructing them by
+ * reflection.
+ *
+ * @author agent - Initial contribution
+ */
+public class EEPFactoryTest {
+
+    private static final Object[][] TELEGRAMS = { { EEPType.RockerSwitch2RockerStyle1, ROCKER_PRESSED },
+            { EEPType.RockerSwitch2RockerStyle1, ROCKER_RELEASED },
+            { EEPType.TemperatureSensor_A5_02_05, TEMPERATURE }, { EEPType.ContactAndSwitch01, CONTACT },
+            { EEPType.SwitchWithEnergyMeasurment_09, ACTUATOR_STATUS } };
+
+    @Test
+    public void decodedTelegramsMatchReflectiveConstruction() throws Exception {
+        for (Object[] telegram : TELEGRAMS) {
+            EEPType eepType = (EEPType) telegram[0];
+            ERP1Message msg = toERP1Message((String) telegram[1]);
+
+            EEP built = EEPFactory.buildEEP(eepType, msg);
+            EEP reflective = eepType.getEEPClass().getConstructor(ERP1Message.class).newInstance(msg);
+
+            assertThat(built.getClass(), is(equalTo(eepType.getEEPClass())));
+            assertArrayEquals(reflective.getSenderId(), built.getSenderId());
+            ERP1Message expected = reflective.getERP1Message();
+            ERP1Message actual = built.getERP1Message();
+            assertArrayEquals(msg.getPayload(), actual.getPayload());
+            assertArrayEquals(expected.getPayload(), actual.getPayload());
+            assertArrayEquals(expected.getOptionalPayload(), actual.getOptionalPayload());
+        }
+    }
+
+    @Test
+    public void everyTelegramGetsItsOwnEEP() {
+        for (Object[] telegram : TELEGRAMS) {
+            EEPType eepType = (EEPType) telegram[0];
+            ERP1Message msg = toERP1Message((String) telegram[1]);
+
+            assertThat(EEPFactory.buildEEP(eepType, msg), is(not(sameInstance(EEPFactory.buildEEP(eepType, msg)))));
+        }
+
+        // only EEPs that can be sent have a constructor without a telegram
+        for (EEPType eepType : new EEPType[] { EEPType.ContactAndSwitch01, EEPType.SwitchWithEnergyMeasurment_09 }) {
+            EEP created = EEPFactory.createEEP(eepType);
+            assertThat(created.getClass(), is(equalTo(eepType.getEEPClass())));
+            assertThat(created, is(not(sameInstance(EEPFactory.createEEP(eepType)))));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void receiveOnlyEEPsCannotBeCreated() {
+        EEPFactory.createEEP(EEPType.TemperatureSensor_A5_02_05);
+    }
+
+    @Test
+    public void decodedStateDependsOnlyOnTheTelegram() {
+        EEP closed = EEPFactory.buildEEP(EEPType.ContactAndSwitch01, toERP1Message(CONTACT));
+        EEP temperature = EEPFactory.buildEEP(EEPType.TemperatureSensor_A5_02_05, toERP1Message(TEMPERATURE));
+
+        assertThat(closed.convertToState(CHANNEL_CONTACT, CHANNEL_CONTACT, new Configuration(), null),
+                is(OpenClosedType.CLOSED));
+        assertThat(closed.convertToState(CHANNEL_RSSI, CHANNEL_RSSI, new Configuration(), null),
+                is(new DecimalType(-60)));
+        assertThat(temperature.convertToState(CHANNEL_RSSI, CHANNEL_RSSI, new Configuration(), null),
+                is(new DecimalType(-80)));
+    }
+}
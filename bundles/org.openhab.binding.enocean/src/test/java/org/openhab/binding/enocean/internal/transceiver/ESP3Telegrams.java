@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+
+/**
+ * ESP3 frames of common telegrams as the gateway sends them over the serial port, together with the sender ids of the
+ * telegrams. The replay is one stream of these frames, interleaved with line noise and a frame with a broken CRC,
+ * which the transceiver has to skip.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3Telegrams {
+
+    // F6-02-01 rocker switch, button AI pressed and released
+    public static final String ROCKER_PRESSED = "55 00 07 07 01 7A F6 30 FE F0 FF 01 30 01 FF FF FF FF 4B 00 67";
+    public static final String ROCKER_RELEASED = "55 00 07 07 01 7A F6 00 FE F0 FF 01 20 01 FF FF FF FF 4B 00 D1";
+    public static final long ROCKER_SENDER = 0xFEF0FF01L;
+
+    // A5-02-05 temperature sensor, 20 °C
+    public static final String TEMPERATURE = "55 00 0A 07 01 EB A5 00 00 7F 08 01 81 B3 9C 00 "
+            + "01 FF FF FF FF 50 00 F7";
+    // A5-02-05 teach-in of the same sensor, discarded if no discovery is running
+    public static final String TEMPERATURE_TEACH_IN = "55 00 0A 07 01 EB A5 08 28 0B 80 01 81 B3 9C 00 "
+            + "01 FF FF FF FF 50 00 27";
+    public static final long TEMPERATURE_SENDER = 0x0181B39CL;
+
+    // D5-00-01 contact, closed
+    public static final String CONTACT = "55 00 07 07 01 7A D5 09 01 85 A1 F2 00 01 FF FF FF FF 3C 00 AA";
+    public static final long CONTACT_SENDER = 0x0185A1F2L;
+
+    // D2-01-09 actuator status response, output 100 %
+    public static final String ACTUATOR_STATUS = "55 00 09 07 01 56 D2 04 60 E4 01 94 C2 F5 00 "
+            + "01 FF FF FF FF 3E 00 09";
+    public static final long ACTUATOR_SENDER = 0x0194C2F5L;
+
+    // RET_OK response of the gateway
+    public static final String RESPONSE_OK = "55 00 01 00 02 65 00 00";
+
+    // a sync byte that does not start a frame
+    public static final String NOISE = "00 FF 55 00";
+    // the contact frame with a broken data CRC
+    public static final String BROKEN_CRC = "55 00 07 07 01 7A D5 09 01 85 A1 F2 00 01 FF FF FF FF 3C 00 AB";
+
+    private static final String[] ROUND = { ROCKER_PRESSED, TEMPERATURE, NOISE, ROCKER_RELEASED, CONTACT,
+            RESPONSE_OK, BROKEN_CRC, TEMPERATURE_TEACH_IN, ACTUATOR_STATUS };
+
+    /**
+     * Number of telegrams of each round that reach the listeners of the senders
+     */
+    public static final int ROCKER_PER_ROUND = 2;
+    public static final int TEMPERATURE_PER_ROUND = 1;
+    public static final int CONTACT_PER_ROUND = 1;
+    public static final int ACTUATOR_PER_ROUND = 1;
+
+    /**
+     * @param rounds the number of times the telegrams are repeated
+     * @return the bytes the gateway sends for the given number of rounds
+     */
+    public static byte[] replay(int rounds) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < rounds; i++) {
+            for (String frame : ROUND) {
+                byte[] bytes = toBytes(frame);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] toBytes(String frame) {
+        return HexUtils.hexToBytes(frame.replace(" ", ""));
+    }
+
+    /**
+     * @param frame an ESP3 frame of a radio telegram
+     * @return the telegram of the frame as the transceiver builds it
+     */
+    public static ERP1Message toERP1Message(String frame) {
+        byte[] bytes = toBytes(frame);
+        int dataLength = ((bytes[1] & 0xFF) << 8) | (bytes[2] & 0xFF);
+        int optionalLength = bytes[3] & 0xFF;
+        return new ERP1Message(dataLength, optionalLength,
+                Arrays.copyOfRange(bytes, 6, 6 + dataLength + optionalLength));
+    }
+}
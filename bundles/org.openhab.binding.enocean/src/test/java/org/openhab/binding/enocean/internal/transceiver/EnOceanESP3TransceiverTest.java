@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.openhab.binding.enocean.internal.transceiver.ESP3Telegrams.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+
+/**
+ * Replays recorded ESP3 frames through the {@link EnOceanESP3Transceiver}.
+ *
+ * @author agent - Initial contribution
+ */
+public class EnOceanESP3TransceiverTest {
+
+    private static final int ROUNDS = 50;
+    private static final int READ_BUFFER_SIZE = 1024;
+
+    private final Map<Long, List<BasePacket>> received = new ConcurrentHashMap<>();
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+    private EnOceanESP3Transceiver transceiver;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        transceiver = new EnOceanESP3Transceiver("/dev/ttyUSB0", errors::add, scheduler,
+                mock(SerialPortManager.class));
+        for (long senderId : new long[] { ROCKER_SENDER, TEMPERATURE_SENDER, CONTACT_SENDER, ACTUATOR_SENDER }) {
+            transceiver.addPacketListener(listener(senderId), senderId);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void replayInBlocksDeliversEveryTelegram() {
+        byte[] data = replay(ROUNDS);
+        assertTrue(data.length > 2 * READ_BUFFER_SIZE);
+
+        process(data, READ_BUFFER_SIZE);
+
+        assertReceived(ROUNDS);
+        assertArrayEquals(toERP1Message(CONTACT).getPayload(), received.get(CONTACT_SENDER).get(0).getPayload());
+        assertThat(errors.isEmpty(), is(true));
+    }
+
+    @Test
+    public void splitPointsDoNotChangeTheResult() {
+        byte[] data = replay(ROUNDS);
+        process(data, READ_BUFFER_SIZE);
+        List<byte[]> expected = payloads();
+
+        for (int chunkSize : new int[] { 1, 5, 23, 512 }) {
+            received.clear();
+            process(data, chunkSize);
+            assertReceived(ROUNDS);
+            assertPayloads(expected, payloads());
+        }
+
+        received.clear();
+        Random random = new Random(42);
+        int offset = 0;
+        while (offset < data.length) {
+            int length = Math.min(1 + random.nextInt(64), data.length - offset);
+            transceiver.processMessage(Arrays.copyOfRange(data, offset, offset + length), length);
+            offset += length;
+        }
+        assertReceived(ROUNDS);
+        assertPayloads(expected, payloads());
+    }
+
+    @Test
+    public void teachInTelegramsAreOnlyDeliveredDuringDiscovery() {
+        List<BasePacket> teachIns = new CopyOnWriteArrayList<>();
+        transceiver.startDiscovery(new PacketListener() {
+            @Override
+            public void packetReceived(BasePacket packet) {
+                teachIns.add(packet);
+            }
+
+            @Override
+            public long getSenderIdToListenTo() {
+                return 0;
+            }
+        });
+
+        process(replay(1), READ_BUFFER_SIZE);
+
+        // RPS telegrams are always teach-in telegrams
+        assertThat(teachIns.size(), is(3));
+        assertThat(received.get(ROCKER_SENDER), is(nullValue()));
+        assertThat(received.get(TEMPERATURE_SENDER).size(), is(TEMPERATURE_PER_ROUND));
+    }
+
+    @Test
+    public void serialPortIsReadInBlocks() throws InterruptedException {
+        byte[] data = replay(ROUNDS);
+        List<Integer> requestedLengths = new CopyOnWriteArrayList<>();
+        CountDownLatch allRead = new CountDownLatch(1);
+        transceiver.inputStream = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                requestedLengths.add(len);
+                int read = super.read(b, off, len);
+                if (read < 0) {
+                    allRead.countDown();
+                }
+                return read;
+            }
+        };
+
+        // the reading task must not start before it is assigned
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        transceiver.StartReceiving(scheduler);
+        started.countDown();
+
+        assertTrue(allRead.await(5, TimeUnit.SECONDS));
+        transceiver.readingTask.cancel(true);
+
+        assertReceived(ROUNDS);
+        assertThat(requestedLengths.stream().allMatch(length -> length == READ_BUFFER_SIZE), is(true));
+        // one read per block and the read at the end of the stream
+        assertThat(requestedLengths.size() > (data.length + READ_BUFFER_SIZE - 1) / READ_BUFFER_SIZE, is(true));
+    }
+
+    private void process(byte[] data, int chunkSize) {
+        // processMessage only works while the transceiver is receiving
+        transceiver.readingTask = new CompletableFuture<Void>();
+        byte[] buffer = new byte[chunkSize];
+        ByteArrayInputStream in = new ByteArrayInputStream(data);
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) > 0) {
+            transceiver.processMessage(buffer, read);
+        }
+    }
+
+    private void assertReceived(int rounds) {
+        assertThat(received.get(ROCKER_SENDER).size(), is(rounds * ROCKER_PER_ROUND));
+        assertThat(received.get(TEMPERATURE_SENDER).size(), is(rounds * TEMPERATURE_PER_ROUND));
+        assertThat(received.get(CONTACT_SENDER).size(), is(rounds * CONTACT_PER_ROUND));
+        assertThat(received.get(ACTUATOR_SENDER).size(), is(rounds * ACTUATOR_PER_ROUND));
+    }
+
+    private List<byte[]> payloads() {
+        List<byte[]> payloads = new ArrayList<>();
+        for (long senderId : new long[] { ROCKER_SENDER, TEMPERATURE_SENDER, CONTACT_SENDER, ACTUATOR_SENDER }) {
+            received.get(senderId).forEach(packet -> payloads.add(packet.getPayload()));
+        }
+        return payloads;
+    }
+
+    private static void assertPayloads(List<byte[]> expected, List<byte[]> actual) {
+        assertThat(actual.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private PacketListener listener(long senderId) {
+        return new PacketListener() {
+            @Override
+            public void packetReceived(BasePacket packet) {
+                received.computeIfAbsent(senderId, k -> new CopyOnWriteArrayList<>()).add(packet);
+            }
+
+            @Override
+            public long getSenderIdToListenTo() {
+                return senderId;
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.mockito.Mockito.mock;
+import static org.openhab.binding.enocean.internal.transceiver.ESP3Telegrams.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.openhab.binding.enocean.internal.eep.EEP;
+import org.openhab.binding.enocean.internal.eep.EEPFactory;
+import org.openhab.binding.enocean.internal.eep.EEPType;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+
+/**
+ * Measures the time to parse the replayed ESP3 frames read in blocks from the serial port and to decode the received
+ * telegrams, once with the constructors cached by the {@link EEPFactory} and once looking them up by reflection for
+ * every telegram. This is not a unit test, run it from the IDE with the main method:
+ *
+ * <pre>
+ * EnOceanReplayBenchmark [iterations]
+ * </pre>
+ *
+ * @author agent - Initial contribution
+ */
+public class EnOceanReplayBenchmark {
+
+    private static final int READ_BUFFER_SIZE = 1024;
+    private static final int ROUNDS = 100;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int DEFAULT_ITERATIONS = 2_000;
+
+    private static final Map<Long, EEPType> EEP_TYPES = new HashMap<>();
+    static {
+        EEP_TYPES.put(ROCKER_SENDER, EEPType.RockerSwitch2RockerStyle1);
+        EEP_TYPES.put(TEMPERATURE_SENDER, EEPType.TemperatureSensor_A5_02_05);
+        EEP_TYPES.put(CONTACT_SENDER, EEPType.ContactAndSwitch01);
+        EEP_TYPES.put(ACTUATOR_SENDER, EEPType.SwitchWithEnergyMeasurment_09);
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        byte[] data = replay(ROUNDS);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            AtomicInteger cachedReceived = new AtomicInteger();
+            EnOceanESP3Transceiver cached = createTransceiver(scheduler, EEPFactory::buildEEP, cachedReceived);
+            AtomicInteger reflectionReceived = new AtomicInteger();
+            EnOceanESP3Transceiver reflection = createTransceiver(scheduler,
+                    EnOceanReplayBenchmark::buildByReflection, reflectionReceived);
+
+            // both variants share the parser, so warm up both before measuring any of them
+            run(cached, data, WARMUP_ITERATIONS);
+            run(reflection, data, WARMUP_ITERATIONS);
+
+            report("cached constructors", cached, data, cachedReceived, iterations);
+            report("reflection", reflection, data, reflectionReceived, iterations);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static EnOceanESP3Transceiver createTransceiver(ScheduledExecutorService scheduler,
+            BiFunction<EEPType, ERP1Message, EEP> decoder, AtomicInteger received) {
+        EnOceanESP3Transceiver transceiver = new EnOceanESP3Transceiver("/dev/ttyUSB0", e -> {
+        }, scheduler, mock(SerialPortManager.class));
+        // processMessage only works while the transceiver is receiving
+        transceiver.readingTask = new CompletableFuture<Void>();
+        for (Map.Entry<Long, EEPType> entry : EEP_TYPES.entrySet()) {
+            transceiver.addPacketListener(new PacketListener() {
+                @Override
+                public void packetReceived(BasePacket packet) {
+                    decoder.apply(entry.getValue(), (ERP1Message) packet);
+                    received.incrementAndGet();
+                }
+
+                @Override
+                public long getSenderIdToListenTo() {
+                    return entry.getKey();
+                }
+            }, entry.getKey());
+        }
+        return transceiver;
+    }
+
+    private static void report(String name, EnOceanESP3Transceiver transceiver, byte[] data, AtomicInteger received,
+            int iterations) {
+        received.set(0);
+        long start = System.nanoTime();
+
+        run(transceiver, data, iterations);
+        long duration = System.nanoTime() - start;
+
+        System.out.println(String.format("%-20s %8.2f us/telegram, %8.1f MB/s, %d telegrams received", name,
+                duration / 1000.0 / received.get(), (double) data.length * iterations * 1000 / duration,
+                received.get()));
+    }
+
+    private static void run(EnOceanESP3Transceiver transceiver, byte[] data, int iterations) {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        for (int i = 0; i < iterations; i++) {
+            for (int offset = 0; offset < data.length; offset += READ_BUFFER_SIZE) {
+                int length = Math.min(READ_BUFFER_SIZE, data.length - offset);
+                System.arraycopy(data, offset, buffer, 0, length);
+                transceiver.processMessage(buffer, length);
+            }
+        }
+    }
+
+    /**
+     * The former EEPFactory.buildEEP, which looked up the constructor for every telegram
+     */
+    private static EEP buildByReflection(EEPType eepType, ERP1Message packet) {
+        try {
+            return eepType.getEEPClass().getConstructor(ERP1Message.class).newInstance(packet);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
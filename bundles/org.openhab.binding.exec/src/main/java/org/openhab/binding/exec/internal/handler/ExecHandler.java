@@ -23,7 +23,9 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.IllegalFormatException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -82,6 +84,9 @@ public class ExecHandler extends BaseThingHandler {
     public static final String COMMAND = "command";
     public static final String TRANSFORM = "transform";
     public static final String AUTORUN = "autorun";
+    public static final String WORKER = "worker";
+    public static final String STREAMING = "streaming";
+    public static final String CONCURRENCY = "concurrency";
 
     // RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code>
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
@@ -89,11 +94,22 @@ public class ExecHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> executionJob;
     private @Nullable String lastInput;
 
+    // limits the number of concurrent executions, further executions are coalesced into one pending execution
+    private Semaphore executionPermits = new Semaphore(1);
+    private final AtomicBoolean executionPending = new AtomicBoolean();
+    // executions run concurrently with a concurrency above 1, but all of them share one worker
+    private final Object workerLock = new Object();
+    private @Nullable ExecWorker worker;
+
     private static Runtime rt = Runtime.getRuntime();
 
     public ExecHandler(Thing thing, ExecWhitelistWatchService execWhitelistWatchService) {
+        this(thing, execWhitelistWatchService, FrameworkUtil.getBundle(ExecHandler.class).getBundleContext());
+    }
+
+    ExecHandler(Thing thing, ExecWhitelistWatchService execWhitelistWatchService, BundleContext bundleContext) {
         super(thing);
-        this.bundleContext = FrameworkUtil.getBundle(ExecHandler.class).getBundleContext();
+        this.bundleContext = bundleContext;
         this.execWhitelistWatchService = execWhitelistWatchService;
     }
 
@@ -126,6 +142,13 @@ public class ExecHandler extends BaseThingHandler {
 
     @Override
     public void initialize() {
+        Object concurrency = getConfig().get(CONCURRENCY);
+        if (concurrency != null && ((BigDecimal) concurrency).intValue() > 0) {
+            executionPermits = new Semaphore(((BigDecimal) concurrency).intValue());
+        } else {
+            executionPermits = new Semaphore(1);
+        }
+
         if (executionJob == null || executionJob.isCancelled()) {
             if ((getConfig().get(INTERVAL)) != null && ((BigDecimal) getConfig().get(INTERVAL)).intValue() > 0) {
                 int pollingInterval = ((BigDecimal) getConfig().get(INTERVAL)).intValue();
@@ -142,9 +165,36 @@ public class ExecHandler extends BaseThingHandler {
             executionJob.cancel(true);
             executionJob = null;
         }
+        synchronized (workerLock) {
+            ExecWorker localWorker = worker;
+            if (localWorker != null) {
+                localWorker.stop();
+                worker = null;
+            }
+        }
     }
 
     public void execute() {
+        // The request is flagged before a permit is tried. An execution that releases its permit afterwards sees
+        // the flag and runs it, so no request is lost between a failed tryAcquire and the flag.
+        executionPending.set(true);
+        while (executionPending.get()) {
+            if (!executionPermits.tryAcquire()) {
+                logger.debug("Command '{}' is still running, it will be executed again when it has finished",
+                        getConfig().get(COMMAND));
+                return;
+            }
+            try {
+                if (executionPending.getAndSet(false)) {
+                    executeCommand();
+                }
+            } finally {
+                executionPermits.release();
+            }
+        }
+    }
+
+    private void executeCommand() {
         String commandLine = (String) getConfig().get(COMMAND);
         if (!execWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
@@ -159,6 +209,11 @@ public class ExecHandler extends BaseThingHandler {
         if (commandLine != null && !commandLine.isEmpty()) {
             updateState(RUN, OnOffType.ON);
 
+            if (isEnabled(WORKER)) {
+                executeWorker(commandLine, timeOut);
+                return;
+            }
+
             // For some obscure reason, when using Apache Common Exec, or using a straight implementation of
             // Runtime.Exec(), on Mac OS X (Yosemite and El Capitan), there seems to be a lock race condition
             // randomly appearing (on UNIXProcess) *when* one tries to gobble up the stdout and sterr output of the
@@ -183,46 +238,8 @@ public class ExecHandler extends BaseThingHandler {
                 return;
             }
 
-            String[] cmdArray;
-            String[] shell;
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
-                try {
-                    cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                } catch (PatternSyntaxException e) {
-                    logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
-                    updateState(RUN, OnOffType.OFF);
-                    updateState(OUTPUT, new StringType(e.getMessage()));
-                    return;
-                }
-            } else {
-                // Invoke shell with 'c' option and pass string
-                logger.debug("Passing to shell for parsing command.");
-                switch (getOperatingSystemType()) {
-                    case WINDOWS:
-                        shell = SHELL_WINDOWS;
-                        logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "/c", commandLine);
-                        break;
-                    case LINUX:
-                    case MAC:
-                    case SOLARIS:
-                        // assume sh is present, should all be POSIX-compliant
-                        shell = SHELL_NIX;
-                        logger.debug("OS: *NIX ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "-c", commandLine);
-                        break;
-                    default:
-                        logger.debug("OS: Unknown ({})", getOperatingSystemName());
-                        logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
-                        updateState(RUN, OnOffType.OFF);
-                        updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
-                        return;
-                }
-            }
-
-            if (cmdArray.length == 0) {
-                logger.trace("Empty command received, not executing");
+            String[] cmdArray = buildCmdArray(commandLine);
+            if (cmdArray == null) {
                 return;
             }
 
@@ -239,6 +256,8 @@ public class ExecHandler extends BaseThingHandler {
                 return;
             }
 
+            // when streaming, every line is published as soon as it was read instead of collecting the output
+            boolean streaming = isEnabled(STREAMING);
             StringBuilder outputBuilder = new StringBuilder();
             StringBuilder errorBuilder = new StringBuilder();
 
@@ -246,7 +265,11 @@ public class ExecHandler extends BaseThingHandler {
                     BufferedReader br = new BufferedReader(isr)) {
                 String line;
                 while ((line = br.readLine()) != null) {
-                    outputBuilder.append(line).append("\n");
+                    if (streaming) {
+                        publishOutput(line);
+                    } else {
+                        outputBuilder.append(line).append("\n");
+                    }
                     logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
                 }
             } catch (IOException e) {
@@ -258,7 +281,11 @@ public class ExecHandler extends BaseThingHandler {
                     BufferedReader br = new BufferedReader(isr)) {
                 String line;
                 while ((line = br.readLine()) != null) {
-                    errorBuilder.append(line).append("\n");
+                    if (streaming) {
+                        publishOutput(line);
+                    } else {
+                        errorBuilder.append(line).append("\n");
+                    }
                     logger.debug("Exec [{}]: '{}'", "ERROR", line);
                 }
             } catch (IOException e) {
@@ -282,24 +309,146 @@ public class ExecHandler extends BaseThingHandler {
             updateState(RUN, OnOffType.OFF);
             updateState(EXIT, new DecimalType(proc.exitValue()));
 
-            outputBuilder.append(errorBuilder.toString());
-
-            outputBuilder.append(errorBuilder.toString());
+            if (!streaming) {
+                outputBuilder.append(errorBuilder.toString());
 
-            String transformedResponse = StringUtils.chomp(outputBuilder.toString());
-            String transformation = (String) getConfig().get(TRANSFORM);
+                outputBuilder.append(errorBuilder.toString());
 
-            if (transformation != null && transformation.length() > 0) {
-                transformedResponse = transformResponse(transformedResponse, transformation);
+                publishOutput(StringUtils.chomp(outputBuilder.toString()));
             }
 
-            updateState(OUTPUT, new StringType(transformedResponse));
-
             DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
             updateState(LAST_EXECUTION, stampType);
         }
     }
 
+    /**
+     * Sends the current (or last) input to the long running command and publishes its response.
+     */
+    private void executeWorker(String commandLine, int timeOut) {
+        ExecWorker localWorker;
+        synchronized (workerLock) {
+            localWorker = worker;
+            if (localWorker == null) {
+                String[] cmdArray = buildCmdArray(commandLine);
+                if (cmdArray == null) {
+                    return;
+                }
+                logger.trace("The command to be executed as worker will be '{}'", Arrays.asList(cmdArray));
+                localWorker = new ExecWorker(cmdArray);
+                worker = localWorker;
+            }
+        }
+
+        boolean streaming = isEnabled(STREAMING);
+        StringBuilder outputBuilder = new StringBuilder();
+        String input = lastInput;
+        boolean complete;
+        try {
+            complete = localWorker.request(input != null ? input : "", timeOut, line -> {
+                if (streaming) {
+                    publishOutput(line);
+                } else {
+                    outputBuilder.append(line).append("\n");
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("An exception occurred while sending a request to '{}' : '{}'", commandLine, e.getMessage());
+            localWorker.stop();
+            updateState(RUN, OnOffType.OFF);
+            updateState(OUTPUT, new StringType(e.getMessage()));
+            return;
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted while waiting for the response of '{}'", commandLine);
+            Thread.currentThread().interrupt();
+            updateState(RUN, OnOffType.OFF);
+            return;
+        }
+
+        updateState(RUN, OnOffType.OFF);
+        if (!complete) {
+            Integer exitValue = localWorker.getExitValue();
+            if (exitValue != null) {
+                updateState(EXIT, new DecimalType(exitValue));
+            }
+        }
+
+        if (!streaming) {
+            publishOutput(StringUtils.chomp(outputBuilder.toString()));
+        }
+
+        DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
+        updateState(LAST_EXECUTION, stampType);
+    }
+
+    /**
+     * Splits the command line into the command array, which is passed to the shell if needed.
+     *
+     * @param commandLine the formatted command line
+     * @return the command array or null, if the command cannot be executed
+     */
+    private String @Nullable [] buildCmdArray(String commandLine) {
+        String[] cmdArray;
+        String[] shell;
+        if (commandLine.contains(CMD_LINE_DELIMITER)) {
+            logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
+            try {
+                cmdArray = commandLine.split(CMD_LINE_DELIMITER);
+            } catch (PatternSyntaxException e) {
+                logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
+                updateState(RUN, OnOffType.OFF);
+                updateState(OUTPUT, new StringType(e.getMessage()));
+                return null;
+            }
+        } else {
+            // Invoke shell with 'c' option and pass string
+            logger.debug("Passing to shell for parsing command.");
+            switch (getOperatingSystemType()) {
+                case WINDOWS:
+                    shell = SHELL_WINDOWS;
+                    logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "/c", commandLine);
+                    break;
+                case LINUX:
+                case MAC:
+                case SOLARIS:
+                    // assume sh is present, should all be POSIX-compliant
+                    shell = SHELL_NIX;
+                    logger.debug("OS: *NIX ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "-c", commandLine);
+                    break;
+                default:
+                    logger.debug("OS: Unknown ({})", getOperatingSystemName());
+                    logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
+                    updateState(RUN, OnOffType.OFF);
+                    updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
+                    return null;
+            }
+        }
+
+        if (cmdArray.length == 0) {
+            logger.trace("Empty command received, not executing");
+            return null;
+        }
+        return cmdArray;
+    }
+
+    private void publishOutput(String output) {
+        String transformedResponse = output;
+        String transformation = (String) getConfig().get(TRANSFORM);
+
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(transformedResponse, transformation);
+        }
+
+        updateState(OUTPUT, new StringType(transformedResponse));
+    }
+
+    private boolean isEnabled(String parameter) {
+        Object value = getConfig().get(parameter);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
     protected @Nullable String transformResponse(String response, String transformation) {
         String transformedResponse;
 
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecWorker} keeps a long running command, which answers requests, alive. Every request is written as
+ * a single line to stdin of the command. The response consists of the lines written to stdout (or stderr) up to the
+ * next empty line.
+ *
+ * The output is read by a separate thread, so the response can be awaited with a timeout.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorker {
+
+    // marks the end of the output, the identity is compared
+    private static final String END_OF_STREAM = new String("END_OF_STREAM");
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final String[] cmdArray;
+    private BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+    private @Nullable Process process;
+    private @Nullable BufferedWriter writer;
+
+    public ExecWorker(String[] cmdArray) {
+        this.cmdArray = cmdArray;
+    }
+
+    /**
+     * Sends a request to the command, which is started if it is not running.
+     *
+     * @param request the line to write to the command
+     * @param timeOut time out for the complete response in milliseconds
+     * @param lineConsumer receives every line of the response as soon as it was read
+     * @return true if the complete response was received, false if the command terminated or timed out. The command
+     *         is stopped in this case and started again with the next request.
+     * @throws IOException if the command cannot be started or the request cannot be written
+     */
+    public synchronized boolean request(String request, int timeOut, Consumer<String> lineConsumer)
+            throws IOException, InterruptedException {
+        BufferedWriter localWriter = start();
+        BlockingQueue<String> localLines = lines;
+        // lines which were not part of a previous response
+        localLines.clear();
+        localWriter.write(request);
+        localWriter.newLine();
+        localWriter.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeOut);
+        while (true) {
+            String line = localLines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (line == null) {
+                logger.warn("Stopping the command '{}' after a timeout of {} ms", Arrays.asList(cmdArray), timeOut);
+                stop();
+                return false;
+            }
+            if (line == END_OF_STREAM) {
+                logger.debug("The command '{}' terminated", Arrays.asList(cmdArray));
+                // give the command the time to exit, so its exit value is available
+                Process localProcess = process;
+                if (localProcess != null) {
+                    localProcess.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+                stop();
+                return false;
+            }
+            if (line.isEmpty()) {
+                return true;
+            }
+            lineConsumer.accept(line);
+        }
+    }
+
+    /**
+     * @return the exit value of the command or null, if it is running or was not started.
+     */
+    public synchronized @Nullable Integer getExitValue() {
+        Process localProcess = process;
+        if (localProcess == null || localProcess.isAlive()) {
+            return null;
+        }
+        return localProcess.exitValue();
+    }
+
+    /**
+     * Stops the command.
+     */
+    public synchronized void stop() {
+        Process localProcess = process;
+        if (localProcess != null) {
+            localProcess.destroyForcibly();
+        }
+        BufferedWriter localWriter = writer;
+        if (localWriter != null) {
+            try {
+                localWriter.close();
+            } catch (IOException e) {
+                logger.debug("Error while closing the input of the command: {}", e.getMessage());
+            }
+        }
+        writer = null;
+    }
+
+    private BufferedWriter start() throws IOException {
+        Process localProcess = process;
+        BufferedWriter localWriter = writer;
+        if (localProcess != null && localProcess.isAlive() && localWriter != null) {
+            return localWriter;
+        }
+        stop();
+
+        logger.debug("Starting the command '{}'", Arrays.asList(cmdArray));
+        localProcess = new ProcessBuilder(cmdArray).redirectErrorStream(true).start();
+        localWriter = new BufferedWriter(new OutputStreamWriter(localProcess.getOutputStream()));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(localProcess.getInputStream()));
+        // every process gets its own queue, so the end of a stopped process does not end the next response
+        BlockingQueue<String> localLines = new LinkedBlockingQueue<>();
+        Thread readerThread = new Thread(() -> readLines(reader, localLines),
+                "OH-binding-exec-worker-" + cmdArray[0]);
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        process = localProcess;
+        writer = localWriter;
+        lines = localLines;
+        return localWriter;
+    }
+
+    private void readLines(BufferedReader reader, BlockingQueue<String> queue) {
+        try (BufferedReader br = reader) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
+                queue.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Error while reading the output of the command: {}", e.getMessage());
+        }
+        queue.add(END_OF_STREAM);
+    }
+}
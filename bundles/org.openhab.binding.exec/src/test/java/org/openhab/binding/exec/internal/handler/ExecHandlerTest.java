@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.exec.internal.ExecBindingConstants.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.exec.internal.ExecWhitelistWatchService;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the concurrency limit and the output streaming of the {@link ExecHandler}. The commands need a POSIX shell.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExecHandlerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final ThingUID thingUID = new ThingUID(THING_COMMAND, "test");
+    private final Configuration configuration = new Configuration();
+    // every state update as "channel=state"
+    private final BlockingQueue<String> states = new LinkedBlockingQueue<>();
+
+    private ExecHandler handler;
+
+    @Before
+    public void setUp() {
+        ExecHandler.OS os = ExecHandler.getOperatingSystemType();
+        assumeTrue(os == ExecHandler.OS.LINUX || os == ExecHandler.OS.MAC || os == ExecHandler.OS.SOLARIS);
+
+        Thing thing = mock(Thing.class);
+        when(thing.getUID()).thenReturn(thingUID);
+        when(thing.getConfiguration()).thenReturn(configuration);
+        ExecWhitelistWatchService whitelist = mock(ExecWhitelistWatchService.class);
+        when(whitelist.isWhitelisted(any())).thenReturn(true);
+        ThingHandlerCallback callback = mock(ThingHandlerCallback.class);
+        doAnswer(invocation -> {
+            ChannelUID channelUID = invocation.getArgument(0);
+            State state = invocation.getArgument(1);
+            states.add(channelUID.getId() + "=" + state);
+            return null;
+        }).when(callback).stateUpdated(any(), any());
+
+        handler = new ExecHandler(thing, whitelist, mock(BundleContext.class));
+        handler.setCallback(callback);
+    }
+
+    @After
+    public void tearDown() {
+        if (handler != null) {
+            handler.dispose();
+        }
+    }
+
+    @Test
+    public void executionsBeyondTheLimitAreCoalesced() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "sleep 1");
+        handler.initialize();
+
+        new Thread(handler::execute).start();
+        assertEquals(RUN + "=ON", poll());
+        // both are coalesced into one execution after the running one
+        handler.execute();
+        handler.execute();
+
+        List<String> executions = pollExecutions(2);
+        assertEquals(3, executions.size());
+        assertEquals(LAST_EXECUTION, executions.get(0));
+        assertEquals(RUN + "=ON", executions.get(1));
+        assertEquals(LAST_EXECUTION, executions.get(2));
+        assertNull(states.poll(1500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void executionsRunConcurrentlyUpToTheLimit() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "sleep 1");
+        configuration.put(ExecHandler.CONCURRENCY, new BigDecimal(2));
+        handler.initialize();
+
+        new Thread(handler::execute).start();
+        new Thread(handler::execute).start();
+
+        List<String> executions = pollExecutions(2);
+        assertEquals(RUN + "=ON", executions.get(0));
+        assertEquals(RUN + "=ON", executions.get(1));
+        assertEquals(LAST_EXECUTION, executions.get(2));
+        assertEquals(LAST_EXECUTION, executions.get(3));
+    }
+
+    @Test
+    public void outputIsCollected() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "echo one; echo two");
+        handler.initialize();
+
+        handler.execute();
+
+        assertEquals(outputs("one\ntwo"), outputs());
+    }
+
+    @Test
+    public void outputIsStreamed() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "echo one; echo two");
+        configuration.put(ExecHandler.STREAMING, Boolean.TRUE);
+        handler.initialize();
+
+        handler.execute();
+
+        assertEquals(outputs("one", "two"), outputs());
+    }
+
+    @Test
+    public void workerStreamsEveryResponse() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "while read line; do echo $$; echo $line; echo; done");
+        configuration.put(ExecHandler.WORKER, Boolean.TRUE);
+        configuration.put(ExecHandler.STREAMING, Boolean.TRUE);
+        handler.initialize();
+
+        handler.handleCommand(new ChannelUID(thingUID, INPUT), new StringType("first"));
+        handler.execute();
+        List<String> first = outputs();
+        handler.handleCommand(new ChannelUID(thingUID, INPUT), new StringType("second"));
+        handler.execute();
+        List<String> second = outputs();
+
+        assertEquals(2, first.size());
+        assertEquals(OUTPUT + "=first", first.get(1));
+        // the same process answers both requests
+        assertEquals(outputs(first.get(0).substring(OUTPUT.length() + 1), "second"), second);
+    }
+
+    @Test
+    public void workerCollectsTheResponse() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "while read line; do echo $line; echo $line; echo; done");
+        configuration.put(ExecHandler.WORKER, Boolean.TRUE);
+        handler.initialize();
+
+        handler.handleCommand(new ChannelUID(thingUID, INPUT), new StringType("hello"));
+        handler.execute();
+
+        assertEquals(outputs("hello\nhello"), outputs());
+    }
+
+    @Test
+    public void concurrentExecutionsShareTheWorker() throws InterruptedException {
+        configuration.put(ExecHandler.COMMAND, "while read line; do echo $$; echo; done");
+        configuration.put(ExecHandler.WORKER, Boolean.TRUE);
+        configuration.put(ExecHandler.CONCURRENCY, new BigDecimal(2));
+        handler.initialize();
+
+        Thread first = new Thread(handler::execute);
+        Thread second = new Thread(handler::execute);
+        first.start();
+        second.start();
+        first.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        second.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        // both requests were answered by the same process
+        List<String> outputs = outputs();
+        assertEquals(2, outputs.size());
+        assertEquals(outputs.get(0), outputs.get(1));
+    }
+
+    private String poll() throws InterruptedException {
+        String state = states.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull("no state update within " + TIMEOUT_SECONDS + " s", state);
+        return state;
+    }
+
+    /**
+     * @return the starts and ends of the executions in their order until the given number of executions has finished
+     */
+    private List<String> pollExecutions(int count) throws InterruptedException {
+        List<String> executions = new ArrayList<>();
+        int finished = 0;
+        while (finished < count) {
+            String state = poll();
+            if (state.startsWith(LAST_EXECUTION + "=")) {
+                executions.add(LAST_EXECUTION);
+                finished++;
+            } else if (state.equals(RUN + "=ON")) {
+                executions.add(state);
+            }
+        }
+        return executions;
+    }
+
+    /**
+     * @return the output updates of the finished execution
+     */
+    private List<String> outputs() {
+        List<String> outputs = new ArrayList<>();
+        for (String state : states) {
+            if (state.startsWith(OUTPUT + "=")) {
+                outputs.add(state);
+            }
+        }
+        states.clear();
+        return outputs;
+    }
+
+    private static List<String> outputs(String... values) {
+        List<String> outputs = new ArrayList<>();
+        for (String value : values) {
+            outputs.add(OUTPUT + "=" + value);
+        }
+        return outputs;
+    }
+}
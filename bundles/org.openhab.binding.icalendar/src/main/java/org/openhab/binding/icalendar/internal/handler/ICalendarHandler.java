@@ -241,7 +241,8 @@ public class ICalendarHandler extends BaseThingHandler implements CalendarUpdate
             return false;
         }
         try (final FileInputStream fileStream = new FileInputStream(calendarFile)) {
-            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream);
+            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream,
+                    runtimeCalendar);
             runtimeCalendar = calendar;
             rescheduleCalendarStateUpdate();
         } catch (IOException | CalendarException e) {
@@ -61,6 +61,10 @@ class PullJob implements Runnable {
     private final int maxSize;
     private final URI sourceURI;
 
+    // validators of the last download, to download the calendar only if it changed
+    private @Nullable String eTag;
+    private @Nullable String lastModified;
+
     /**
      * Constructor of PullJob for creating a single pull of a calendar.
      *
@@ -93,6 +97,16 @@ class PullJob implements Runnable {
         if (currentAuthentication != null) {
             currentAuthentication.apply(request);
         }
+        if (destination.isFile()) {
+            final String currentETag = eTag;
+            if (currentETag != null) {
+                request.header(HttpHeader.IF_NONE_MATCH, currentETag);
+            }
+            final String currentLastModified = lastModified;
+            if (currentLastModified != null) {
+                request.header(HttpHeader.IF_MODIFIED_SINCE, currentLastModified);
+            }
+        }
 
         final InputStreamResponseListener asyncListener = new InputStreamResponseListener();
         request.send(asyncListener);
@@ -105,6 +119,11 @@ class PullJob implements Runnable {
             return;
         }
 
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+            logger.debug("Calendar \"{}\" was not modified since the last download.", sourceURI);
+            return;
+        }
+
         if (response.getStatus() != HttpStatus.OK_200) {
             logger.warn("Response status for getting \"{}\" was {} instead of 200. Ignoring it.", sourceURI,
                     response.getStatus());
@@ -172,6 +191,8 @@ class PullJob implements Runnable {
             logger.warn("Failed to replace iCal file. Error message is: {}", e.getMessage());
             return;
         }
+        eTag = response.getHeaders().get(HttpHeader.ETAG);
+        lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
 
         try {
             listener.onCalendarUpdated();
@@ -42,6 +42,22 @@ public abstract class AbstractPresentableCalendar {
         return new BiweeklyPresentableCalendar(calendarStream);
     }
 
+    /**
+     * Creates an implementing Instance of AbstractPresentableCalendar, which replaces a previous version of the same
+     * calendar. Data of the events that did not change is taken over from the previous version.
+     *
+     * @param calendarStream A Stream containing the iCal data.
+     * @param previous The previous version of the calendar or null.
+     * @return The instance.
+     * @throws IOException When something while reading stream fails.
+     * @throws CalendarException When something while parsing fails.
+     */
+    public static AbstractPresentableCalendar create(InputStream calendarStream,
+            @Nullable AbstractPresentableCalendar previous) throws IOException, CalendarException {
+        return new BiweeklyPresentableCalendar(calendarStream,
+                previous instanceof BiweeklyPresentableCalendar ? (BiweeklyPresentableCalendar) previous : null);
+    }
+
     /**
      * Searches the event currently (at given Instant) present.
      *
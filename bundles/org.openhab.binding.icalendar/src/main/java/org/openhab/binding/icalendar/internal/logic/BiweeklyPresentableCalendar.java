@@ -16,17 +16,25 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.TreeMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 import biweekly.ICalendar;
 import biweekly.component.VEvent;
+import biweekly.component.VTimezone;
 import biweekly.io.TimezoneAssignment;
 import biweekly.io.TimezoneInfo;
 import biweekly.io.text.ICalReader;
@@ -43,15 +51,40 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * Implementation of {@link AbstractPresentableCalendar} with ical4j. Please
  * use {@link AbstractPresentableCalendar#create(InputStream)} for productive
  * instantiation.
+ * <p>
+ * The recurrences of all events are expanded once into an {@link OccurrenceIndex} covering a window of
+ * {@link #WINDOW_DAYS} days, which is moved when a lookup is outside of it. Lookups within the window are binary
+ * searches; lookups outside of it iterate over the events as before.
  *
  * @author Michael Wodniok - Initial contribution
  * @author Andrew Fiddian-Green - Methods getJustBegunEvents() & getJustEndedEvents()
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    /**
+     * Length of the time window the recurrences are expanded for.
+     */
+    static final int WINDOW_DAYS = 31;
+
+    private static final Duration DEFAULT_BEGUN_EVENT_LENGTH = Duration.ofMinutes(1);
+
     private final ICalendar usedCalendar;
+    private @Nullable OccurrenceIndex index;
+    private @Nullable OccurrenceIndex previousIndex;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
+        this(streamed, null);
+    }
+
+    /**
+     * Creates the calendar. The expanded recurrences of the events that did not change compared to the previous
+     * version of the calendar are reused when the index is built.
+     *
+     * @param streamed A Stream containing the iCal data.
+     * @param previous The previous version of the calendar or null.
+     */
+    BiweeklyPresentableCalendar(InputStream streamed, @Nullable BiweeklyPresentableCalendar previous)
+            throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
             final ICalendar currentCalendar = reader.readNext();
             if (currentCalendar == null) {
@@ -59,6 +92,9 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        if (previous != null) {
+            previousIndex = previous.index;
+        }
     }
 
     @Override
@@ -73,6 +109,10 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
+        final OccurrenceIndex currentIndex = getIndex(frameBegin, frameEnd);
+        if (currentIndex != null) {
+            return currentIndex.getBegunEvents(frameBegin, frameEnd);
+        }
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -88,7 +128,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
                 // fall through => means we are within the time frame
                 Duration duration = getEventLength(event);
                 if (duration == null) {
-                    duration = Duration.ofMinutes(1);
+                    duration = DEFAULT_BEGUN_EVENT_LENGTH;
                 }
                 eventList.add(new VEventWPeriod(event, begInst, begInst.plus(duration)).toEvent());
                 break;
@@ -99,6 +139,10 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
+        final OccurrenceIndex currentIndex = getIndex(frameBegin, frameEnd);
+        if (currentIndex != null) {
+            return currentIndex.getEndedEvents(frameBegin, frameEnd);
+        }
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -126,6 +170,14 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        final OccurrenceIndex currentIndex = getIndex(instant, instant);
+        if (currentIndex != null) {
+            final VEventWPeriod nextEvent = currentIndex.getNext(instant);
+            if (nextEvent != null) {
+                return nextEvent.toEvent();
+            }
+            // the next event may be after the window
+        }
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -175,14 +227,164 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      */
     private void classifyEvents(Collection<VEvent> positiveEvents, Collection<VEvent> negativeEvents) {
         for (final VEvent currentEvent : usedCalendar.getEvents()) {
-            @Nullable
-            final Status eventStatus = currentEvent.getStatus();
-            boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
-            final Collection<VEvent> positiveOrNegativeEvents = (positive ? positiveEvents : negativeEvents);
+            final Collection<VEvent> positiveOrNegativeEvents = (isPositive(currentEvent) ? positiveEvents
+                    : negativeEvents);
             positiveOrNegativeEvents.add(currentEvent);
         }
     }
 
+    /**
+     * Checks whether an event is a positive one, i.e. it is not cancelled.
+     *
+     * @param vEvent The event to check.
+     * @return True if the event is positive.
+     */
+    private static boolean isPositive(VEvent vEvent) {
+        @Nullable
+        final Status eventStatus = vEvent.getStatus();
+        return (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+    }
+
+    /**
+     * Returns the index if it covers the given time frame. The index is (re)built if the time frame is outside of the
+     * current index.
+     *
+     * @param from The begin of the time frame.
+     * @param to The end of the time frame.
+     * @return The index or null if the time frame is longer than the index window.
+     */
+    private synchronized @Nullable OccurrenceIndex getIndex(Instant from, Instant to) {
+        final OccurrenceIndex currentIndex = index;
+        if (currentIndex != null && currentIndex.covers(from, to)) {
+            return currentIndex;
+        }
+        // start a day earlier, so the frames since the last update are covered as well
+        final Instant windowStart = from.truncatedTo(ChronoUnit.DAYS).minus(1, ChronoUnit.DAYS);
+        final Instant windowEnd = windowStart.plus(WINDOW_DAYS, ChronoUnit.DAYS);
+        if (to.isAfter(windowEnd)) {
+            return null;
+        }
+        final OccurrenceIndex newIndex = buildIndex(windowStart, windowEnd);
+        index = newIndex;
+        previousIndex = null;
+        return newIndex;
+    }
+
+    /**
+     * Expands the recurrences of all events within the window. The expansions of the previous calendar are reused for
+     * unchanged events if the window and the time zones are the same.
+     *
+     * @param windowStart The begin of the window.
+     * @param windowEnd The end of the window.
+     * @return The new index.
+     */
+    private OccurrenceIndex buildIndex(Instant windowStart, Instant windowEnd) {
+        final List<Object> timezones = getTimezoneDefinitions();
+        @Nullable
+        final OccurrenceIndex previous = previousIndex;
+        final boolean reuse = previous != null && previous.windowStart.equals(windowStart)
+                && previous.windowEnd.equals(windowEnd) && previous.timezones.equals(timezones);
+
+        final Map<String, List<VEvent>> counterEvents = new HashMap<>();
+        for (final VEvent currentEvent : usedCalendar.getEvents()) {
+            @Nullable
+            final Uid currentEventUid = currentEvent.getUid();
+            if (!isPositive(currentEvent) && currentEventUid != null) {
+                counterEvents.computeIfAbsent(currentEventUid.getValue(), k -> new ArrayList<>()).add(currentEvent);
+            }
+        }
+
+        final OccurrenceIndex newIndex = new OccurrenceIndex(windowStart, windowEnd, timezones);
+        final List<VEventWPeriod> begun = new ArrayList<>();
+        final List<VEventWPeriod> ended = new ArrayList<>();
+        final List<VEventWPeriod> present = new ArrayList<>();
+        final List<VEvent> events = usedCalendar.getEvents();
+        int reused = 0;
+        for (int order = 0; order < events.size(); order++) {
+            final VEvent currentEvent = events.get(order);
+            @Nullable
+            final Duration length = getEventLength(currentEvent);
+            final Duration duration = length != null ? length : DEFAULT_BEGUN_EVENT_LENGTH;
+            @Nullable
+            List<Instant> starts = reuse && previous != null ? previous.starts.get(currentEvent) : null;
+            if (starts == null) {
+                starts = expand(currentEvent, duration, windowStart, windowEnd);
+            } else {
+                reused++;
+            }
+            newIndex.starts.put(currentEvent, starts);
+
+            @Nullable
+            final Uid currentEventUid = currentEvent.getUid();
+            @Nullable
+            final List<VEvent> counters = currentEventUid != null ? counterEvents.get(currentEventUid.getValue())
+                    : null;
+            final boolean positive = isPositive(currentEvent);
+            for (final Instant start : starts) {
+                final VEventWPeriod period = new VEventWPeriod(currentEvent, start, start.plus(duration), order);
+                begun.add(period);
+                if (length != null) {
+                    ended.add(period);
+                    if (positive && (counters == null || currentEventUid == null
+                            || !isCounteredBy(start, currentEventUid, counters))) {
+                        present.add(period);
+                    }
+                }
+            }
+        }
+        newIndex.setOccurrences(begun, ended, present);
+        newIndex.reused = reused;
+        return newIndex;
+    }
+
+    /**
+     * Collects the time zone definitions of the calendar, the recurrences depend on them.
+     *
+     * @return The VTIMEZONE components or the global ids of the time zones.
+     */
+    private List<Object> getTimezoneDefinitions() {
+        final List<Object> definitions = new ArrayList<>();
+        for (final TimezoneAssignment assignment : usedCalendar.getTimezoneInfo().getTimezones()) {
+            @Nullable
+            final VTimezone component = assignment.getComponent();
+            definitions.add(component != null ? component : String.valueOf(assignment.getGlobalId()));
+        }
+        return definitions;
+    }
+
+    /**
+     * Expands the occurrences of an event that overlap the window.
+     *
+     * @param vEvent The event to expand.
+     * @param duration The length of the event.
+     * @param windowStart The begin of the window.
+     * @param windowEnd The end of the window.
+     * @return The start instants of the occurrences.
+     */
+    private List<Instant> expand(VEvent vEvent, Duration duration, Instant windowStart, Instant windowEnd) {
+        final List<Instant> starts = new ArrayList<>();
+        final DateIterator startDates = getRecurredEventDateIterator(vEvent);
+        startDates.advanceTo(Date.from(windowStart.minus(duration)));
+        while (startDates.hasNext()) {
+            final Instant startInstant = startDates.next().toInstant();
+            if (startInstant.isAfter(windowEnd)) {
+                break;
+            }
+            if (!startInstant.plus(duration).isBefore(windowStart)) {
+                starts.add(startInstant);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Number of events whose occurrences were taken over from the previous calendar, for testing.
+     */
+    int getReusedExpansions() {
+        final OccurrenceIndex currentIndex = index;
+        return currentIndex != null ? currentIndex.reused : 0;
+    }
+
     /**
      * Searches for a current event at given Instant.
      *
@@ -190,6 +392,10 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        final OccurrenceIndex currentIndex = getIndex(instant, instant);
+        if (currentIndex != null) {
+            return currentIndex.getCurrent(instant);
+        }
         final List<VEvent> negativeEvents = new ArrayList<VEvent>();
         final List<VEvent> positiveEvents = new ArrayList<VEvent>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -286,6 +492,131 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return false;
     }
 
+    /**
+     * The occurrences of all events within a time window, sorted for binary search.
+     */
+    private static class OccurrenceIndex {
+        private static final Comparator<VEventWPeriod> BY_START = Comparator
+                .comparing((VEventWPeriod period) -> period.start).thenComparingInt(period -> period.order);
+        private static final Comparator<VEventWPeriod> BY_END = Comparator
+                .comparing((VEventWPeriod period) -> period.end).thenComparingInt(period -> period.order);
+        private static final VEventWPeriod[] EMPTY = new VEventWPeriod[0];
+
+        final Instant windowStart;
+        final Instant windowEnd;
+        final List<Object> timezones;
+        final Map<VEvent, List<Instant>> starts = new HashMap<>();
+        int reused;
+
+        // occurrences of all events, events without length last one minute
+        private VEventWPeriod[] begun = EMPTY;
+        // occurrences of all events with a length
+        private VEventWPeriod[] ended = EMPTY;
+        // occurrences of the positive events with a length that are not countered
+        private VEventWPeriod[] present = EMPTY;
+        private Duration maxPresentLength = Duration.ZERO;
+
+        OccurrenceIndex(Instant windowStart, Instant windowEnd, List<Object> timezones) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.timezones = timezones;
+        }
+
+        void setOccurrences(List<VEventWPeriod> begun, List<VEventWPeriod> ended, List<VEventWPeriod> present) {
+            this.begun = begun.toArray(EMPTY);
+            Arrays.sort(this.begun, BY_START);
+            this.ended = ended.toArray(EMPTY);
+            Arrays.sort(this.ended, BY_END);
+            this.present = present.toArray(EMPTY);
+            Arrays.sort(this.present, BY_START);
+            for (final VEventWPeriod period : present) {
+                final Duration length = Duration.between(period.start, period.end);
+                if (length.compareTo(maxPresentLength) > 0) {
+                    maxPresentLength = length;
+                }
+            }
+        }
+
+        boolean covers(Instant from, Instant to) {
+            return !from.isBefore(windowStart) && !to.isAfter(windowEnd);
+        }
+
+        /**
+         * Returns the first occurrence per event that begins within the time frame, ordered like the events.
+         */
+        List<Event> getBegunEvents(Instant frameBegin, Instant frameEnd) {
+            final Map<Integer, VEventWPeriod> firstPerEvent = new TreeMap<>();
+            for (int i = firstIndex(begun, false, frameBegin, false); i < begun.length
+                    && !begun[i].start.isAfter(frameEnd); i++) {
+                firstPerEvent.putIfAbsent(begun[i].order, begun[i]);
+            }
+            return toEvents(firstPerEvent);
+        }
+
+        /**
+         * Returns the first occurrence per event that ends within the time frame, ordered like the events.
+         */
+        List<Event> getEndedEvents(Instant frameBegin, Instant frameEnd) {
+            final Map<Integer, VEventWPeriod> firstPerEvent = new TreeMap<>();
+            for (int i = firstIndex(ended, true, frameBegin, false); i < ended.length
+                    && !ended[i].end.isAfter(frameEnd); i++) {
+                firstPerEvent.putIfAbsent(ended[i].order, ended[i]);
+            }
+            return toEvents(firstPerEvent);
+        }
+
+        /**
+         * Returns the occurrence present at the instant. If several events are present, the first event wins.
+         */
+        @Nullable VEventWPeriod getCurrent(Instant instant) {
+            VEventWPeriod current = null;
+            for (int i = firstIndex(present, false, instant.minus(maxPresentLength), true); i < present.length
+                    && present[i].start.isBefore(instant); i++) {
+                if (present[i].end.isAfter(instant) && (current == null || present[i].order < current.order)) {
+                    current = present[i];
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Returns the first occurrence starting after the instant or null if there is none within the window.
+         */
+        @Nullable VEventWPeriod getNext(Instant instant) {
+            final int i = firstIndex(present, false, instant, true);
+            return i < present.length ? present[i] : null;
+        }
+
+        private static List<Event> toEvents(Map<Integer, VEventWPeriod> periods) {
+            if (periods.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final List<Event> eventList = new ArrayList<>(periods.size());
+            for (final VEventWPeriod period : periods.values()) {
+                eventList.add(period.toEvent());
+            }
+            return eventList;
+        }
+
+        /**
+         * Binary search for the first occurrence whose start or end is after (or equal to) the bound.
+         */
+        private static int firstIndex(VEventWPeriod[] periods, boolean byEnd, Instant bound, boolean strict) {
+            int low = 0;
+            int high = periods.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                final int cmp = (byEnd ? periods[mid].end : periods[mid].start).compareTo(bound);
+                if (cmp < 0 || (strict && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
     /**
      * A Class describing an event together with a start and end instant.
      *
@@ -295,11 +626,18 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         final VEvent vEvent;
         final Instant start;
         final Instant end;
+        // position of the event within the calendar
+        final int order;
 
         public VEventWPeriod(VEvent vEvent, Instant start, Instant end) {
+            this(vEvent, start, end, -1);
+        }
+
+        public VEventWPeriod(VEvent vEvent, Instant start, Instant end, int order) {
             this.vEvent = vEvent;
             this.start = start;
             this.end = end;
+            this.order = order;
         }
 
         public Event toEvent() {
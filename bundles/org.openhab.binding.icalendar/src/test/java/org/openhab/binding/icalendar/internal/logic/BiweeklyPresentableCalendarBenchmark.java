@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import static org.openhab.binding.icalendar.internal.logic.GeneratedCalendar.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Measures the lookups of a large generated calendar with recurring events. This is not a unit test, run it from the
+ * IDE with the main method:
+ *
+ * <pre>
+ * BiweeklyPresentableCalendarBenchmark [events] [refreshes]
+ * </pre>
+ *
+ * Every refresh does the lookups of one state update of the handler, one minute after the previous one.
+ *
+ * @author agent - Initial contribution
+ */
+public class BiweeklyPresentableCalendarBenchmark {
+
+    private static final int DEFAULT_EVENTS = 2000;
+    private static final int DEFAULT_REFRESHES = 1000;
+
+    public static void main(String[] args) throws IOException, CalendarException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        int refreshes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REFRESHES;
+        String ics = generateCalendar(events, -1);
+        System.out.println(String.format("Generated calendar with %d events, %d kB", events, ics.length() / 1024));
+
+        long start = System.nanoTime();
+        AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(toStream(ics));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        calendar.isEventPresent(now);
+        long duration = System.nanoTime() - start;
+        System.out.println(String.format("Parsing and indexing: %8.2f ms", duration / 1e6));
+
+        start = System.nanoTime();
+        AbstractPresentableCalendar changed = AbstractPresentableCalendar.create(toStream(generateCalendar(events, 0)),
+                calendar);
+        changed.isEventPresent(now);
+        duration = System.nanoTime() - start;
+        System.out.println(String.format("Reindexing with one changed event: %8.2f ms", duration / 1e6));
+
+        int found = 0;
+        start = System.nanoTime();
+        Instant last = now;
+        for (int i = 1; i <= refreshes; i++) {
+            Instant instant = now.plus(i, ChronoUnit.MINUTES);
+            if (calendar.isEventPresent(instant) && calendar.getCurrentEvent(instant) != null) {
+                found++;
+            }
+            calendar.getNextEvent(instant);
+            found += calendar.getJustEndedEvents(last, instant).size();
+            found += calendar.getJustBegunEvents(last, instant).size();
+            last = instant;
+        }
+        duration = System.nanoTime() - start;
+        System.out.println(String.format("Lookups: %8.2f us/refresh (%d events found)", duration / 1e3 / refreshes,
+                found));
+    }
+}
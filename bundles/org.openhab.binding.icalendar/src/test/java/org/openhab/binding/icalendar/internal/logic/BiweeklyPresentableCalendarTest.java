@@ -542,4 +542,63 @@ public class BiweeklyPresentableCalendarTest {
         assertNotNull(cmd7);
         assertEquals(QuantityType.class, cmd7.getClass());
     }
+
+    /**
+     * Tests the lookups on a generated calendar with recurring and cancelled events.
+     */
+    @Test
+    public void testGeneratedCalendar() throws IOException, CalendarException {
+        String ics = GeneratedCalendar.generateCalendar(100, -1);
+        AbstractPresentableCalendar generated = new BiweeklyPresentableCalendar(GeneratedCalendar.toStream(ics));
+
+        // Monday: daily event 8 (00:56 - 01:11) and weekly event 9 (01:03 - 01:18) are present, the first one wins
+        Event currentEvent = generated.getCurrentEvent(Instant.parse("2020-01-06T01:05:00Z"));
+        assertNotNull(currentEvent);
+        assertEquals("Event 8", currentEvent.title);
+        Event nextEvent = generated.getNextEvent(Instant.parse("2020-01-06T01:05:00Z"));
+        assertNotNull(nextEvent);
+        assertEquals("Event 10", nextEvent.title);
+        assertEquals(Instant.parse("2020-01-06T01:10:00Z"), nextEvent.start);
+
+        List<Event> begunEvents = generated.getJustBegunEvents(Instant.parse("2020-01-06T01:00:00Z"),
+                Instant.parse("2020-01-06T01:05:00Z"));
+        assertEquals(1, begunEvents.size());
+        assertEquals("Event 9", begunEvents.get(0).title);
+        List<Event> endedEvents = generated.getJustEndedEvents(Instant.parse("2020-01-06T01:10:00Z"),
+                Instant.parse("2020-01-06T01:12:00Z"));
+        assertEquals(1, endedEvents.size());
+        assertEquals("Event 8", endedEvents.get(0).title);
+
+        // Thursday: event 10 is cancelled, the weekly events do not occur
+        assertFalse(generated.isEventPresent(Instant.parse("2020-01-02T01:12:00Z")));
+        nextEvent = generated.getNextEvent(Instant.parse("2020-01-02T01:05:00Z"));
+        assertNotNull(nextEvent);
+        assertEquals("Event 12", nextEvent.title);
+        assertTrue(generated.isEventPresent(Instant.parse("2020-01-03T01:12:00Z")));
+
+        // lookups far from each other move the index
+        assertTrue(generated.isEventPresent(Instant.parse("2021-06-02T01:12:00Z")));
+        assertFalse(generated.isEventPresent(Instant.parse("2020-01-02T01:12:00Z")));
+    }
+
+    /**
+     * Tests that the expanded recurrences of unchanged events are taken over from the previous calendar.
+     */
+    @Test
+    public void testUnchangedEventsAreReused() throws IOException, CalendarException {
+        // Monday: event 1 ended at 00:22, event 2 (00:14 - 00:29) is present
+        Instant instant = Instant.parse("2020-01-06T00:25:00Z");
+        String ics = GeneratedCalendar.generateCalendar(100, -1);
+        BiweeklyPresentableCalendar previous = new BiweeklyPresentableCalendar(GeneratedCalendar.toStream(ics));
+        assertTrue(previous.isEventPresent(instant));
+
+        String changedIcs = GeneratedCalendar.generateCalendar(100, 2);
+        BiweeklyPresentableCalendar changed = new BiweeklyPresentableCalendar(GeneratedCalendar.toStream(changedIcs),
+                previous);
+        Event currentEvent = changed.getCurrentEvent(instant);
+        assertNotNull(currentEvent);
+        assertEquals("Event 2 changed", currentEvent.title);
+        // 100 events and 10 cancelled occurrences, one event changed
+        assertEquals(109, changed.getReusedExpansions());
+    }
 }
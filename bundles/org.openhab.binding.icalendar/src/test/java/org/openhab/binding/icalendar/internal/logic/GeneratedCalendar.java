@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates large calendars with recurring events for the tests and the benchmark.
+ *
+ * @author agent - Initial contribution
+ */
+public class GeneratedCalendar {
+
+    /**
+     * Generates a calendar with daily and weekly recurring events of 15 minutes in UTC. Every tenth event has a
+     * cancelled occurrence.
+     *
+     * @param events The number of recurring events.
+     * @param changedEvent The number of the event that gets a different summary or -1.
+     * @return The iCal data.
+     */
+    static String generateCalendar(int events, int changedEvent) {
+        StringBuilder ics = new StringBuilder();
+        ics.append("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//openHAB//iCalendar Test//EN\r\n");
+        for (int i = 0; i < events; i++) {
+            int minuteOfDay = (i * 7) % (24 * 60);
+            String time = String.format("%02d%02d00Z", minuteOfDay / 60, minuteOfDay % 60);
+            int endMinuteOfDay = Math.min(minuteOfDay + 15, 24 * 60 - 1);
+            String endTime = String.format("%02d%02d00Z", endMinuteOfDay / 60, endMinuteOfDay % 60);
+            ics.append("BEGIN:VEVENT\r\n");
+            ics.append("UID:event-").append(i).append("@openhab.org\r\n");
+            ics.append("DTSTAMP:20200101T000000Z\r\n");
+            ics.append("DTSTART:20200101T").append(time).append("\r\n");
+            ics.append("DTEND:20200101T").append(endTime).append("\r\n");
+            ics.append(i % 2 == 0 ? "RRULE:FREQ=DAILY\r\n" : "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR\r\n");
+            ics.append("SUMMARY:Event ").append(i).append(i == changedEvent ? " changed" : "").append("\r\n");
+            ics.append("END:VEVENT\r\n");
+            if (i % 10 == 0) {
+                ics.append("BEGIN:VEVENT\r\n");
+                ics.append("UID:event-").append(i).append("@openhab.org\r\n");
+                ics.append("DTSTAMP:20200101T000000Z\r\n");
+                ics.append("RECURRENCE-ID:20200102T").append(time).append("\r\n");
+                ics.append("DTSTART:20200102T").append(time).append("\r\n");
+                ics.append("DTEND:20200102T").append(endTime).append("\r\n");
+                ics.append("STATUS:CANCELLED\r\n");
+                ics.append("SUMMARY:Event ").append(i).append("\r\n");
+                ics.append("END:VEVENT\r\n");
+            }
+        }
+        ics.append("END:VCALENDAR\r\n");
+        return ics.toString();
+    }
+
+    static InputStream toStream(String ics) {
+        return new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8));
+    }
+}
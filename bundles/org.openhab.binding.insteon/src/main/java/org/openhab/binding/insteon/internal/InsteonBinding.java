@@ -43,11 +43,9 @@ import org.openhab.binding.insteon.internal.device.DeviceTypeLoader;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.device.InsteonDevice;
 import org.openhab.binding.insteon.internal.device.InsteonDevice.DeviceStatus;
-import org.openhab.binding.insteon.internal.device.RequestQueueManager;
 import org.openhab.binding.insteon.internal.driver.Driver;
 import org.openhab.binding.insteon.internal.driver.DriverListener;
 import org.openhab.binding.insteon.internal.driver.ModemDBEntry;
-import org.openhab.binding.insteon.internal.driver.Poller;
 import org.openhab.binding.insteon.internal.driver.Port;
 import org.openhab.binding.insteon.internal.handler.InsteonDeviceHandler;
 import org.openhab.binding.insteon.internal.handler.InsteonNetworkHandler;
@@ -265,7 +263,7 @@ public class InsteonBinding {
             int ndev = checkIfInModemDatabase(dev);
             if (dev.hasModemDBEntry()) {
                 dev.setStatus(DeviceStatus.POLLING);
-                Poller.instance().startPolling(dev, ndev);
+                driver.getPoller().startPolling(dev, ndev);
             }
         }
         devices.put(addr, dev);
@@ -282,7 +280,7 @@ public class InsteonBinding {
         }
 
         if (dev.getStatus() == DeviceStatus.POLLING) {
-            Poller.instance().stopPolling(dev);
+            driver.getPoller().stopPolling(dev);
         }
     }
 
@@ -344,8 +342,7 @@ public class InsteonBinding {
         logger.debug("shutting down Insteon bridge");
         driver.stop();
         devices.clear();
-        RequestQueueManager.destroyInstance();
-        Poller.instance().stop();
+        driver.stopQueues();
         isActive = false;
     }
 
@@ -414,10 +411,19 @@ public class InsteonBinding {
         return buf.toString();
     }
 
+    public List<String> getQueueStatistics() {
+        List<String> queueStatistics = new ArrayList<>();
+        queueStatistics.add(String.format("devices: %3d polling, %3d with queued requests",
+                driver.getPoller().getSizeOfQueue(), driver.getRequestQueueManager().getSizeOfQueue()));
+        queueStatistics.add("request " + driver.getQueueWaitStatistics());
+        return queueStatistics;
+    }
+
     public void logDeviceStatistics() {
         String msg = String.format("devices: %3d configured, %3d polling, msgs received: %5d", devices.size(),
-                Poller.instance().getSizeOfQueue(), messagesReceived);
+                driver.getPoller().getSizeOfQueue(), messagesReceived);
         logger.debug("{}", msg);
+        logger.debug("request {}", driver.getQueueWaitStatistics());
         messagesReceived = 0;
         for (InsteonDevice dev : devices.values()) {
             if (dev.isModem()) {
@@ -477,7 +483,7 @@ public class InsteonBinding {
                             dev.setHasModemDBEntry(true);
                         }
                         if (dev.getStatus() != DeviceStatus.POLLING) {
-                            Poller.instance().startPolling(dev, dbes.size());
+                            driver.getPoller().startPolling(dev, dbes.size());
                         }
                     }
                 }
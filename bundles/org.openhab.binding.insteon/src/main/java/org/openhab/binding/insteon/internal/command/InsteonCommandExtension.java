@@ -53,6 +53,7 @@ public class InsteonCommandExtension extends AbstractConsoleCommandExtension imp
     private static final String DISPLAY_CHANNELS = "display_channels";
     private static final String DISPLAY_LOCAL_DATABASE = "display_local_database";
     private static final String DISPLAY_MONITORED = "display_monitored";
+    private static final String DISPLAY_QUEUE_STATISTICS = "display_queue_statistics";
     private static final String START_MONITORING = "start_monitoring";
     private static final String STOP_MONITORING = "stop_monitoring";
     private static final String SEND_STANDARD_MESSAGE = "send_standard_message";
@@ -113,6 +114,13 @@ public class InsteonCommandExtension extends AbstractConsoleCommandExtension imp
                             printUsage(console);
                         }
                         break;
+                    case DISPLAY_QUEUE_STATISTICS:
+                        if (args.length == 1) {
+                            handler.displayQueueStatistics(console);
+                        } else {
+                            printUsage(console);
+                        }
+                        break;
                     case START_MONITORING:
                         if (args.length == 2) {
                             startMonitoring(console, args[1]);
@@ -167,6 +175,8 @@ public class InsteonCommandExtension extends AbstractConsoleCommandExtension imp
                         "display channels that are linked, along with configuration information"),
                 buildCommandUsage(DISPLAY_LOCAL_DATABASE, "display Insteon PLM or hub database details"),
                 buildCommandUsage(DISPLAY_MONITORED, "display monitored device(s)"),
+                buildCommandUsage(DISPLAY_QUEUE_STATISTICS,
+                        "display the poll and request queues of the modem and the time requests waited"),
                 buildCommandUsage(START_MONITORING + " all|address",
                         "start displaying messages received from device(s)"),
                 buildCommandUsage(STOP_MONITORING + " all|address", "stop displaying messages received from device(s)"),
@@ -28,6 +28,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.insteon.internal.config.InsteonChannelConfiguration;
 import org.openhab.binding.insteon.internal.device.DeviceFeatureListener.StateChangeType;
+import org.openhab.binding.insteon.internal.driver.Driver;
 import org.openhab.binding.insteon.internal.message.Msg;
 import org.openhab.binding.insteon.internal.utils.Utils.ParsingException;
 import org.slf4j.Logger;
@@ -282,6 +283,11 @@ public class DeviceFeature {
         CommandHandler h = commandHandlers.containsKey(key) ? commandHandlers.get(key) : defaultCommandHandler;
         logger.trace("{} uses {} to handle command {} for {}", getName(), h.getClass().getSimpleName(),
                 key.getSimpleName(), getDevice().getAddress());
+        // the polls of the devices on the same modem yield to the command
+        Driver driver = getDevice().getDriver();
+        if (driver != null) {
+            driver.commandQueued();
+        }
         h.handleCommand(c, cmd, getDevice());
     }
 
@@ -67,6 +67,7 @@ public class InsteonDevice {
     private @Nullable String productKey = null;
     private volatile long lastTimePolled = 0L;
     private volatile long lastMsgReceived = 0L;
+    private volatile long lastBroadcastReceived = 0L;
     private boolean isModem = false;
     private PriorityQueue<@Nullable QEntry> mrequestQueue = new PriorityQueue<>();
     private @Nullable DeviceFeature featureQueried = null;
@@ -141,6 +142,10 @@ public class InsteonDevice {
         return (pollInterval > 0);
     }
 
+    public long getLastBroadcastReceived() {
+        return lastBroadcastReceived;
+    }
+
     public long getPollOverDueTime() {
         return (lastTimePolled - lastMsgReceived);
     }
@@ -275,7 +280,7 @@ public class InsteonDevice {
                 mrequestQueue.add(e);
             }
         }
-        RequestQueueManager.instance().addQueue(this, now + delay);
+        driver.getRequestQueueManager().addQueue(this, now + delay);
 
         if (!l.isEmpty()) {
             lastTimePolled = now;
@@ -290,6 +295,9 @@ public class InsteonDevice {
      */
     public void handleMessage(Msg msg) {
         lastMsgReceived = System.currentTimeMillis();
+        if (msg.isBroadcast() || msg.isCleanup()) {
+            lastBroadcastReceived = lastMsgReceived;
+        }
         synchronized (features) {
             // first update all features that are
             // not status features
@@ -505,7 +513,7 @@ public class InsteonDevice {
             m.setQuietTime(QUIET_TIME_DIRECT_MESSAGE);
         }
         logger.trace("enqueing direct message with delay {}", delay);
-        RequestQueueManager.instance().addQueue(this, now + delay);
+        driver.getRequestQueueManager().addQueue(this, now + delay);
     }
 
     private void writeMessage(Msg m) throws IOException {
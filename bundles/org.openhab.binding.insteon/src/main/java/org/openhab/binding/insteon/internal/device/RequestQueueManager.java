@@ -13,23 +13,31 @@
 package org.openhab.binding.insteon.internal.device;
 
 import java.util.HashMap;
-import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.insteon.internal.driver.Driver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Class that manages all the per-device request queues using a single thread.
+ * Class that manages the per-device request queues of the devices of a modem.
  *
  * - Each device has its own request queue, and the RequestQueueManager keeps a
  * queue of queues.
+ * - Every modem has its own RequestQueueManager. The queue of queues is processed
+ * by a job on the scheduler of the binding, which is scheduled for the first queue.
  * - Each entry in m_requestQueues corresponds to a single device's request queue.
  * A device should never be more than once in m_requestQueues.
  * - A hash map (m_requestQueueHash) is kept in sync with m_requestQueues for
  * faster lookup in case a request queue is modified and needs to be
  * rescheduled.
+ * - The time queues wait for processing after they expired is recorded
+ * per modem for the statistics of the bridge.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -37,18 +45,35 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 @SuppressWarnings("null")
 public class RequestQueueManager {
-    private static @Nullable RequestQueueManager instance = null;
     private final Logger logger = LoggerFactory.getLogger(RequestQueueManager.class);
-    private @Nullable Thread queueThread = null;
-    private PriorityQueue<RequestQueue> requestQueues = new PriorityQueue<>();
+    private final ScheduledExecutorService scheduler;
+    private TreeSet<RequestQueue> requestQueues = new TreeSet<>();
     private HashMap<InsteonDevice, @Nullable RequestQueue> requestQueueHash = new HashMap<>();
-    private boolean keepRunning = true;
+    private long queueCount = 0;
+    // the job processing the request queues, and the time it is scheduled for
+    private @Nullable ScheduledFuture<?> queueJob = null;
+    private long queueJobTime = 0L;
+    // identifies the current queue job, a job replaced by an earlier one does nothing
+    private long queueJobCount = 0;
 
-    private RequestQueueManager() {
-        queueThread = new Thread(new RequestQueueReader());
-        queueThread.setName("Insteon Request Queue Reader");
-        queueThread.setDaemon(true);
-        queueThread.start();
+    /**
+     * Constructor
+     *
+     * @param scheduler the scheduler processing the request queues
+     */
+    public RequestQueueManager(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Get the number of scheduled request queues
+     *
+     * @return number of devices with queued requests
+     */
+    public int getSizeOfQueue() {
+        synchronized (requestQueues) {
+            return requestQueues.size();
+        }
     }
 
     /**
@@ -63,7 +88,7 @@ public class RequestQueueManager {
             if (q == null) {
                 logger.trace("scheduling request for device {} in {} msec", dev.getAddress(),
                         time - System.currentTimeMillis());
-                q = new RequestQueue(dev, time);
+                q = new RequestQueue(dev, time, queueCount++);
             } else {
                 logger.trace("queue for dev {} is already scheduled in {} msec", dev.getAddress(),
                         q.getExpirationTime() - System.currentTimeMillis());
@@ -80,83 +105,89 @@ public class RequestQueueManager {
             // the expiration time
             requestQueues.add(q);
             requestQueueHash.put(dev, q);
-            requestQueues.notify();
+            scheduleQueueJob();
+        }
+    }
+
+    /**
+     * Stops processing the request queues
+     */
+    public void stop() {
+        logger.debug("stopping request queues");
+        synchronized (requestQueues) {
+            requestQueues.clear();
+            requestQueueHash.clear();
+            scheduleQueueJob();
         }
     }
 
     /**
-     * Stops request queue thread
+     * Schedules the queue job for the first request queue, unless it is already scheduled for that time or
+     * earlier. Must be called with the request queues locked after they were changed.
      */
-    private void stopThread() {
-        logger.debug("stopping thread");
-        if (queueThread != null) {
-            synchronized (requestQueues) {
-                keepRunning = false;
-                requestQueues.notifyAll();
+    private void scheduleQueueJob() {
+        ScheduledFuture<?> job = queueJob;
+        if (requestQueues.isEmpty()) {
+            if (job != null) {
+                job.cancel(false);
+                queueJob = null;
             }
-            try {
-                logger.debug("waiting for thread to join");
-                queueThread.join();
-                logger.debug("request queue thread exited!");
-            } catch (InterruptedException e) {
-                logger.warn("got interrupted waiting for thread exit ", e);
+            return;
+        }
+        RequestQueue first = requestQueues.first();
+        long expTime = first.getExpirationTime();
+        if (job != null) {
+            if (queueJobTime <= expTime) {
+                return;
             }
-            queueThread = null;
+            job.cancel(false);
         }
+        long jobCount = ++queueJobCount;
+        long dt = Math.max(0L, expTime - System.currentTimeMillis());
+        logger.trace("request queue head: {} must wait for {} msec", first.getDevice().getAddress(), dt);
+        queueJob = scheduler.schedule(() -> processQueues(jobCount), dt, TimeUnit.MILLISECONDS);
+        queueJobTime = expTime;
     }
 
-    @NonNullByDefault
-    class RequestQueueReader implements Runnable {
-        @Override
-        public void run() {
-            logger.debug("starting request queue thread");
-            synchronized (requestQueues) {
-                while (keepRunning) {
-                    try {
-                        while (keepRunning && !requestQueues.isEmpty()) {
-                            RequestQueue q = requestQueues.peek();
-                            long now = System.currentTimeMillis();
-                            long expTime = q.getExpirationTime();
-                            InsteonDevice dev = q.getDevice();
-                            if (expTime > now) {
-                                //
-                                // The head of the queue is not up for processing yet, wait().
-                                //
-                                logger.trace("request queue head: {} must wait for {} msec", dev.getAddress(),
-                                        expTime - now);
-                                requestQueues.wait(expTime - now);
-                                //
-                                // note that the wait() can also return because of changes to
-                                // the queue, not just because the time expired!
-                                //
-                                continue;
-                            }
-                            //
-                            // The head of the queue has expired and can be processed!
-                            //
-                            q = requestQueues.poll(); // remove front element
-                            requestQueueHash.remove(dev); // and remove from hash map
-                            long nextExp = dev.processRequestQueue(now);
-                            if (nextExp > 0) {
-                                q = new RequestQueue(dev, nextExp);
-                                requestQueues.add(q);
-                                requestQueueHash.put(dev, q);
-                                logger.trace("device queue for {} rescheduled in {} msec", dev.getAddress(),
-                                        nextExp - now);
-                            } else {
-                                // remove from hash since queue is no longer scheduled
-                                logger.debug("device queue for {} is empty!", dev.getAddress());
-                            }
-                        }
-                        logger.trace("waiting for request queues to fill");
-                        requestQueues.wait();
-                    } catch (InterruptedException e) {
-                        logger.warn("request queue thread got interrupted, breaking..", e);
-                        break;
+    /**
+     * Processes the request queues which have expired and reschedules them if they have more requests.
+     *
+     * @param jobCount identifies the queue job
+     */
+    private void processQueues(long jobCount) {
+        synchronized (requestQueues) {
+            if (jobCount != queueJobCount) {
+                // the job was replaced by an earlier one
+                return;
+            }
+            queueJob = null;
+            try {
+                long now = System.currentTimeMillis();
+                while (!requestQueues.isEmpty() && requestQueues.first().getExpirationTime() <= now) {
+                    RequestQueue q = requestQueues.pollFirst(); // remove front element
+                    InsteonDevice dev = q.getDevice();
+                    requestQueueHash.remove(dev); // and remove from hash map
+                    Driver driver = dev.getDriver();
+                    if (driver != null) {
+                        driver.recordQueueWait(now - q.getExpirationTime());
                     }
+                    long nextExp = dev.processRequestQueue(now);
+                    if (nextExp > 0) {
+                        q = new RequestQueue(dev, nextExp, queueCount++);
+                        requestQueues.add(q);
+                        requestQueueHash.put(dev, q);
+                        logger.trace("device queue for {} rescheduled in {} msec", dev.getAddress(), nextExp - now);
+                    } else {
+                        // remove from hash since queue is no longer scheduled
+                        logger.debug("device queue for {} is empty!", dev.getAddress());
+                    }
+                    now = System.currentTimeMillis();
                 }
+            } catch (RuntimeException e) {
+                logger.warn("processing request queues failed!", e);
+            } finally {
+                scheduleQueueJob();
             }
-            logger.debug("exiting request queue thread!");
         }
     }
 
@@ -164,10 +195,13 @@ public class RequestQueueManager {
     public static class RequestQueue implements Comparable<RequestQueue> {
         private InsteonDevice device;
         private long expirationTime;
+        // distinguishes queues with the same expiration time
+        private long sequence;
 
-        RequestQueue(InsteonDevice dev, long expirationTime) {
+        RequestQueue(InsteonDevice dev, long expirationTime, long sequence) {
             this.device = dev;
             this.expirationTime = expirationTime;
+            this.sequence = sequence;
         }
 
         public InsteonDevice getDevice() {
@@ -184,22 +218,8 @@ public class RequestQueueManager {
 
         @Override
         public int compareTo(RequestQueue a) {
-            return (int) (expirationTime - a.expirationTime);
-        }
-    }
-
-    @NonNullByDefault
-    public static synchronized @Nullable RequestQueueManager instance() {
-        if (instance == null) {
-            instance = new RequestQueueManager();
-        }
-        return (instance);
-    }
-
-    public static synchronized void destroyInstance() {
-        if (instance != null) {
-            instance.stopThread();
-            instance = null;
+            int result = Long.compare(expirationTime, a.expirationTime);
+            return result != 0 ? result : Long.compare(sequence, a.sequence);
         }
     }
 }
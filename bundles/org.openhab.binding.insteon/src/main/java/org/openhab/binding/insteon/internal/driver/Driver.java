@@ -22,11 +22,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
+import org.openhab.binding.insteon.internal.device.RequestQueueManager;
 import org.openhab.binding.insteon.internal.message.Msg;
 import org.openhab.binding.insteon.internal.message.MsgListener;
 
 /**
- * The driver class manages the modem port.
+ * The driver class manages the modem port, and the poll and request queues of the devices on the modem.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -38,6 +39,14 @@ public class Driver {
     private DriverListener listener;
     private Map<InsteonAddress, @Nullable ModemDBEntry> modemDBEntries = new HashMap<>();
     private ReentrantLock modemDBEntriesLock = new ReentrantLock();
+    private Poller poller;
+    private RequestQueueManager requestQueueManager;
+    // the polls of the devices on this modem yield to commands queued recently
+    private volatile long lastCommandQueued = 0L;
+    // time the request queues of the devices on this modem waited for processing after they expired, since the start
+    private long processedQueues = 0;
+    private long queueWaitSum = 0;
+    private long queueWaitMax = 0;
 
     public Driver(String portName, DriverListener listener, @Nullable SerialPortManager serialPortManager,
             ScheduledExecutorService scheduler) {
@@ -45,6 +54,8 @@ public class Driver {
         this.portName = portName;
 
         port = new Port(portName, this, serialPortManager, scheduler);
+        poller = new Poller(scheduler);
+        requestQueueManager = new RequestQueueManager(scheduler);
     }
 
     public boolean isReady() {
@@ -76,6 +87,22 @@ public class Driver {
         port.stop();
     }
 
+    /**
+     * Stops the polling of the devices and drops their queued requests
+     */
+    public void stopQueues() {
+        poller.stop();
+        requestQueueManager.stop();
+    }
+
+    public Poller getPoller() {
+        return poller;
+    }
+
+    public RequestQueueManager getRequestQueueManager() {
+        return requestQueueManager;
+    }
+
     public void writeMessage(Msg m) throws IOException {
         port.writeMessage(m);
     }
@@ -105,4 +132,41 @@ public class Driver {
     public void disconnected() {
         listener.disconnected();
     }
+
+    /**
+     * Records that a command was queued, the polls of the devices on this modem are postponed for a while.
+     */
+    public void commandQueued() {
+        lastCommandQueued = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the time the last command was queued
+     *
+     * @return time in milliseconds
+     */
+    public long getLastCommandQueued() {
+        return lastCommandQueued;
+    }
+
+    /**
+     * Records the time a request queue waited for processing after it expired
+     *
+     * @param wait time in milliseconds
+     */
+    public synchronized void recordQueueWait(long wait) {
+        processedQueues++;
+        queueWaitSum += wait;
+        queueWaitMax = Math.max(queueWaitMax, wait);
+    }
+
+    /**
+     * Get the statistics of the time request queues waited for processing after they expired
+     *
+     * @return statistics text
+     */
+    public synchronized String getQueueWaitStatistics() {
+        return String.format("queues processed: %5d, wait avg: %4d ms, max: %5d ms", processedQueues,
+                processedQueues == 0 ? 0 : queueWaitSum / processedQueues, queueWaitMax);
+    }
 }
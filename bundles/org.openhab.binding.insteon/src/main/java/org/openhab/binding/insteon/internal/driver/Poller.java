@@ -13,22 +13,32 @@
 package org.openhab.binding.insteon.internal.driver;
 
 import java.sql.Date;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.device.InsteonDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class manages the polling of all devices.
- * Between successive polls of a any device there is a quiet time of
+ * This class manages the polling of the devices of a modem.
+ * Between successive polls of a any device on the modem there is a quiet time of
  * at least MIN_MSEC_BETWEEN_POLLS. This avoids bunching up of poll messages
  * and keeps the network bandwidth open for other messages.
  *
+ * - Every modem has its own poller, so the devices of different modems are polled
+ * independently. The poll queue is processed by a job on the scheduler of the
+ * binding, which is scheduled for the first entry of the queue.
+ *
  * - An entry in the poll queue corresponds to a single device, i.e. each device should
  * have exactly one entry in the poll queue. That entry is created when startPolling()
  * is called, and then re-enqueued whenever it expires.
@@ -36,6 +46,10 @@ import org.slf4j.LoggerFactory;
  * puts an entry into that devices request queue. So the Poller class actually never
  * sends out messages directly. That is done by the device itself via its request
  * queue. The poller just reminds the device to poll.
+ * - A poll is skipped if the device sent a broadcast within the last half poll interval,
+ * its state is current then. Polls are also postponed while commands are being sent
+ * through the same modem, so they do not delay the commands. A poll is postponed for
+ * at most MAX_MSEC_POSTPONED, so continuous commands cannot stop the polling.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -44,18 +58,31 @@ import org.slf4j.LoggerFactory;
 @SuppressWarnings("null")
 public class Poller {
     private static final long MIN_MSEC_BETWEEN_POLLS = 2000L;
+    /** polls are postponed for this time after a command was queued */
+    private static final long MSEC_YIELD_TO_COMMANDS = 2000L;
+    /** polls are postponed for at most this time in total */
+    private static final long MAX_MSEC_POSTPONED = 10000L;
 
     private final Logger logger = LoggerFactory.getLogger(Poller.class);
-    private static Poller poller = new Poller(); // for singleton
 
-    private @Nullable Thread pollThread = null;
+    private final ScheduledExecutorService scheduler;
     private TreeSet<PQEntry> pollQueue = new TreeSet<>();
-    private boolean keepRunning = true;
+    // the entry of every device in the poll queue, for fast removal
+    private Map<InsteonAddress, PQEntry> pollEntries = new HashMap<>();
+    private long entryCount = 0;
+    // the job processing the poll queue, and the time it is scheduled for
+    private @Nullable ScheduledFuture<?> pollJob = null;
+    private long pollJobTime = 0L;
+    // identifies the current poll job, a job replaced by an earlier one does nothing
+    private long pollJobCount = 0;
 
     /**
      * Constructor
+     *
+     * @param scheduler the scheduler processing the poll queue
      */
-    private Poller() {
+    public Poller(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
@@ -64,7 +91,9 @@ public class Poller {
      * @return number of devices being polled
      */
     public int getSizeOfQueue() {
-        return (pollQueue.size());
+        synchronized (pollQueue) {
+            return (pollQueue.size());
+        }
     }
 
     /**
@@ -76,12 +105,17 @@ public class Poller {
     public void startPolling(InsteonDevice d, int aNumDev) {
         logger.debug("start polling device {}", d);
         synchronized (pollQueue) {
+            // a device has only one entry in the poll queue
+            PQEntry pqe = pollEntries.remove(d.getAddress());
+            if (pqe != null) {
+                pollQueue.remove(pqe);
+            }
             // try to spread out the scheduling when
             // starting up
             int n = pollQueue.size();
             long pollDelay = n * d.getPollInterval() / (aNumDev > 0 ? aNumDev : 1);
             addToPollQueue(d, System.currentTimeMillis() + pollDelay);
-            pollQueue.notify();
+            schedulePollJob();
         }
     }
 
@@ -92,45 +126,23 @@ public class Poller {
      */
     public void stopPolling(InsteonDevice d) {
         synchronized (pollQueue) {
-            for (Iterator<PQEntry> i = pollQueue.iterator(); i.hasNext();) {
-                if (i.next().getDevice().getAddress().equals(d.getAddress())) {
-                    i.remove();
-                    logger.debug("stopped polling device {}", d);
-                }
+            PQEntry pqe = pollEntries.remove(d.getAddress());
+            if (pqe != null) {
+                pollQueue.remove(pqe);
+                logger.debug("stopped polling device {}", d);
             }
         }
     }
 
     /**
-     * Starts the poller thread
-     */
-    public void start() {
-        if (pollThread == null) {
-            pollThread = new Thread(new PollQueueReader());
-            pollThread.setName("Insteon Poll Queue Reader");
-            pollThread.setDaemon(true);
-            pollThread.start();
-        }
-    }
-
-    /**
-     * Stops the poller thread
+     * Stops polling all devices
      */
     public void stop() {
         logger.debug("stopping poller!");
         synchronized (pollQueue) {
             pollQueue.clear();
-            keepRunning = false;
-            pollQueue.notify();
-        }
-        try {
-            if (pollThread != null) {
-                pollThread.join();
-                pollThread = null;
-            }
-            keepRunning = true;
-        } catch (InterruptedException e) {
-            logger.debug("got interrupted on exit: {}", e.getMessage());
+            pollEntries.clear();
+            schedulePollJob();
         }
     }
 
@@ -144,10 +156,22 @@ public class Poller {
      */
 
     private void addToPollQueue(InsteonDevice d, long time) {
+        addToPollQueue(d, time, 0L);
+    }
+
+    /**
+     * Adds a device with a postponed poll to the poll queue.
+     *
+     * @param d the device to poll periodically
+     * @param time the target time for the next poll to happen
+     * @param postponedSince the time the poll was due originally, or 0 if it is not postponed
+     */
+    private void addToPollQueue(InsteonDevice d, long time, long postponedSince) {
         long texp = findNextExpirationTime(d, time);
-        PQEntry ne = new PQEntry(d, texp);
+        PQEntry ne = new PQEntry(d, texp, entryCount++, postponedSince);
         logger.trace("added entry {} originally aimed at time {}", ne, String.format("%tc", new Date(time)));
         pollQueue.add(ne);
+        pollEntries.put(d.getAddress(), ne);
     }
 
     /**
@@ -163,7 +187,7 @@ public class Poller {
     private long findNextExpirationTime(InsteonDevice d, long aTime) {
         long expTime = aTime;
         // tailSet finds all those that expire after aTime - buffer
-        SortedSet<PQEntry> ts = pollQueue.tailSet(new PQEntry(d, aTime - MIN_MSEC_BETWEEN_POLLS));
+        SortedSet<PQEntry> ts = pollQueue.tailSet(new PQEntry(d, aTime - MIN_MSEC_BETWEEN_POLLS, -1, 0L));
         if (ts.isEmpty()) {
             // all entries in the poll queue are ahead of the new element,
             // go ahead and simply add it to the end
@@ -194,62 +218,88 @@ public class Poller {
         return expTime;
     }
 
-    @NonNullByDefault
-    private class PollQueueReader implements Runnable {
-        @Override
-        public void run() {
-            logger.debug("starting poll thread.");
-            synchronized (pollQueue) {
-                while (keepRunning) {
-                    try {
-                        readPollQueue();
-                    } catch (InterruptedException e) {
-                        logger.warn("poll queue reader thread interrupted!");
-                        break;
-                    }
-                }
+    /**
+     * Schedules the poll job for the first entry of the poll queue, unless it is already scheduled for that time
+     * or earlier. Must be called with the poll queue locked after the queue was changed.
+     */
+    private void schedulePollJob() {
+        ScheduledFuture<?> job = pollJob;
+        if (pollQueue.isEmpty()) {
+            if (job != null) {
+                job.cancel(false);
+                pollJob = null;
             }
-            logger.debug("poll thread exiting");
+            return;
         }
-
-        /**
-         * Waits for first element of poll queue to become current,
-         * then process it.
-         *
-         * @throws InterruptedException
-         */
-        private void readPollQueue() throws InterruptedException {
-            while (pollQueue.isEmpty() && keepRunning) {
-                pollQueue.wait();
+        long tfirst = pollQueue.first().getExpirationTime();
+        if (job != null) {
+            if (pollJobTime <= tfirst) {
+                return;
             }
-            if (!keepRunning) {
+            job.cancel(false);
+        }
+        long jobCount = ++pollJobCount;
+        long dt = Math.max(0L, tfirst - System.currentTimeMillis());
+        logger.trace("waiting for {} msec until {} comes due", dt, pollQueue.first());
+        pollJob = scheduler.schedule(() -> processQueue(jobCount), dt, TimeUnit.MILLISECONDS);
+        pollJobTime = tfirst;
+    }
+
+    /**
+     * Polls the devices whose entries have expired and puts them back into the poll queue
+     * to be polled again later.
+     *
+     * @param jobCount identifies the poll job
+     */
+    private void processQueue(long jobCount) {
+        synchronized (pollQueue) {
+            if (jobCount != pollJobCount) {
+                // the job was replaced by an earlier one
                 return;
             }
-            // something is in the queue
-            long now = System.currentTimeMillis();
-            PQEntry pqe = pollQueue.first();
-            long tfirst = pqe.getExpirationTime();
-            long dt = tfirst - now;
-            if (dt > 0) { // must wait for this item to expire
-                logger.trace("waiting for {} msec until {} comes due", dt, pqe);
-                pollQueue.wait(dt);
-            } else { // queue entry has expired, process it!
-                logger.trace("entry {} expired at time {}", pqe, now);
-                processQueue(now);
+            pollJob = null;
+            try {
+                long now = System.currentTimeMillis();
+                while (!pollQueue.isEmpty() && pollQueue.first().getExpirationTime() <= now) {
+                    logger.trace("entry {} expired at time {}", pollQueue.first(), now);
+                    processEntry(now);
+                    now = System.currentTimeMillis();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("polling devices failed!", e);
+            } finally {
+                schedulePollJob();
             }
         }
+    }
 
-        /**
-         * Takes first element off the poll queue, polls the corresponding device,
-         * and puts the device back into the poll queue to be polled again later.
-         *
-         * @param now the current time
-         */
-        private void processQueue(long now) {
-            PQEntry pqe = pollQueue.pollFirst();
-            pqe.getDevice().doPoll(0);
-            addToPollQueue(pqe.getDevice(), now + pqe.getDevice().getPollInterval());
+    /**
+     * Takes first element off the poll queue, polls the corresponding device,
+     * and puts the device back into the poll queue to be polled again later.
+     *
+     * @param now the current time
+     */
+    private void processEntry(long now) {
+        PQEntry pqe = pollQueue.pollFirst();
+        InsteonDevice d = pqe.getDevice();
+        pollEntries.remove(d.getAddress());
+
+        Driver driver = d.getDriver();
+        long lastCommandQueued = driver != null ? driver.getLastCommandQueued() : 0L;
+        long postponedSince = pqe.getPostponedSince() > 0 ? pqe.getPostponedSince() : now;
+        if (now - lastCommandQueued < MSEC_YIELD_TO_COMMANDS && now - postponedSince < MAX_MSEC_POSTPONED) {
+            logger.trace("postponing poll of {}, commands are being sent", d);
+            addToPollQueue(d, lastCommandQueued + MSEC_YIELD_TO_COMMANDS, postponedSince);
+            return;
+        }
+        long lastBroadcastReceived = d.getLastBroadcastReceived();
+        if (now - lastBroadcastReceived < d.getPollInterval() / 2) {
+            logger.trace("skipping poll of {}, it recently sent a broadcast", d);
+            addToPollQueue(d, lastBroadcastReceived + d.getPollInterval());
+            return;
         }
+        d.doPoll(0);
+        addToPollQueue(d, now + d.getPollInterval());
     }
 
     /**
@@ -263,10 +313,15 @@ public class Poller {
     private static class PQEntry implements Comparable<PQEntry> {
         private InsteonDevice dev;
         private long expirationTime;
+        // distinguishes entries with the same expiration time
+        private long sequence;
+        private long postponedSince;
 
-        PQEntry(InsteonDevice dev, long time) {
+        PQEntry(InsteonDevice dev, long time, long sequence, long postponedSince) {
             this.dev = dev;
             this.expirationTime = time;
+            this.sequence = sequence;
+            this.postponedSince = postponedSince;
         }
 
         long getExpirationTime() {
@@ -277,9 +332,14 @@ public class Poller {
             return dev;
         }
 
+        long getPostponedSince() {
+            return postponedSince;
+        }
+
         @Override
         public int compareTo(PQEntry b) {
-            return (int) (expirationTime - b.expirationTime);
+            int result = Long.compare(expirationTime, b.expirationTime);
+            return result != 0 ? result : Long.compare(sequence, b.sequence);
         }
 
         @Override
@@ -287,14 +347,4 @@ public class Poller {
             return dev.getAddress().toString() + "/" + String.format("%tc", new Date(expirationTime));
         }
     }
-
-    /**
-     * Singleton pattern instance() method
-     *
-     * @return the poller instance
-     */
-    public static synchronized Poller instance() {
-        poller.start();
-        return (poller);
-    }
 }
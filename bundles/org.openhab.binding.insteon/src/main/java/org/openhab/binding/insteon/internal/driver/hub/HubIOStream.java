@@ -22,8 +22,10 @@ import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.insteon.internal.driver.IOStream;
@@ -33,6 +35,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Implements IOStream for a Hub 2014 device
  *
+ * The status buffer of the hub is polled with an adaptive rate: fast right after messages were received or sent and
+ * slowing down to the configured poll time when idle. Outgoing messages are queued and sent by the poll thread, HTTP
+ * connections are kept alive between the requests.
+ *
  * @author Daniel Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
  *
@@ -45,8 +51,14 @@ public class HubIOStream extends IOStream implements Runnable {
     private static final String BS_START = "<BS>";
     private static final String BS_END = "</BS>";
 
-    /** time between polls (in milliseconds */
+    /** time between polls after activity (in milliseconds) */
+    private static final int MIN_POLL_TIME = 100;
+    /** interval for logging the latency statistics (in milliseconds) */
+    private static final long STATISTICS_INTERVAL = 60000;
+
+    /** time between polls when idle (in milliseconds */
     private int pollTime = 1000;
+    private int currentPollTime = MIN_POLL_TIME;
 
     private String baseUrl;
     private @Nullable String auth = null;
@@ -56,7 +68,14 @@ public class HubIOStream extends IOStream implements Runnable {
     // index of the last byte we have read in the buffer
     private int bufferIdx = -1;
 
-    private boolean polling;
+    private volatile boolean polling;
+
+    private final BlockingQueue<OutboundMessage> outbound = new LinkedBlockingQueue<>();
+
+    private long lastPollStart = 0;
+    private long lastStatistics = 0;
+    private final LatencyStatistics readLatency = new LatencyStatistics();
+    private final LatencyStatistics writeLatency = new LatencyStatistics();
 
     /**
      * Constructor for HubIOStream
@@ -95,6 +114,9 @@ public class HubIOStream extends IOStream implements Runnable {
         in = new HubInputStream();
         out = new HubOutputStream();
 
+        outbound.clear();
+        lastPollStart = 0;
+        currentPollTime = Math.min(MIN_POLL_TIME, pollTime);
         polling = true;
         pollThread = new Thread(this);
         pollThread.setName("Insteon Hub Poller");
@@ -109,8 +131,10 @@ public class HubIOStream extends IOStream implements Runnable {
         polling = false;
 
         if (pollThread != null) {
+            pollThread.interrupt();
             pollThread = null;
         }
+        outbound.clear();
 
         if (in != null) {
             try {
@@ -166,79 +190,119 @@ public class HubIOStream extends IOStream implements Runnable {
     }
 
     /**
-     * Sends Insteon message (byte array) as a readable ascii string to the Hub
+     * Queues Insteon message (byte array) for sending to the Hub. The message is sent by the poll thread.
      *
      * @param msg byte array representing the Insteon message
-     * @throws IOException in case of I/O error
      */
-    public synchronized void write(ByteBuffer msg) throws IOException {
-        poll(); // fetch the status buffer before we send out commands
-
-        StringBuilder b = new StringBuilder();
+    public void write(ByteBuffer msg) {
+        StringBuilder b = new StringBuilder(msg.remaining() * 2);
         while (msg.remaining() > 0) {
             b.append(String.format("%02x", msg.get()));
         }
-        String hexMSG = b.toString();
+        outbound.add(new OutboundMessage(b.toString()));
+    }
+
+    /**
+     * Sends a queued Insteon message as a readable ascii string to the Hub
+     *
+     * @param msg the queued message
+     * @throws IOException in case of I/O error
+     */
+    private synchronized void send(OutboundMessage msg) throws IOException {
+        poll(); // fetch the status buffer before we send out commands
+
         logger.trace("writing a message");
-        getURL("/3?" + hexMSG + "=I=3");
+        getURL("/3?" + msg.hex + "=I=3");
         bufferIdx = 0;
+        writeLatency.add(System.currentTimeMillis() - msg.queued);
     }
 
     /**
      * Polls the Hub web interface to fetch the status buffer
      *
+     * @return true if new data was received
      * @throws IOException if something goes wrong with I/O
      */
-    public synchronized void poll() throws IOException {
+    public synchronized boolean poll() throws IOException {
+        long pollStart = System.currentTimeMillis();
+        long previousPollStart = lastPollStart;
+        lastPollStart = pollStart;
+
         String buffer = bufferStatus(); // fetch via http call
         logger.trace("poll: {}", buffer);
         //
         // The Hub maintains a ring buffer where the last two digits (in hex!) represent
         // the position of the last byte read.
         //
-        String data = buffer.substring(0, buffer.length() - 2); // pure data w/o index pointer
+        int dataLength = buffer.length() - 2; // pure data w/o index pointer
 
         int nIdx = -1;
         try {
-            nIdx = Integer.parseInt(buffer.substring(buffer.length() - 2, buffer.length()), 16);
-        } catch (NumberFormatException e) {
+            nIdx = Integer.parseInt(buffer.substring(dataLength), 16);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
             bufferIdx = -1;
             logger.warn("invalid buffer size received in line: {}", buffer);
-            return;
+            return false;
+        }
+        if (nIdx > dataLength) {
+            bufferIdx = -1;
+            logger.warn("invalid buffer index received in line: {}", buffer);
+            return false;
         }
 
         if (bufferIdx == -1) {
             // this is the first call or first call after error, no need for buffer copying
             bufferIdx = nIdx;
-            return; // XXX why return here????
+            return false; // XXX why return here????
         }
 
-        if (StringUtils.repeat("0", data.length()).equals(data)) {
+        if (isCleared(buffer, 0, dataLength)) {
             logger.trace("skip cleared buffer");
             bufferIdx = 0;
-            return;
+            return false;
         }
 
-        StringBuilder msg = new StringBuilder();
+        // only the bytes written since the last poll are decoded
+        byte[] msg;
         if (nIdx < bufferIdx) {
-            String msgStart = data.substring(bufferIdx, data.length());
-            String msgEnd = data.substring(0, nIdx);
-            if (StringUtils.repeat("0", msgStart.length()).equals(msgStart)) {
+            int startLength = dataLength - bufferIdx;
+            if (isCleared(buffer, bufferIdx, dataLength)) {
                 logger.trace("discard cleared buffer wrap around msg start");
-                msgStart = "";
+                startLength = 0;
+            }
+            msg = new byte[(startLength + nIdx) / 2];
+            hexStringToByteArray(buffer, dataLength - startLength, dataLength, msg, 0);
+            hexStringToByteArray(buffer, 0, nIdx, msg, startLength / 2);
+            if (logger.isTraceEnabled()) {
+                logger.trace("wrap around: copying new data on: {}",
+                        buffer.substring(dataLength - startLength, dataLength) + buffer.substring(0, nIdx));
             }
-
-            msg.append(msgStart + msgEnd);
-            logger.trace("wrap around: copying new data on: {}", msg.toString());
         } else {
-            msg.append(data.substring(bufferIdx, nIdx));
-            logger.trace("no wrap:      appending new data: {}", msg.toString());
-        }
-        if (msg.length() != 0) {
-            ByteBuffer buf = ByteBuffer.wrap(hexStringToByteArray(msg.toString()));
-            ((HubInputStream) in).handle(buf);
+            msg = new byte[(nIdx - bufferIdx) / 2];
+            hexStringToByteArray(buffer, bufferIdx, nIdx, msg, 0);
+            if (logger.isTraceEnabled()) {
+                logger.trace("no wrap:      appending new data: {}", buffer.substring(bufferIdx, nIdx));
+            }
         }
         bufferIdx = nIdx;
+        if (msg.length == 0) {
+            return false;
+        }
+        ((HubInputStream) in).handle(ByteBuffer.wrap(msg));
+        // the data was written to the hub at the earliest when the previous poll started
+        if (previousPollStart > 0) {
+            readLatency.add(System.currentTimeMillis() - previousPollStart);
+        }
+        return true;
+    }
+
+    private static boolean isCleared(String buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -251,35 +315,38 @@ public class HubIOStream extends IOStream implements Runnable {
     private String getURL(String resource) throws IOException {
         String url = baseUrl + resource;
 
+        // the connection is not disconnected, so the underlying socket is kept alive for the next request
         HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-        try {
-            connection.setConnectTimeout(30000);
-            connection.setUseCaches(false);
-            connection.setDoInput(true);
-            connection.setDoOutput(false);
-            if (auth != null) {
-                connection.setRequestProperty("Authorization", auth);
-            }
+        connection.setConnectTimeout(30000);
+        connection.setReadTimeout(30000);
+        connection.setUseCaches(false);
+        connection.setDoInput(true);
+        connection.setDoOutput(false);
+        if (auth != null) {
+            connection.setRequestProperty("Authorization", auth);
+        }
 
-            logger.debug("getting {}", url);
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                if (responseCode == 401) {
-                    logger.warn(
-                            "Bad username or password. See the label on the bottom of the hub for the correct login information.");
-                    throw new IOException("login credentials are incorrect");
-                } else {
-                    String message = url + " failed with the response code: " + responseCode;
-                    logger.warn(message);
-                    throw new IOException(message);
-                }
-            }
+        logger.debug("getting {}", url);
 
-            return getData(connection.getInputStream());
-        } finally {
-            connection.disconnect();
+        int responseCode = connection.getResponseCode();
+        if (responseCode != 200) {
+            // the error response has to be consumed as well to keep the connection alive
+            InputStream errorStream = connection.getErrorStream();
+            if (errorStream != null) {
+                getData(errorStream);
+            }
+            if (responseCode == 401) {
+                logger.warn(
+                        "Bad username or password. See the label on the bottom of the hub for the correct login information.");
+                throw new IOException("login credentials are incorrect");
+            } else {
+                String message = url + " failed with the response code: " + responseCode;
+                logger.warn(message);
+                throw new IOException(message);
+            }
         }
+
+        return getData(connection.getInputStream());
     }
 
     private String getData(InputStream is) throws IOException {
@@ -306,16 +373,41 @@ public class HubIOStream extends IOStream implements Runnable {
     public void run() {
         while (polling) {
             try {
-                poll();
+                // waiting for the next poll ends early when a message is queued
+                OutboundMessage msg = outbound.poll(currentPollTime, TimeUnit.MILLISECONDS);
+                boolean activity = false;
+                while (msg != null && polling) {
+                    send(msg);
+                    activity = true;
+                    msg = outbound.poll();
+                }
+                if (poll()) {
+                    activity = true;
+                }
+                // poll fast after activity, slow down to the configured poll time when idle
+                currentPollTime = activity ? Math.min(MIN_POLL_TIME, pollTime)
+                        : Math.min(currentPollTime * 2, pollTime);
             } catch (IOException e) {
                 logger.warn("got exception while polling: {}", e.toString());
-            }
-            try {
-                Thread.sleep(pollTime);
+                currentPollTime = pollTime;
             } catch (InterruptedException e) {
                 break;
             }
+            logStatistics();
+        }
+    }
+
+    private void logStatistics() {
+        long now = System.currentTimeMillis();
+        if (now - lastStatistics < STATISTICS_INTERVAL) {
+            return;
         }
+        lastStatistics = now;
+        if (readLatency.count > 0 || writeLatency.count > 0) {
+            logger.debug("hub latency: received messages {}, sent messages {}", readLatency, writeLatency);
+        }
+        readLatency.reset();
+        writeLatency.reset();
     }
 
     /**
@@ -335,6 +427,62 @@ public class HubIOStream extends IOStream implements Runnable {
         return bytes;
     }
 
+    /**
+     * Helper function to convert a part of an ascii hex string (received from hub)
+     * into an existing byte array
+     *
+     * @param s string received from hub
+     * @param start index of the first hex digit
+     * @param end index after the last hex digit
+     * @param bytes the byte array to fill
+     * @param offset index of the first byte to fill
+     */
+    private static void hexStringToByteArray(String s, int start, int end, byte[] bytes, int offset) {
+        for (int i = start; i + 1 < end; i += 2) {
+            bytes[offset + (i - start) / 2] = (byte) ((Character.digit(s.charAt(i), 16) << 4)
+                    + Character.digit(s.charAt(i + 1), 16));
+        }
+    }
+
+    /**
+     * An Insteon message waiting for sending
+     */
+    private static class OutboundMessage {
+        private final String hex;
+        private final long queued = System.currentTimeMillis();
+
+        private OutboundMessage(String hex) {
+            this.hex = hex;
+        }
+    }
+
+    /**
+     * Latency of the messages (in milliseconds) since the last statistics output. The latency of received messages
+     * is measured from the start of the previous poll, the latency of sent messages from queueing them.
+     */
+    private static class LatencyStatistics {
+        private long count;
+        private long sum;
+        private long max;
+
+        private synchronized void add(long latency) {
+            count++;
+            sum += latency;
+            max = Math.max(max, latency);
+        }
+
+        private synchronized void reset() {
+            count = 0;
+            sum = 0;
+            max = 0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d (avg %d ms, max %d ms)", count, count == 0 ? 0 : sum / count, max);
+        }
+    }
+
     /**
      * Implements an InputStream for the Hub 2014
      *
@@ -396,11 +544,7 @@ public class HubIOStream extends IOStream implements Runnable {
 
         private void flushBuffer() {
             ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
-            try {
-                HubIOStream.this.write(buffer);
-            } catch (IOException e) {
-                logger.warn("failed to write to hub: {}", e.toString());
-            }
+            HubIOStream.this.write(buffer);
             out.reset();
         }
     }
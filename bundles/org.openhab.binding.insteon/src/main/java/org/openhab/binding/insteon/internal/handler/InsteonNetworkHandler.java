@@ -193,6 +193,10 @@ public class InsteonNetworkHandler extends BaseBridgeHandler {
         display(console, databaseInfo);
     }
 
+    public void displayQueueStatistics(Console console) {
+        insteonBinding.getQueueStatistics().forEach(console::println);
+    }
+
     public void initialized(ThingUID uid, String msg) {
         deviceInfo.put(uid.getAsString(), msg);
     }
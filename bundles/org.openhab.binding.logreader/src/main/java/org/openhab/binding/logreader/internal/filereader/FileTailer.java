@@ -13,6 +13,7 @@
 package org.openhab.binding.logreader.internal.filereader;
 
 import java.io.File;
+import java.nio.charset.Charset;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -32,6 +33,9 @@ import org.slf4j.LoggerFactory;
  */
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
+    // read the file in larger chunks than the default 4 kB of the tailer, log files can grow fast
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
     private Tailer tailer;
@@ -62,7 +66,8 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        tailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
+        tailer = new Tailer(new File(filePath), Charset.defaultCharset(), logListener, refreshRate, true, false, true,
+                BUFFER_SIZE);
         executor = Executors.newSingleThreadExecutor();
         try {
             logger.debug("Start executor");
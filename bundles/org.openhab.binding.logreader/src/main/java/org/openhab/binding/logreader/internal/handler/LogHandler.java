@@ -14,8 +14,8 @@ package org.openhab.binding.logreader.internal.handler;
 
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -32,6 +32,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiSearchEngine;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,8 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Rewrite
  */
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    private static final long STATISTICS_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private LogReaderConfiguration configuration;
@@ -53,6 +56,9 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private SearchEngine errorEngine;
     private SearchEngine warningEngine;
     private SearchEngine customEngine;
+    private MultiSearchEngine searchEngine;
+
+    private long statisticsStart;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -94,7 +100,8 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
             errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
             customEngine = new SearchEngine(configuration.customPatterns, configuration.customBlacklistingPatterns);
-
+            searchEngine = new MultiSearchEngine(errorEngine, warningEngine, customEngine);
+            statisticsStart = System.nanoTime();
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
@@ -176,21 +183,35 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
+        int matched = searchEngine.match(line);
+        if (searchEngine.isMatched(matched, errorEngine)) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
         }
-        if (warningEngine.isMatching(line)) {
+        if (searchEngine.isMatched(matched, warningEngine)) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
         }
-        if (customEngine.isMatching(line)) {
+        if (searchEngine.isMatched(matched, customEngine)) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
         }
+        logStatistics();
+    }
+
+    private void logStatistics() {
+        long elapsed = System.nanoTime() - statisticsStart;
+        if (elapsed >= STATISTICS_INTERVAL_NANOS) {
+            logger.debug("Processed {} lines/s, match latency avg {} us, max {} us",
+                    searchEngine.getLineCount() * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                    TimeUnit.NANOSECONDS.toMicros(searchEngine.getAverageMatchNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(searchEngine.getMaxMatchNanos()));
+            searchEngine.clearStatistics();
+            statisticsStart = System.nanoTime();
+        }
     }
 
     @Override
@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds the literals which are required by the search patterns in a line with a single scan (Aho-Corasick
+ * automaton), so the regular expressions only need to run on lines which contain their literal.
+ *
+ * Only ASCII literals are supported. An instance is not thread safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class LiteralPrefilter {
+
+    private static final int ALPHABET_SIZE = 128;
+    private static final int[] NO_OUTPUT = new int[0];
+    // escapes of predefined character classes, boundaries and control characters, which have no payload
+    private static final String CLASS_ESCAPES = "dDsSwWhHvVRXbBAGzZtnrfae";
+
+    // transitions of the deterministic automaton per state
+    private final int[][] next;
+    // indexes of the literals found when reaching the state
+    private final int[][] outputs;
+    private final boolean[] found;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param literals ASCII literals to search for, the index in the list is reported as found.
+     */
+    LiteralPrefilter(List<String> literals) {
+        List<int[]> transitions = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        transitions.add(newState());
+        stateOutputs.add(new ArrayList<>());
+
+        // trie of all literals
+        for (int i = 0; i < literals.size(); i++) {
+            int state = 0;
+            for (char c : literals.get(i).toCharArray()) {
+                if (transitions.get(state)[c] <= 0) {
+                    transitions.get(state)[c] = transitions.size();
+                    transitions.add(newState());
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = transitions.get(state)[c];
+            }
+            stateOutputs.get(state).add(i);
+        }
+
+        // breadth first: fail transitions and outputs of the suffixes
+        int[] fail = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        int[] root = transitions.get(0);
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (root[c] > 0) {
+                fail[root[c]] = 0;
+                queue.add(root[c]);
+            } else {
+                root[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] current = transitions.get(state);
+            stateOutputs.get(state).addAll(stateOutputs.get(fail[state]));
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                if (current[c] > 0) {
+                    fail[current[c]] = transitions.get(fail[state])[c];
+                    queue.add(current[c]);
+                } else {
+                    current[c] = transitions.get(fail[state])[c];
+                }
+            }
+        }
+
+        next = transitions.toArray(new int[0][]);
+        outputs = new int[stateOutputs.size()][];
+        for (int i = 0; i < outputs.length; i++) {
+            List<Integer> output = stateOutputs.get(i);
+            outputs[i] = output.isEmpty() ? NO_OUTPUT : output.stream().mapToInt(Integer::intValue).toArray();
+        }
+        found = new boolean[literals.size()];
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * Scans the line once for all literals.
+     *
+     * @param line the line to scan.
+     * @return per literal index whether the literal was found. The array is reused by the next scan.
+     */
+    boolean[] scan(String line) {
+        Arrays.fill(found, false);
+        int state = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            // literals are ASCII only, so no literal continues over other characters
+            state = c < ALPHABET_SIZE ? next[state][c] : 0;
+            for (int literal : outputs[state]) {
+                found[literal] = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Extracts a literal that every match of the regular expression contains. The extraction is conservative: it only
+     * looks at the top level of the expression and gives up on alternations, inline flags and escapes with a
+     * payload.
+     *
+     * @param regex the regular expression.
+     * @return the longest ASCII literal found or null if there is none.
+     */
+    static @Nullable String requiredLiteral(String regex) {
+        if (regex.contains("|") || regex.contains("(?") || regex.contains("\\Q")) {
+            return null;
+        }
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char escaped = regex.charAt(i + 1);
+                i += 2;
+                if (!Character.isLetterOrDigit(escaped)) {
+                    if (depth == 0 && escaped < ALPHABET_SIZE) {
+                        run.append(escaped);
+                    } else {
+                        longest = longer(longest, run);
+                    }
+                } else if (CLASS_ESCAPES.indexOf(escaped) >= 0) {
+                    longest = longer(longest, run);
+                } else {
+                    // escapes with a payload, like \x41, \cM, \0101, \p{Lu}, unicode escapes or back references
+                    return null;
+                }
+                continue;
+            }
+            i++;
+            switch (c) {
+                case '[':
+                    longest = longer(longest, run);
+                    i = skipCharacterClass(regex, i);
+                    break;
+                case '(':
+                    longest = longer(longest, run);
+                    depth++;
+                    break;
+                case ')':
+                    longest = longer(longest, run);
+                    depth--;
+                    break;
+                case '?':
+                case '*':
+                case '{':
+                    // the previous character is optional (or its repetition unknown)
+                    if (run.length() > 0) {
+                        run.setLength(run.length() - 1);
+                    }
+                    longest = longer(longest, run);
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end + 1;
+                    }
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    longest = longer(longest, run);
+                    break;
+                default:
+                    if (depth == 0 && c < ALPHABET_SIZE) {
+                        run.append(c);
+                    } else {
+                        longest = longer(longest, run);
+                    }
+            }
+        }
+        longest = longer(longest, run);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    private static String longer(String longest, StringBuilder run) {
+        String result = run.length() > longest.length() ? run.toString() : longest;
+        run.setLength(0);
+        return result;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start;
+        int nesting = 1;
+        // a closing bracket right at the start is a literal
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length() && nesting > 0) {
+            char c = regex.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                nesting++;
+            } else if (c == ']') {
+                nesting--;
+            }
+        }
+        return i;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.logreader.internal.searchengine.SearchEngine.SearchPattern;
+
+/**
+ * Matches a line against several {@link SearchEngine}s (categories) at once. The literals required by the patterns of
+ * all categories are searched with a single scan of the line, the regular expressions only run if their literal was
+ * found. The result tells which categories matched.
+ *
+ * Also keeps statistics of the processed lines and the time spent matching them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultiSearchEngine {
+
+    private final List<SearchEngine> engines;
+    private final LiteralPrefilter prefilter;
+
+    private long lineCount;
+    private long matchNanos;
+    private long maxMatchNanos;
+
+    /**
+     * Combine search engines.
+     *
+     * @param engines search engines of the categories, at most 32.
+     */
+    public MultiSearchEngine(SearchEngine... engines) {
+        if (engines.length > Integer.SIZE) {
+            throw new IllegalArgumentException("Too many search engines: " + engines.length);
+        }
+        this.engines = Arrays.asList(engines);
+
+        Map<String, Integer> literalIndexes = new HashMap<>();
+        List<String> literals = new ArrayList<>();
+        for (SearchEngine engine : engines) {
+            for (SearchPattern pattern : engine.getPatterns()) {
+                String literal = pattern.getLiteral();
+                if (literal != null) {
+                    pattern.setLiteralIndex(literalIndexes.computeIfAbsent(literal, l -> {
+                        literals.add(l);
+                        return literals.size() - 1;
+                    }));
+                }
+            }
+        }
+        prefilter = new LiteralPrefilter(literals);
+    }
+
+    /**
+     * Check which search engines are matching to the data. The match counts of the matching engines are increased.
+     *
+     * @param data data against search will be done.
+     * @return bit mask of the matching engines, bit 0 is set if the first engine matched.
+     */
+    public int match(String data) {
+        long start = System.nanoTime();
+        boolean[] literalsFound = prefilter.scan(data);
+        int result = 0;
+        for (int i = 0; i < engines.size(); i++) {
+            if (engines.get(i).isMatching(data, literalsFound)) {
+                result |= 1 << i;
+            }
+        }
+        long duration = System.nanoTime() - start;
+        lineCount++;
+        matchNanos += duration;
+        maxMatchNanos = Math.max(maxMatchNanos, duration);
+        return result;
+    }
+
+    /**
+     * Check if the result of {@link #match(String)} contains the engine.
+     */
+    public boolean isMatched(int result, SearchEngine engine) {
+        int index = engines.indexOf(engine);
+        return index >= 0 && (result & 1 << index) != 0;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return average time spent matching a line in nanoseconds.
+     */
+    public long getAverageMatchNanos() {
+        return lineCount == 0 ? 0 : matchNanos / lineCount;
+    }
+
+    /**
+     * @return maximum time spent matching a line in nanoseconds.
+     */
+    public long getMaxMatchNanos() {
+        return maxMatchNanos;
+    }
+
+    public void clearStatistics() {
+        lineCount = 0;
+        matchNanos = 0;
+        maxMatchNanos = 0;
+    }
+}
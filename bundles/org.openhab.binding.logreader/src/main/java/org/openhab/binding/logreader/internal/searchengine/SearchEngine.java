@@ -21,14 +21,15 @@ import java.util.regex.PatternSyntaxException;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * This class implements logic for regular expression based searching.
+ * This class implements logic for regular expression based searching. Patterns that require a literal are only run
+ * on data which contains the literal. The engine must only be used by the thread which reads the log file.
  *
  * @author Pauli Anttila - Initial contribution
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private List<SearchPattern> matchers;
+    private List<SearchPattern> blacklistingMatchers;
 
     private long matchCount;
 
@@ -51,8 +52,20 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
-            if (notBlacklisted(data)) {
+        return isMatching(data, null);
+    }
+
+    /**
+     * Check if data is matching to one of the provided search patterns.
+     *
+     * @param data data against search will be done.
+     * @param literalsFound literals found in the data by the {@link LiteralPrefilter} of the
+     *            {@link MultiSearchEngine} or null, if the literals are not known.
+     * @return true if one of the search patterns found.
+     */
+    boolean isMatching(String data, boolean @Nullable [] literalsFound) {
+        if (isMatching(matchers, data, literalsFound)) {
+            if (notBlacklisted(data, literalsFound)) {
                 matchCount++;
                 return true;
             }
@@ -78,33 +91,75 @@ public class SearchEngine {
      * @param patterns patterns which will handled.
      * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
      */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<>();
+    private List<SearchPattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
+        List<SearchPattern> patternsList = new ArrayList<>();
 
         if (patterns != null && !patterns.isEmpty()) {
             String list[] = patterns.split("\\|");
             if (list.length > 0) {
                 for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
+                    patternsList.add(new SearchPattern(Pattern.compile(patternStr)));
                 }
             }
         }
         return patternsList;
     }
 
-    private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
+    List<SearchPattern> getPatterns() {
+        List<SearchPattern> patterns = new ArrayList<>(matchers);
+        patterns.addAll(blacklistingMatchers);
+        return patterns;
+    }
+
+    private boolean notBlacklisted(String data, boolean @Nullable [] literalsFound) {
+        return !isMatching(blacklistingMatchers, data, literalsFound);
     }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
+    private boolean isMatching(@Nullable List<SearchPattern> patterns, String data,
+            boolean @Nullable [] literalsFound) {
         if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
+            for (SearchPattern pattern : patterns) {
+                if (pattern.find(data, literalsFound)) {
                     return true;
                 }
             }
         }
         return false;
     }
+
+    /**
+     * Precompiled search pattern with the literal that every match contains. The matcher is reused, so the pattern
+     * must only be used by the thread which reads the log file.
+     */
+    static class SearchPattern {
+        private final Matcher matcher;
+        private final @Nullable String literal;
+        private int literalIndex = -1;
+
+        SearchPattern(Pattern pattern) {
+            matcher = pattern.matcher("");
+            literal = LiteralPrefilter.requiredLiteral(pattern.pattern());
+        }
+
+        @Nullable
+        String getLiteral() {
+            return literal;
+        }
+
+        void setLiteralIndex(int literalIndex) {
+            this.literalIndex = literalIndex;
+        }
+
+        boolean find(String data, boolean @Nullable [] literalsFound) {
+            String literal = this.literal;
+            if (literal != null) {
+                boolean literalFound = literalsFound != null && literalIndex >= 0 ? literalsFound[literalIndex]
+                        : data.contains(literal);
+                if (!literalFound) {
+                    return false;
+                }
+            }
+            return matcher.reset(data).find();
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link LiteralPrefilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LiteralPrefilterTest {
+
+    @Test
+    public void testPlainLiterals() {
+        assertEquals("ERROR", LiteralPrefilter.requiredLiteral("ERROR"));
+        assertEquals("Exception", LiteralPrefilter.requiredLiteral(".*Exception.*"));
+        assertEquals(" failed: ", LiteralPrefilter.requiredLiteral("^.+ failed: .*$"));
+        assertNull(LiteralPrefilter.requiredLiteral(".*"));
+    }
+
+    @Test
+    public void testQuantifiers() {
+        assertEquals("colo", LiteralPrefilter.requiredLiteral("colou?r"));
+        assertEquals("War", LiteralPrefilter.requiredLiteral("Warn*ing"));
+        assertEquals("cdef", LiteralPrefilter.requiredLiteral("ab{0,2}cdef"));
+        assertEquals("abc", LiteralPrefilter.requiredLiteral("abc+"));
+    }
+
+    @Test
+    public void testEscapes() {
+        assertEquals("[ERROR]", LiteralPrefilter.requiredLiteral("\\[ERROR\\]"));
+        assertEquals("a.b", LiteralPrefilter.requiredLiteral("a\\.b"));
+        assertEquals(" items", LiteralPrefilter.requiredLiteral("\\d+ items"));
+        assertEquals("barbaz", LiteralPrefilter.requiredLiteral("foo\\s+barbaz"));
+        assertEquals("word", LiteralPrefilter.requiredLiteral("\\bword\\b"));
+        assertEquals("line", LiteralPrefilter.requiredLiteral("line\\n"));
+    }
+
+    @Test
+    public void testEscapesWithPayload() {
+        assertNull(LiteralPrefilter.requiredLiteral("\\x41BC"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\x{41}BC"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\u0041BC"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\cMabc"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\0101abc"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\p{Lu}abc"));
+        assertNull(LiteralPrefilter.requiredLiteral("(a)\\1bcd"));
+        assertNull(LiteralPrefilter.requiredLiteral("\\Qa|b\\E"));
+    }
+
+    @Test
+    public void testGroups() {
+        assertEquals(" refused", LiteralPrefilter.requiredLiteral("(connection)? refused"));
+        assertEquals("ghij", LiteralPrefilter.requiredLiteral("abc(def)ghij"));
+        assertEquals("done", LiteralPrefilter.requiredLiteral("((ab)c)*done"));
+        assertNull(LiteralPrefilter.requiredLiteral("(?i)error"));
+        assertNull(LiteralPrefilter.requiredLiteral("(?:ab)cd"));
+    }
+
+    @Test
+    public void testAlternation() {
+        assertNull(LiteralPrefilter.requiredLiteral("ERROR|WARN"));
+        assertNull(LiteralPrefilter.requiredLiteral("Thing (online|offline)"));
+    }
+
+    @Test
+    public void testCharacterClasses() {
+        assertEquals(" failed", LiteralPrefilter.requiredLiteral("[A-Z]+ failed"));
+        assertEquals(" done", LiteralPrefilter.requiredLiteral("[\\]x] done"));
+        assertEquals(" done", LiteralPrefilter.requiredLiteral("[]x] done"));
+        assertEquals("bcd", LiteralPrefilter.requiredLiteral("[^a]bcd"));
+        assertEquals("end", LiteralPrefilter.requiredLiteral("[a-z&&[^x]]end"));
+    }
+
+    @Test
+    public void testEveryMatchContainsTheLiteral() {
+        String[][] cases = { { "colou?r", "color", "colour" }, { "\\d+ items", "1 items", "42 items" },
+                { "(connection)? refused", "connection refused", " refused" }, { "[^a]bcd", "xbcd", "]bcd" },
+                { "ab{0,2}cdef", "acdef", "abbcdef" }, { "Warn*ing", "Waring", "Warnnning" },
+                { "\\bword\\b", "a word", "word." } };
+        for (String[] testCase : cases) {
+            String literal = LiteralPrefilter.requiredLiteral(testCase[0]);
+            assertNotNull(testCase[0], literal);
+            for (int i = 1; i < testCase.length; i++) {
+                assertTrue(testCase[i], Pattern.compile(testCase[0]).matcher(testCase[i]).find());
+                assertTrue(testCase[i], testCase[i].contains(literal));
+            }
+        }
+    }
+
+    @Test
+    public void testScan() {
+        LiteralPrefilter prefilter = new LiteralPrefilter(Arrays.asList("ERROR", "WARN", "RR", "OR"));
+
+        boolean[] found = prefilter.scan("2020-01-01 [ERROR] failed");
+        assertTrue(found[0]);
+        assertFalse(found[1]);
+        assertTrue(found[2]);
+        assertTrue(found[3]);
+
+        found = prefilter.scan("WARÑ WARN");
+        assertFalse(found[0]);
+        assertTrue(found[1]);
+        assertFalse(found[2]);
+        assertFalse(found[3]);
+    }
+}
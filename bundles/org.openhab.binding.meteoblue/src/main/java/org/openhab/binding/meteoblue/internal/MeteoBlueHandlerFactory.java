@@ -26,7 +26,10 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.openhab.binding.meteoblue.internal.handler.MeteoBlueBridgeHandler;
 import org.openhab.binding.meteoblue.internal.handler.MeteoBlueHandler;
+import org.openhab.io.responsecache.SharedResponseCache;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
  * The {@link MeteoBlueHandlerFactory} is responsible for creating things and thing
@@ -41,6 +44,13 @@ public class MeteoBlueHandlerFactory extends BaseThingHandlerFactory {
             .concat(BRIDGE_THING_TYPES_UIDS.stream(), MeteoBlueBindingConstants.SUPPORTED_THING_TYPES_UIDS.stream())
             .collect(Collectors.toSet());
 
+    private final SharedResponseCache responseCache;
+
+    @Activate
+    public MeteoBlueHandlerFactory(final @Reference SharedResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -51,7 +61,7 @@ public class MeteoBlueHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_TYPE_WEATHER)) {
-            return new MeteoBlueHandler(thing);
+            return new MeteoBlueHandler(thing, responseCache);
         }
 
         if (thingTypeUID.equals(THING_TYPE_BRIDGE)) {
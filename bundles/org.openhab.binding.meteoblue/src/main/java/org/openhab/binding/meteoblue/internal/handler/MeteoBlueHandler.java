@@ -49,6 +49,7 @@ import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.openhab.binding.meteoblue.internal.Forecast;
 import org.openhab.binding.meteoblue.internal.MeteoBlueConfiguration;
 import org.openhab.binding.meteoblue.internal.json.JsonData;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +64,7 @@ import com.google.gson.Gson;
 public class MeteoBlueHandler extends BaseThingHandler {
     private final Logger logger = LoggerFactory.getLogger(MeteoBlueHandler.class);
 
+    private final SharedResponseCache responseCache;
     private Bridge bridge;
     private Forecast[] forecasts;
     private Gson gson;
@@ -70,8 +72,9 @@ public class MeteoBlueHandler extends BaseThingHandler {
     private ScheduledFuture<?> refreshJob;
     private boolean properlyConfigured;
 
-    public MeteoBlueHandler(Thing thing) {
+    public MeteoBlueHandler(Thing thing, SharedResponseCache responseCache) {
         super(thing);
+        this.responseCache = responseCache;
         gson = new Gson();
         forecasts = new Forecast[7];
     }
@@ -321,12 +324,13 @@ public class MeteoBlueHandler extends BaseThingHandler {
         url = url.replace("#FORMAT_PARAMS#", builder.toString());
         logger.trace("Using URL '{}'", url);
 
-        // Run the HTTP request and get the JSON response
-        String httpResponse = getWeatherData(url);
-        if (httpResponse == null) {
-            return false;
-        }
-        JsonData jsonResult = translateJson(httpResponse, serviceType);
+        // Run the HTTP request and get the JSON response, things with the same location share the parsed response
+        int period = config.refresh != null ? config.refresh : MeteoBlueConfiguration.DEFAULT_REFRESH;
+        String requestUrl = url;
+        JsonData jsonResult = responseCache.get(url, TimeUnit.MINUTES.toMillis(period), () -> {
+            String httpResponse = getWeatherData(requestUrl);
+            return httpResponse == null ? null : translateJson(httpResponse, serviceType);
+        });
         logger.trace("json object: {}", jsonResult);
 
         if (jsonResult == null) {
@@ -336,6 +340,7 @@ public class MeteoBlueHandler extends BaseThingHandler {
 
         String errorMessage = jsonResult.getErrorMessage();
         if (errorMessage != null) {
+            responseCache.remove(url);
             if (errorMessage.equals("MB_REQUEST::DISPATCH: Invalid api key")) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Invalid API Key");
             } else if (errorMessage.equals("MB_REQUEST::DISPATCH: This datafeed is not authorized for your api key")) {
@@ -26,6 +26,7 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * The {@link MiIoCrypto} is responsible for creating Xiaomi messages.
@@ -35,57 +36,107 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class MiIoCrypto {
 
-    public static byte[] md5(byte[] source) throws MiIoCryptoException {
+    // creating the instances is expensive compared to hashing or encrypting the small messages
+    private static final ThreadLocal<@Nullable MessageDigest> MD5_DIGEST = new ThreadLocal<>();
+    private static final ThreadLocal<@Nullable Cipher> AES_CIPHER = new ThreadLocal<>();
+
+    private static MessageDigest getMd5Digest() throws MiIoCryptoException {
+        MessageDigest m = MD5_DIGEST.get();
+        if (m == null) {
+            try {
+                m = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new MiIoCryptoException(e.getMessage(), e);
+            }
+            MD5_DIGEST.set(m);
+        }
+        return m;
+    }
+
+    private static Cipher getAesCipher() throws MiIoCryptoException {
+        Cipher cipher = AES_CIPHER.get();
+        if (cipher == null) {
+            cipher = newAesCipher();
+            AES_CIPHER.set(cipher);
+        }
+        return cipher;
+    }
+
+    private static Cipher newAesCipher() throws MiIoCryptoException {
         try {
-            MessageDigest m = MessageDigest.getInstance("MD5");
-            return m.digest(source);
-        } catch (NoSuchAlgorithmException e) {
+            return Cipher.getInstance("AES/CBC/PKCS5Padding");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
             throw new MiIoCryptoException(e.getMessage(), e);
         }
     }
 
+    public static byte[] md5(byte[] source) throws MiIoCryptoException {
+        return getMd5Digest().digest(source);
+    }
+
     public static byte[] iv(byte[] token) throws MiIoCryptoException {
+        MessageDigest m = getMd5Digest();
+        byte[] ivbuf = new byte[32];
+        System.arraycopy(m.digest(token), 0, ivbuf, 0, 16);
+        System.arraycopy(token, 0, ivbuf, 16, 16);
+        return m.digest(ivbuf);
+    }
+
+    /**
+     * Creates a cipher for the messages of a device. The key and iv are derived from the token only once, the cipher
+     * can be used for any number of messages with {@link #doFinal(Cipher, byte[])}. It is not thread safe.
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     * @param token the token of the device
+     * @return the initialized cipher
+     * @throws MiIoCryptoException
+     */
+    public static Cipher createCipher(int mode, byte[] token) throws MiIoCryptoException {
+        Cipher cipher = newAesCipher();
+        init(cipher, mode, md5(token), iv(token));
+        return cipher;
+    }
+
+    /**
+     * Encrypts or decrypts a message with a cipher created by {@link #createCipher(int, byte[])}. If it fails, the
+     * cipher is left in an undefined state and has to be created again.
+     *
+     * @param cipher the cipher of the device
+     * @param data the message
+     * @return the encrypted or decrypted message
+     * @throws MiIoCryptoException
+     */
+    public static byte[] doFinal(Cipher cipher, byte[] data) throws MiIoCryptoException {
         try {
-            MessageDigest m = MessageDigest.getInstance("MD5");
-            byte[] ivbuf = new byte[32];
-            System.arraycopy(m.digest(token), 0, ivbuf, 0, 16);
-            System.arraycopy(token, 0, ivbuf, 16, 16);
-            return m.digest(ivbuf);
-        } catch (NoSuchAlgorithmException e) {
+            // resets the cipher to the key and iv of the device
+            return cipher.doFinal(data);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
             throw new MiIoCryptoException(e.getMessage(), e);
         }
     }
 
-    public static byte[] encrypt(byte[] cipherText, byte[] key, byte[] iv) throws MiIoCryptoException {
+    private static void init(Cipher cipher, int mode, byte[] key, byte[] iv) throws MiIoCryptoException {
         try {
-            IvParameterSpec vector = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, vector);
-            byte[] encrypted = cipher.doFinal(cipherText);
-            return encrypted;
-        } catch (InvalidKeyException | NoSuchAlgorithmException | NoSuchPaddingException
-                | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException e) {
+            cipher.init(mode, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
             throw new MiIoCryptoException(e.getMessage(), e);
         }
     }
 
+    public static byte[] encrypt(byte[] cipherText, byte[] key, byte[] iv) throws MiIoCryptoException {
+        Cipher cipher = getAesCipher();
+        init(cipher, Cipher.ENCRYPT_MODE, key, iv);
+        return doFinal(cipher, cipherText);
+    }
+
     public static byte[] encrypt(byte[] text, byte[] token) throws MiIoCryptoException {
         return encrypt(text, md5(token), iv(token));
     }
 
     public static byte[] decrypt(byte[] cipherText, byte[] key, byte[] iv) throws MiIoCryptoException {
-        try {
-            IvParameterSpec vector = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, vector);
-            byte[] crypted = cipher.doFinal(cipherText);
-            return (crypted);
-        } catch (InvalidKeyException | NoSuchAlgorithmException | NoSuchPaddingException
-                | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException e) {
-            throw new MiIoCryptoException(e.getMessage(), e);
-        }
+        Cipher cipher = getAesCipher();
+        init(cipher, Cipher.DECRYPT_MODE, key, iv);
+        return doFinal(cipher, cipherText);
     }
 
     public static byte[] decrypt(byte[] cipherText, byte[] token) throws MiIoCryptoException {
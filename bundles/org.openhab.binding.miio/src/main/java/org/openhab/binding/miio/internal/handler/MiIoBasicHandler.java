@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -61,6 +62,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
@@ -74,6 +76,13 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class MiIoBasicHandler extends MiIoAbstractHandler {
 
+    // a property is refreshed less often after it did not change for this number of refreshes
+    private static final int STABLE_REFRESHES = 5;
+    // a stable property is only refreshed with every n-th update
+    private static final int STABLE_REFRESH_INTERVAL = 5;
+    // number of successful full batches before the number of properties per request is increased
+    private static final int BATCH_GROW_RESPONSES = 10;
+
     private final Logger logger = LoggerFactory.getLogger(MiIoBasicHandler.class);
     private boolean hasChannelStructure;
 
@@ -83,8 +92,20 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
     });
 
     List<MiIoBasicChannel> refreshList = new ArrayList<>();
+    private Map<String, MiIoBasicChannel> propertyIndex = new HashMap<>();
+    private Map<MiIoBasicChannel, JsonElement> propertyRequests = new HashMap<>();
+
+    // the channels requested by the outstanding property refreshes, by command id
+    private final Map<Integer, List<MiIoBasicChannel>> pendingRefreshes = new ConcurrentHashMap<>();
+    private final Map<MiIoBasicChannel, PropertyState> propertyStates = new ConcurrentHashMap<>();
+    private int refreshCount;
+
+    // the learned number of properties the device answers in a single request
+    private int maxProperties;
+    private int maxPropertiesLimit = Integer.MAX_VALUE;
+    private int fullBatchResponses;
 
-    private @Nullable MiIoBasicDevice miioDevice;
+    @Nullable MiIoBasicDevice miioDevice;
     private Map<ChannelUID, MiIoBasicChannel> actions = new HashMap<>();
 
     public MiIoBasicHandler(Thing thing, MiIoDatabaseWatchService miIoDatabaseWatchService) {
@@ -97,6 +118,20 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
         hasChannelStructure = false;
         isIdentified = false;
         refreshList = new ArrayList<>();
+        pendingRefreshes.clear();
+        propertyStates.clear();
+        synchronized (this) {
+            maxProperties = 0;
+            maxPropertiesLimit = Integer.MAX_VALUE;
+            fullBatchResponses = 0;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        // the queued commands are dropped with the connection
+        pendingRefreshes.clear();
     }
 
     @Override
@@ -207,6 +242,8 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
                     }
                 }
             }
+            // the command likely changes some properties, refresh all of them
+            propertyStates.clear();
             updateDataCache.invalidateValue();
             updateData();
         } else {
@@ -245,44 +282,104 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
         }
     }
 
-    private boolean refreshProperties(MiIoBasicDevice device) {
+    boolean refreshProperties(MiIoBasicDevice device) {
         MiIoCommand command = MiIoCommand.getCommand(device.getDevice().getPropertyMethod());
-        int maxProperties = device.getDevice().getMaxProperties();
-        JsonArray getPropString = new JsonArray();
+        int batchSize = getMaxProperties(device);
+        boolean refreshStable = ++refreshCount % STABLE_REFRESH_INTERVAL == 0;
+        List<MiIoBasicChannel> batch = new ArrayList<>();
         for (MiIoBasicChannel miChannel : refreshList) {
-            JsonElement property;
-            if (miChannel.isMiOt()) {
-                JsonObject json = new JsonObject();
-                json.addProperty("did", miChannel.getProperty());
-                json.addProperty("siid", miChannel.getSiid());
-                json.addProperty("piid", miChannel.getPiid());
-                property = json;
-            } else {
-                property = new JsonPrimitive(miChannel.getProperty());
+            PropertyState state = propertyStates.get(miChannel);
+            if (!refreshStable && state != null && state.unchanged >= STABLE_REFRESHES) {
+                continue;
             }
-            getPropString.add(property);
-            if (getPropString.size() >= maxProperties) {
-                sendRefreshProperties(command, getPropString);
-                getPropString = new JsonArray();
+            batch.add(miChannel);
+            if (batch.size() >= batchSize) {
+                sendRefreshProperties(command, batch);
+                batch = new ArrayList<>();
             }
         }
-        if (getPropString.size() > 0) {
-            sendRefreshProperties(command, getPropString);
+        if (!batch.isEmpty()) {
+            sendRefreshProperties(command, batch);
         }
         return true;
     }
 
-    private void sendRefreshProperties(MiIoCommand command, JsonArray getPropString) {
+    private synchronized int getMaxProperties(MiIoBasicDevice device) {
+        if (maxProperties <= 0) {
+            maxProperties = Math.max(1, device.getDevice().getMaxProperties());
+        }
+        return maxProperties;
+    }
+
+    private void sendRefreshProperties(MiIoCommand command, List<MiIoBasicChannel> channels) {
+        JsonArray getPropString = new JsonArray();
+        for (MiIoBasicChannel miChannel : channels) {
+            getPropString.add(propertyRequests.get(miChannel));
+        }
+        final MiIoAsyncCommunication miioCom = this.miioCom;
+        if (miioCom == null) {
+            return;
+        }
+        // the response may be received before the command is queued
+        int cmdId = miioCom.nextId();
+        pendingRefreshes.put(cmdId, channels);
         try {
-            final MiIoAsyncCommunication miioCom = this.miioCom;
-            if (miioCom != null) {
-                miioCom.queueCommand(command, getPropString.toString());
-            }
+            miioCom.queueCommand(cmdId, command.getCommand(), getPropString.toString());
         } catch (MiIoCryptoException | IOException e) {
+            pendingRefreshes.remove(cmdId);
             logger.debug("Send refresh failed {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Adapts the number of properties per request to the answers of the device. A failed or incomplete answer
+     * halves the batch size and limits it below the failed size. If the device answered, the missing properties are
+     * requested again in smaller batches, without an answer they are refreshed with the next update. After a number
+     * of complete answers to full batches the batch size grows again up to the limit.
+     */
+    private void onRefreshResponse(MiIoSendCommand response, List<MiIoBasicChannel> channels) {
+        boolean noAnswer = response.isError() && response.getResponse().get("error").isJsonPrimitive();
+        int answered = 0;
+        if (response.getResult().isJsonArray()) {
+            answered = response.getResult().getAsJsonArray().size();
+        } else if (!response.isError()) {
+            // properties answered as object are matched by their name
+            answered = channels.size();
+        }
+        if (answered >= channels.size()) {
+            synchronized (this) {
+                if (channels.size() >= maxProperties && ++fullBatchResponses >= BATCH_GROW_RESPONSES) {
+                    fullBatchResponses = 0;
+                    if (maxProperties < maxPropertiesLimit && maxProperties < refreshList.size()) {
+                        maxProperties++;
+                        logger.debug("Increased properties per request for {} to {}", getThing().getUID(),
+                                maxProperties);
+                    }
+                }
+            }
+            return;
+        }
+        if (channels.size() <= 1) {
+            return;
+        }
+        int batchSize;
+        synchronized (this) {
+            fullBatchResponses = 0;
+            maxPropertiesLimit = Math.max(1, Math.min(maxPropertiesLimit, channels.size() - 1));
+            maxProperties = Math.max(1, Math.min(maxPropertiesLimit, channels.size() / 2));
+            batchSize = maxProperties;
+        }
+        logger.debug("Device {} answered {} of {} properties, using {} properties per request", getThing().getUID(),
+                answered, channels.size(), batchSize);
+        if (noAnswer) {
+            return;
+        }
+        for (int i = answered; i < channels.size(); i += batchSize) {
+            sendRefreshProperties(response.getCommand(),
+                    new ArrayList<>(channels.subList(i, Math.min(i + batchSize, channels.size()))));
+        }
+    }
+
     /**
      * Checks if the channel structure has been build already based on the model data. If not build it.
      */
@@ -298,18 +395,42 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
                 hasChannelStructure = buildChannelStructure(configuration.model);
             }
         }
-        if (hasChannelStructure) {
-            refreshList = new ArrayList<>();
-            final MiIoBasicDevice miioDevice = this.miioDevice;
-            if (miioDevice != null) {
-                for (MiIoBasicChannel miChannel : miioDevice.getDevice().getChannels()) {
-                    if (miChannel.getRefresh()) {
-                        refreshList.add(miChannel);
+        if (hasChannelStructure && refreshList.isEmpty()) {
+            buildRefreshList();
+        }
+    }
+
+    /**
+     * Builds the list of properties to refresh with their request parameter and the index to find the channel of a
+     * property in the responses.
+     */
+    void buildRefreshList() {
+        List<MiIoBasicChannel> refreshList = new ArrayList<>();
+        Map<String, MiIoBasicChannel> propertyIndex = new HashMap<>();
+        Map<MiIoBasicChannel, JsonElement> propertyRequests = new HashMap<>();
+        final MiIoBasicDevice miioDevice = this.miioDevice;
+        if (miioDevice != null) {
+            for (MiIoBasicChannel miChannel : miioDevice.getDevice().getChannels()) {
+                if (miChannel.getRefresh()) {
+                    refreshList.add(miChannel);
+                    propertyIndex.putIfAbsent(miChannel.getProperty(), miChannel);
+                    JsonElement property;
+                    if (miChannel.isMiOt()) {
+                        JsonObject json = new JsonObject();
+                        json.addProperty("did", miChannel.getProperty());
+                        json.addProperty("siid", miChannel.getSiid());
+                        json.addProperty("piid", miChannel.getPiid());
+                        property = json;
+                    } else {
+                        property = new JsonPrimitive(miChannel.getProperty());
                     }
+                    propertyRequests.put(miChannel, property);
                 }
             }
-
         }
+        this.propertyIndex = propertyIndex;
+        this.propertyRequests = propertyRequests;
+        this.refreshList = refreshList;
     }
 
     private boolean buildChannelStructure(String deviceName) {
@@ -391,24 +512,43 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
     }
 
     private @Nullable MiIoBasicChannel getChannel(String parameter) {
-        for (MiIoBasicChannel refreshEntry : refreshList) {
-            if (refreshEntry.getProperty().equals(parameter)) {
-                return refreshEntry;
-            }
+        MiIoBasicChannel channel = propertyIndex.get(parameter);
+        if (channel == null) {
+            logger.trace("Did not find channel for {} in {}", parameter, refreshList);
         }
-        logger.trace("Did not find channel for {} in {}", parameter, refreshList);
-        return null;
+        return channel;
     }
 
-    private void updatePropsFromJsonArray(MiIoSendCommand response) {
+    private void updatePropsFromJsonArray(MiIoSendCommand response, @Nullable List<MiIoBasicChannel> channels) {
         JsonArray res = response.getResult().getAsJsonArray();
-        JsonArray para = parser.parse(response.getCommandString()).getAsJsonObject().get("params").getAsJsonArray();
-        if (res.size() != para.size()) {
+        if (channels == null) {
+            // not requested by a refresh, e.g. a get_prop sent with the command channel
+            updatePropsFromCommandString(response, res);
+            return;
+        }
+        if (res.size() != channels.size()) {
             logger.debug("Unexpected size different. Request size {},  response size {}. (Req: {}, Resp:{})",
-                    para.size(), res.size(), para, res);
+                    channels.size(), res.size(), response.getCommandString(), res);
         }
-        for (int i = 0; i < para.size(); i++) {
-            // This is a miot parameter
+        for (int i = 0; i < channels.size() && i < res.size(); i++) {
+            MiIoBasicChannel basicChannel = channels.get(i);
+            JsonElement val = res.get(i);
+            if (val.isJsonObject()) { // miot channel
+                val = val.getAsJsonObject().get("value");
+            }
+            if (val == null || val.isJsonNull()) {
+                logger.debug("Property '{}' returned null (is it supported?).", basicChannel.getProperty());
+                trackChange(basicChannel, JsonNull.INSTANCE);
+                continue;
+            }
+            trackChange(basicChannel, val);
+            updateChannel(basicChannel, basicChannel.getProperty(), val);
+        }
+    }
+
+    private void updatePropsFromCommandString(MiIoSendCommand response, JsonArray res) {
+        JsonArray para = parser.parse(response.getCommandString()).getAsJsonObject().get("params").getAsJsonArray();
+        for (int i = 0; i < para.size() && i < res.size(); i++) {
             String param;
             final JsonElement paraElement = para.get(i);
             if (paraElement.isJsonObject()) { // miot channel
@@ -417,14 +557,27 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
                 param = paraElement.getAsString();
             }
             JsonElement val = res.get(i);
-            if (val.isJsonNull()) {
+            if (val.isJsonObject()) { // miot channel
+                val = val.getAsJsonObject().get("value");
+            }
+            if (val == null || val.isJsonNull()) {
                 logger.debug("Property '{}' returned null (is it supported?).", param);
                 continue;
-            } else if (val.isJsonObject()) { // miot channel
-                val = val.getAsJsonObject().get("value");
             }
-            MiIoBasicChannel basicChannel = getChannel(param);
-            updateChannel(basicChannel, param, val);
+            updateChannel(getChannel(param), param, val);
+        }
+    }
+
+    /**
+     * Counts the refreshes in which the value of the property did not change.
+     */
+    private void trackChange(MiIoBasicChannel basicChannel, JsonElement value) {
+        PropertyState state = propertyStates.computeIfAbsent(basicChannel, c -> new PropertyState());
+        if (value.equals(state.value)) {
+            state.unchanged++;
+        } else {
+            state.value = value;
+            state.unchanged = 0;
         }
     }
 
@@ -438,6 +591,9 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
                 continue;
             }
             MiIoBasicChannel basicChannel = getChannel(param);
+            if (basicChannel != null) {
+                trackChange(basicChannel, val);
+            }
             updateChannel(basicChannel, param, val);
         }
     }
@@ -488,6 +644,10 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
     @Override
     public void onMessageReceived(MiIoSendCommand response) {
         super.onMessageReceived(response);
+        final List<MiIoBasicChannel> channels = pendingRefreshes.remove(response.getId());
+        if (channels != null) {
+            onRefreshResponse(response, channels);
+        }
         if (response.isError()) {
             return;
         }
@@ -499,7 +659,7 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
                 case GET_PROPERTIES:
                 case GET_PROPERTY:
                     if (response.getResult().isJsonArray()) {
-                        updatePropsFromJsonArray(response);
+                        updatePropsFromJsonArray(response, channels);
                     } else if (response.getResult().isJsonObject()) {
                         updatePropsFromJsonObject(response);
                     }
@@ -511,4 +671,10 @@ public class MiIoBasicHandler extends MiIoAbstractHandler {
             logger.debug("Error while handing message {}", response.getResponse(), e);
         }
     }
+
+    private static class PropertyState {
+        @Nullable
+        JsonElement value;
+        int unchanged;
+    }
 }
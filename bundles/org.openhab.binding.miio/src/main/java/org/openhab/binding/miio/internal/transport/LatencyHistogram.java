@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.miio.internal.transport;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link LatencyHistogram} counts the round trip times of the commands to a device in fixed buckets
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyHistogram {
+
+    // upper bounds of the buckets in milliseconds, the last bucket takes all longer times
+    private static final long[] BOUNDS = { 25, 50, 100, 250, 500, 1000, 2500 };
+
+    private final long[] counts = new long[BOUNDS.length + 1];
+    private long total;
+    private long max;
+
+    public synchronized void record(long millis) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        total++;
+        max = Math.max(max, millis);
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        total = 0;
+        max = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            sb.append("<").append(BOUNDS[i]).append("ms: ").append(counts[i]).append(", ");
+        }
+        sb.append(">=").append(BOUNDS[BOUNDS.length - 1]).append("ms: ").append(counts[BOUNDS.length]);
+        sb.append(" (max ").append(max).append("ms)");
+        return sb.toString();
+    }
+}
@@ -16,17 +16,29 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.crypto.Cipher;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -50,6 +62,10 @@ import com.google.gson.JsonSyntaxException;
 /**
  * The {@link MiIoAsyncCommunication} is responsible for communications with the Mi IO devices
  *
+ * Commands are handed over to the {@link MessageSenderThread} with a blocking queue. The thread sends up to
+ * {@link #MAX_IN_FLIGHT} commands without waiting for the responses and matches the responses to the commands by their
+ * message id, using a selector on a non-blocking UDP channel.
+ *
  * @author Marcel Verpaalen - Initial contribution
  */
 @NonNullByDefault
@@ -78,8 +94,18 @@ public class MiIoAsyncCommunication {
     private boolean needPing = true;
     private static final int MAX_ERRORS = 3;
     private static final int MAX_ID = 15000;
+    private static final int MAX_IN_FLIGHT = 3;
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toMillis(15);
+
+    private final BlockingQueue<MiIoSendCommand> commandQueue = new LinkedBlockingQueue<>();
+    private volatile @Nullable Selector selector;
 
-    private ConcurrentLinkedQueue<MiIoSendCommand> concurrentLinkedQueue = new ConcurrentLinkedQueue<>();
+    // ciphers derived from the token, only used by the sender thread
+    private @Nullable Cipher encryptCipher;
+    private @Nullable Cipher decryptCipher;
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private long lastStatistics = System.currentTimeMillis();
 
     public MiIoAsyncCommunication(String ip, byte[] token, byte[] did, int id, int timeout) {
         this.ip = ip;
@@ -119,7 +145,7 @@ public class MiIoAsyncCommunication {
     public synchronized void unregisterListener(MiIoMessageListener listener) {
         getListeners().remove(listener);
         if (getListeners().isEmpty()) {
-            concurrentLinkedQueue.clear();
+            commandQueue.clear();
             close();
         }
     }
@@ -134,23 +160,37 @@ public class MiIoAsyncCommunication {
 
     public int queueCommand(String command, String params)
             throws MiIoCryptoException, IOException, JsonSyntaxException {
+        return queueCommand(nextId(), command, params);
+    }
+
+    /**
+     * Queues a command with an id taken from {@link #nextId()} before. This allows to prepare for the response, which
+     * may be received before this method returns.
+     *
+     * @param cmdId the id of the command
+     * @param command the command
+     * @param params the parameters of the command
+     * @return the id of the command
+     */
+    public int queueCommand(int cmdId, String command, String params)
+            throws MiIoCryptoException, IOException, JsonSyntaxException {
         try {
             JsonObject fullCommand = new JsonObject();
-            int cmdId = id.incrementAndGet();
-            if (cmdId > MAX_ID) {
-                id.set(0);
-            }
             fullCommand.addProperty("id", cmdId);
             fullCommand.addProperty("method", command);
             fullCommand.add("params", parser.parse(params));
             MiIoSendCommand sendCmd = new MiIoSendCommand(cmdId, MiIoCommand.getCommand(command),
                     fullCommand.toString());
-            concurrentLinkedQueue.add(sendCmd);
+            commandQueue.add(sendCmd);
+            final Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+            }
             if (logger.isDebugEnabled()) {
                 // Obfuscate part of the token to allow sharing of the logfiles
                 String tokenText = Utils.obfuscateToken(Utils.getHex(token));
                 logger.debug("Command added to Queue {} -> {} (Device: {} token: {} Queue: {})", fullCommand.toString(),
-                        ip, Utils.getHex(deviceId), tokenText, concurrentLinkedQueue.size());
+                        ip, Utils.getHex(deviceId), tokenText, commandQueue.size());
             }
             if (needPing) {
                 sendPing(ip);
@@ -163,37 +203,15 @@ public class MiIoAsyncCommunication {
         }
     }
 
-    MiIoSendCommand sendMiIoSendCommand(MiIoSendCommand miIoSendCommand) {
-        String errorMsg = "Unknown Error while sending command";
-        String decryptedResponse = "";
-        try {
-            decryptedResponse = sendCommand(miIoSendCommand.getCommandString(), token, ip, deviceId);
-            // hack due to avoid invalid json errors from some misbehaving device firmwares
-            decryptedResponse = decryptedResponse.replace(",,", ",");
-            JsonElement response;
-            response = parser.parse(decryptedResponse);
-            if (response.isJsonObject()) {
-                needPing = false;
-                logger.trace("Received  JSON message {}", response.toString());
-                miIoSendCommand.setResponse(response.getAsJsonObject());
-                return miIoSendCommand;
-            } else {
-                errorMsg = "Received message is invalid JSON";
-                logger.debug("{}: {}", errorMsg, decryptedResponse);
-            }
-        } catch (MiIoCryptoException | IOException e) {
-            logger.debug("Send command '{}'  -> {} (Device: {}) gave error {}", miIoSendCommand.getCommandString(), ip,
-                    Utils.getHex(deviceId), e.getMessage());
-            errorMsg = e.getMessage();
-        } catch (JsonSyntaxException e) {
-            logger.warn("Could not parse '{}' <- {} (Device: {}) gave error {}", decryptedResponse,
-                    miIoSendCommand.getCommandString(), Utils.getHex(deviceId), e.getMessage());
-            errorMsg = "Received message is invalid JSON";
+    /**
+     * @return the id for the next command
+     */
+    public int nextId() {
+        int cmdId = id.incrementAndGet();
+        if (cmdId > MAX_ID) {
+            id.set(0);
         }
-        JsonObject erroResp = new JsonObject();
-        erroResp.addProperty("error", errorMsg);
-        miIoSendCommand.setResponse(erroResp);
-        return miIoSendCommand;
+        return cmdId;
     }
 
     public synchronized void startReceiver() {
@@ -206,11 +224,14 @@ public class MiIoAsyncCommunication {
     }
 
     /**
-     * The {@link MessageSenderThread} is responsible for consuming messages from the queue and sending these to the
-     * device
+     * The {@link MessageSenderThread} is responsible for consuming messages from the queue, sending these to the
+     * device and receiving the responses
      *
      */
     private class MessageSenderThread extends Thread {
+        private final Map<Integer, PendingCommand> inFlight = new LinkedHashMap<>();
+        private final ByteBuffer receiveBuffer = ByteBuffer.allocate(MSG_BUFFER_SIZE);
+
         public MessageSenderThread() {
             super("Mi IO MessageSenderThread");
             setDaemon(true);
@@ -219,71 +240,213 @@ public class MiIoAsyncCommunication {
         @Override
         public void run() {
             logger.debug("Starting Mi IO MessageSenderThread");
-            while (!interrupted()) {
+            try (Selector selector = Selector.open(); DatagramChannel channel = DatagramChannel.open()) {
+                MiIoAsyncCommunication.this.selector = selector;
                 try {
-                    if (concurrentLinkedQueue.isEmpty()) {
-                        Thread.sleep(100);
-                        continue;
-                    }
-                    MiIoSendCommand queuedMessage = concurrentLinkedQueue.remove();
-                    MiIoSendCommand miIoSendCommand = sendMiIoSendCommand(queuedMessage);
-                    for (MiIoMessageListener listener : listeners) {
-                        logger.trace("inform listener {}, data {} from {}", listener, queuedMessage, miIoSendCommand);
-                        try {
-                            listener.onMessageReceived(miIoSendCommand);
-                        } catch (Exception e) {
-                            logger.debug("Could not inform listener {}: {}: ", listener, e.getMessage(), e);
-                        }
+                    process(selector, channel);
+                } finally {
+                    if (MiIoAsyncCommunication.this.selector == selector) {
+                        MiIoAsyncCommunication.this.selector = null;
                     }
-                } catch (NoSuchElementException e) {
-                    // ignore
-                } catch (InterruptedException e) {
-                    // That's our signal to stop
-                    break;
-                } catch (Exception e) {
-                    logger.warn("Error while polling/sending message", e);
                 }
+            } catch (ClosedByInterruptException e) {
+                // That's our signal to stop
+            } catch (IOException e) {
+                logger.warn("Error while polling/sending message", e);
             }
+            inFlight.clear();
             closeSocket();
             logger.debug("Finished Mi IO MessageSenderThread");
         }
-    }
 
-    private String sendCommand(String command, byte[] token, String ip, byte[] deviceId)
-            throws MiIoCryptoException, IOException {
-        byte[] encr;
-        encr = MiIoCrypto.encrypt(command.getBytes(), token);
-        timeStamp = (int) TimeUnit.MILLISECONDS.toSeconds(Calendar.getInstance().getTime().getTime());
-        byte[] sendMsg = Message.createMsgData(encr, token, deviceId, timeStamp + timeDelta);
-        Message miIoResponseMsg = sendData(sendMsg, ip);
-        if (miIoResponseMsg == null) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("No response from device {} at {} for command {}.\r\n{}", Utils.getHex(deviceId), ip,
-                        command, (new Message(sendMsg)).toSting());
-            } else {
-                logger.debug("No response from device {} at {} for command {}.", Utils.getHex(deviceId), ip, command);
+        private void process(Selector selector, DatagramChannel channel) throws IOException {
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+            InetSocketAddress deviceAddress = new InetSocketAddress(InetAddress.getByName(ip),
+                    MiIoBindingConstants.PORT);
+            while (!isInterrupted()) {
+                MiIoSendCommand queuedMessage;
+                while (inFlight.size() < MAX_IN_FLIGHT && (queuedMessage = commandQueue.poll()) != null) {
+                    send(channel, deviceAddress, queuedMessage);
+                }
+                // without commands in flight the selector waits until a command is queued
+                long waitTime = 0;
+                if (!inFlight.isEmpty()) {
+                    PendingCommand oldest = inFlight.values().iterator().next();
+                    waitTime = Math.max(1, oldest.sent + timeout - System.currentTimeMillis());
+                }
+                selector.select(waitTime);
+                selector.selectedKeys().clear();
+                receiveBuffer.clear();
+                while (channel.receive(receiveBuffer) != null) {
+                    receiveBuffer.flip();
+                    byte[] response = new byte[receiveBuffer.remaining()];
+                    receiveBuffer.get(response);
+                    receiveBuffer.clear();
+                    handleResponse(response);
+                }
+                expireCommands();
+                logStatistics();
             }
-            errorCounter++;
-            if (errorCounter > MAX_ERRORS) {
-                status = ThingStatusDetail.CONFIGURATION_ERROR;
-                sendPing(ip);
+        }
+
+        private void send(DatagramChannel channel, InetSocketAddress deviceAddress, MiIoSendCommand command) {
+            try {
+                byte[] encr = MiIoCrypto.doFinal(getCipher(Cipher.ENCRYPT_MODE), command.getCommandString().getBytes());
+                timeStamp = (int) TimeUnit.MILLISECONDS.toSeconds(Calendar.getInstance().getTime().getTime());
+                byte[] sendMsg = Message.createMsgData(encr, token, deviceId, timeStamp + timeDelta);
+                channel.send(ByteBuffer.wrap(sendMsg), deviceAddress);
+                inFlight.put(command.getId(), new PendingCommand(command, System.currentTimeMillis()));
+            } catch (MiIoCryptoException | IOException e) {
+                logger.debug("Send command '{}'  -> {} (Device: {}) gave error {}", command.getCommandString(), ip,
+                        Utils.getHex(deviceId), e.getMessage());
+                respondError(command, e.getMessage());
+            }
+        }
+
+        private void handleResponse(byte[] response) {
+            if (response.length < 32) {
+                logger.trace("Reponse length <32 : {}", response.length);
+                return;
+            }
+            Message miIoResponseMsg = new Message(response);
+            timeStamp = (int) TimeUnit.MILLISECONDS.toSeconds(Calendar.getInstance().getTime().getTime());
+            timeDelta = miIoResponseMsg.getTimestampAsInt() - timeStamp;
+            logger.trace("Message Details:{} ", miIoResponseMsg.toSting());
+            if (!miIoResponseMsg.isChecksumValid()) {
+                // the message id is encrypted as well, the command it belongs to runs into its timeout
+                logger.debug("Dropping message with invalid checksum from {} (Device: {})", ip,
+                        Utils.getHex(deviceId));
+                return;
+            }
+            if (errorCounter > 0) {
+                errorCounter = 0;
+                status = ThingStatusDetail.NONE;
+                updateStatus(ThingStatus.ONLINE, status);
+            }
+            if (!connected) {
+                pingSuccess();
+            }
+            String decryptedResponse = "";
+            try {
+                decryptedResponse = new String(
+                        MiIoCrypto.doFinal(getCipher(Cipher.DECRYPT_MODE), miIoResponseMsg.getData()),
+                        StandardCharsets.UTF_8).trim();
+                logger.trace("Received response from {}: {}", ip, decryptedResponse);
+                // hack due to avoid invalid json errors from some misbehaving device firmwares
+                decryptedResponse = decryptedResponse.replace(",,", ",");
+                JsonElement jsonResponse = parser.parse(decryptedResponse);
+                if (!jsonResponse.isJsonObject()) {
+                    logger.debug("Dropping message with invalid JSON: {}", decryptedResponse);
+                    return;
+                }
+                JsonObject responseObject = jsonResponse.getAsJsonObject();
+                PendingCommand pending = null;
+                if (responseObject.has("id") && responseObject.get("id").isJsonPrimitive()) {
+                    pending = inFlight.remove(responseObject.get("id").getAsInt());
+                }
+                if (pending == null) {
+                    logger.debug("Received response from {} for no pending command: {}", ip, decryptedResponse);
+                    return;
+                }
+                needPing = false;
+                logger.trace("Received  JSON message {}", responseObject.toString());
+                latencyHistogram.record(System.currentTimeMillis() - pending.sent);
+                pending.command.setResponse(responseObject);
+                informListeners(pending.command);
+            } catch (MiIoCryptoException e) {
+                // the failed cipher is not reset to the iv, the next response needs a new one
+                decryptCipher = null;
+                // messages which cannot be matched to a command are dropped, the command runs into its timeout
+                logger.debug("Could not decrypt response from {} (Device: {}): {}", ip, Utils.getHex(deviceId),
+                        e.getMessage());
+            } catch (JsonSyntaxException | IllegalStateException | NumberFormatException e) {
+                logger.warn("Could not parse '{}' <- {} (Device: {}) gave error {}", decryptedResponse, ip,
+                        Utils.getHex(deviceId), e.getMessage());
             }
-            return "{\"error\":\"No Response\"}";
         }
-        if (!miIoResponseMsg.isChecksumValid()) {
-            return "{\"error\":\"Message has invalid checksum\"}";
+
+        private void expireCommands() throws IOException {
+            long now = System.currentTimeMillis();
+            Iterator<PendingCommand> iterator = inFlight.values().iterator();
+            while (iterator.hasNext()) {
+                PendingCommand pending = iterator.next();
+                if (now - pending.sent < timeout) {
+                    // the commands are in the order they were sent
+                    break;
+                }
+                iterator.remove();
+                logger.debug("No response from device {} at {} for command {}.", Utils.getHex(deviceId), ip,
+                        pending.command.getCommandString());
+                needPing = true;
+                errorCounter++;
+                if (errorCounter > MAX_ERRORS) {
+                    status = ThingStatusDetail.CONFIGURATION_ERROR;
+                    sendPing(ip);
+                }
+                respondError(pending.command, "No Response");
+            }
         }
-        if (errorCounter > 0) {
-            errorCounter = 0;
-            status = ThingStatusDetail.NONE;
-            updateStatus(ThingStatus.ONLINE, status);
+
+        private void logStatistics() {
+            long now = System.currentTimeMillis();
+            if (now - lastStatistics >= STATISTICS_INTERVAL) {
+                lastStatistics = now;
+                if (latencyHistogram.getTotal() > 0) {
+                    logger.debug("Round trip times of {} commands to {} (Device: {}): {}",
+                            latencyHistogram.getTotal(), ip, Utils.getHex(deviceId), latencyHistogram);
+                }
+                latencyHistogram.reset();
+            }
         }
-        if (!connected) {
-            pingSuccess();
+    }
+
+    private Cipher getCipher(int mode) throws MiIoCryptoException {
+        if (mode == Cipher.ENCRYPT_MODE) {
+            Cipher cipher = encryptCipher;
+            if (cipher == null) {
+                cipher = MiIoCrypto.createCipher(mode, token);
+                encryptCipher = cipher;
+            }
+            return cipher;
+        }
+        Cipher cipher = decryptCipher;
+        if (cipher == null) {
+            cipher = MiIoCrypto.createCipher(mode, token);
+            decryptCipher = cipher;
+        }
+        return cipher;
+    }
+
+    private void respondError(MiIoSendCommand command, @Nullable String errorMsg) {
+        JsonObject erroResp = new JsonObject();
+        erroResp.addProperty("error", errorMsg != null ? errorMsg : "Unknown Error while sending command");
+        command.setResponse(erroResp);
+        informListeners(command);
+    }
+
+    private void informListeners(MiIoSendCommand miIoSendCommand) {
+        for (MiIoMessageListener listener : listeners) {
+            logger.trace("inform listener {}, data {}", listener, miIoSendCommand);
+            try {
+                listener.onMessageReceived(miIoSendCommand);
+            } catch (Exception e) {
+                logger.debug("Could not inform listener {}: {}: ", listener, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A command sent to the device and waiting for the response
+     */
+    private static class PendingCommand {
+        private final MiIoSendCommand command;
+        private final long sent;
+
+        private PendingCommand(MiIoSendCommand command, long sent) {
+            this.command = command;
+            this.sent = sent;
         }
-        String decryptedResponse = new String(MiIoCrypto.decrypt(miIoResponseMsg.getData(), token), "UTF-8").trim();
-        logger.trace("Received response from {}: {}", ip, decryptedResponse);
-        return decryptedResponse;
     }
 
     public @Nullable Message sendPing(String ip) throws IOException {
@@ -441,6 +604,6 @@ public class MiIoAsyncCommunication {
     }
 
     public int getQueueLength() {
-        return concurrentLinkedQueue.size();
+        return commandQueue.size();
     }
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.miio.internal;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MiIoCrypto}. The ciphers cached per device and the static methods are compared with the
+ * former implementation, which created new digests and ciphers for every message.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MiIoCryptoTest {
+
+    private static final byte[] TOKEN = Utils.hexStringToByteArray("6614798643fe781563c1eebeda22479a");
+    private static final byte[] OTHER_TOKEN = Utils.hexStringToByteArray("00112233445566778899aabbccddeeff");
+
+    private static final String[] MESSAGES = { "", "{}", "{\"id\":1,\"method\":\"get_prop\",\"params\":[\"power\"]}",
+            "0123456789abcde", "0123456789abcdef", "0123456789abcdef0",
+            "{\"id\":2,\"method\":\"get_prop\",\"params\":[\"power\",\"bright\",\"cct\",\"snm\",\"dv\",\"bl\","
+                    + "\"ac\",\"ms\",\"sand_lvl\",\"night_mode\",\"child_lock\",\"mode\",\"fan_level\"]}" };
+
+    @Test
+    public void cachedCiphersMatchFormerImplementation() throws Exception {
+        Cipher encryptCipher = MiIoCrypto.createCipher(Cipher.ENCRYPT_MODE, TOKEN);
+        Cipher decryptCipher = MiIoCrypto.createCipher(Cipher.DECRYPT_MODE, TOKEN);
+
+        // every message is sent twice, the ciphers must be reset after every message
+        for (int round = 0; round < 2; round++) {
+            for (String message : MESSAGES) {
+                byte[] data = message.getBytes(StandardCharsets.UTF_8);
+                byte[] expected = formerCrypt(Cipher.ENCRYPT_MODE, data, TOKEN);
+
+                byte[] encrypted = MiIoCrypto.doFinal(encryptCipher, data);
+                assertArrayEquals(message, expected, encrypted);
+                assertArrayEquals(message, data, MiIoCrypto.doFinal(decryptCipher, encrypted));
+                assertArrayEquals(message, data, formerCrypt(Cipher.DECRYPT_MODE, encrypted, TOKEN));
+            }
+        }
+    }
+
+    @Test
+    public void staticMethodsMatchFormerImplementation() throws Exception {
+        for (byte[] token : new byte[][] { TOKEN, OTHER_TOKEN, TOKEN }) {
+            for (String message : MESSAGES) {
+                byte[] data = message.getBytes(StandardCharsets.UTF_8);
+                byte[] expected = formerCrypt(Cipher.ENCRYPT_MODE, data, token);
+
+                byte[] encrypted = MiIoCrypto.encrypt(data, token);
+                assertArrayEquals(message, expected, encrypted);
+                assertArrayEquals(message, data, MiIoCrypto.decrypt(encrypted, token));
+            }
+            assertArrayEquals(MessageDigest.getInstance("MD5").digest(token), MiIoCrypto.md5(token));
+            assertArrayEquals(formerIv(token), MiIoCrypto.iv(token));
+        }
+    }
+
+    @Test
+    public void decryptionRecoversFromFailures() throws Exception {
+        byte[] data = MESSAGES[2].getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = MiIoCrypto.encrypt(data, TOKEN);
+
+        try {
+            MiIoCrypto.doFinal(MiIoCrypto.createCipher(Cipher.DECRYPT_MODE, TOKEN),
+                    MiIoCrypto.encrypt(data, OTHER_TOKEN));
+            fail("decrypting with the wrong token must fail");
+        } catch (MiIoCryptoException e) {
+            // expected, the padding does not match
+        }
+        try {
+            MiIoCrypto.decrypt(MiIoCrypto.encrypt(data, OTHER_TOKEN), TOKEN);
+            fail("decrypting with the wrong token must fail");
+        } catch (MiIoCryptoException e) {
+            // expected
+        }
+        try {
+            MiIoCrypto.decrypt(new byte[15], TOKEN);
+            fail("decrypting an incomplete block must fail");
+        } catch (MiIoCryptoException e) {
+            // expected
+        }
+
+        // a failed cipher is replaced, the cipher of the static methods is initialized for every message
+        assertArrayEquals(data, MiIoCrypto.doFinal(MiIoCrypto.createCipher(Cipher.DECRYPT_MODE, TOKEN), encrypted));
+        assertArrayEquals(data, MiIoCrypto.decrypt(encrypted, TOKEN));
+    }
+
+    @Test
+    public void staticMethodsAreThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                byte[] token = i % 2 == 0 ? TOKEN : OTHER_TOKEN;
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        byte[] data = MESSAGES[j % MESSAGES.length].getBytes(StandardCharsets.UTF_8);
+                        byte[] encrypted = MiIoCrypto.encrypt(data, token);
+                        if (!Arrays.equals(formerCrypt(Cipher.ENCRYPT_MODE, data, token), encrypted)
+                                || !Arrays.equals(data, MiIoCrypto.decrypt(encrypted, token))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] formerIv(byte[] token) throws Exception {
+        MessageDigest m = MessageDigest.getInstance("MD5");
+        byte[] ivbuf = new byte[32];
+        System.arraycopy(m.digest(token), 0, ivbuf, 0, 16);
+        System.arraycopy(token, 0, ivbuf, 16, 16);
+        return m.digest(ivbuf);
+    }
+
+    private static byte[] formerCrypt(int mode, byte[] data, byte[] token) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(mode, new SecretKeySpec(MessageDigest.getInstance("MD5").digest(token), "AES"),
+                new IvParameterSpec(formerIv(token)));
+        return cipher.doFinal(data);
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.miio.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.openhab.binding.miio.internal.MiIoCommand;
+import org.openhab.binding.miio.internal.MiIoSendCommand;
+import org.openhab.binding.miio.internal.basic.MiIoBasicDevice;
+import org.openhab.binding.miio.internal.basic.MiIoDatabaseWatchService;
+import org.openhab.binding.miio.internal.transport.MiIoAsyncCommunication;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests how the {@link MiIoBasicHandler} adapts the number of properties per request to the answers of the device
+ * and how often it refreshes properties which do not change.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MiIoBasicHandlerTest {
+
+    private static final int PROPERTIES = 8;
+
+    private final JsonParser parser = new JsonParser();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private int nextValue;
+    // the commands queued by the handler
+    private final List<MiIoSendCommand> queued = new ArrayList<>();
+
+    private @NonNullByDefault({}) MiIoAsyncCommunication miioCom;
+    private @NonNullByDefault({}) MiIoBasicHandler handler;
+    private @NonNullByDefault({}) MiIoBasicDevice device;
+
+    @Before
+    public void setUp() throws Exception {
+        Thing thing = mock(Thing.class);
+        ThingUID thingUID = new ThingUID(new ThingTypeUID("miio", "basic"), "test");
+        when(thing.getUID()).thenReturn(thingUID);
+        miioCom = mock(MiIoAsyncCommunication.class);
+        when(miioCom.nextId()).thenAnswer(invocation -> nextId.incrementAndGet());
+        when(miioCom.queueCommand(anyInt(), anyString(), anyString())).thenAnswer(this::queue);
+
+        handler = new MiIoBasicHandler(thing, mock(MiIoDatabaseWatchService.class));
+        handler.setCallback(mock(ThingHandlerCallback.class));
+        handler.miioCom = miioCom;
+    }
+
+    @Test
+    public void incompleteAnswerHalvesBatchAndRequestsMissingProperties() {
+        createDevice(4);
+
+        handler.refreshProperties(device);
+        assertEquals(2, queued.size());
+        assertEquals(properties(0, 4), params(queued.get(0)));
+        assertEquals(properties(4, 8), params(queued.get(1)));
+
+        // the device answers only 2 of the 4 properties
+        answer(poll(), 0, 1);
+        assertEquals(2, queued.size());
+        assertEquals(properties(2, 4), params(queued.get(1)));
+        answerQueued();
+
+        handler.refreshProperties(device);
+        assertBatchSizes(2, 2, 2, 2);
+    }
+
+    @Test
+    public void errorHalvesBatchWithoutRequestingAgain() {
+        createDevice(4);
+
+        handler.refreshProperties(device);
+        error(poll());
+        assertEquals(1, queued.size());
+        answerQueued();
+
+        handler.refreshProperties(device);
+        assertBatchSizes(2, 2, 2, 2);
+    }
+
+    @Test
+    public void batchGrowsAfterCompleteAnswersUpToTheLimit() {
+        createDevice(4);
+
+        // limits the batch size to 3 and halves it to 2, the complete answer of the second batch counts
+        handler.refreshProperties(device);
+        error(poll());
+        answerQueued();
+
+        // 9 more complete answers to full batches
+        for (int i = 0; i < 3; i++) {
+            handler.refreshProperties(device);
+            assertBatchSizes(2, 2, 2, 2);
+            answerQueued();
+        }
+        handler.refreshProperties(device);
+        assertBatchSizes(3, 3, 2);
+        answerQueued();
+
+        // the failed size is not tried again
+        for (int i = 0; i < 10; i++) {
+            handler.refreshProperties(device);
+            assertBatchSizes(3, 3, 2);
+            answerQueued();
+        }
+    }
+
+    @Test
+    public void batchDoesNotGrowBeyondTheProperties() {
+        createDevice(PROPERTIES);
+
+        for (int i = 0; i < 20; i++) {
+            handler.refreshProperties(device);
+            assertBatchSizes(PROPERTIES);
+            answerQueued();
+        }
+    }
+
+    @Test
+    public void stablePropertiesAreRefreshedLessOften() {
+        createDevice(PROPERTIES);
+
+        // after 6 answers the properties 1-7 did not change in 5 refreshes
+        for (int i = 1; i <= 6; i++) {
+            handler.refreshProperties(device);
+            answerAll(poll(), i);
+        }
+        for (int i = 7; i <= 9; i++) {
+            handler.refreshProperties(device);
+            MiIoSendCommand command = poll();
+            assertEquals(properties(0, 1), params(command));
+            answerAll(command, i);
+        }
+        // every fifth refresh includes the stable properties, property 1 changes
+        handler.refreshProperties(device);
+        MiIoSendCommand command = poll();
+        assertEquals(properties(0, PROPERTIES), params(command));
+        JsonArray result = values(command, 10);
+        result.set(1, parser.parse("42"));
+        respond(command, result);
+
+        handler.refreshProperties(device);
+        assertEquals(properties(0, 2), params(poll()));
+    }
+
+    @Test
+    public void responseBeforeQueueCommandReturnsIsMatched() throws Exception {
+        createDevice(4);
+        AtomicBoolean first = new AtomicBoolean(true);
+        // the device answers the first request before it is queued, with only one of the properties
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                MiIoSendCommand response = new MiIoSendCommand(invocation.getArgument(0), MiIoCommand.GET_PROPERTY,
+                        "");
+                answer(response, 0);
+            }
+            return queue(invocation);
+        }).when(miioCom).queueCommand(anyInt(), anyString(), anyString());
+
+        handler.refreshProperties(device);
+        queued.clear();
+
+        handler.refreshProperties(device);
+        assertBatchSizes(2, 2, 2, 2);
+    }
+
+    private int queue(InvocationOnMock invocation) {
+        int id = invocation.getArgument(0);
+        String method = invocation.getArgument(1);
+        JsonObject command = new JsonObject();
+        command.addProperty("id", id);
+        command.addProperty("method", method);
+        command.add("params", parser.parse((String) invocation.getArgument(2)));
+        queued.add(new MiIoSendCommand(id, MiIoCommand.getCommand(method), command.toString()));
+        return id;
+    }
+
+    private void createDevice(int maxProperties) {
+        JsonArray channels = new JsonArray();
+        for (int i = 0; i < PROPERTIES; i++) {
+            JsonObject channel = new JsonObject();
+            channel.addProperty("property", "p" + i);
+            channel.addProperty("channel", "c" + i);
+            channel.addProperty("type", "Number");
+            channel.addProperty("refresh", true);
+            channels.add(channel);
+        }
+        JsonObject mapping = new JsonObject();
+        mapping.addProperty("maxProperties", maxProperties);
+        mapping.add("channels", channels);
+        JsonObject json = new JsonObject();
+        json.add("deviceMapping", mapping);
+        device = new Gson().fromJson(json, MiIoBasicDevice.class);
+        handler.miioDevice = device;
+        handler.buildRefreshList();
+    }
+
+    private MiIoSendCommand poll() {
+        assertFalse("no command queued", queued.isEmpty());
+        return queued.remove(0);
+    }
+
+    private void assertBatchSizes(int... sizes) {
+        assertEquals(sizes.length, queued.size());
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals(sizes[i], params(queued.get(i)).size());
+        }
+    }
+
+    private JsonArray params(MiIoSendCommand command) {
+        return parser.parse(command.getCommandString()).getAsJsonObject().getAsJsonArray("params");
+    }
+
+    private static JsonArray properties(int from, int to) {
+        JsonArray properties = new JsonArray();
+        for (int i = from; i < to; i++) {
+            properties.add("p" + i);
+        }
+        return properties;
+    }
+
+    /**
+     * Answers all queued commands with changing values, so no property becomes stable
+     */
+    private void answerQueued() {
+        while (!queued.isEmpty()) {
+            MiIoSendCommand command = poll();
+            JsonArray result = new JsonArray();
+            for (int i = 0; i < params(command).size(); i++) {
+                result.add(nextValue++);
+            }
+            respond(command, result);
+        }
+    }
+
+    /**
+     * Answers the requested properties, the first property has the given value, all others have their index
+     */
+    private void answerAll(MiIoSendCommand command, int firstValue) {
+        respond(command, values(command, firstValue));
+    }
+
+    private JsonArray values(MiIoSendCommand command, int firstValue) {
+        JsonArray result = new JsonArray();
+        for (JsonElement property : params(command)) {
+            int index = Integer.parseInt(property.getAsString().substring(1));
+            result.add(index == 0 ? firstValue : index);
+        }
+        return result;
+    }
+
+    private void answer(MiIoSendCommand command, int... values) {
+        JsonArray result = new JsonArray();
+        for (int value : values) {
+            result.add(value);
+        }
+        respond(command, result);
+    }
+
+    private void respond(MiIoSendCommand command, JsonArray result) {
+        JsonObject response = new JsonObject();
+        response.addProperty("id", command.getId());
+        response.add("result", result);
+        command.setResponse(response);
+        handler.onMessageReceived(command);
+    }
+
+    private void error(MiIoSendCommand command) {
+        command.setResponse(parser.parse("{\"id\":" + command.getId() + ",\"error\":\"No Response\"}")
+                .getAsJsonObject());
+        handler.onMessageReceived(command);
+    }
+}
@@ -32,7 +32,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpResponseException;
 import org.eclipse.jetty.client.api.ContentResponse;
-import org.eclipse.smarthome.core.cache.ExpiringCacheMap;
 import org.eclipse.smarthome.core.library.types.PointType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.io.net.http.HttpUtil;
@@ -43,6 +42,7 @@ import org.openhab.binding.openweathermap.internal.dto.OpenWeatherMapJsonUVIndex
 import org.openhab.binding.openweathermap.internal.dto.OpenWeatherMapJsonWeatherData;
 import org.openhab.binding.openweathermap.internal.handler.OpenWeatherMapAPIHandler;
 import org.openhab.binding.openweathermap.internal.utils.ByteArrayFileCache;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,17 +89,20 @@ public class OpenWeatherMapConnection {
     private final HttpClient httpClient;
 
     private static final ByteArrayFileCache IMAGE_CACHE = new ByteArrayFileCache("org.openhab.binding.openweathermap");
-    private final ExpiringCacheMap<String, String> cache;
+    private final SharedResponseCache responseCache;
+    private final long cacheMaxAge;
 
     private final JsonParser parser = new JsonParser();
     private final Gson gson = new Gson();
 
-    public OpenWeatherMapConnection(OpenWeatherMapAPIHandler handler, HttpClient httpClient) {
+    public OpenWeatherMapConnection(OpenWeatherMapAPIHandler handler, HttpClient httpClient,
+            SharedResponseCache responseCache) {
         this.handler = handler;
         this.httpClient = httpClient;
+        this.responseCache = responseCache;
 
         OpenWeatherMapAPIConfiguration config = handler.getOpenWeatherMapAPIConfig();
-        cache = new ExpiringCacheMap<>(TimeUnit.MINUTES.toMillis(config.refreshInterval));
+        cacheMaxAge = TimeUnit.MINUTES.toMillis(config.refreshInterval);
     }
 
     /**
@@ -113,9 +116,8 @@ public class OpenWeatherMapConnection {
      */
     public synchronized @Nullable OpenWeatherMapJsonWeatherData getWeatherData(@Nullable PointType location)
             throws JsonSyntaxException, OpenWeatherMapCommunicationException, OpenWeatherMapConfigurationException {
-        return gson.fromJson(
-                getResponseFromCache(
-                        buildURL(WEATHER_URL, getRequestParams(handler.getOpenWeatherMapAPIConfig(), location))),
+        return getResponseFromCache(
+                buildURL(WEATHER_URL, getRequestParams(handler.getOpenWeatherMapAPIConfig(), location)),
                 OpenWeatherMapJsonWeatherData.class);
     }
 
@@ -139,7 +141,7 @@ public class OpenWeatherMapConnection {
         Map<String, String> params = getRequestParams(handler.getOpenWeatherMapAPIConfig(), location);
         params.put(PARAM_FORECAST_CNT, Integer.toString(count));
 
-        return gson.fromJson(getResponseFromCache(buildURL(THREE_HOUR_FORECAST_URL, params)),
+        return getResponseFromCache(buildURL(THREE_HOUR_FORECAST_URL, params),
                 OpenWeatherMapJsonHourlyForecastData.class);
     }
 
@@ -163,8 +165,7 @@ public class OpenWeatherMapConnection {
         Map<String, String> params = getRequestParams(handler.getOpenWeatherMapAPIConfig(), location);
         params.put(PARAM_FORECAST_CNT, Integer.toString(count));
 
-        return gson.fromJson(getResponseFromCache(buildURL(DAILY_FORECAST_URL, params)),
-                OpenWeatherMapJsonDailyForecastData.class);
+        return getResponseFromCache(buildURL(DAILY_FORECAST_URL, params), OpenWeatherMapJsonDailyForecastData.class);
     }
 
     /**
@@ -178,9 +179,8 @@ public class OpenWeatherMapConnection {
      */
     public synchronized @Nullable OpenWeatherMapJsonUVIndexData getUVIndexData(@Nullable PointType location)
             throws JsonSyntaxException, OpenWeatherMapCommunicationException, OpenWeatherMapConfigurationException {
-        return gson.fromJson(
-                getResponseFromCache(
-                        buildURL(UVINDEX_URL, getRequestParams(handler.getOpenWeatherMapAPIConfig(), location))),
+        return getResponseFromCache(
+                buildURL(UVINDEX_URL, getRequestParams(handler.getOpenWeatherMapAPIConfig(), location)),
                 OpenWeatherMapJsonUVIndexData.class);
     }
 
@@ -204,8 +204,8 @@ public class OpenWeatherMapConnection {
         Map<String, String> params = getRequestParams(handler.getOpenWeatherMapAPIConfig(), location);
         params.put(PARAM_FORECAST_CNT, Integer.toString(count));
 
-        return Arrays.asList(gson.fromJson(getResponseFromCache(buildURL(UVINDEX_FORECAST_URL, params)),
-                OpenWeatherMapJsonUVIndexData[].class));
+        return Arrays.asList(
+                getResponseFromCache(buildURL(UVINDEX_FORECAST_URL, params), OpenWeatherMapJsonUVIndexData[].class));
     }
 
     /**
@@ -281,8 +281,12 @@ public class OpenWeatherMapConnection {
         }
     }
 
-    private @Nullable String getResponseFromCache(String url) {
-        return cache.putIfAbsentAndGet(url, () -> getResponse(url));
+    /**
+     * Returns the parsed response of the URL. The responses are shared with the other bridges of the binding, so
+     * things with the same location only cause a single request.
+     */
+    private <T> @Nullable T getResponseFromCache(String url, Class<T> type) {
+        return responseCache.get(url, cacheMaxAge, () -> gson.fromJson(getResponse(url), type));
     }
 
     private String getResponse(String url) {
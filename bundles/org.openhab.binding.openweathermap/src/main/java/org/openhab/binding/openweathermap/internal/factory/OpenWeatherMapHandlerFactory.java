@@ -43,6 +43,7 @@ import org.openhab.binding.openweathermap.internal.handler.AbstractOpenWeatherMa
 import org.openhab.binding.openweathermap.internal.handler.OpenWeatherMapAPIHandler;
 import org.openhab.binding.openweathermap.internal.handler.OpenWeatherMapUVIndexHandler;
 import org.openhab.binding.openweathermap.internal.handler.OpenWeatherMapWeatherAndForecastHandler;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -63,6 +64,7 @@ public class OpenWeatherMapHandlerFactory extends BaseThingHandlerFactory {
 
     private final Map<ThingUID, @Nullable ServiceRegistration<?>> discoveryServiceRegs = new HashMap<>();
     private final HttpClient httpClient;
+    private final SharedResponseCache responseCache;
     private final LocaleProvider localeProvider;
     private final LocationProvider locationProvider;
     private final TranslationProvider i18nProvider;
@@ -71,8 +73,10 @@ public class OpenWeatherMapHandlerFactory extends BaseThingHandlerFactory {
     @Activate
     public OpenWeatherMapHandlerFactory(final @Reference HttpClientFactory httpClientFactory,
             final @Reference LocaleProvider localeProvider, final @Reference LocationProvider locationProvider,
-            final @Reference TranslationProvider i18nProvider, final @Reference TimeZoneProvider timeZoneProvider) {
+            final @Reference TranslationProvider i18nProvider, final @Reference TimeZoneProvider timeZoneProvider,
+            final @Reference SharedResponseCache responseCache) {
         this.httpClient = httpClientFactory.getCommonHttpClient();
+        this.responseCache = responseCache;
         this.localeProvider = localeProvider;
         this.locationProvider = locationProvider;
         this.i18nProvider = i18nProvider;
@@ -89,7 +93,8 @@ public class OpenWeatherMapHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_WEATHER_API.equals(thingTypeUID)) {
-            OpenWeatherMapAPIHandler handler = new OpenWeatherMapAPIHandler((Bridge) thing, httpClient, localeProvider);
+            OpenWeatherMapAPIHandler handler = new OpenWeatherMapAPIHandler((Bridge) thing, httpClient, responseCache,
+                    localeProvider);
             // register discovery service
             OpenWeatherMapDiscoveryService discoveryService = new OpenWeatherMapDiscoveryService(handler,
                     locationProvider, localeProvider, i18nProvider);
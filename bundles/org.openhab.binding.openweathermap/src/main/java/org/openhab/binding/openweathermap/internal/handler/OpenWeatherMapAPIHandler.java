@@ -36,6 +36,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.openweathermap.internal.config.OpenWeatherMapAPIConfiguration;
 import org.openhab.binding.openweathermap.internal.connection.OpenWeatherMapConnection;
+import org.openhab.io.responsecache.SharedResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,15 +57,18 @@ public class OpenWeatherMapAPIHandler extends BaseBridgeHandler {
     private @Nullable ScheduledFuture<?> refreshJob;
 
     private final HttpClient httpClient;
+    private final SharedResponseCache responseCache;
     private final LocaleProvider localeProvider;
     private @NonNullByDefault({}) OpenWeatherMapConnection connection;
 
     // keeps track of the parsed config
     private @NonNullByDefault({}) OpenWeatherMapAPIConfiguration config;
 
-    public OpenWeatherMapAPIHandler(Bridge bridge, HttpClient httpClient, LocaleProvider localeProvider) {
+    public OpenWeatherMapAPIHandler(Bridge bridge, HttpClient httpClient, SharedResponseCache responseCache,
+            LocaleProvider localeProvider) {
         super(bridge);
         this.httpClient = httpClient;
+        this.responseCache = responseCache;
         this.localeProvider = localeProvider;
     }
 
@@ -103,7 +107,7 @@ public class OpenWeatherMapAPIHandler extends BaseBridgeHandler {
         }
 
         if (configValid) {
-            connection = new OpenWeatherMapConnection(this, httpClient);
+            connection = new OpenWeatherMapConnection(this, httpClient, responseCache);
 
             updateStatus(ThingStatus.UNKNOWN);
 
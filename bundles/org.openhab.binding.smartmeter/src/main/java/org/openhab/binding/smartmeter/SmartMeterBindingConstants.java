@@ -35,6 +35,7 @@ public class SmartMeterBindingConstants {
     public static final String CONFIGURATION_INIT_MESSAGE = "initMessage";
     public static final String CONFIGURATION_CONVERSION = "conversionRatio";
     public static final String CONFIGURATION_CHANNEL_NEGATE = "negate";
+    public static final String CONFIGURATION_DEADBAND = "deadband";
     public static final String CHANNEL_PROPERTY_OBIS = "obis";
     public static final String OBIS_PATTERN_CHANNELID = getObisChannelId(ObisCode.OBIS_PATTERN);
     /** Obis format */
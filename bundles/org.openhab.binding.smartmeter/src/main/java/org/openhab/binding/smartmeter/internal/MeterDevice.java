@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +47,9 @@ import io.reactivex.schedulers.Schedulers;
  * All read values of the device are cached here and can be obtained. The reading can be started with
  * {@link #readValues(ScheduledExecutorService, Duration)}
  *
+ * Listeners are only notified about values that changed since they were last notified, once per read out with all
+ * changed values. Small changes of numeric values can be suppressed with {@link #setDeadband(String, double)}.
+ *
  * @author Matthias Steigenberger - Initial contribution
  *
  * @param <T> The type of Payload which is read from the device.
@@ -62,6 +67,19 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Map of the values the listeners were last notified about.
+     */
+    private final Map<String, MeterValue<?>> notifiedValues = new ConcurrentHashMap<>();
+    /**
+     * Map of the deadband per OBIS code. A numeric value is only notified if it differs more than the deadband from
+     * the value last notified.
+     */
+    private final Map<String, Double> deadbands = new ConcurrentHashMap<>();
+    /**
+     * The values that changed during the current read out.
+     */
+    private final List<MeterValue<?>> changedValues = new ArrayList<>();
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -174,6 +192,8 @@ public abstract class MeterDevice<T> {
                                 ex.getMessage(), RETRY_DELAY, getDeviceId(), ex);
                     }
                     connector.closeConnection();
+                    // notify all values again once the device can be read again
+                    notifiedValues.clear();
                     notifyReadingError(ex);
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
@@ -182,11 +202,15 @@ public abstract class MeterDevice<T> {
                     Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
                     clearValueCache();
                     populateValueCache(value);
+                    notifyValuesChanged();
                     printInfo();
                     Collection<String> newObisCodes = getObisCodes();
                     // notify every removed obis code.
                     obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
+                            .forEach((val) -> {
+                                notifiedValues.remove(val.getObisCode());
+                                notifyValuesRemoved(val);
+                            });
                 });
     }
 
@@ -213,17 +237,78 @@ public abstract class MeterDevice<T> {
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (isChanged(value)) {
+            logger.debug("Value changed: {}", value);
+            notifiedValues.put(value.getObisCode(), value);
+            synchronized (changedValues) {
+                changedValues.add(value);
+            }
+        } else {
+            logger.trace("Value not changed: {}", value);
+        }
+    }
+
+    /**
+     * Checks whether the listeners need to be notified about the value.
+     *
+     * @param value The value read
+     * @return true if the value differs from the value last notified (more than the deadband for numeric values)
+     */
+    private boolean isChanged(MeterValue<?> value) {
+        MeterValue<?> notifiedValue = notifiedValues.get(value.getObisCode());
+        if (notifiedValue == null) {
+            return true;
+        }
+        Double deadband = deadbands.get(value.getObisCode());
+        if (deadband != null && Objects.equals(notifiedValue.getUnit(), value.getUnit())
+                && Objects.equals(notifiedValue.getStatus(), value.getStatus())) {
+            try {
+                return Math.abs(Double.parseDouble(value.getValue())
+                        - Double.parseDouble(notifiedValue.getValue())) > deadband.doubleValue();
+            } catch (NumberFormatException e) {
+                // no numeric value, compare the values as they are
+            }
+        }
+        return !notifiedValue.equals(value);
+    }
+
+    /**
+     * Notifies the listeners about all values that changed since the last call.
+     */
+    protected void notifyValuesChanged() {
+        List<MeterValue<?>> values;
+        synchronized (changedValues) {
+            if (changedValues.isEmpty()) {
+                return;
+            }
+            values = new ArrayList<>(changedValues);
+            changedValues.clear();
+        }
         this.valueChangeListeners.forEach((listener) -> {
             try {
-                listener.valueChanged(value);
+                listener.valuesChanged(values);
             } catch (Exception e) {
                 logger.error("Meter listener failed", e);
             }
         });
     }
 
+    /**
+     * Sets the deadband of an OBIS code. Numeric values of the OBIS code are only notified if they differ more than
+     * the deadband from the value last notified.
+     *
+     * @param obis The OBIS code
+     * @param deadband The deadband in the unit of the meter value. A value of 0 or less removes the deadband.
+     */
+    public void setDeadband(String obis, double deadband) {
+        if (deadband > 0) {
+            deadbands.put(obis, deadband);
+        } else {
+            deadbands.remove(obis);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder();
@@ -245,6 +330,8 @@ public abstract class MeterDevice<T> {
      */
     public void addValueChangeListener(MeterValueListener valueChangeListener) {
         this.valueChangeListeners.add(valueChangeListener);
+        // the new listener needs all values with the next read out
+        notifiedValues.clear();
     }
 
     /**
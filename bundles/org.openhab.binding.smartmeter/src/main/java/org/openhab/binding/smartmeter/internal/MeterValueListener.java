@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.smartmeter.internal;
 
+import java.util.List;
+
 import javax.measure.Quantity;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -39,6 +41,18 @@ public interface MeterValueListener {
      */
     public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value);
 
+    /**
+     * Called once per read out with all values that were added or changed for a meter device.
+     * By default {@link #valueChanged(MeterValue)} is called for every value.
+     *
+     * @param values The changed values.
+     */
+    public default void valuesChanged(List<MeterValue<?>> values) {
+        for (MeterValue<?> value : values) {
+            valueChanged(value);
+        }
+    }
+
     /**
      * Called whenever some value was removed from the meter device (not available anymore).
      *
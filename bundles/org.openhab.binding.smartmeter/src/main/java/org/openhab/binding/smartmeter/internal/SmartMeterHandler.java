@@ -17,7 +17,9 @@ import java.text.MessageFormat;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -115,6 +117,13 @@ public class SmartMeterHandler extends BaseThingHandler {
                     "Waiting for messages from device");
 
             smlDevice.addValueChangeListener(channelTypeProvider);
+            for (Channel channel : getThing().getChannels()) {
+                Object deadband = channel.getConfiguration().get(SmartMeterBindingConstants.CONFIGURATION_DEADBAND);
+                String obis = channel.getProperties().get(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS);
+                if (deadband instanceof Number && obis != null) {
+                    smlDevice.setDeadband(obis, ((Number) deadband).doubleValue());
+                }
+            }
 
             updateOBISValue();
         } else {
@@ -159,57 +168,72 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
-                String obis = value.getObisCode();
-
-                String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
-                Channel channel = thing.getChannel(obisChannelString);
-                ChannelTypeUID channelTypeId = channelTypeProvider.getChannelTypeIdForObis(obis);
-
-                ChannelType channelType = channelTypeProvider.getChannelType(channelTypeId, null);
-                if (channelType != null) {
-                    String itemType = channelType.getItemType();
+                valuesChanged(Collections.singletonList(value));
+            }
 
-                    State state = getStateForObisValue(value, channel);
-                    if (channel == null) {
-                        logger.debug("Adding channel: {} with item type: {}", obisChannelString, itemType);
-
-                        // channel has not been created yet
-                        ChannelBuilder channelBuilder = ChannelBuilder
-                                .create(new ChannelUID(thing.getUID(), obisChannelString), itemType)
-                                .withType(channelTypeId);
-
-                        Configuration configuration = new Configuration();
-                        configuration.put(SmartMeterBindingConstants.CONFIGURATION_CONVERSION, 1);
-                        channelBuilder.withConfiguration(configuration);
-                        channelBuilder.withLabel(obis);
-                        Map<String, String> channelProps = new HashMap<>();
-                        channelProps.put(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS, obis);
-                        channelBuilder.withProperties(channelProps);
-                        channelBuilder.withDescription(
-                                MessageFormat.format("Value for OBIS code: {0} with Unit: {1}", obis, value.getUnit()));
-                        channel = channelBuilder.build();
-                        ChannelUID channelId = channel.getUID();
-
-                        // add all valid channels to the thing builder
-                        List<Channel> channels = new ArrayList<>(getThing().getChannels());
-                        if (channels.stream().filter((element) -> element.getUID().equals(channelId)).count() == 0) {
-                            channels.add(channel);
-                            thingBuilder.withChannels(channels);
-                            updateThing(thingBuilder.build());
+            @Override
+            public void valuesChanged(List<MeterValue<?>> values) {
+                // channels that have not been created yet are added with a single thing update
+                Map<ChannelUID, Channel> newChannels = new LinkedHashMap<>();
+                for (MeterValue<?> value : values) {
+                    String obis = value.getObisCode();
+                    String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
+                    ChannelUID channelId = new ChannelUID(thing.getUID(), obisChannelString);
+                    if (thing.getChannel(obisChannelString) == null && !newChannels.containsKey(channelId)) {
+                        ChannelTypeUID channelTypeId = channelTypeProvider.getChannelTypeIdForObis(obis);
+                        ChannelType channelType = channelTypeProvider.getChannelType(channelTypeId, null);
+                        if (channelType != null) {
+                            newChannels.put(channelId, createChannel(value, channelId, channelType));
                         }
                     }
+                }
+                if (!newChannels.isEmpty()) {
+                    List<Channel> channels = new ArrayList<>(getThing().getChannels());
+                    channels.addAll(newChannels.values());
+                    updateThing(editThing().withChannels(channels).build());
+                }
 
-                    if (!channel.getProperties().containsKey(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS)) {
-                        addObisPropertyToChannel(obis, channel);
-                    }
-                    updateState(channel.getUID(), state);
-
+                boolean updated = false;
+                for (MeterValue<?> value : values) {
+                    updated |= updateChannel(value);
+                }
+                if (updated) {
                     updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
-                } else {
+                }
+            }
+
+            private boolean updateChannel(MeterValue<?> value) {
+                String obis = value.getObisCode();
+                Channel channel = thing.getChannel(SmartMeterBindingConstants.getObisChannelId(obis));
+                if (channel == null) {
                     logger.warn("No ChannelType found for OBIS {}", obis);
+                    return false;
+                }
+                if (!channel.getProperties().containsKey(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS)) {
+                    addObisPropertyToChannel(obis, channel);
                 }
+                updateState(channel.getUID(), getStateForObisValue(value, channel));
+                return true;
+            }
+
+            private Channel createChannel(MeterValue<?> value, ChannelUID channelId, ChannelType channelType) {
+                String obis = value.getObisCode();
+                String itemType = channelType.getItemType();
+                logger.debug("Adding channel: {} with item type: {}", channelId.getId(), itemType);
+
+                ChannelBuilder channelBuilder = ChannelBuilder.create(channelId, itemType)
+                        .withType(channelType.getUID());
+
+                Configuration configuration = new Configuration();
+                configuration.put(SmartMeterBindingConstants.CONFIGURATION_CONVERSION, 1);
+                channelBuilder.withConfiguration(configuration);
+                channelBuilder.withLabel(obis);
+                Map<String, String> channelProps = new HashMap<>();
+                channelProps.put(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS, obis);
+                channelBuilder.withProperties(channelProps);
+                channelBuilder.withDescription(
+                        MessageFormat.format("Value for OBIS code: {0} with Unit: {1}", obis, value.getUnit()));
+                return channelBuilder.build();
             }
 
             private void addObisPropertyToChannel(String obis, Channel channel) {
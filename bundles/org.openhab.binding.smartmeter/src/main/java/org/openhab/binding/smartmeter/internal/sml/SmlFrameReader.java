@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Reads SML transport frames from the serial input stream into a reusable buffer without decoding them.
+ *
+ * A frame starts with the escape sequence <code>1B1B1B1B 01010101</code> and ends with
+ * <code>1B1B1B1B 1A xx xx xx</code>. Escape sequences within the frame are escaped by repeating them. Only the frame
+ * that is needed is then decoded, the frames that were buffered before it are skipped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class SmlFrameReader {
+
+    private static final byte ESCAPE = 0x1B;
+    private static final byte START = 0x01;
+    private static final byte END = 0x1A;
+    private static final int BLOCK_SIZE = 4;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int length;
+
+    /**
+     * Reads the next complete frame from the input stream. Data before the start of the frame is skipped.
+     *
+     * @param is The input stream to read from
+     * @throws IOException if reading fails or the frame is too large
+     */
+    public void readFrame(DataInputStream is) throws IOException {
+        length = 0;
+        readStartSequence(is);
+        while (true) {
+            int block = readBlock(is);
+            if (!isEscape(block)) {
+                continue;
+            }
+            int escaped = readBlock(is);
+            if (isEscape(escaped)) {
+                // escaped escape sequence within the frame data
+                continue;
+            }
+            if (buffer[escaped] == END) {
+                return;
+            }
+            if (isStart(escaped)) {
+                // a new frame starts before the current one was completed, continue with the new frame
+                writeStartSequence();
+            } else {
+                throw new IOException("Invalid escape sequence in SML frame");
+            }
+        }
+    }
+
+    /**
+     * @return A stream of the last frame read
+     */
+    public DataInputStream getFrameStream() {
+        return new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+    }
+
+    /**
+     * @return The length of the last frame read
+     */
+    public int getFrameLength() {
+        return length;
+    }
+
+    private void readStartSequence(DataInputStream is) throws IOException {
+        int matched = 0;
+        while (matched < 2 * BLOCK_SIZE) {
+            byte b = is.readByte();
+            if (b == (matched < BLOCK_SIZE ? ESCAPE : START)) {
+                matched++;
+            } else if (b == ESCAPE) {
+                // after more than four escape characters the last four are still the start of the sequence
+                matched = matched == BLOCK_SIZE ? BLOCK_SIZE : 1;
+            } else {
+                matched = 0;
+            }
+        }
+        writeStartSequence();
+    }
+
+    private void writeStartSequence() {
+        Arrays.fill(buffer, 0, BLOCK_SIZE, ESCAPE);
+        Arrays.fill(buffer, BLOCK_SIZE, 2 * BLOCK_SIZE, START);
+        length = 2 * BLOCK_SIZE;
+    }
+
+    /**
+     * Reads a block of 4 bytes into the buffer.
+     *
+     * @return The offset of the block in the buffer
+     */
+    private int readBlock(DataInputStream is) throws IOException {
+        if (length + BLOCK_SIZE > buffer.length) {
+            if (buffer.length >= MAX_FRAME_SIZE) {
+                throw new IOException("SML frame exceeds " + MAX_FRAME_SIZE + " bytes");
+            }
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int offset = length;
+        is.readFully(buffer, offset, BLOCK_SIZE);
+        length += BLOCK_SIZE;
+        return offset;
+    }
+
+    private boolean isEscape(int offset) {
+        return buffer[offset] == ESCAPE && buffer[offset + 1] == ESCAPE && buffer[offset + 2] == ESCAPE
+                && buffer[offset + 3] == ESCAPE;
+    }
+
+    private boolean isStart(int offset) {
+        return buffer[offset] == START && buffer[offset + 1] == START && buffer[offset + 2] == START
+                && buffer[offset + 3] == START;
+    }
+}
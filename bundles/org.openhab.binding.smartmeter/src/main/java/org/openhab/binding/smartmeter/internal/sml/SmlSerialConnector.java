@@ -18,7 +18,6 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -46,6 +45,8 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
 
     private static final Transport TRANSPORT = new Transport();
 
+    private final SmlFrameReader frameReader = new SmlFrameReader();
+
     private Supplier<SerialPortManager> serialManagerSupplier;
     @NonNullByDefault({})
     private SerialPort serialPort;
@@ -88,17 +89,20 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
-        do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+        DataInputStream is = this.is;
+        if (is == null) {
+            throw new IOException(getPortName() + " : Connection is not open");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+
+        // read out the whole buffer. We are only interested in the most recent SML file, so only that one is decoded.
+        int frames = 0;
+        do {
+            logger.trace("Reading {}. SML message", frames + 1);
+            frameReader.readFrame(is);
+            frames++;
+        } while (is.available() > 0);
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), frames);
+        return TRANSPORT.getSMLFile(frameReader.getFrameStream());
     }
 
     @Override
@@ -115,13 +115,8 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            // the scaler is a signed byte
+            scaler = smlListEntry.getScaler().getVal();
         }
 
         return Math.pow(10, scaler);
@@ -142,7 +137,7 @@ public final class SmlValueExtractor {
      * @param byte to convert to Integer.
      */
     private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
+        return b & 0xFF;
     }
 
     /**
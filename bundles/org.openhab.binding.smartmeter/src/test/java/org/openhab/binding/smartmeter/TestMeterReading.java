@@ -12,13 +12,19 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -51,14 +57,58 @@ public class TestMeterReading {
         final Duration period = Duration.ofSeconds(1);
         final int executionCount = 5;
         MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
-        MeterDevice<Object> meter = getMeterDevice(connector);
+        AtomicInteger counter = new AtomicInteger();
+        MeterDevice<Object> meter = getMeterDevice(connector,
+                () -> new MeterValue("123", String.valueOf(counter.incrementAndGet()), null));
         MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
         meter.addValueChangeListener(changeListener);
         Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
         try {
             verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2).never())
                     .errorOccurred(any());
-            verify(changeListener, times(executionCount)).valueChanged(any());
+            verify(changeListener, times(executionCount)).valuesChanged(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testUnchangedValuesNotifiedOnce() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        final int executionCount = 3;
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2).times(1))
+                    .valuesChanged(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testDeadband() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        Iterator<String> values = Arrays.asList("100", "101", "104", "106", "107").iterator();
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector,
+                () -> new MeterValue("123", values.hasNext() ? values.next() : "107", null));
+        meter.setDeadband("123", 5);
+        List<String> notifiedValues = new CopyOnWriteArrayList<>();
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        doAnswer(invocation -> {
+            List<MeterValue<?>> changed = invocation.getArgument(0);
+            changed.forEach(value -> notifiedValues.add(value.getValue()));
+            return null;
+        }).when(changeListener).valuesChanged(any());
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(5 * period.toMillis() + period.toMillis() / 2).times(2)).valuesChanged(any());
+            assertEquals(Arrays.asList("100", "106"), notifiedValues);
         } finally {
             disposable.dispose();
         }
@@ -136,6 +186,10 @@ public class TestMeterReading {
     }
 
     MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector) {
+        return getMeterDevice(connector, () -> new MeterValue("123", "333", null));
+    }
+
+    MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector, Supplier<MeterValue> valueSupplier) {
         return new MeterDevice<Object>(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0,
                 ProtocolMode.SML) {
 
@@ -148,7 +202,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(valueSupplier.get());
             }
         };
     }
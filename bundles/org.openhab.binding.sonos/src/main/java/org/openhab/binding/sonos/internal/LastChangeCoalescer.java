@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link LastChangeCoalescer} recognizes LastChange events of a service that are identical to the event processed
+ * shortly before. Players send the same event repeatedly, e.g. when a group changes. LastChange events carry only the
+ * changed variables, so events with a different value are never coalesced.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LastChangeCoalescer {
+
+    private final long coalesceTime;
+    private final Map<String, LastChangeEvent> lastChangeEvents = new ConcurrentHashMap<>();
+
+    /**
+     * @param coalesceTime identical events of a service received within this time (in milliseconds) after the
+     *            processed one are repeated events
+     */
+    public LastChangeCoalescer(long coalesceTime) {
+        this.coalesceTime = coalesceTime;
+    }
+
+    /**
+     * Checks whether the same LastChange event of the service was already processed shortly before.
+     *
+     * @param service the service that sent the event
+     * @param value the LastChange value of the event
+     * @return true if the event is a repeated event and does not need to be processed
+     */
+    public boolean isRepeated(String service, String value) {
+        return isRepeated(service, value, System.currentTimeMillis());
+    }
+
+    boolean isRepeated(String service, String value, long now) {
+        LastChangeEvent previous = lastChangeEvents.get(service);
+        if (previous != null && now - previous.received < coalesceTime && previous.value.equals(value)) {
+            return true;
+        }
+        lastChangeEvents.put(service, new LastChangeEvent(value, now));
+        return false;
+    }
+
+    private static class LastChangeEvent {
+        private final String value;
+        private final long received;
+
+        private LastChangeEvent(String value, long received) {
+            this.value = value;
+            this.received = received;
+        }
+    }
+}
@@ -17,11 +17,13 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,6 +60,14 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    /**
+     * SAX readers are expensive to create, so every thread reuses its reader.
+     */
+    private static final ThreadLocal<@Nullable PooledReader> READERS = new ThreadLocal<>();
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+    private static volatile @Nullable ParsedZoneGroups lastZoneGroups;
+
     private enum Element {
         TITLE,
         CLASS,
@@ -83,6 +93,63 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Parses the source with the reader of the current thread. Nested parsing (e.g. of meta data embedded in an entry)
+     * uses a new reader.
+     */
+    private static void parse(DefaultHandler handler, InputSource source) throws IOException, SAXException {
+        long start = System.nanoTime();
+        PooledReader pooled = READERS.get();
+        if (pooled == null) {
+            pooled = new PooledReader(XMLReaderFactory.createXMLReader());
+            READERS.set(pooled);
+        }
+        if (pooled.inUse) {
+            XMLReader reader = XMLReaderFactory.createXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(source);
+            return;
+        }
+        pooled.inUse = true;
+        try {
+            pooled.reader.setContentHandler(handler);
+            pooled.reader.parse(source);
+        } finally {
+            // do not keep the handler and its results
+            pooled.reader.setContentHandler(NO_HANDLER);
+            pooled.inUse = false;
+            LOGGER.trace("Parsed XML with {} in {} us", handler.getClass().getSimpleName(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Returns the reader of the current thread, for tests only.
+     */
+    static @Nullable XMLReader getThreadReader() {
+        PooledReader pooled = READERS.get();
+        return pooled == null ? null : pooled.reader;
+    }
+
+    private static class PooledReader {
+        private final XMLReader reader;
+        private boolean inUse;
+
+        private PooledReader(XMLReader reader) {
+            this.reader = reader;
+        }
+    }
+
+    private static class ParsedZoneGroups {
+        private final String xml;
+        private final List<SonosZoneGroup> groups;
+
+        private ParsedZoneGroups(String xml, List<SonosZoneGroup> groups) {
+            this.xml = xml;
+            this.groups = groups;
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +159,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +177,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,11 +196,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -154,11 +215,15 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
+        // all players receive the same topology, so it is only parsed once
+        ParsedZoneGroups parsed = lastZoneGroups;
+        if (parsed != null && parsed.xml.equals(xml)) {
+            return parsed.groups;
+        }
+
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -166,15 +231,15 @@ public class SonosXMLParser {
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
         }
 
-        return handler.getGroups();
+        List<SonosZoneGroup> groups = Collections.unmodifiableList(handler.getGroups());
+        lastZoneGroups = new ParsedZoneGroups(xml, groups);
+        return groups;
     }
 
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -188,9 +253,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -203,9 +266,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -218,9 +279,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -234,9 +293,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -919,10 +976,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -958,10 +1013,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -61,6 +62,7 @@ import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.openhab.binding.sonos.internal.LastChangeCoalescer;
 import org.openhab.binding.sonos.internal.SonosAlarm;
 import org.openhab.binding.sonos.internal.SonosBindingConstants;
 import org.openhab.binding.sonos.internal.SonosEntry;
@@ -111,6 +113,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private static final int TUNEIN_DEFAULT_SERVICE_TYPE = 65031;
 
+    /**
+     * Identical LastChange events of a service received within this time are processed only once
+     */
+    private static final long LAST_CHANGE_COALESCE_TIME = 500;
+
     private final Logger logger = LoggerFactory.getLogger(ZonePlayerHandler.class);
 
     private final ThingRegistry localThingRegistry;
@@ -129,6 +136,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final Object jobLock = new Object();
 
     private final Map<String, @Nullable String> stateMap = Collections.synchronizedMap(new HashMap<>());
+    private final LastChangeCoalescer lastChangeCoalescer = new LastChangeCoalescer(LAST_CHANGE_COALESCE_TIME);
+    private final Map<String, ParsedMetaData> parsedMetaData = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> pollingJob;
     private @Nullable SonosZonePlayerState savedState;
@@ -400,6 +409,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
                 return;
             }
+            if (isQueueEvent(variable) && lastChangeCoalescer.isRepeated(service, value)) {
+                logger.trace("Ignoring repeated LastChange event of service '{}' for thing '{}'", service,
+                        getThing().getUID());
+                return;
+            }
 
             this.stateMap.put(variable, value);
 
@@ -1198,18 +1212,31 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public @Nullable SonosMetaData getCurrentURIMetadata() {
-        String metaData = getCurrentURIMetadataAsString();
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentURIMetaData");
     }
 
     public @Nullable SonosMetaData getTrackMetadata() {
-        String metaData = stateMap.get("CurrentTrackMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentTrackMetaData");
     }
 
     public @Nullable SonosMetaData getEnqueuedTransportURIMetaData() {
-        String metaData = stateMap.get("EnqueuedTransportURIMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("EnqueuedTransportURIMetaData");
+    }
+
+    /**
+     * Parses the DIDL-Lite meta data of the state variable. The result is kept until the variable changes.
+     */
+    private @Nullable SonosMetaData getMetaData(String variable) {
+        String metaData = stateMap.get(variable);
+        if (metaData == null || metaData.isEmpty()) {
+            return null;
+        }
+        ParsedMetaData parsed = parsedMetaData.get(variable);
+        if (parsed == null || !parsed.xml.equals(metaData)) {
+            parsed = new ParsedMetaData(metaData, SonosXMLParser.getMetaDataFromXML(metaData));
+            parsedMetaData.put(variable, parsed);
+        }
+        return parsed.metaData;
     }
 
     public @Nullable String getMACAddress() {
@@ -3107,4 +3134,14 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         int seconds = Integer.parseInt(units[2]);
         return 3600 * hours + 60 * minutes + seconds;
     }
+
+    private static class ParsedMetaData {
+        private final String xml;
+        private final SonosMetaData metaData;
+
+        private ParsedMetaData(String xml, SonosMetaData metaData) {
+            this.xml = xml;
+            this.metaData = metaData;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.junit.Test;
+import org.xml.sax.XMLReader;
+
+/**
+ * Tests the reuse of the SAX readers and the zone group cache of the {@link SonosXMLParser} and the coalescing of
+ * repeated LastChange events by the {@link LastChangeCoalescer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final String RESOURCE_META_DATA = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"OOOX52876609482614338\" parentID=\"0\" restricted=\"true\">"
+            + "<dc:title>Pandora Station</dc:title><upnp:class>object.item.audioItem.audioBroadcast</upnp:class>"
+            + "<desc id=\"cdudn\">SA_RINCON3_user@example.com</desc></item></DIDL-Lite>";
+
+    private static final String ENTRIES = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"FV:2/1\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Favorite</dc:title>"
+            + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+            + "<res>pndrradio:52876609482614338</res><r:resMD>" + StringEscapeUtils.escapeXml(RESOURCE_META_DATA)
+            + "</r:resMD></item>"
+            + "<item id=\"FV:2/2\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Plain</dc:title>"
+            + "<upnp:class>object.item.audioItem.musicTrack</upnp:class><res>x-file-cifs://nas/song.mp3</res>"
+            + "</item></DIDL-Lite>";
+
+    private static final String ZONE_GROUPS = "<ZoneGroups>"
+            + "<ZoneGroup Coordinator=\"RINCON_000E58000001\" ID=\"RINCON_000E58000001:12\">"
+            + "<ZoneGroupMember UUID=\"RINCON_000E58000001\" ZoneName=\"Living Room\"/>"
+            + "<ZoneGroupMember UUID=\"RINCON_000E58000002\" ZoneName=\"Kitchen\"/></ZoneGroup>"
+            + "<ZoneGroup Coordinator=\"RINCON_000E58000003\" ID=\"RINCON_000E58000003:7\">"
+            + "<ZoneGroupMember UUID=\"RINCON_000E58000003\" ZoneName=\"Bedroom\"/></ZoneGroup>"
+            + "</ZoneGroups>";
+
+    @Test
+    public void readerIsReusedAcrossCalls() throws Exception {
+        SonosXMLParser.getResourceMetaData(RESOURCE_META_DATA);
+        XMLReader reader = SonosXMLParser.getThreadReader();
+        assertNotNull(reader);
+
+        SonosXMLParser.getResourceMetaData(RESOURCE_META_DATA);
+        SonosXMLParser.getZoneGroupFromXML(ZONE_GROUPS);
+        assertSame(reader, SonosXMLParser.getThreadReader());
+    }
+
+    @Test
+    public void readersAreNotSharedBetweenThreads() throws Exception {
+        SonosXMLParser.getResourceMetaData(RESOURCE_META_DATA);
+        XMLReader reader = SonosXMLParser.getThreadReader();
+
+        XMLReader[] otherReader = new XMLReader[1];
+        Thread thread = new Thread(() -> {
+            try {
+                SonosXMLParser.getResourceMetaData(RESOURCE_META_DATA);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            otherReader[0] = SonosXMLParser.getThreadReader();
+        });
+        thread.start();
+        thread.join();
+
+        assertNotNull(otherReader[0]);
+        assertNotSame(reader, otherReader[0]);
+    }
+
+    @Test
+    public void nestedMetaDataIsParsedOnTheSameThread() throws Exception {
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(ENTRIES);
+        XMLReader reader = SonosXMLParser.getThreadReader();
+
+        assertEquals(2, entries.size());
+        SonosResourceMetaData metaData = entries.get(0).getResourceMetaData();
+        assertNotNull(metaData);
+        assertEquals("OOOX52876609482614338", metaData.getId());
+        assertEquals("Pandora Station", metaData.getTitle());
+        assertEquals("object.item.audioItem.audioBroadcast", metaData.getUpnpClass());
+        assertEquals("SA_RINCON3_user@example.com", metaData.getDesc());
+
+        // the nested parse must not have disturbed the outer one
+        assertEquals("Plain", entries.get(1).getTitle());
+        assertEquals("x-file-cifs://nas/song.mp3", entries.get(1).getRes());
+        assertNull(entries.get(1).getResourceMetaData());
+
+        // the pooled reader is released again and is reused by the next call
+        assertEquals(entries.size(), SonosXMLParser.getEntriesFromString(ENTRIES).size());
+        assertSame(reader, SonosXMLParser.getThreadReader());
+    }
+
+    @Test
+    public void equalZoneGroupsAreParsedOnce() {
+        List<SonosZoneGroup> groups = SonosXMLParser.getZoneGroupFromXML(ZONE_GROUPS);
+        assertEquals(2, groups.size());
+        assertEquals("RINCON_000E58000001:12", groups.get(0).getId());
+        assertEquals("RINCON_000E58000001", groups.get(0).getCoordinator());
+        assertEquals(Arrays.asList("RINCON_000E58000001", "RINCON_000E58000002"), groups.get(0).getMembers());
+        assertEquals(Arrays.asList("Living Room", "Kitchen"), groups.get(0).getMemberZoneNames());
+        assertEquals(Arrays.asList("RINCON_000E58000003"), groups.get(1).getMembers());
+
+        // another player sends the same topology in a different string
+        List<SonosZoneGroup> cached = SonosXMLParser.getZoneGroupFromXML(new String(ZONE_GROUPS));
+        assertSame(groups, cached);
+
+        String changed = ZONE_GROUPS.replace("Kitchen", "Dining Room");
+        List<SonosZoneGroup> parsed = SonosXMLParser.getZoneGroupFromXML(changed);
+        assertNotSame(groups, parsed);
+        assertEquals(Arrays.asList("Living Room", "Dining Room"), parsed.get(0).getMemberZoneNames());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cachedZoneGroupsCannotBeModified() {
+        SonosXMLParser.getZoneGroupFromXML(ZONE_GROUPS).clear();
+    }
+
+    @Test
+    public void repeatedLastChangeIsCoalescedWithin500ms() {
+        LastChangeCoalescer coalescer = new LastChangeCoalescer(500);
+
+        assertFalse(coalescer.isRepeated("AVTransport", "A", 1000));
+        assertTrue(coalescer.isRepeated("AVTransport", "A", 1000));
+        assertTrue(coalescer.isRepeated("AVTransport", "A", 1499));
+        // the repeats do not extend the time
+        assertFalse(coalescer.isRepeated("AVTransport", "A", 1500));
+        assertTrue(coalescer.isRepeated("AVTransport", "A", 1999));
+    }
+
+    @Test
+    public void changedLastChangeIsNotCoalesced() {
+        LastChangeCoalescer coalescer = new LastChangeCoalescer(500);
+
+        assertFalse(coalescer.isRepeated("AVTransport", "A", 1000));
+        assertFalse(coalescer.isRepeated("AVTransport", "B", 1100));
+        assertFalse(coalescer.isRepeated("AVTransport", "A", 1200));
+        // every service is coalesced on its own
+        assertFalse(coalescer.isRepeated("RenderingControl", "A", 1300));
+        assertTrue(coalescer.isRepeated("AVTransport", "A", 1400));
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.systeminfo.internal.handler;
 import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -43,7 +44,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SysteminfoHandler} is responsible for providing real time information about the system
- * (CPU, Memory, Storage, Display and others).
+ * (CPU, Memory, Storage, Display and others). All channels of a priority are refreshed from one snapshot of the
+ * system information, see {@link SysteminfoInterface#updateSnapshot(Set)}.
  *
  * @author Svilen Valkanov - Initial contribution
  * @author Lyubomir Papzov - Separate the creation of the systeminfo object and its initialization
@@ -237,13 +239,27 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     private void publishData(Set<ChannelUID> channels) {
+        Set<ChannelUID> linkedChannels = new HashSet<>();
         Iterator<ChannelUID> iter = channels.iterator();
         while (iter.hasNext()) {
             ChannelUID channeUID = iter.next();
             if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+                linkedChannels.add(channeUID);
             }
         }
+        if (linkedChannels.isEmpty()) {
+            return;
+        }
+
+        systeminfo.updateSnapshot(getPIDs(linkedChannels));
+        for (ChannelUID channelUID : linkedChannels) {
+            publishDataForChannel(channelUID);
+        }
+    }
+
+    private void refreshDataForChannel(ChannelUID channelUID) {
+        systeminfo.updateSnapshot(getPIDs(Collections.singleton(channelUID)));
+        publishDataForChannel(channelUID);
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
@@ -479,6 +495,23 @@ public class SysteminfoHandler extends BaseThingHandler {
         return 0;
     }
 
+    /**
+     * Gets the process identifiers of all process channels, so the processes can be looked up together.
+     *
+     * @param channels the channels to refresh
+     * @return set of the process identifiers
+     */
+    private Set<Integer> getPIDs(Set<ChannelUID> channels) {
+        Set<Integer> pids = new HashSet<>();
+        for (ChannelUID channelUID : channels) {
+            String channelGroupID = channelUID.getGroupId();
+            if (channelGroupID != null && channelGroupID.contains(CHANNEL_GROUP_PROCESS)) {
+                pids.add(getPID(channelUID));
+            }
+        }
+        return pids;
+    }
+
     /**
      * This method gets the process identifier (PID) for specific process
      *
@@ -513,7 +546,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
-                publishDataForChannel(channelUID);
+                refreshDataForChannel(channelUID);
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
             }
@@ -579,7 +612,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
                 newValue);
-        publishDataForChannel(channel.getUID());
+        refreshDataForChannel(channel.getUID());
     }
 
     private void stopScheduledUpdates() {
@@ -13,6 +13,12 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -42,6 +48,9 @@ import oshi.util.EdidUtil;
  * This implementation of {@link SysteminfoInterface} is using the open source library OSHI to provide system
  * information. OSHI is a free JNA-based (native) Operating System and Hardware Information library for Java.
  *
+ * Dynamic values are read from a {@link Snapshot}, which is shared by all channels and things refreshed at the same
+ * time. Static hardware information is cached.
+ *
  * @author Svilen Valkanov - Initial contribution
  * @author Lyubomir Papazov - Move the initialization logic that could potentially take long time to the
  *         initializeSysteminfo method
@@ -75,6 +84,18 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Maximum age of a snapshot in milliseconds, so it is reused by the things refreshed at the same time.
+     */
+    private static final long SNAPSHOT_MAX_AGE = 500;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    // Static hardware information, which is computed once
+    private long memoryTotal;
+    private @Nullable StringType cpuDescription;
+    private final Map<Integer, StringType> displayInformation = new ConcurrentHashMap<>();
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -102,6 +123,21 @@ public class OSHISysteminfo implements SysteminfoInterface {
         fileStores = operatingSystem.getFileSystem().getFileStores();
         powerSources = hal.getPowerSources();
         drives = hal.getDiskStores();
+
+        memoryTotal = memory.getTotal();
+        cpuDescription = null;
+        displayInformation.clear();
+        snapshot = new Snapshot();
+    }
+
+    @Override
+    public synchronized void updateSnapshot(Set<Integer> pids) {
+        Snapshot current = snapshot;
+        if (System.currentTimeMillis() - current.created > SNAPSHOT_MAX_AGE) {
+            current = new Snapshot();
+            snapshot = current;
+        }
+        current.loadProcesses(pids);
     }
 
     private Object getDevice(Object @Nullable [] devices, int index) throws DeviceNotFoundException {
@@ -112,7 +148,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        OSProcess process = snapshot.getProcess(pid);
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -145,6 +181,10 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getCpuDescription() {
+        StringType cachedDescription = cpuDescription;
+        if (cachedDescription != null) {
+            return cachedDescription;
+        }
         String model = cpu.getProcessorIdentifier().getModel();
         String family = cpu.getProcessorIdentifier().getFamily();
         String serialNumber = computerSystem.getSerialNumber();
@@ -155,7 +195,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
         String description = String.format(descriptionFormatString, model, architecture, family, vendor, serialNumber,
                 identifier);
 
-        return new StringType(description);
+        cachedDescription = new StringType(description);
+        cpuDescription = cachedDescription;
+        return cachedDescription;
     }
 
     @Override
@@ -172,22 +214,22 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = memoryTotal;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = snapshot.get("memoryAvailable", memory::getAvailable);
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long totalMemory = memoryTotal;
+        long availableMemory = snapshot.get("memoryAvailable", memory::getAvailable);
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -196,7 +238,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        snapshot.update(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -205,7 +247,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        snapshot.update(fileStore);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -214,7 +256,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        snapshot.update(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -225,7 +267,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        snapshot.update(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -240,7 +282,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        snapshot.update(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -277,7 +319,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
         NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
-        netInterface.updateAttributes();
+        snapshot.update(netInterface);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -299,6 +341,10 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getDisplayInformation(int index) throws DeviceNotFoundException {
+        StringType cachedInformation = displayInformation.get(index);
+        if (cachedInformation != null) {
+            return cachedInformation;
+        }
         Display display = (Display) getDevice(displays, index);
 
         byte[] edid = display.getEdid();
@@ -310,26 +356,30 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
         String edidFormatString = "Product %s, manufacturer %s, SN: %s, Width: %d, Height: %d";
         String edidInfo = String.format(edidFormatString, product, manufacturer, serialNumber, width, height);
-        return new StringType(edidInfo);
+        cachedInformation = new StringType(edidInfo);
+        displayInformation.put(index, cachedInformation);
+        return cachedInformation;
     }
 
     @Override
     public @Nullable DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        double cpuTemperature = snapshot.get("cpuTemperature", sensors::getCpuTemperature);
+        BigDecimal cpuTemp = new BigDecimal(cpuTemperature);
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        double voltage = snapshot.get("cpuVoltage", sensors::getCpuVoltage);
+        BigDecimal cpuVoltage = new BigDecimal(voltage);
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = snapshot.get("fanSpeeds", sensors::getFanSpeeds);
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
@@ -337,7 +387,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        snapshot.update(powerSource);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -347,7 +397,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        snapshot.update(powerSource);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -362,8 +412,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = snapshot.get("memoryAvailable", memory::getAvailable);
+        long totalMemory = memoryTotal;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -375,8 +425,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = snapshot.get("memoryAvailable", memory::getAvailable);
+        long totalMemory = memoryTotal;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -410,15 +460,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = snapshot.get("swapTotal", () -> memory.getVirtualMemory().getSwapTotal());
         swapTotal = getSizeInMB(swapTotal);
         return new DecimalType(swapTotal);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = snapshot.get("swapTotal", () -> memory.getVirtualMemory().getSwapTotal());
+        long swapUsed = snapshot.get("swapUsed", () -> memory.getVirtualMemory().getSwapUsed());
         long swapAvailable = swapTotal - swapUsed;
         swapAvailable = getSizeInMB(swapAvailable);
         return new DecimalType(swapAvailable);
@@ -426,15 +476,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsed() {
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapUsed = snapshot.get("swapUsed", () -> memory.getVirtualMemory().getSwapUsed());
         swapUsed = getSizeInMB(swapUsed);
         return new DecimalType(swapUsed);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailablePercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = snapshot.get("swapTotal", () -> memory.getVirtualMemory().getSwapTotal());
+        long swapUsed = snapshot.get("swapUsed", () -> memory.getVirtualMemory().getSwapUsed());
         long swapAvailable = swapTotal - swapUsed;
         if (swapTotal > 0) {
             double swapAvailablePercentDecimal = (double) swapAvailable / (double) swapTotal;
@@ -447,8 +497,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsedPercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = snapshot.get("swapTotal", () -> memory.getVirtualMemory().getSwapTotal());
+        long swapUsed = snapshot.get("swapUsed", () -> memory.getVirtualMemory().getSwapUsed());
         if (swapTotal > 0) {
             double swapUsedPercentDecimal = (double) swapUsed / (double) swapTotal;
             BigDecimal swapUsedPercent = getPercentsValue(swapUsedPercentDecimal);
@@ -523,7 +573,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        // all three averages are read at once and shared by the channels
+        double processorLoads[] = snapshot.get("systemLoadAverage", () -> cpu.getSystemLoadAverage(3));
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -531,13 +582,13 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuUptime() {
-        long seconds = operatingSystem.getSystemUptime();
+        long seconds = snapshot.get("systemUptime", operatingSystem::getSystemUptime);
         return new DecimalType(getTimeInMinutes(seconds));
     }
 
     @Override
     public DecimalType getCpuThreads() {
-        int threadCount = operatingSystem.getThreadCount();
+        int threadCount = snapshot.get("threadCount", operatingSystem::getThreadCount);
         return new DecimalType(threadCount);
     }
 
@@ -551,7 +602,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        snapshot.update(network);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
@@ -559,7 +610,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        snapshot.update(network);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
@@ -567,7 +618,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        snapshot.update(network);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
@@ -575,7 +626,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        snapshot.update(network);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -636,4 +687,56 @@ public class OSHISysteminfo implements SysteminfoInterface {
             return null;
         }
     }
+
+    /**
+     * Dynamic system information of one refresh. The values are read lazily on the first request and devices are
+     * updated only once per snapshot.
+     */
+    private class Snapshot {
+        private final long created = System.currentTimeMillis();
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+        private final Set<Object> updatedDevices = ConcurrentHashMap.newKeySet();
+        private final Map<Integer, Optional<OSProcess>> processes = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private <T> T get(String key, Supplier<T> supplier) {
+            return (T) values.computeIfAbsent(key, k -> supplier.get());
+        }
+
+        private void update(OSFileStore fileStore) {
+            if (updatedDevices.add(fileStore)) {
+                fileStore.updateAtrributes();
+            }
+        }
+
+        private void update(NetworkIF network) {
+            if (updatedDevices.add(network)) {
+                network.updateAttributes();
+            }
+        }
+
+        private void update(PowerSource powerSource) {
+            if (updatedDevices.add(powerSource)) {
+                powerSource.updateAttributes();
+            }
+        }
+
+        private void loadProcesses(Set<Integer> pids) {
+            Set<Integer> missing = pids.stream().filter(pid -> pid > 0 && !processes.containsKey(pid))
+                    .collect(Collectors.toSet());
+            if (missing.isEmpty()) {
+                return;
+            }
+            Map<Integer, OSProcess> found = operatingSystem.getProcesses(missing).stream()
+                    .collect(Collectors.toMap(OSProcess::getProcessID, process -> process, (first, second) -> first));
+            for (Integer pid : missing) {
+                processes.put(pid, Optional.ofNullable(found.get(pid)));
+            }
+        }
+
+        private @Nullable OSProcess getProcess(int pid) {
+            return processes.computeIfAbsent(pid, p -> Optional.ofNullable(operatingSystem.getProcess(p)))
+                    .orElse(null);
+        }
+    }
 }
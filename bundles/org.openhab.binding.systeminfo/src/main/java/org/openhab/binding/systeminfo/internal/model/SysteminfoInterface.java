@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.systeminfo.internal.model;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -31,6 +33,16 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Take a snapshot of the dynamic system information. The values requested afterwards are read from the snapshot,
+     * so all channels refreshed together query the operating system only once. A snapshot that was taken very recently
+     * (e.g. by another thing) is reused.
+     *
+     * @param pids the process identifiers of the processes, which information is requested from the snapshot. They
+     *            are looked up together.
+     */
+    public void updateSnapshot(Set<Integer> pids);
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -27,6 +27,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
+import org.openhab.binding.tankerkoenig.internal.data.TankerkoenigRequestScheduler;
 import org.openhab.binding.tankerkoenig.internal.handler.StationHandler;
 import org.openhab.binding.tankerkoenig.internal.handler.WebserviceHandler;
 import org.osgi.service.component.annotations.Component;
@@ -44,6 +45,8 @@ public class TankerkoenigHandlerFactory extends BaseThingHandlerFactory {
             .concat(BRIDGE_THING_TYPES_UIDS.stream(), TankerkoenigBindingConstants.SUPPORTED_THING_TYPES_UIDS.stream())
             .collect(Collectors.toSet()));
 
+    private final TankerkoenigRequestScheduler requestScheduler = new TankerkoenigRequestScheduler();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -53,7 +56,7 @@ public class TankerkoenigHandlerFactory extends BaseThingHandlerFactory {
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         if (thingTypeUID.equals(BRIDGE_THING_TYPE)) {
-            WebserviceHandler handler = new WebserviceHandler((Bridge) thing);
+            WebserviceHandler handler = new WebserviceHandler((Bridge) thing, requestScheduler);
             return handler;
         } else if (thingTypeUID.equals(THING_TYPE_TANKSTELLE)) {
             return new StationHandler(thing);
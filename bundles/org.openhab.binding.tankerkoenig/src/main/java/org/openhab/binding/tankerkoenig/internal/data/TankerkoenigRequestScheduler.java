@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tankerkoenig.internal.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.tankerkoenig.internal.dto.LittleStation;
+import org.openhab.binding.tankerkoenig.internal.dto.TankerkoenigListResult;
+import org.openhab.binding.tankerkoenig.internal.handler.WebserviceHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Scheduler requesting the prices for all webservices (bridges) of the binding. The station id's of all bridges with
+ * the same api key, which are due, are merged into as few list requests as possible (tankerkoenig.de allows up to 10
+ * id's per request). The requests of an api key are limited by a {@link TokenBucket}, so they are spread over time
+ * instead of being sent in a burst. Prices requested less than a minute ago are passed to the bridges without a new
+ * request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TankerkoenigRequestScheduler {
+    private static final int MAX_STATIONS_PER_REQUEST = 10;
+    private static final int TICK_INTERVAL = 10; // seconds
+    // at most 2 requests at once and 10 requests per 5 minutes for every api key
+    private static final int BUCKET_CAPACITY = 2;
+    private static final int TOKEN_INTERVAL = 30; // seconds
+    private static final long FRESH_TIME = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TankerkoenigRequestScheduler.class);
+
+    private final TankerkoenigService service = new TankerkoenigService();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
+
+    // registered bridges with the time of their next update
+    private final Map<WebserviceHandler, Long> registrations = new ConcurrentHashMap<>();
+    // only accessed by the tick job
+    private final Map<String, ApiKeyState> apiKeys = new HashMap<>();
+
+    private @Nullable ScheduledFuture<?> tickJob;
+
+    /***
+     * Registers a bridge, its stations are requested every refresh interval of the bridge
+     *
+     * @param bridge
+     */
+    public synchronized void register(WebserviceHandler bridge) {
+        registrations.put(bridge, System.nanoTime() + TimeUnit.MINUTES.toNanos(bridge.getRefreshInterval()));
+        if (tickJob == null) {
+            tickJob = scheduler.scheduleWithFixedDelay(this::tick, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    /***
+     * Stops the requests for a bridge
+     *
+     * @param bridge
+     */
+    public synchronized void unregister(WebserviceHandler bridge) {
+        registrations.remove(bridge);
+        ScheduledFuture<?> job = tickJob;
+        if (registrations.isEmpty() && job != null) {
+            job.cancel(false);
+            tickJob = null;
+        }
+    }
+
+    private void tick() {
+        try {
+            synchronized (apiKeys) {
+                collectDueStations();
+                sendRequests();
+            }
+        } catch (RuntimeException r) {
+            logger.debug("Caught exception in ScheduledExecutorService of TankerkoenigRequestScheduler: ", r);
+        }
+    }
+
+    private void collectDueStations() {
+        long now = System.nanoTime();
+        for (Map.Entry<WebserviceHandler, Long> registration : registrations.entrySet()) {
+            if (now - registration.getValue() < 0) {
+                continue;
+            }
+            WebserviceHandler bridge = registration.getKey();
+            registration.setValue(now + TimeUnit.MINUTES.toNanos(bridge.getRefreshInterval()));
+
+            ApiKeyState state = apiKeys.computeIfAbsent(bridge.getApiKey(), apiKey -> new ApiKeyState());
+            List<LittleStation> freshStations = new ArrayList<>();
+            for (String locationID : bridge.getDueLocationIDs()) {
+                CachedStation cached = state.stations.get(locationID);
+                if (cached != null && now - cached.requested < FRESH_TIME) {
+                    freshStations.add(cached.station);
+                } else {
+                    state.pending.add(locationID);
+                }
+            }
+            if (!freshStations.isEmpty()) {
+                bridge.updateStations(freshStations);
+            }
+        }
+    }
+
+    private void sendRequests() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, ApiKeyState>> iterator = apiKeys.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ApiKeyState> entry = iterator.next();
+            String apiKey = entry.getKey();
+            ApiKeyState state = entry.getValue();
+            List<WebserviceHandler> bridges = registrations.keySet().stream()
+                    .filter(bridge -> apiKey.equals(bridge.getApiKey())).collect(Collectors.toList());
+            if (bridges.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            state.stations.values().removeIf(cached -> now - cached.requested >= FRESH_TIME);
+
+            while (!state.pending.isEmpty() && state.bucket.tryAcquire()) {
+                List<String> locationIDs = new ArrayList<>();
+                Iterator<String> pending = state.pending.iterator();
+                while (pending.hasNext() && locationIDs.size() < MAX_STATIONS_PER_REQUEST) {
+                    locationIDs.add(pending.next());
+                    pending.remove();
+                }
+                requestStations(apiKey, locationIDs, bridges, state);
+            }
+            if (!state.pending.isEmpty()) {
+                logger.debug("{} stations wait for the request quota of the api key", state.pending.size());
+            }
+        }
+    }
+
+    private void requestStations(String apiKey, List<String> locationIDs, List<WebserviceHandler> bridges,
+            ApiKeyState state) {
+        logger.debug("Requesting the prices of {} stations", locationIDs.size());
+        TankerkoenigListResult result = service.getStationListData(apiKey, String.join(",", locationIDs),
+                bridges.get(0).getUserAgent());
+        if (result == null) {
+            result = TankerkoenigListResult.emptyResult();
+        }
+        if (!result.isOk()) {
+            for (WebserviceHandler bridge : bridges) {
+                if (locationIDs.stream().anyMatch(bridge::hasLocationID)) {
+                    bridge.handleRequestFailure(result);
+                }
+            }
+            return;
+        }
+
+        long now = System.nanoTime();
+        List<LittleStation> stations = result.getPrices().getStations();
+        for (LittleStation station : stations) {
+            station.setOpen("open".equals(station.getStatus()));
+            state.stations.put(station.getID(), new CachedStation(station, now));
+        }
+        for (WebserviceHandler bridge : bridges) {
+            bridge.updateStations(stations);
+        }
+    }
+
+    private static class ApiKeyState {
+        final TokenBucket bucket = new TokenBucket(BUCKET_CAPACITY, TOKEN_INTERVAL, TimeUnit.SECONDS);
+        final Set<String> pending = new LinkedHashSet<>();
+        final Map<String, CachedStation> stations = new HashMap<>();
+    }
+
+    private static class CachedStation {
+        final LittleStation station;
+        final long requested;
+
+        CachedStation(LittleStation station, long requested) {
+            this.station = station;
+            this.requested = requested;
+        }
+    }
+}
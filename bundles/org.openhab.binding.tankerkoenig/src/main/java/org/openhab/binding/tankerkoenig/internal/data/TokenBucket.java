@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tankerkoenig.internal.data;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/***
+ * Token bucket limiting the requests of one api key. A token is added every refill interval up to the capacity of the
+ * bucket, each request takes one token.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TokenBucket {
+    private final int capacity;
+    private final long refillInterval;
+
+    private int tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, long refillInterval, TimeUnit unit) {
+        this.capacity = capacity;
+        this.refillInterval = unit.toNanos(refillInterval);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /***
+     * Takes a token from the bucket
+     *
+     * @return true if a token was available, false if the request has to wait
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        long refills = (now - lastRefill) / refillInterval;
+        if (refills > 0) {
+            tokens = (int) Math.min(capacity, tokens + refills);
+            lastRefill = tokens == capacity ? now : lastRefill + refills * refillInterval;
+        }
+        if (tokens > 0) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+}
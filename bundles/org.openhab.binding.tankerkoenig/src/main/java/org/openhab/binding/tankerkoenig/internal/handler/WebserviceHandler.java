@@ -17,10 +17,14 @@ import java.text.ParseException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -30,9 +34,10 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.tankerkoenig.internal.TankerkoenigBindingConstants;
-import org.openhab.binding.tankerkoenig.internal.data.TankerkoenigService;
+import org.openhab.binding.tankerkoenig.internal.data.TankerkoenigRequestScheduler;
 import org.openhab.binding.tankerkoenig.internal.dto.LittleStation;
 import org.openhab.binding.tankerkoenig.internal.dto.OpeningTime;
 import org.openhab.binding.tankerkoenig.internal.dto.OpeningTimes;
@@ -56,15 +61,15 @@ public class WebserviceHandler extends BaseBridgeHandler {
     private boolean modeOpeningTime;
     private String userAgent;
     private boolean isHoliday;
-    private final TankerkoenigService service = new TankerkoenigService();
-    private TankerkoenigListResult tankerkoenigListResult;
+    private final TankerkoenigRequestScheduler requestScheduler;
 
-    private final Map<String, LittleStation> stationMap = new HashMap<>();
+    // the last prices pushed to the stations and the station handlers, both by location id
+    private final Map<String, LittleStation> stationMap = new ConcurrentHashMap<>();
+    private final Map<String, Set<StationHandler>> stationHandlers = new ConcurrentHashMap<>();
 
-    private ScheduledFuture<?> pollingJob;
-
-    public WebserviceHandler(Bridge bridge) {
+    public WebserviceHandler(Bridge bridge, TankerkoenigRequestScheduler requestScheduler) {
         super(bridge);
+        this.requestScheduler = requestScheduler;
     }
 
     @Override
@@ -92,24 +97,47 @@ public class WebserviceHandler extends BaseBridgeHandler {
 
         updateStatus(ThingStatus.UNKNOWN);
 
-        int pollingPeriod = getRefreshInterval();
-        pollingJob = scheduler.scheduleWithFixedDelay(() -> {
-            logger.debug("Try to refresh data");
-            try {
-                updateStationData();
-                updateStationThings();
-            } catch (RuntimeException r) {
-                logger.debug("Caught exception in ScheduledExecutorService of BridgeHandler. RuntimeException: ", r);
-                updateStatus(ThingStatus.OFFLINE);
-            }
-        }, pollingPeriod, pollingPeriod, TimeUnit.MINUTES);
-        logger.debug("Refresh job scheduled to run every {} min. for '{}'", pollingPeriod, getThing().getUID());
+        // the requests of all bridges are merged and sent by the request scheduler
+        requestScheduler.register(this);
+        logger.debug("Refresh scheduled every {} min. for '{}'", getRefreshInterval(), getThing().getUID());
     }
 
     @Override
     public void dispose() {
-        if (pollingJob != null) {
-            pollingJob.cancel(true);
+        requestScheduler.unregister(this);
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof StationHandler) {
+            StationHandler tkh = (StationHandler) childHandler;
+            String locationID = tkh.getLocationID();
+            if (locationID == null) {
+                return;
+            }
+            stationHandlers.compute(locationID, (id, handlers) -> {
+                Set<StationHandler> result = handlers != null ? handlers : new CopyOnWriteArraySet<>();
+                result.add(tkh);
+                return result;
+            });
+            LittleStation s = stationMap.get(locationID);
+            if (s != null) {
+                tkh.updateData(s);
+            }
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof StationHandler) {
+            String locationID = ((StationHandler) childHandler).getLocationID();
+            if (locationID == null) {
+                return;
+            }
+            stationHandlers.computeIfPresent(locationID, (id, handlers) -> {
+                handlers.remove(childHandler);
+                return handlers.isEmpty() ? null : handlers;
+            });
         }
     }
 
@@ -119,104 +147,112 @@ public class WebserviceHandler extends BaseBridgeHandler {
     }
 
     /***
-     * Updates the data from tankerkoenig api (no update on things)
+     * Returns the id's of the stations to request, called by the request scheduler every refresh interval
+     *
+     * @return all station id's or the id's of the open stations in mode opening time
      */
-    public void updateStationData() {
-        // Get data
+    public Set<String> getDueLocationIDs() {
         try {
-            String locationIDsString = "";
             if (modeOpeningTime) {
                 logger.debug("Opening times are used");
-                locationIDsString = generateOpenLocationIDsString();
+                return generateOpenLocationIDs();
             } else {
                 logger.debug("No opening times are used");
-                locationIDsString = generateLocationIDsString();
-            }
-            if (locationIDsString.isEmpty()) {
-                logger.debug("No tankstellen id's found. Nothing to update");
-                return;
-            }
-            TankerkoenigListResult result = service.getStationListData(getApiKey(), locationIDsString, userAgent);
-            if (!result.isOk()) {
-                // two possibel reasons for result.isOK=false
-                // A-tankerkoenig returns false on a web-request
-                // in this case the field "message" holds information for the reason.
-                // B-the web-request does not return a valid json-string,
-                // in this case an emptyReturn object is created with the message "No valid response from the
-                // web-request!"
-                // in both cases the Webservice and the Station(s) will go OFFLINE
-                // only in case A the pollingJob gets canceled!
-                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, result.getMessage());
-                // if the Bridge goes OFFLINE, all connected Stations will go OFFLINE as well.
-                // The bridge reports its statusUpdate and the things react using the bridgeStatusChanged-Method!
-                // Only if the message is NOT "No valid response from the web-request!" the scheduled job gets stopped!
-                if (!result.getMessage().equals(TankerkoenigBindingConstants.NO_VALID_RESPONSE)) {
-                    pollingJob.cancel(true);
-                }
-            } else {
-                updateStatus(ThingStatus.ONLINE);
-                setTankerkoenigListResult(result);
-                stationMap.clear();
-                for (LittleStation station : result.getPrices().getStations()) {
-                    station.setOpen("open".equals(station.getStatus()));
-                    stationMap.put(station.getID(), station);
-                }
-                logger.debug("UpdateStationData: tankstellenList.size {}", stationMap.size());
+                return generateLocationIDs();
             }
         } catch (ParseException e) {
             logger.error("ParseException: ", e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
+            return Collections.emptySet();
         }
     }
 
+    public boolean hasLocationID(String locationID) {
+        return stationHandlers.containsKey(locationID);
+    }
+
     /***
-     * Updates all registered station with new data
+     * Handles a failed request of the request scheduler for stations of this bridge
+     *
+     * @param result
      */
-    public void updateStationThings() {
-        logger.debug("UpdateStationThings: getThing().getThings().size {}", getThing().getThings().size());
-        for (Thing thing : getThing().getThings()) {
-            StationHandler tkh = (StationHandler) thing.getHandler();
-            LittleStation s = stationMap.get(tkh.getLocationID());
-            if (s == null) {
-                logger.debug("Station with id {}  is not updated!", tkh.getLocationID());
-            } else {
-                tkh.updateData(s);
-            }
+    public void handleRequestFailure(TankerkoenigListResult result) {
+        // two possibel reasons for result.isOK=false
+        // A-tankerkoenig returns false on a web-request
+        // in this case the field "message" holds information for the reason.
+        // B-the web-request does not return a valid json-string,
+        // in this case an emptyReturn object is created with the message "No valid response from the
+        // web-request!"
+        // in both cases the Webservice and the Station(s) will go OFFLINE
+        // only in case A the requests of the bridge are stopped!
+        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, result.getMessage());
+        // if the Bridge goes OFFLINE, all connected Stations will go OFFLINE as well.
+        // The bridge reports its statusUpdate and the things react using the bridgeStatusChanged-Method!
+        // Only if the message is NOT "No valid response from the web-request!" the requests get stopped!
+        if (!TankerkoenigBindingConstants.NO_VALID_RESPONSE.equals(result.getMessage())) {
+            requestScheduler.unregister(this);
         }
     }
 
     /***
-     * Generates a comma separated string with all station id's
+     * Updates the registered stations of the given prices, the prices of other bridges are ignored. Only stations
+     * with changed prices, or which are not online yet, are updated.
      *
-     * @return
+     * @param stations
      */
-    private String generateLocationIDsString() {
-        StringBuilder sb = new StringBuilder();
-        for (Thing thing : getThing().getThings()) {
-            StationHandler tkh = (StationHandler) thing.getHandler();
-            if (sb.length() > 0) {
-                sb.append(",");
+    public void updateStations(Collection<LittleStation> stations) {
+        updateStatus(ThingStatus.ONLINE);
+        int updated = 0;
+        for (LittleStation s : stations) {
+            Set<StationHandler> handlers = stationHandlers.get(s.getID());
+            if (handlers == null) {
+                continue;
+            }
+            LittleStation previous = stationMap.put(s.getID(), s);
+            boolean changed = previous == null || !hasSamePrices(previous, s);
+            for (StationHandler tkh : handlers) {
+                if (changed || tkh.getThing().getStatus() != ThingStatus.ONLINE) {
+                    tkh.updateData(s);
+                    updated++;
+                }
             }
-            sb.append(tkh.getLocationID());
         }
-        return sb.toString();
+        logger.debug("UpdateStations: {} of {} stations updated", updated, stations.size());
+    }
+
+    private static boolean hasSamePrices(LittleStation previous, LittleStation station) {
+        return Objects.equals(previous.getE5(), station.getE5()) && Objects.equals(previous.getE10(), station.getE10())
+                && Objects.equals(previous.getDiesel(), station.getDiesel())
+                && Objects.equals(previous.isOpen(), station.isOpen());
     }
 
     /***
-     * Generates a comma separated string of all open station id's
+     * Generates a set with all station id's
+     *
+     * @return
+     */
+    private Set<String> generateLocationIDs() {
+        return new HashSet<>(stationHandlers.keySet());
+    }
+
+    /***
+     * Generates a set of all open station id's
      * calculated using the data stored in opentimesList
      * The settings in the section "override" from the json detail response are NOT used!
      *
-     * @return String
+     * @return Set
      * @throws ParseException
      */
-    private String generateOpenLocationIDsString() throws ParseException {
-        StringBuilder sb = new StringBuilder();
+    private Set<String> generateOpenLocationIDs() throws ParseException {
+        Set<String> locationIDs = new HashSet<>();
         LocalDate today = LocalDate.now();
-        for (Thing thing : getThing().getThings()) {
+        for (Set<StationHandler> handlers : stationHandlers.values()) {
+            StationHandler tkh = handlers.stream().findFirst().orElse(null);
+            if (tkh == null) {
+                continue;
+            }
             String start = "00:00";
             String ende = "00:00";
-            StationHandler tkh = (StationHandler) thing.getHandler();
             Boolean foundIt = false;
             OpeningTimes oTimes = tkh.getOpeningTimes();
             // oTimes could be NULL, assume wholeDay open in this case!
@@ -321,13 +357,10 @@ public class WebserviceHandler extends BaseBridgeHandler {
             }
             if ((opening.equals(closing)) || ((now.isAfter(opening) & (now.isBefore(closing))))) {
                 logger.debug("Now is within opening times for today.");
-                if (sb.length() > 0) {
-                    sb.append(",");
-                }
-                sb.append(tkh.getLocationID());
+                locationIDs.add(tkh.getLocationID());
             }
         }
-        return sb.toString();
+        return locationIDs;
     }
 
     public String getApiKey() {
@@ -346,14 +379,6 @@ public class WebserviceHandler extends BaseBridgeHandler {
         this.refreshInterval = refreshInterval;
     }
 
-    public TankerkoenigListResult getTankerkoenigListResult() {
-        return tankerkoenigListResult;
-    }
-
-    public void setTankerkoenigListResult(TankerkoenigListResult tankerkoenigListResult) {
-        this.tankerkoenigListResult = tankerkoenigListResult;
-    }
-
     public boolean isModeOpeningTime() {
         return modeOpeningTime;
     }
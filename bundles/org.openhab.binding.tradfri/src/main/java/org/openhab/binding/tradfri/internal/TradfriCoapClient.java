@@ -14,18 +14,24 @@ package org.openhab.binding.tradfri.internal;
 
 import java.net.URI;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.californium.core.CoapClient;
-import org.eclipse.californium.core.CoapObserveRelation;
 import org.eclipse.californium.core.coap.MediaTypeRegistry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
 /**
  * The {@link TradfriCoapClient} provides some convenience features over the
  * plain {@link CoapClient} from californium.
@@ -39,6 +45,7 @@ public class TradfriCoapClient extends CoapClient {
     private static final int DEFAULT_DELAY_MILLIS = 600;
     private final Logger logger = LoggerFactory.getLogger(TradfriCoapClient.class);
     private final LinkedList<PayloadCallbackPair> commandsQueue = new LinkedList<>();
+    private final JsonParser parser = new JsonParser();
     private @Nullable Future<?> job;
 
     public TradfriCoapClient(URI uri) {
@@ -65,15 +72,6 @@ public class TradfriCoapClient extends CoapClient {
         }
     }
 
-    /**
-     * Starts observation of the resource and uses the given callback to provide updates.
-     *
-     * @param callback the callback to use for updates
-     */
-    public CoapObserveRelation startObserve(CoapCallback callback) {
-        return observe(new TradfriCoapHandler(callback));
-    }
-
     /**
      * Asynchronously executes a GET on the resource and provides the result through a {@link CompletableFuture}.
      *
@@ -123,11 +121,59 @@ public class TradfriCoapClient extends CoapClient {
                     this.job = scheduler.submit(() -> executeCommands());
                 }
             } else {
+                // a pending command which only sets attributes that are set again is outdated, replace it
+                PayloadCallbackPair last = this.commandsQueue.peekLast();
+                if (last != null && last.callback == payloadCallbackPair.callback
+                        && isSuperseded(last.payload, payloadCallbackPair.payload)) {
+                    logger.debug("Replacing pending CoAP PUT request\nuri: {}\npayload: {}", getURI(), last.payload);
+                    this.commandsQueue.pollLast();
+                }
                 this.commandsQueue.offer(payloadCallbackPair);
             }
         }
     }
 
+    /**
+     * Checks whether all attributes of a payload are contained in a newer payload.
+     *
+     * @param payload the payload of the pending command
+     * @param newPayload the payload of the new command
+     * @return true if the pending command is no longer needed
+     */
+    private boolean isSuperseded(String payload, String newPayload) {
+        try {
+            return isContained(parser.parse(payload), parser.parse(newPayload));
+        } catch (JsonParseException e) {
+            return false;
+        }
+    }
+
+    private boolean isContained(JsonElement element, JsonElement newElement) {
+        if (element.isJsonObject() && newElement.isJsonObject()) {
+            JsonObject newObject = newElement.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                JsonElement newValue = newObject.get(entry.getKey());
+                if (newValue == null || !isContained(entry.getValue(), newValue)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (element.isJsonArray() && newElement.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            JsonArray newArray = newElement.getAsJsonArray();
+            if (array.size() != newArray.size()) {
+                return false;
+            }
+            for (int i = 0; i < array.size(); i++) {
+                if (!isContained(array.get(i), newArray.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return element.isJsonPrimitive() && newElement.isJsonPrimitive();
+    }
+
     @Override
     public void shutdown() {
         if (job != null) {
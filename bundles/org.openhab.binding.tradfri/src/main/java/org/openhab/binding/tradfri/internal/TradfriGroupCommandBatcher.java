@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tradfri.internal;
+
+import static org.openhab.binding.tradfri.internal.TradfriBindingConstants.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.coap.MediaTypeRegistry;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link TradfriGroupCommandBatcher} merges the light and plug commands of a gateway which are sent at the same
+ * time, e.g. by a rule switching a scene. If all lights and plugs of a group of the gateway receive the same on/off or
+ * brightness command, a single PUT is sent to the group instead of one PUT per device. All other commands are sent to
+ * the devices as before. Remote controls, sensors and repeaters of a group are not affected by group commands and are
+ * not taken into account. Members whose type is not known yet are taken into account, so a group command never
+ * reaches a device which did not receive the command itself.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TradfriGroupCommandBatcher {
+
+    // time to wait for the commands of the other lights of a group
+    private static final long BATCH_DELAY_MILLIS = 50;
+
+    // the attributes of a light command which can be sent to a group
+    private static final Set<String> GROUP_ATTRIBUTES = new HashSet<>(Arrays.asList(ONOFF, DIMMER, TRANSITION_TIME));
+
+    // the device types which are not affected by a group command
+    private static final Set<String> PASSIVE_TYPES = new HashSet<>(
+            Arrays.asList(TYPE_SWITCH, TYPE_REMOTE, TYPE_SENSOR, TYPE_REPEATER));
+
+    private final Logger logger = LoggerFactory.getLogger(TradfriGroupCommandBatcher.class);
+    private final JsonParser parser = new JsonParser();
+
+    private final ScheduledExecutorService scheduler;
+    // the members of the groups of the gateway by group id
+    private final Map<Integer, Set<Integer>> groups = new ConcurrentHashMap<>();
+    // the device types of the gateway by instance id
+    private final Map<Integer, String> deviceTypes = new ConcurrentHashMap<>();
+    // the pending commands by instance id of the light
+    private final Map<Integer, PendingCommand> pendingCommands = new LinkedHashMap<>();
+
+    private @Nullable TradfriCoapClient client;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    public TradfriGroupCommandBatcher(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the client used for group commands, null if the gateway is not connected.
+     *
+     * @param client the client with the URI of the groups of the gateway
+     */
+    public synchronized void setClient(@Nullable TradfriCoapClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Updates the members of a group of the gateway.
+     *
+     * @param groupId the instance id of the group
+     * @param members the instance ids of the devices of the group
+     */
+    public void updateGroup(int groupId, Set<Integer> members) {
+        groups.put(groupId, members);
+    }
+
+    /**
+     * Removes all groups which are no longer known by the gateway.
+     *
+     * @param groupIds the instance ids of all groups of the gateway
+     */
+    public void retainGroups(Collection<Integer> groupIds) {
+        groups.keySet().retainAll(groupIds);
+    }
+
+    /**
+     * Updates the type of a device of the gateway.
+     *
+     * @param instanceId the instance id of the device
+     * @param type the device type, e.g. {@link TradfriBindingConstants#TYPE_LIGHT}
+     */
+    public void updateDevice(int instanceId, String type) {
+        deviceTypes.put(instanceId, type);
+    }
+
+    /**
+     * Sends a command to a device. Commands to lights and plugs which are member of a group are delayed shortly to be
+     * merged with the commands of the other devices of the group, all other commands are sent at once.
+     *
+     * @param instanceId the instance id of the device
+     * @param payload the payload of the command
+     * @param sender sends the command to the device, if it is not merged into a group command
+     */
+    public void send(int instanceId, String payload, Runnable sender) {
+        JsonObject groupPayload = getGroupPayload(payload);
+        if (groupPayload == null || groups.values().stream().noneMatch(members -> members.contains(instanceId))) {
+            sender.run();
+            return;
+        }
+        PendingCommand previous;
+        synchronized (this) {
+            previous = pendingCommands.put(instanceId, new PendingCommand(instanceId, groupPayload.toString(), sender));
+            ScheduledFuture<?> job = flushJob;
+            if (job == null || job.isDone()) {
+                flushJob = scheduler.schedule(this::flush, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (previous != null) {
+            // the previous command was not merged yet, send it as well
+            previous.sender.run();
+        }
+    }
+
+    private void flush() {
+        List<PendingCommand> commands;
+        TradfriCoapClient client;
+        synchronized (this) {
+            commands = new ArrayList<>(pendingCommands.values());
+            pendingCommands.clear();
+            client = this.client;
+            flushJob = null;
+        }
+
+        // lights with the same command
+        Map<String, Map<Integer, PendingCommand>> commandsByPayload = new HashMap<>();
+        for (PendingCommand command : commands) {
+            commandsByPayload.computeIfAbsent(command.groupPayload, payload -> new HashMap<>())
+                    .put(command.instanceId, command);
+        }
+
+        List<Map.Entry<Integer, Set<Integer>>> largestGroupsFirst = new ArrayList<>(groups.entrySet());
+        largestGroupsFirst.sort(Comparator.comparingInt(group -> -group.getValue().size()));
+        for (Map.Entry<String, Map<Integer, PendingCommand>> entry : commandsByPayload.entrySet()) {
+            Map<Integer, PendingCommand> remaining = entry.getValue();
+            if (client != null) {
+                for (Map.Entry<Integer, Set<Integer>> group : largestGroupsFirst) {
+                    // every device affected by the group command must have received the same command
+                    Set<Integer> members = new HashSet<>(group.getValue());
+                    members.removeIf(this::isPassive);
+                    if (members.size() > 1 && remaining.keySet().containsAll(members)) {
+                        List<PendingCommand> merged = new ArrayList<>();
+                        members.forEach(member -> merged.add(remaining.remove(member)));
+                        sendGroupCommand(client, group.getKey(), entry.getKey(), merged);
+                    }
+                }
+            }
+            remaining.values().forEach(command -> command.sender.run());
+        }
+    }
+
+    private boolean isPassive(int instanceId) {
+        String type = deviceTypes.get(instanceId);
+        return type != null && PASSIVE_TYPES.contains(type);
+    }
+
+    private void sendGroupCommand(TradfriCoapClient client, int groupId, String payload,
+            List<PendingCommand> commands) {
+        Request request = Request.newPut();
+        request.setURI(client.getURI() + "/" + groupId);
+        request.setPayload(payload);
+        request.getOptions().setContentFormat(MediaTypeRegistry.TEXT_PLAIN);
+        logger.debug("CoAP PUT request for {} lights\nuri: {}\npayload: {}", commands.size(), request.getURI(),
+                payload);
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.exceptionally(e -> {
+            logger.debug("Group command failed, sending it to the lights: {}", e.getMessage());
+            commands.forEach(command -> command.sender.run());
+            return null;
+        });
+        client.advanced(new TradfriCoapHandler(future), request);
+    }
+
+    /**
+     * Returns the group attributes of a light or plug command, if it only contains attributes which are supported by
+     * groups.
+     */
+    private @Nullable JsonObject getGroupPayload(String payload) {
+        try {
+            JsonObject root = parser.parse(payload).getAsJsonObject();
+            JsonElement device = root.has(LIGHT) ? root.get(LIGHT) : root.get(PLUG);
+            if (device == null || !device.isJsonArray() || device.getAsJsonArray().size() != 1) {
+                return null;
+            }
+            JsonObject attributes = device.getAsJsonArray().get(0).getAsJsonObject();
+            boolean hasCommand = false;
+            for (Map.Entry<String, JsonElement> attribute : attributes.entrySet()) {
+                if (!GROUP_ATTRIBUTES.contains(attribute.getKey())) {
+                    return null;
+                }
+                hasCommand |= !TRANSITION_TIME.equals(attribute.getKey());
+            }
+            return hasCommand ? attributes : null;
+        } catch (JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static class PendingCommand {
+        final int instanceId;
+        final String groupPayload;
+        final Runnable sender;
+
+        PendingCommand(int instanceId, String groupPayload, Runnable sender) {
+            this.instanceId = instanceId;
+            this.groupPayload = groupPayload;
+            this.sender = sender;
+        }
+    }
+}
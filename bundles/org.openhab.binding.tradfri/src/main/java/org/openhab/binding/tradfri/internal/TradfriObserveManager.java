@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tradfri.internal;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.CoapObserveRelation;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+
+/**
+ * The {@link TradfriObserveManager} observes the devices of a gateway for all thing handlers. The observe requests
+ * are sent one after the other with a short delay instead of all at once, e.g. at startup. Every notification is
+ * parsed once and passed to the callbacks registered for the instance id of the device. After a reconnect of the
+ * gateway, the observations are registered again in the same way.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TradfriObserveManager {
+
+    // delay between two observe requests
+    private static final long REGISTRATION_DELAY_MILLIS = 100;
+    // delay before an observation is registered again after an error
+    private static final long RETRY_DELAY_SECONDS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(TradfriObserveManager.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Integer, Observation> observations = new ConcurrentHashMap<>();
+    private final Queue<Observation> pendingObservations = new ConcurrentLinkedQueue<>();
+
+    private @Nullable TradfriCoapClient client;
+    private @Nullable ScheduledFuture<?> registrationJob;
+
+    public TradfriObserveManager(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Starts the observations of all registered devices using the given endpoint, e.g. after a reconnect.
+     *
+     * @param gatewayURI the URI of the devices of the gateway
+     * @param endpoint the endpoint of the gateway
+     */
+    public synchronized void start(String gatewayURI, CoapEndpoint endpoint) {
+        stop();
+        try {
+            TradfriCoapClient client = new TradfriCoapClient(new URI(gatewayURI));
+            client.setEndpoint(endpoint);
+            this.client = client;
+        } catch (URISyntaxException e) {
+            logger.debug("Illegal gateway URI '{}': {}", gatewayURI, e.getMessage());
+            return;
+        }
+        observations.values().forEach(this::enqueue);
+    }
+
+    /**
+     * Cancels all observations, the registrations are kept for the next start.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> job = registrationJob;
+        if (job != null) {
+            job.cancel(false);
+            registrationJob = null;
+        }
+        pendingObservations.clear();
+        observations.values().forEach(observation -> {
+            observation.queued = false;
+            observation.cancel();
+        });
+        TradfriCoapClient client = this.client;
+        if (client != null) {
+            client.shutdown();
+            this.client = null;
+        }
+    }
+
+    /**
+     * Registers a callback for the updates of a device. The device is observed again, so the callback gets the
+     * current state.
+     *
+     * @param instanceId the instance id of the device
+     * @param callback the callback to use for updates
+     */
+    public void register(int instanceId, CoapCallback callback) {
+        Observation observation = observations.compute(instanceId, (id, current) -> {
+            Observation result = current != null ? current : new Observation(id);
+            result.callbacks.add(callback);
+            return result;
+        });
+        enqueue(observation);
+    }
+
+    /**
+     * Unregisters a callback, the device is no longer observed if there are no other callbacks for it.
+     *
+     * @param instanceId the instance id of the device
+     * @param callback the callback to unregister
+     */
+    public void unregister(int instanceId, CoapCallback callback) {
+        observations.computeIfPresent(instanceId, (id, observation) -> {
+            observation.callbacks.remove(callback);
+            if (observation.callbacks.isEmpty()) {
+                observation.cancel();
+                return null;
+            }
+            return observation;
+        });
+    }
+
+    /**
+     * Observes a device again after a delay, e.g. because the observation was lost.
+     *
+     * @param instanceId the instance id of the device
+     */
+    public void reregister(int instanceId) {
+        Observation observation = observations.get(instanceId);
+        if (observation != null && !observation.retryScheduled) {
+            observation.retryScheduled = true;
+            scheduler.schedule(() -> {
+                observation.retryScheduled = false;
+                if (observations.get(instanceId) == observation) {
+                    enqueue(observation);
+                }
+            }, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void enqueue(Observation observation) {
+        if (!observation.queued) {
+            observation.queued = true;
+            pendingObservations.offer(observation);
+        }
+        ScheduledFuture<?> job = registrationJob;
+        if (client != null && (job == null || job.isDone())) {
+            registrationJob = scheduler.scheduleWithFixedDelay(this::registerNext, 0, REGISTRATION_DELAY_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void registerNext() {
+        TradfriCoapClient client = this.client;
+        Observation observation = pendingObservations.poll();
+        if (client == null || observation == null) {
+            ScheduledFuture<?> job = registrationJob;
+            if (job != null) {
+                job.cancel(false);
+                registrationJob = null;
+            }
+            return;
+        }
+        observation.queued = false;
+        if (observations.get(observation.instanceId) != observation) {
+            // unregistered in the meantime
+            return;
+        }
+        observation.cancel();
+        Request request = Request.newGet();
+        request.setURI(client.getURI() + "/" + observation.instanceId);
+        request.setObserve();
+        logger.debug("CoAP observe request\nuri: {}", request.getURI());
+        observation.relation = client.observe(request, new TradfriCoapHandler(observation));
+    }
+
+    /**
+     * The observation of a device, passing the notifications to all callbacks of the device.
+     */
+    private static class Observation implements CoapCallback {
+        final int instanceId;
+        final Set<CoapCallback> callbacks = new CopyOnWriteArraySet<>();
+        volatile @Nullable CoapObserveRelation relation;
+        volatile boolean queued;
+        volatile boolean retryScheduled;
+
+        Observation(int instanceId) {
+            this.instanceId = instanceId;
+        }
+
+        void cancel() {
+            CoapObserveRelation relation = this.relation;
+            if (relation != null) {
+                relation.reactiveCancel();
+                this.relation = null;
+            }
+        }
+
+        @Override
+        public void onUpdate(JsonElement data) {
+            callbacks.forEach(callback -> callback.onUpdate(data));
+        }
+
+        @Override
+        public void setStatus(ThingStatus status, ThingStatusDetail statusDetail) {
+            callbacks.forEach(callback -> callback.setStatus(status, statusDetail));
+        }
+    }
+}
@@ -17,8 +17,11 @@ import static org.openhab.binding.tradfri.internal.TradfriBindingConstants.*;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -49,6 +52,8 @@ import org.openhab.binding.tradfri.internal.DeviceUpdateListener;
 import org.openhab.binding.tradfri.internal.TradfriBindingConstants;
 import org.openhab.binding.tradfri.internal.TradfriCoapClient;
 import org.openhab.binding.tradfri.internal.TradfriCoapHandler;
+import org.openhab.binding.tradfri.internal.TradfriGroupCommandBatcher;
+import org.openhab.binding.tradfri.internal.TradfriObserveManager;
 import org.openhab.binding.tradfri.internal.config.TradfriGatewayConfig;
 import org.openhab.binding.tradfri.internal.discovery.TradfriDiscoveryService;
 import org.openhab.binding.tradfri.internal.model.TradfriVersion;
@@ -78,15 +83,22 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
     private @NonNullByDefault({}) TradfriCoapClient deviceClient;
     private @NonNullByDefault({}) String gatewayURI;
     private @NonNullByDefault({}) String gatewayInfoURI;
+    private @NonNullByDefault({}) String groupsURI;
+    private @Nullable TradfriCoapClient groupClient;
     private @NonNullByDefault({}) DTLSConnector dtlsConnector;
     private @Nullable CoapEndpoint endPoint;
 
     private final Set<DeviceUpdateListener> deviceUpdateListeners = new CopyOnWriteArraySet<>();
 
+    private final TradfriObserveManager observeManager;
+    private final TradfriGroupCommandBatcher commandBatcher;
+
     private @Nullable ScheduledFuture<?> scanJob;
 
     public TradfriGatewayHandler(Bridge bridge) {
         super(bridge);
+        observeManager = new TradfriObserveManager(scheduler);
+        commandBatcher = new TradfriGroupCommandBatcher(scheduler);
     }
 
     @Override
@@ -145,9 +157,11 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         this.gatewayURI = "coaps://" + configuration.host + ":" + configuration.port + "/" + DEVICES;
         this.gatewayInfoURI = "coaps://" + configuration.host + ":" + configuration.port + "/" + GATEWAY + "/"
                 + GATEWAY_DETAILS;
+        this.groupsURI = "coaps://" + configuration.host + ":" + configuration.port + "/" + GROUPS;
         try {
             URI uri = new URI(gatewayURI);
             deviceClient = new TradfriCoapClient(uri);
+            groupClient = new TradfriCoapClient(new URI(groupsURI));
         } catch (URISyntaxException e) {
             logger.error("Illegal gateway URI '{}': {}", gatewayURI, e.getMessage());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -161,6 +175,10 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         dtlsConnector = new DTLSConnector(builder.build());
         endPoint = new CoapEndpoint.Builder().setConnector(dtlsConnector).build();
         deviceClient.setEndpoint(endPoint);
+        groupClient.setEndpoint(endPoint);
+        commandBatcher.setClient(groupClient);
+        // (re-)register the observations of the devices one after the other
+        observeManager.start(gatewayURI, endPoint);
         updateStatus(ThingStatus.UNKNOWN);
 
         // schedule a new scan every minute
@@ -265,6 +283,8 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
             scanJob.cancel(true);
             scanJob = null;
         }
+        observeManager.stop();
+        commandBatcher.setClient(null);
         if (endPoint != null) {
             endPoint.destroy();
             endPoint = null;
@@ -273,6 +293,10 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
             deviceClient.shutdown();
             deviceClient = null;
         }
+        if (groupClient != null) {
+            groupClient.shutdown();
+            groupClient = null;
+        }
         super.dispose();
     }
 
@@ -283,6 +307,7 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
     public void startScan() {
         if (endPoint != null) {
             requestGatewayInfo();
+            requestGroups();
             deviceClient.get(new TradfriCoapHandler(this));
         }
     }
@@ -296,6 +321,24 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         return gatewayURI;
     }
 
+    /**
+     * Returns the manager observing the devices of the gateway.
+     *
+     * @return the observe manager
+     */
+    public TradfriObserveManager getObserveManager() {
+        return observeManager;
+    }
+
+    /**
+     * Returns the batcher merging the commands to the lights of a group.
+     *
+     * @return the command batcher
+     */
+    public TradfriGroupCommandBatcher getCommandBatcher() {
+        return commandBatcher;
+    }
+
     /**
      * Returns the coap endpoint that can be used within coap clients.
      *
@@ -335,12 +378,57 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         deviceClient.setURI(gatewayURI);
     }
 
+    private synchronized void requestGroups() {
+        // we are reusing our coap client and merely temporarily set the groups URI to call
+        deviceClient.setURI(groupsURI);
+        deviceClient.asyncGet().thenAccept(data -> {
+            logger.debug("requestGroups response: {}", data);
+            try {
+                List<Integer> groupIds = new ArrayList<>();
+                for (JsonElement groupId : new JsonParser().parse(data).getAsJsonArray()) {
+                    groupIds.add(groupId.getAsInt());
+                }
+                commandBatcher.retainGroups(groupIds);
+                groupIds.forEach(this::requestGroupDetails);
+            } catch (JsonParseException | IllegalStateException | NumberFormatException e) {
+                logger.debug("Invalid groups response: {}", e.getMessage());
+            }
+        });
+        // restore root URI
+        deviceClient.setURI(gatewayURI);
+    }
+
+    private synchronized void requestGroupDetails(int groupId) {
+        // we are reusing our coap client and merely temporarily set a group URI to call
+        deviceClient.setURI(groupsURI + "/" + groupId);
+        deviceClient.asyncGet().thenAccept(data -> {
+            logger.debug("requestGroupDetails response: {}", data);
+            try {
+                JsonObject links = new JsonParser().parse(data).getAsJsonObject().getAsJsonObject(HS_ACCESSORY_LINK);
+                JsonObject devices = links == null ? null : links.getAsJsonObject(HS_LINK);
+                JsonArray instanceIds = devices == null ? null : devices.getAsJsonArray(INSTANCE_ID);
+                if (instanceIds != null) {
+                    Set<Integer> members = new HashSet<>();
+                    instanceIds.forEach(instanceId -> members.add(instanceId.getAsInt()));
+                    commandBatcher.updateGroup(groupId, members);
+                }
+            } catch (JsonParseException | ClassCastException | IllegalStateException | NumberFormatException e) {
+                logger.debug("Invalid response for group {}: {}", groupId, e.getMessage());
+            }
+        });
+        // restore root URI
+        deviceClient.setURI(gatewayURI);
+    }
+
     private synchronized void requestDeviceDetails(String instanceId) {
         // we are reusing our coap client and merely temporarily set a sub-URI to call
         deviceClient.setURI(gatewayURI + "/" + instanceId);
         deviceClient.asyncGet().thenAccept(data -> {
             logger.debug("requestDeviceDetails response: {}", data);
             JsonObject json = new JsonParser().parse(data).getAsJsonObject();
+            if (json.has(INSTANCE_ID) && json.has(TYPE)) {
+                commandBatcher.updateDevice(json.get(INSTANCE_ID).getAsInt(), json.get(TYPE).getAsString());
+            }
             deviceUpdateListeners.forEach(listener -> listener.onUpdate(instanceId, json));
         });
         // restore root URI
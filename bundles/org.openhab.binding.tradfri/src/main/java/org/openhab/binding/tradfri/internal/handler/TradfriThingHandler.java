@@ -16,9 +16,7 @@ import static org.eclipse.smarthome.core.thing.Thing.*;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.concurrent.TimeUnit;
 
-import org.eclipse.californium.core.CoapObserveRelation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -29,6 +27,8 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.openhab.binding.tradfri.internal.CoapCallback;
 import org.openhab.binding.tradfri.internal.TradfriCoapClient;
+import org.openhab.binding.tradfri.internal.TradfriGroupCommandBatcher;
+import org.openhab.binding.tradfri.internal.TradfriObserveManager;
 import org.openhab.binding.tradfri.internal.config.TradfriDeviceConfig;
 import org.openhab.binding.tradfri.internal.model.TradfriDeviceData;
 import org.slf4j.Logger;
@@ -53,7 +53,9 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
 
     protected @NonNullByDefault({}) TradfriCoapClient coapClient;
 
-    private @Nullable CoapObserveRelation observeRelation;
+    // the device is observed by the gateway, commands are merged with those of the other lights of a group
+    private @Nullable TradfriObserveManager observeManager;
+    private @Nullable TradfriGroupCommandBatcher commandBatcher;
 
     public TradfriThingHandler(Thing thing) {
         super(thing);
@@ -76,13 +78,14 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
+        TradfriObserveManager observeManager = handler.getObserveManager();
+        this.observeManager = observeManager;
+        this.commandBatcher = handler.getCommandBatcher();
         active = true;
         updateStatus(ThingStatus.UNKNOWN);
         switch (tradfriGateway.getStatus()) {
             case ONLINE:
-                scheduler.schedule(() -> {
-                    observeRelation = coapClient.startObserve(this);
-                }, 3, TimeUnit.SECONDS);
+                observeManager.register(id, this);
                 break;
             case OFFLINE:
             default:
@@ -95,9 +98,10 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
     @Override
     public synchronized void dispose() {
         active = false;
-        if (observeRelation != null) {
-            observeRelation.reactiveCancel();
-            observeRelation = null;
+        TradfriObserveManager observeManager = this.observeManager;
+        Integer id = this.id;
+        if (observeManager != null && id != null) {
+            observeManager.unregister(id, this);
         }
         if (coapClient != null) {
             coapClient.shutdown();
@@ -106,18 +110,17 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
     }
 
     @Override
-    @SuppressWarnings("null")
     public void setStatus(ThingStatus status, ThingStatusDetail statusDetail) {
-        if (active && getBridge().getStatus() != ThingStatus.OFFLINE && status != ThingStatus.ONLINE) {
+        Bridge tradfriGateway = getBridge();
+        if (active && tradfriGateway != null && tradfriGateway.getStatus() != ThingStatus.OFFLINE
+                && status != ThingStatus.ONLINE) {
             updateStatus(status, statusDetail);
-            // we are offline and lost our observe relation - let's try to establish the connection in 10 seconds again
-            scheduler.schedule(() -> {
-                if (observeRelation != null) {
-                    observeRelation.reactiveCancel();
-                    observeRelation = null;
-                }
-                observeRelation = coapClient.startObserve(this);
-            }, 10, TimeUnit.SECONDS);
+            // we are offline and lost our observe relation - let the gateway establish it again in 10 seconds
+            TradfriObserveManager observeManager = this.observeManager;
+            Integer id = this.id;
+            if (observeManager != null && id != null) {
+                observeManager.reregister(id);
+            }
         }
     }
 
@@ -135,7 +138,13 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
 
     protected void set(String payload) {
         logger.debug("Sending payload: {}", payload);
-        coapClient.asyncPut(payload, this, scheduler);
+        TradfriGroupCommandBatcher commandBatcher = this.commandBatcher;
+        Integer id = this.id;
+        if (commandBatcher != null && id != null) {
+            commandBatcher.send(id, payload, () -> coapClient.asyncPut(payload, this, scheduler));
+        } else {
+            coapClient.asyncPut(payload, this, scheduler);
+        }
     }
 
     protected void updateDeviceProperties(TradfriDeviceData state) {
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tradfri.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.openhab.binding.tradfri.internal.TradfriBindingConstants.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.CoapHandler;
+import org.eclipse.californium.core.coap.Request;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+/**
+ * Tests for {@link TradfriGroupCommandBatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TradfriGroupCommandBatcherTest {
+
+    private static final String GROUPS_URI = "coaps://127.0.0.1/15004";
+    private static final String ON = "{\"3311\":[{\"5850\":1}],\"3\":{}}";
+    private static final String OFF = "{\"3311\":[{\"5850\":0}],\"3\":{}}";
+    private static final String PLUG_ON = "{\"3312\":[{\"5850\":1}],\"3\":{}}";
+    private static final String COLOR = "{\"3311\":[{\"5709\":24930,\"5710\":24694}],\"3\":{}}";
+
+    @Mock
+    private TradfriCoapClient client;
+
+    private ScheduledExecutorService scheduler;
+    private TradfriGroupCommandBatcher batcher;
+    private final List<Integer> sentToLights = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(client.getURI()).thenReturn(GROUPS_URI);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        batcher = new TradfriGroupCommandBatcher(scheduler);
+        batcher.setClient(client);
+        batcher.updateGroup(131073, new HashSet<>(Arrays.asList(65537, 65538, 65539)));
+        batcher.updateDevice(65536, TYPE_REMOTE);
+        for (int instanceId = 65537; instanceId <= 65540; instanceId++) {
+            batcher.updateDevice(instanceId, TYPE_LIGHT);
+        }
+        batcher.updateDevice(65541, TYPE_PLUG);
+        batcher.updateDevice(65542, TYPE_SENSOR);
+    }
+
+    @Test
+    public void sameCommandToAllLightsOfGroupIsSentToGroup() throws InterruptedException {
+        send(65537, ON);
+        send(65538, ON);
+        send(65539, ON);
+        send(65540, ON);
+        awaitFlush();
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(client).advanced(any(CoapHandler.class), request.capture());
+        assertThat(request.getValue().getURI(), is(GROUPS_URI + "/131073"));
+        assertThat(request.getValue().getPayloadString(), is("{\"5850\":1}"));
+        assertThat(sentToLights, is(Arrays.asList(65540)));
+    }
+
+    @Test
+    public void remotesAndSensorsOfGroupAreIgnored() throws InterruptedException {
+        batcher.updateGroup(131074, new HashSet<>(Arrays.asList(65536, 65540, 65541, 65542)));
+        send(65540, ON);
+        send(65541, PLUG_ON);
+        awaitFlush();
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(client).advanced(any(CoapHandler.class), request.capture());
+        assertThat(request.getValue().getURI(), is(GROUPS_URI + "/131074"));
+        assertThat(request.getValue().getPayloadString(), is("{\"5850\":1}"));
+        assertThat(sentToLights, is(Collections.emptyList()));
+    }
+
+    @Test
+    public void commandToSomeLightsOfGroupIsSentToLights() throws InterruptedException {
+        send(65537, ON);
+        send(65538, ON);
+        awaitFlush();
+
+        verify(client, never()).advanced(any(CoapHandler.class), any(Request.class));
+        assertThat(new HashSet<>(sentToLights), is(new HashSet<>(Arrays.asList(65537, 65538))));
+    }
+
+    @Test
+    public void lightWithoutCommandPreventsGroupCommand() throws InterruptedException {
+        // the light 65539 has no handler, so it does not receive the command
+        batcher.updateGroup(131074, new HashSet<>(Arrays.asList(65536, 65539, 65540, 65541)));
+        send(65540, ON);
+        send(65541, PLUG_ON);
+        awaitFlush();
+
+        verify(client, never()).advanced(any(CoapHandler.class), any(Request.class));
+        assertThat(new HashSet<>(sentToLights), is(new HashSet<>(Arrays.asList(65540, 65541))));
+    }
+
+    @Test
+    public void memberOfUnknownTypePreventsGroupCommand() throws InterruptedException {
+        batcher.updateGroup(131074, new HashSet<>(Arrays.asList(65540, 65541, 65543)));
+        send(65540, ON);
+        send(65541, PLUG_ON);
+        awaitFlush();
+
+        verify(client, never()).advanced(any(CoapHandler.class), any(Request.class));
+        assertThat(new HashSet<>(sentToLights), is(new HashSet<>(Arrays.asList(65540, 65541))));
+    }
+
+    @Test
+    public void replacedCommandIsSentWithoutLock() throws InterruptedException {
+        List<Boolean> locked = new CopyOnWriteArrayList<>();
+        batcher.send(65537, ON, () -> locked.add(Thread.holdsLock(batcher)));
+        send(65537, OFF);
+        awaitFlush();
+
+        assertThat(locked, is(Arrays.asList(false)));
+        assertThat(sentToLights, is(Arrays.asList(65537)));
+    }
+
+    @Test
+    public void colorCommandIsSentToLights() throws InterruptedException {
+        send(65537, COLOR);
+        send(65538, COLOR);
+        send(65539, COLOR);
+        awaitFlush();
+
+        verify(client, never()).advanced(any(CoapHandler.class), any(Request.class));
+        assertThat(sentToLights, is(Arrays.asList(65537, 65538, 65539)));
+    }
+
+    private void send(int instanceId, String payload) {
+        batcher.send(instanceId, payload, () -> sentToLights.add(instanceId));
+    }
+
+    private void awaitFlush() throws InterruptedException {
+        // delayed tasks are still executed after shutdown
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -13,8 +13,12 @@
 package org.openhab.binding.unifi.internal.api.cache;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -29,6 +33,9 @@ import org.slf4j.LoggerFactory;
  * Objects are then retrieved simply by using the <code>suffix</code> key component and all combinations of
  * <code>prefix:suffix</code> are searched in the order of their priority.
  *
+ * The cache is updated in place while it is read: {@link #startUpdate()} begins a new update, the objects are put as
+ * they are received and {@link #finishUpdate()} removes the keys which were not put since.
+ *
  * @author Matthew Bowman - Initial contribution
  */
 public abstract class UniFiCache<T> {
@@ -51,7 +58,9 @@ public abstract class UniFiCache<T> {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private Map<String, T> map = new HashMap<>();
+    private final Map<String, T> map = new ConcurrentHashMap<>();
+
+    private final Set<String> updatedKeys = ConcurrentHashMap.newKeySet();
 
     private String[] prefixes;
 
@@ -63,8 +72,8 @@ public abstract class UniFiCache<T> {
         T value = null;
         for (String prefix : prefixes) {
             String key = prefix + SEPARATOR + id;
-            if (map.containsKey(key)) {
-                value = map.get(key);
+            value = map.get(key);
+            if (value != null) {
                 logger.trace("Cache HIT : '{}' -> {}", key, value);
                 break;
             } else {
@@ -80,12 +89,43 @@ public abstract class UniFiCache<T> {
             if (StringUtils.isNotBlank(suffix)) {
                 String key = prefix + SEPARATOR + suffix;
                 map.put(key, value);
+                updatedKeys.add(key);
             }
         }
     }
 
     public final void putAll(UniFiCache<T> cache) {
         map.putAll(cache.map);
+        updatedKeys.addAll(cache.map.keySet());
+    }
+
+    /**
+     * Removes all keys of the value.
+     */
+    public final void remove(T value) {
+        map.values().removeIf(v -> v == value);
+    }
+
+    public final void startUpdate() {
+        updatedKeys.clear();
+    }
+
+    /**
+     * Removes the keys which were not put since {@link #startUpdate()}.
+     *
+     * @return the values of the removed keys
+     */
+    public final Collection<T> finishUpdate() {
+        Collection<T> removed = new HashSet<>();
+        for (Iterator<Entry<String, T>> it = map.entrySet().iterator(); it.hasNext();) {
+            Entry<String, T> entry = it.next();
+            if (!updatedKeys.contains(entry.getKey())) {
+                removed.add(entry.getValue());
+                it.remove();
+            }
+        }
+        updatedKeys.clear();
+        return removed;
     }
 
     public final Collection<T> values() {
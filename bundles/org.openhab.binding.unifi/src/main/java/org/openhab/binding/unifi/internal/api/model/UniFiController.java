@@ -12,12 +12,25 @@
  */
 package org.openhab.binding.unifi.internal.api.model;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpScheme;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.openhab.binding.unifi.internal.api.UniFiCommunicationException;
 import org.openhab.binding.unifi.internal.api.UniFiException;
 import org.openhab.binding.unifi.internal.api.UniFiExpiredSessionException;
 import org.openhab.binding.unifi.internal.api.UniFiNotAuthorizedException;
@@ -45,18 +58,35 @@ import com.google.gson.GsonBuilder;
 @NonNullByDefault
 public class UniFiController {
 
+    private static final long INSIGHTS_REFRESH_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
     private final Logger logger = LoggerFactory.getLogger(UniFiController.class);
 
-    private UniFiSiteCache sitesCache = new UniFiSiteCache();
+    private final UniFiSiteCache sitesCache = new UniFiSiteCache();
+
+    private final UniFiDeviceCache devicesCache = new UniFiDeviceCache();
+
+    private final UniFiClientCache clientsCache = new UniFiClientCache();
+
+    private final UniFiClientCache insightsCache = new UniFiClientCache();
+
+    private long lastInsightsRefresh;
 
-    private UniFiDeviceCache devicesCache = new UniFiDeviceCache();
+    private final List<UniFiEventStream> eventStreams = new ArrayList<>();
 
-    private UniFiClientCache clientsCache = new UniFiClientCache();
+    private @Nullable WebSocketClient webSocketClient;
 
-    private UniFiClientCache insightsCache = new UniFiClientCache();
+    private volatile @Nullable Runnable eventListener;
+
+    private final Object loginLock = new Object();
+
+    // incremented with every login, guarded by the loginLock
+    private volatile int logins;
 
     private final HttpClient httpClient;
 
+    private final ExecutorService executor;
+
     private final String host;
 
     private final int port;
@@ -67,8 +97,10 @@ public class UniFiController {
 
     private final Gson gson;
 
-    public UniFiController(HttpClient httpClient, String host, int port, String username, String password) {
+    public UniFiController(HttpClient httpClient, ExecutorService executor, String host, int port, String username,
+            String password) {
         this.httpClient = httpClient;
+        this.executor = executor;
         this.host = host;
         this.port = port;
         this.username = username;
@@ -92,6 +124,7 @@ public class UniFiController {
     }
 
     public void stop() throws UniFiException {
+        stopEventStreams();
         logout();
     }
 
@@ -103,7 +136,24 @@ public class UniFiController {
         // scurb: Changed strict = false to make blocking feature work
         req.setBodyParameter("strict", false);
         req.setBodyParameter("remember", false);
-        executeRequest(req);
+        synchronized (loginLock) {
+            executeRequest(req);
+            logins++;
+        }
+    }
+
+    /**
+     * Logs in again after a request found the session expired. The sites are refreshed in parallel, so their
+     * requests may all find the session expired, only the first of them logs in.
+     *
+     * @param expiredLogins the number of logins when the request was sent
+     */
+    private void login(int expiredLogins) throws UniFiException {
+        synchronized (loginLock) {
+            if (logins == expiredLogins) {
+                login();
+            }
+        }
     }
 
     public void logout() throws UniFiException {
@@ -112,12 +162,142 @@ public class UniFiController {
         executeRequest(req);
     }
 
+    /**
+     * Refreshes the sites and the devices, active clients and insights of all sites. The sites are requested in
+     * parallel and the caches are updated in place while the responses are read. The insights are only requested
+     * every {@link #INSIGHTS_REFRESH_INTERVAL}, clients which are no longer active are kept as insights in between.
+     */
     public void refresh() throws UniFiException {
         synchronized (this) {
-            sitesCache = getSites();
-            devicesCache = getDevices();
-            clientsCache = getClients();
-            insightsCache = getInsights();
+            sitesCache.startUpdate();
+            UniFiControllerRequest<UniFiSite> req = newRequest(UniFiSite.class);
+            req.setPath("/api/self/sites");
+            int count = executeRequest(req, sitesCache::put);
+            logger.debug("Found {} UniFi Site(s)", count);
+            sitesCache.finishUpdate();
+
+            boolean refreshInsights = System.nanoTime() - lastInsightsRefresh >= INSIGHTS_REFRESH_INTERVAL
+                    || lastInsightsRefresh == 0;
+            devicesCache.startUpdate();
+            clientsCache.startUpdate();
+            if (refreshInsights) {
+                insightsCache.startUpdate();
+            }
+            List<Callable<@Nullable Void>> tasks = new ArrayList<>();
+            for (UniFiSite site : sitesCache.values()) {
+                tasks.add(() -> refreshDevices(site));
+                tasks.add(() -> refreshClients(site));
+                if (refreshInsights) {
+                    tasks.add(() -> refreshInsights(site));
+                }
+            }
+            invokeAll(tasks);
+            devicesCache.finishUpdate();
+            if (refreshInsights) {
+                insightsCache.finishUpdate();
+                lastInsightsRefresh = System.nanoTime();
+            }
+            keepAsInsights(clientsCache.finishUpdate());
+        }
+    }
+
+    /**
+     * Refreshes only the active clients of all sites.
+     */
+    public void refreshClients() throws UniFiException {
+        synchronized (this) {
+            clientsCache.startUpdate();
+            List<Callable<@Nullable Void>> tasks = new ArrayList<>();
+            for (UniFiSite site : sitesCache.values()) {
+                tasks.add(() -> refreshClients(site));
+            }
+            invokeAll(tasks);
+            keepAsInsights(clientsCache.finishUpdate());
+        }
+    }
+
+    // Event API
+
+    /**
+     * Connects to the events of all sites, which are not connected yet. Disconnected clients are moved to the
+     * insights and the active clients of a site are refreshed when a client connected. The listener is called after
+     * the clients changed.
+     *
+     * @return true if the events of all sites are connected
+     */
+    public boolean startEventStreams(Runnable listener) {
+        synchronized (eventStreams) {
+            eventListener = listener;
+            eventStreams.removeIf(stream -> !stream.isConnected());
+            try {
+                WebSocketClient client = webSocketClient;
+                if (client == null) {
+                    // the websocket upgrade uses the http client, so the session cookie of the login is sent
+                    client = new WebSocketClient(httpClient);
+                    client.start();
+                    webSocketClient = client;
+                }
+                for (UniFiSite site : sitesCache.values()) {
+                    // the sites are parsed again with every refresh, so they are compared by name
+                    if (eventStreams.stream().noneMatch(stream -> stream.getSite().getName().equals(site.getName()))) {
+                        UniFiEventStream stream = new UniFiEventStream(this, site);
+                        URI uri = new URI(HttpScheme.WSS.asString(), null, host, port,
+                                "/wss/s/" + site.getName() + "/events", null, null);
+                        logger.debug("Connecting to the events of UniFi site {}: {}", site.getName(), uri);
+                        client.connect(stream, uri, new ClientUpgradeRequest());
+                        eventStreams.add(stream);
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Could not connect to the events of the UniFi controller: {}", e.getMessage());
+                return false;
+            }
+            return !eventStreams.isEmpty() && eventStreams.stream().allMatch(UniFiEventStream::isConnected);
+        }
+    }
+
+    public void stopEventStreams() {
+        synchronized (eventStreams) {
+            eventStreams.forEach(UniFiEventStream::close);
+            eventStreams.clear();
+            eventListener = null;
+            WebSocketClient client = webSocketClient;
+            if (client != null) {
+                try {
+                    client.stop();
+                } catch (Exception e) {
+                    logger.debug("Could not stop the websocket client: {}", e.getMessage());
+                }
+                webSocketClient = null;
+            }
+        }
+    }
+
+    protected void onClientDisconnected(String mac) {
+        UniFiClient client = clientsCache.get(mac);
+        if (client != null) {
+            logger.debug("UniFi Client {} disconnected", mac);
+            clientsCache.remove(client);
+            insightsCache.put(client);
+            notifyEventListener();
+        }
+    }
+
+    protected void onClientConnected(UniFiSite site) {
+        executor.execute(() -> {
+            try {
+                refreshClients(site);
+                notifyEventListener();
+            } catch (UniFiException e) {
+                logger.debug("Could not refresh the clients of UniFi site {}: {}", site.getName(), e.getMessage());
+            }
+        });
+    }
+
+    private void notifyEventListener() {
+        Runnable listener = eventListener;
+        if (listener != null) {
+            listener.run();
         }
     }
 
@@ -126,9 +306,7 @@ public class UniFiController {
     public @Nullable UniFiSite getSite(@Nullable String id) {
         UniFiSite site = null;
         if (StringUtils.isNotBlank(id)) {
-            synchronized (this) {
-                site = sitesCache.get(id);
-            }
+            site = sitesCache.get(id);
             if (site == null) {
                 logger.debug("Could not find a matching site for id = '{}'", id);
             }
@@ -141,9 +319,7 @@ public class UniFiController {
     public @Nullable UniFiDevice getDevice(@Nullable String id) {
         UniFiDevice device = null;
         if (StringUtils.isNotBlank(id)) {
-            synchronized (this) {
-                device = devicesCache.get(id);
-            }
+            device = devicesCache.get(id);
             if (device == null) {
                 logger.debug("Could not find a matching device for id = '{}'", id);
             }
@@ -156,12 +332,10 @@ public class UniFiController {
     public @Nullable UniFiClient getClient(@Nullable String id) {
         UniFiClient client = null;
         if (StringUtils.isNotBlank(id)) {
-            synchronized (this) {
-                // mgb: first check active clients and fallback to insights if not found
-                client = clientsCache.get(id);
-                if (client == null) {
-                    client = insightsCache.get(id);
-                }
+            // mgb: first check active clients and fallback to insights if not found
+            client = clientsCache.get(id);
+            if (client == null) {
+                client = insightsCache.get(id);
             }
             if (client == null) {
                 logger.debug("Could not find a matching client for id = {}", id);
@@ -193,11 +367,12 @@ public class UniFiController {
     }
 
     private <T> @Nullable T executeRequest(UniFiControllerRequest<T> request) throws UniFiException {
+        int expiredLogins = logins;
         T result;
         try {
             result = request.execute();
         } catch (UniFiExpiredSessionException e) {
-            login();
+            login(expiredLogins);
             result = executeRequest(request);
         } catch (UniFiNotAuthorizedException e) {
             logger.warn("Not Authorized! Please make sure your controller credentials have administrator rights");
@@ -206,101 +381,73 @@ public class UniFiController {
         return result;
     }
 
-    private UniFiSiteCache getSites() throws UniFiException {
-        UniFiControllerRequest<UniFiSite[]> req = newRequest(UniFiSite[].class);
-        req.setPath("/api/self/sites");
-        UniFiSite[] sites = executeRequest(req);
-        UniFiSiteCache cache = new UniFiSiteCache();
-        if (sites != null) {
-            logger.debug("Found {} UniFi Site(s): {}", sites.length, lazyFormatAsList(sites));
-            for (UniFiSite site : sites) {
-                cache.put(site);
-            }
-        }
-        return cache;
-    }
-
-    private UniFiDeviceCache getDevices() throws UniFiException {
-        UniFiDeviceCache cache = new UniFiDeviceCache();
-        Collection<UniFiSite> sites = sitesCache.values();
-        for (UniFiSite site : sites) {
-            cache.putAll(getDevices(site));
+    private <T> int executeRequest(UniFiControllerRequest<T> request, Consumer<T> consumer) throws UniFiException {
+        int expiredLogins = logins;
+        int count;
+        try {
+            count = request.execute(consumer);
+        } catch (UniFiExpiredSessionException e) {
+            login(expiredLogins);
+            count = executeRequest(request, consumer);
+        } catch (UniFiNotAuthorizedException e) {
+            logger.warn("Not Authorized! Please make sure your controller credentials have administrator rights");
+            count = 0;
         }
-        return cache;
+        return count;
     }
 
-    private UniFiDeviceCache getDevices(UniFiSite site) throws UniFiException {
-        UniFiControllerRequest<UniFiDevice[]> req = newRequest(UniFiDevice[].class);
-        req.setPath("/api/s/" + site.getName() + "/stat/device");
-        UniFiDevice[] devices = executeRequest(req);
-        UniFiDeviceCache cache = new UniFiDeviceCache();
-        if (devices != null) {
-            logger.debug("Found {} UniFi Device(s): {}", devices.length, lazyFormatAsList(devices));
-            for (UniFiDevice device : devices) {
-                cache.put(device);
+    private void invokeAll(List<Callable<@Nullable Void>> tasks) throws UniFiException {
+        try {
+            for (Future<@Nullable Void> future : executor.invokeAll(tasks)) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UniFiCommunicationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UniFiException) {
+                throw (UniFiException) cause;
+            }
+            throw new UniFiException(cause);
         }
-        return cache;
     }
 
-    private UniFiClientCache getClients() throws UniFiException {
-        UniFiClientCache cache = new UniFiClientCache();
-        Collection<UniFiSite> sites = sitesCache.values();
-        for (UniFiSite site : sites) {
-            cache.putAll(getClients(site));
-        }
-        return cache;
+    private @Nullable Void refreshDevices(UniFiSite site) throws UniFiException {
+        UniFiControllerRequest<UniFiDevice> req = newRequest(UniFiDevice.class);
+        req.setPath("/api/s/" + site.getName() + "/stat/device");
+        int count = executeRequest(req, devicesCache::put);
+        logger.debug("Found {} UniFi Device(s) in site {}", count, site.getName());
+        return null;
     }
 
-    private UniFiClientCache getClients(UniFiSite site) throws UniFiException {
-        UniFiControllerRequest<UniFiClient[]> req = newRequest(UniFiClient[].class);
+    private @Nullable Void refreshClients(UniFiSite site) throws UniFiException {
+        UniFiControllerRequest<UniFiClient> req = newRequest(UniFiClient.class);
         req.setPath("/api/s/" + site.getName() + "/stat/sta");
-        UniFiClient[] clients = executeRequest(req);
-        UniFiClientCache cache = new UniFiClientCache();
-        if (clients != null) {
-            logger.debug("Found {} UniFi Client(s): {}", clients.length, lazyFormatAsList(clients));
-            for (UniFiClient client : clients) {
-                cache.put(client);
-            }
-        }
-        return cache;
+        int count = executeRequest(req, clientsCache::put);
+        logger.debug("Found {} UniFi Client(s) in site {}", count, site.getName());
+        return null;
     }
 
-    private UniFiClientCache getInsights() throws UniFiException {
-        UniFiClientCache cache = new UniFiClientCache();
-        Collection<UniFiSite> sites = sitesCache.values();
-        for (UniFiSite site : sites) {
-            cache.putAll(getInsights(site));
-        }
-        return cache;
-    }
-
-    private UniFiClientCache getInsights(UniFiSite site) throws UniFiException {
-        UniFiControllerRequest<UniFiClient[]> req = newRequest(UniFiClient[].class);
+    private @Nullable Void refreshInsights(UniFiSite site) throws UniFiException {
+        UniFiControllerRequest<UniFiClient> req = newRequest(UniFiClient.class);
         req.setPath("/api/s/" + site.getName() + "/stat/alluser");
         req.setQueryParameter("within", 168); // scurb: Changed to 7 days.
-        UniFiClient[] clients = executeRequest(req);
-        UniFiClientCache cache = new UniFiClientCache();
-        if (clients != null) {
-            logger.debug("Found {} UniFi Insights(s): {}", clients.length, lazyFormatAsList(clients));
-            for (UniFiClient client : clients) {
-                cache.put(client);
-            }
-        }
-        return cache;
+        int count = executeRequest(req, insightsCache::put);
+        logger.debug("Found {} UniFi Insights(s) in site {}", count, site.getName());
+        return null;
     }
 
-    private static Object lazyFormatAsList(Object[] arr) {
-        return new Object() {
-
-            @Override
-            public String toString() {
-                String value = "";
-                for (Object o : arr) {
-                    value += "\n - " + o.toString();
-                }
-                return value;
+    /**
+     * Keeps the clients which are no longer active as insights, so they are found with their last seen time until
+     * the insights are requested again.
+     */
+    private void keepAsInsights(Collection<UniFiClient> clients) {
+        for (UniFiClient client : clients) {
+            if (clientsCache.get(client.getMac()) == null) {
+                logger.debug("UniFi Client {} is no longer active", client.getMac());
+                insightsCache.put(client);
             }
-        };
+        }
     }
 }
@@ -12,6 +12,9 @@
  */
 package org.openhab.binding.unifi.internal.api.model;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.ConnectException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
@@ -21,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import javax.net.ssl.SSLException;
 
@@ -31,6 +35,8 @@ import org.eclipse.jetty.client.HttpResponseException;
 import org.eclipse.jetty.client.api.ContentProvider;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpScheme;
@@ -51,9 +57,12 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * The {@link UniFiControllerRequest} encapsulates a request sent by the {@link UniFiController}.
@@ -124,18 +133,82 @@ public class UniFiControllerRequest<T> {
         return result;
     }
 
+    /**
+     * Executes the request and passes the elements of the <code>data</code> array to the consumer while the response
+     * is read. Neither the content nor the array are kept in memory.
+     *
+     * @param consumer receives the deserialized elements of the result type
+     * @return the number of elements received
+     */
+    public int execute(Consumer<T> consumer) throws UniFiException {
+        Request request = newRequest();
+        logger.trace(">> {} {}", request.getMethod(), request.getURI());
+        InputStreamResponseListener listener = new InputStreamResponseListener();
+        request.send(listener);
+        int status;
+        try {
+            Response response = listener.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            status = response.getStatus();
+        } catch (TimeoutException | InterruptedException e) {
+            request.abort(e);
+            throw new UniFiCommunicationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HttpResponseException) {
+                // see getContentResponse() for the missing WWW-Authenticate header
+                status = ((HttpResponseException) cause).getResponse().getStatus();
+            } else {
+                throw getException(cause);
+            }
+        }
+        int count = 0;
+        try (InputStream content = listener.getInputStream()) {
+            checkStatus(status);
+            logger.trace("<< {} {}", status, HttpStatus.getMessage(status));
+            JsonReader reader = new JsonReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (PROPERTY_DATA.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        T element = gson.fromJson(reader, resultType);
+                        if (element != null) {
+                            logger.trace("<< {}", element);
+                            consumer.accept(element);
+                            count++;
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException e) {
+            throw new UniFiCommunicationException(e);
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new UniFiException(e);
+        }
+        return count;
+    }
+
     // Private API
 
     private String getContent() throws UniFiException {
         String content;
         ContentResponse response = getContentResponse();
         int status = response.getStatus();
+        checkStatus(status);
+        content = response.getContentAsString();
+        if (logger.isTraceEnabled()) {
+            logger.trace("<< {} {} \n{}", status, HttpStatus.getMessage(status), prettyPrintJson(content));
+        }
+        return content;
+    }
+
+    private void checkStatus(int status) throws UniFiException {
         switch (status) {
             case HttpStatus.OK_200:
-                content = response.getContentAsString();
-                if (logger.isTraceEnabled()) {
-                    logger.trace("<< {} {} \n{}", status, HttpStatus.getMessage(status), prettyPrintJson(content));
-                }
                 break;
             case HttpStatus.BAD_REQUEST_400:
                 throw new UniFiInvalidCredentialsException("Invalid Credentials");
@@ -146,7 +219,6 @@ public class UniFiControllerRequest<T> {
             default:
                 throw new UniFiException("Unknown HTTP status code " + status + " returned by the controller");
         }
-        return content;
     }
 
     private ContentResponse getContentResponse() throws UniFiException {
@@ -160,16 +232,7 @@ public class UniFiControllerRequest<T> {
         } catch (ExecutionException e) {
             // mgb: unwrap the cause and try to cleanly handle it
             Throwable cause = e.getCause();
-            if (cause instanceof UnknownHostException) {
-                // invalid hostname
-                throw new UniFiInvalidHostException(cause);
-            } else if (cause instanceof ConnectException) {
-                // cannot connect
-                throw new UniFiCommunicationException(cause);
-            } else if (cause instanceof SSLException) {
-                // cannot establish ssl connection
-                throw new UniFiSSLException(cause);
-            } else if (cause instanceof HttpResponseException
+            if (cause instanceof HttpResponseException
                     && ((HttpResponseException) cause).getResponse() instanceof ContentResponse) {
                 // the UniFi controller violates the HTTP protocol
                 // - it returns 401 UNAUTHORIZED without the WWW-Authenticate response header
@@ -177,13 +240,27 @@ public class UniFiControllerRequest<T> {
                 // - we unwrap the response from the exception for proper handling of the 401 status code
                 response = (ContentResponse) ((HttpResponseException) cause).getResponse();
             } else {
-                // catch all
-                throw new UniFiException(cause);
+                throw getException(cause);
             }
         }
         return response;
     }
 
+    private UniFiException getException(Throwable cause) {
+        if (cause instanceof UnknownHostException) {
+            // invalid hostname
+            return new UniFiInvalidHostException(cause);
+        } else if (cause instanceof ConnectException) {
+            // cannot connect
+            return new UniFiCommunicationException(cause);
+        } else if (cause instanceof SSLException) {
+            // cannot establish ssl connection
+            return new UniFiSSLException(cause);
+        }
+        // catch all
+        return new UniFiException(cause);
+    }
+
     private Request newRequest() {
         HttpMethod method = bodyParameters.isEmpty() ? HttpMethod.GET : HttpMethod.POST;
         HttpURI uri = new HttpURI(HttpScheme.HTTPS.asString(), host, port, path);
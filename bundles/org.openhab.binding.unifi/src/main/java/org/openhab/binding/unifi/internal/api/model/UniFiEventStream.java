@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.unifi.internal.api.model;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * The {@link UniFiEventStream} receives the events of a site from the websocket of the controller. Clients which
+ * disconnected or connected are passed to the {@link UniFiController}.
+ *
+ * @author agent - Initial contribution
+ */
+@WebSocket
+@NonNullByDefault
+public class UniFiEventStream {
+
+    private static final String PROPERTY_META = "meta";
+
+    private static final String PROPERTY_MESSAGE = "message";
+
+    private static final String PROPERTY_DATA = "data";
+
+    private static final String PROPERTY_KEY = "key";
+
+    private static final String PROPERTY_USER = "user";
+
+    private static final String MESSAGE_EVENTS = "events";
+
+    private final Logger logger = LoggerFactory.getLogger(UniFiEventStream.class);
+
+    private final UniFiController controller;
+
+    private final UniFiSite site;
+
+    private volatile @Nullable Session session;
+
+    public UniFiEventStream(UniFiController controller, UniFiSite site) {
+        this.controller = controller;
+        this.site = site;
+    }
+
+    public UniFiSite getSite() {
+        return site;
+    }
+
+    public boolean isConnected() {
+        Session session = this.session;
+        return session != null && session.isOpen();
+    }
+
+    public void close() {
+        Session session = this.session;
+        if (session != null) {
+            session.close();
+        }
+        this.session = null;
+    }
+
+    @OnWebSocketConnect
+    public void onConnect(Session session) {
+        logger.debug("Connected to the events of UniFi site {}", site.getName());
+        this.session = session;
+    }
+
+    @OnWebSocketClose
+    public void onClose(int statusCode, String reason) {
+        logger.debug("Events of UniFi site {} closed: {} - {}", site.getName(), statusCode, reason);
+        this.session = null;
+    }
+
+    @OnWebSocketError
+    public void onError(Throwable cause) {
+        logger.debug("Error on the events of UniFi site {}: {}", site.getName(), cause.getMessage());
+        this.session = null;
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(String message) {
+        logger.trace("<< {}", message);
+        try {
+            JsonObject json = new JsonParser().parse(message).getAsJsonObject();
+            JsonElement meta = json.get(PROPERTY_META);
+            JsonElement data = json.get(PROPERTY_DATA);
+            if (meta == null || !meta.isJsonObject() || data == null || !data.isJsonArray()) {
+                return;
+            }
+            JsonElement type = meta.getAsJsonObject().get(PROPERTY_MESSAGE);
+            if (type == null || !MESSAGE_EVENTS.equals(type.getAsString())) {
+                return;
+            }
+            for (JsonElement event : data.getAsJsonArray()) {
+                JsonElement key = event.getAsJsonObject().get(PROPERTY_KEY);
+                JsonElement user = event.getAsJsonObject().get(PROPERTY_USER);
+                if (key == null || user == null) {
+                    continue;
+                }
+                // e.g. EVT_WU_Connected, EVT_WG_Disconnected or EVT_LU_Disconnected
+                String eventKey = key.getAsString();
+                if (eventKey.endsWith("_Disconnected")) {
+                    controller.onClientDisconnected(user.getAsString());
+                } else if (eventKey.endsWith("_Connected")) {
+                    controller.onClientConnected(site);
+                }
+            }
+        } catch (JsonSyntaxException | IllegalStateException | UnsupportedOperationException e) {
+            logger.debug("Ignoring invalid event of UniFi site {}: {}", site.getName(), e.getMessage());
+        }
+    }
+}
@@ -16,12 +16,14 @@ import static org.eclipse.smarthome.core.thing.ThingStatus.OFFLINE;
 import static org.eclipse.smarthome.core.thing.ThingStatus.ONLINE;
 import static org.eclipse.smarthome.core.thing.ThingStatusDetail.*;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -63,6 +65,9 @@ public class UniFiControllerThingHandler extends BaseBridgeHandler {
 
     private static final String STATUS_DESCRIPTION_INVALID_HOSTNAME = "Invalid hostname - please double-check your configuration";
 
+    // mgb: with connected event streams the devices and insights are refreshed less often
+    private static final long FULL_REFRESH_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
     private final Logger logger = LoggerFactory.getLogger(UniFiControllerThingHandler.class);
 
     private UniFiControllerThingConfig config = new UniFiControllerThingConfig();
@@ -73,6 +78,12 @@ public class UniFiControllerThingHandler extends BaseBridgeHandler {
 
     private final HttpClient httpClient;
 
+    private final ExecutorService executor = ThreadPoolManager.getPool(UniFiBindingConstants.BINDING_ID);
+
+    private boolean eventStreamConnected;
+
+    private long lastFullRefresh;
+
     public UniFiControllerThingHandler(Bridge bridge, HttpClient httpClient) {
         super(bridge);
         this.httpClient = httpClient;
@@ -87,8 +98,13 @@ public class UniFiControllerThingHandler extends BaseBridgeHandler {
         config = getConfig().as(UniFiControllerThingConfig.class);
         logger.debug("Initializing the UniFi Controller Handler with config = {}", config);
         try {
-            controller = new UniFiController(httpClient, config.getHost(), config.getPort(), config.getUsername(),
-                    config.getPassword());
+            UniFiController previous = controller;
+            if (previous != null) {
+                previous.stopEventStreams();
+            }
+            eventStreamConnected = false;
+            controller = new UniFiController(httpClient, executor, config.getHost(), config.getPort(),
+                    config.getUsername(), config.getPassword());
             controller.start();
             updateStatus(ONLINE);
         } catch (UniFiInvalidHostException e) {
@@ -185,15 +201,29 @@ public class UniFiControllerThingHandler extends BaseBridgeHandler {
     }
 
     private void refresh() throws UniFiException {
+        UniFiController controller = this.controller;
         if (controller != null) {
-            logger.debug("Refreshing the UniFi Controller {}", getThing().getUID());
-            controller.refresh();
-            // mgb: then refresh all the client things
-            getThing().getThings().forEach((thing) -> {
-                if (thing.getHandler() instanceof UniFiBaseThingHandler) {
-                    ((UniFiBaseThingHandler) thing.getHandler()).refresh();
-                }
-            });
+            if (eventStreamConnected && System.nanoTime() - lastFullRefresh < FULL_REFRESH_INTERVAL) {
+                logger.debug("Refreshing the clients of the UniFi Controller {}", getThing().getUID());
+                controller.refreshClients();
+            } else {
+                logger.debug("Refreshing the UniFi Controller {}", getThing().getUID());
+                controller.refresh();
+                lastFullRefresh = System.nanoTime();
+            }
+            if (config.isEventStream()) {
+                eventStreamConnected = controller.startEventStreams(this::refreshThings);
+            }
+            refreshThings();
         }
     }
+
+    private void refreshThings() {
+        // mgb: then refresh all the client things
+        getThing().getThings().forEach((thing) -> {
+            if (thing.getHandler() instanceof UniFiBaseThingHandler) {
+                ((UniFiBaseThingHandler) thing.getHandler()).refresh();
+            }
+        });
+    }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.unifi.internal.api.model;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the refresh of the {@link UniFiController} against the {@link UniFiMockController}.
+ *
+ * @author agent - Initial contribution
+ */
+public class UniFiControllerTest {
+
+    private static final String DEVICE_1 = "00:00:00:00:01:01";
+    private static final String DEVICE_2 = "00:00:00:00:01:02";
+    private static final String DEVICE_3 = "00:00:00:00:01:03";
+    private static final String CLIENT_1 = "00:00:00:00:02:01";
+    private static final String CLIENT_2 = "00:00:00:00:02:02";
+    private static final String CLIENT_3 = "00:00:00:00:02:03";
+    private static final String INSIGHT = "00:00:00:00:03:01";
+
+    private UniFiMockController mock;
+    private HttpClient httpClient;
+    private ExecutorService executor;
+    private UniFiController controller;
+
+    @Before
+    public void setUp() throws Exception {
+        mock = new UniFiMockController();
+        mock.addSite("default");
+        mock.addSite("office");
+        mock.setDevices("default", DEVICE_1, DEVICE_2);
+        mock.setDevices("office", DEVICE_3);
+        mock.setClients("default", CLIENT_1, CLIENT_2);
+        mock.setClients("office", CLIENT_3);
+        mock.setInsights("default", CLIENT_1, CLIENT_2, INSIGHT);
+        mock.setInsights("office", CLIENT_3);
+
+        httpClient = new HttpClient(new SslContextFactory.Client(true));
+        httpClient.start();
+        executor = Executors.newFixedThreadPool(6);
+        controller = new UniFiController(httpClient, executor, "localhost", mock.getPort(),
+                UniFiMockController.USERNAME, UniFiMockController.PASSWORD);
+        controller.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        httpClient.stop();
+        mock.close();
+    }
+
+    @Test
+    public void refreshStreamsTheResponsesIntoTheCaches() throws Exception {
+        controller.refresh();
+
+        UniFiSite office = controller.getSite("office");
+        assertThat(office, is(notNullValue()));
+        assertThat(controller.getSite("id-office"), is(sameInstance(office)));
+        assertThat(controller.getSite("Site office"), is(sameInstance(office)));
+
+        for (String mac : new String[] { DEVICE_1, DEVICE_2, DEVICE_3 }) {
+            assertThat(controller.getDevice(mac).getName(), is("device " + mac));
+        }
+        assertThat(controller.getDevice(DEVICE_3).getSite(), is(sameInstance(office)));
+
+        UniFiClient client = controller.getClient(CLIENT_3);
+        assertThat(client.getSite(), is(sameInstance(office)));
+        assertThat(client.isWireless(), is(true));
+        assertThat(controller.getClient("host-000000000203"), is(sameInstance(client)));
+        assertThat(controller.getClient(CLIENT_1), is(notNullValue()));
+        assertThat(controller.getClient(INSIGHT), is(notNullValue()));
+    }
+
+    @Test
+    public void finishUpdateEvictsWhatIsNoLongerReturned() throws Exception {
+        controller.refresh();
+        UniFiDevice device = controller.getDevice(DEVICE_1);
+
+        mock.setDevices("default", DEVICE_1);
+        mock.removeSite("office");
+        controller.refresh();
+
+        // the device is updated in place, the cache keeps the instance of the new response
+        assertThat(controller.getDevice(DEVICE_1), is(notNullValue()));
+        assertThat(controller.getDevice(DEVICE_1), is(not(sameInstance(device))));
+        assertThat(controller.getDevice(DEVICE_2), is(nullValue()));
+        assertThat(controller.getDevice(DEVICE_3), is(nullValue()));
+        assertThat(controller.getSite("office"), is(nullValue()));
+        assertThat(controller.getSite("default"), is(notNullValue()));
+    }
+
+    @Test
+    public void inactiveClientsAreKeptAsInsights() throws Exception {
+        controller.refresh();
+        mock.takeRequests();
+
+        // the client is gone, but the insights are not requested again yet
+        mock.setClients("default", CLIENT_1);
+        mock.setInsights("default", CLIENT_1, INSIGHT);
+        controller.refreshClients();
+        controller.refresh();
+
+        assertThat(mock.takeRequests(), not(hasItem("/api/s/default/stat/alluser")));
+        UniFiClient client = controller.getClient(CLIENT_2);
+        assertThat(client, is(notNullValue()));
+        assertThat(client.getMac(), is(CLIENT_2));
+        assertThat(controller.getClient(INSIGHT), is(notNullValue()));
+    }
+
+    @Test
+    public void expiredSessionDuringParallelRefreshLogsInOnce() throws Exception {
+        controller.refresh();
+        assertThat(mock.getLogins(), is(1));
+
+        // the devices and clients of both sites are requested in parallel
+        mock.expireSessionAfterSites(4);
+        mock.setClients("office", CLIENT_3, INSIGHT);
+        controller.refresh();
+
+        assertThat(mock.getExpiredRequests(), is(4));
+        assertThat(mock.getLogins(), is(2));
+        assertThat(controller.getDevice(DEVICE_3), is(notNullValue()));
+        assertThat(controller.getClient(INSIGHT).getSite(), is(sameInstance(controller.getSite("office"))));
+        List<String> requests = mock.takeRequests();
+        assertThat(requests.stream().filter("/api/s/office/stat/sta"::equals).count(), is(3L));
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.unifi.internal.api.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * A UniFi controller for the tests, which answers the requests of the {@link UniFiController} with the sites,
+ * devices, clients and insights set by the test. Requests without the session cookie of the last login are answered
+ * with 401 like the real controller does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class UniFiMockController implements AutoCloseable {
+
+    public static final String USERNAME = "admin";
+    public static final String PASSWORD = "secret";
+
+    private static final String KEYSTORE = "/unifi-mock-controller.jks";
+    private static final char[] KEYSTORE_PASSWORD = "openhab".toCharArray();
+    private static final String SESSION_COOKIE = "unifises";
+    private static final Pattern SITE_PATH = Pattern.compile("/api/s/([^/]+)/stat/(device|sta|alluser)");
+    private static final long EXPIRED_WAIT_SECONDS = 2;
+
+    private final HttpsServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final JsonArray sites = new JsonArray();
+    private final Map<String, JsonArray> devices = new ConcurrentHashMap<>();
+    private final Map<String, JsonArray> clients = new ConcurrentHashMap<>();
+    private final Map<String, JsonArray> insights = new ConcurrentHashMap<>();
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger expiredRequests = new AtomicInteger();
+
+    private volatile @Nullable String session;
+    private volatile boolean expireAfterSites;
+    private volatile CountDownLatch expiredLatch = new CountDownLatch(0);
+
+    public UniFiMockController() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream in = UniFiMockController.class.getResourceAsStream(KEYSTORE)) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, KEYSTORE_PASSWORD);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public synchronized void addSite(String name) {
+        JsonObject site = new JsonObject();
+        site.addProperty("_id", "id-" + name);
+        site.addProperty("name", name);
+        site.addProperty("desc", "Site " + name);
+        sites.add(site);
+        devices.put(name, new JsonArray());
+        clients.put(name, new JsonArray());
+        insights.put(name, new JsonArray());
+    }
+
+    public synchronized void removeSite(String name) {
+        for (int i = 0; i < sites.size(); i++) {
+            if (name.equals(sites.get(i).getAsJsonObject().get("name").getAsString())) {
+                sites.remove(i);
+                break;
+            }
+        }
+        devices.remove(name);
+        clients.remove(name);
+        insights.remove(name);
+    }
+
+    public void setDevices(String site, String... macs) {
+        JsonArray array = new JsonArray();
+        for (String mac : macs) {
+            JsonObject device = new JsonObject();
+            device.addProperty("_id", "id-" + mac);
+            device.addProperty("mac", mac);
+            device.addProperty("name", "device " + mac);
+            device.addProperty("model", "U7PG2");
+            device.addProperty("site_id", "id-" + site);
+            array.add(device);
+        }
+        devices.put(site, array);
+    }
+
+    public void setClients(String site, String... macs) {
+        clients.put(site, createClients(site, macs));
+    }
+
+    public void setInsights(String site, String... macs) {
+        insights.put(site, createClients(site, macs));
+    }
+
+    private JsonArray createClients(String site, String... macs) {
+        JsonArray array = new JsonArray();
+        for (String mac : macs) {
+            JsonObject client = new JsonObject();
+            client.addProperty("_id", "id-" + mac);
+            client.addProperty("site_id", "id-" + site);
+            client.addProperty("mac", mac);
+            client.addProperty("hostname", "host-" + mac.replace(":", ""));
+            client.addProperty("is_wired", false);
+            client.addProperty("ap_mac", "00:00:00:00:00:01");
+            client.addProperty("essid", "openHAB");
+            client.addProperty("last_seen", 1577836800);
+            array.add(client);
+        }
+        return array;
+    }
+
+    /**
+     * Expires the session after the next request of the sites, so the requests of all sites find it expired. They
+     * are answered together after the given number of requests found the session expired.
+     *
+     * @param parallelRequests the number of requests expected in parallel
+     */
+    public void expireSessionAfterSites(int parallelRequests) {
+        expiredLatch = new CountDownLatch(parallelRequests);
+        expireAfterSites = true;
+    }
+
+    public int getLogins() {
+        return logins.get();
+    }
+
+    public int getExpiredRequests() {
+        return expiredRequests.get();
+    }
+
+    /**
+     * @return the paths of all requests since the last call
+     */
+    public List<String> takeRequests() {
+        List<String> taken = new CopyOnWriteArrayList<>(requests);
+        requests.removeAll(taken);
+        return taken;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            requests.add(path);
+            if ("/api/login".equals(path)) {
+                login(exchange);
+                return;
+            }
+            if ("/logout".equals(path)) {
+                session = null;
+                respond(exchange, 200, new JsonArray());
+                return;
+            }
+            if (!hasSession(exchange)) {
+                expiredRequests.incrementAndGet();
+                CountDownLatch latch = expiredLatch;
+                latch.countDown();
+                latch.await(EXPIRED_WAIT_SECONDS, TimeUnit.SECONDS);
+                respond(exchange, 401, new JsonArray());
+                return;
+            }
+            if ("/api/self/sites".equals(path)) {
+                synchronized (this) {
+                    respond(exchange, 200, sites);
+                }
+                if (expireAfterSites) {
+                    expireAfterSites = false;
+                    session = null;
+                }
+                return;
+            }
+            Matcher matcher = SITE_PATH.matcher(path);
+            if (matcher.matches()) {
+                Map<String, JsonArray> data = "device".equals(matcher.group(2)) ? devices
+                        : "sta".equals(matcher.group(2)) ? clients : insights;
+                JsonArray array = data.get(matcher.group(1));
+                respond(exchange, 200, array != null ? array : new JsonArray());
+                return;
+            }
+            respond(exchange, 404, new JsonArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 500, new JsonArray());
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonObject body = new JsonParser()
+                .parse(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)).getAsJsonObject();
+        if (!USERNAME.equals(body.get("username").getAsString())
+                || !PASSWORD.equals(body.get("password").getAsString())) {
+            respond(exchange, 400, new JsonArray());
+            return;
+        }
+        String session = UUID.randomUUID().toString();
+        this.session = session;
+        logins.incrementAndGet();
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/");
+        respond(exchange, 200, new JsonArray());
+    }
+
+    private boolean hasSession(HttpExchange exchange) {
+        String session = this.session;
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        return session != null && cookies != null
+                && cookies.stream().anyMatch(cookie -> cookie.contains(SESSION_COOKIE + "=" + session));
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonArray data) throws IOException {
+        JsonObject meta = new JsonObject();
+        meta.addProperty("rc", status == 200 ? "ok" : "error");
+        JsonObject response = new JsonObject();
+        response.add("meta", meta);
+        response.add("data", data);
+        byte[] content = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.io.hueemulation.internal;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -101,6 +102,23 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer(this)).create();
 
+    /**
+     * Serialized lights, only re-rendered if the item state, label or last hue command of a light changed
+     */
+    public final JsonFragmentCache<HueLightEntry> lightsJson = new JsonFragmentCache<>(gson, "lights",
+            light -> Arrays.asList(light.item, light.item.getState(), light.item.getLabel(), light.lastCommand,
+                    light.lastHueChange));
+
+    /**
+     * Serialized groups, only re-rendered if the group item, its members or the group action changed. The lights are
+     * computed before, like the serializer does, so the fingerprint matches the rendered fragment.
+     */
+    public final JsonFragmentCache<HueGroupEntry> groupsJson = new JsonFragmentCache<>(gson, "groups", group -> {
+        group.updateLights(this);
+        return Arrays.asList(group.groupItem, group.action, group.name, group.type, group.roomclass, group.lights,
+                group.sensors);
+    });
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
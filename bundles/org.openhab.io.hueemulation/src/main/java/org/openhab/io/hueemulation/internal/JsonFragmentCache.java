@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON of every entry of one {@link org.openhab.io.hueemulation.internal.dto.HueDataStore}
+ * map (lights, groups) and assembles the full map response out of those fragments.
+ * <p>
+ * An entry is only serialized again if its fingerprint (for example the item state, label and last command)
+ * changed or if it got invalidated by the item registry listener. If nothing changed since the last request,
+ * the previously assembled response and its version tag are returned as is, which allows clients to use
+ * conditional requests (ETag / If-None-Match).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonFragmentCache<T> {
+    private static class Fragment {
+        final List<@Nullable Object> fingerprint;
+        final String json;
+
+        Fragment(List<@Nullable Object> fingerprint, String json) {
+            this.fingerprint = fingerprint;
+            this.json = json;
+        }
+    }
+
+    /**
+     * An assembled response and the version tag that belongs to it.
+     */
+    public static class Snapshot {
+        public final String json;
+        public final String etag;
+
+        Snapshot(String json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+    }
+
+    private final Gson gson;
+    private final String name;
+    private final Function<T, List<@Nullable Object>> fingerprintFunction;
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    // Distinguishes tags of different service runs, the version counter starts from zero again after a restart
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private long version = 0;
+    private @Nullable Snapshot snapshot;
+
+    /**
+     * Creates a fragment cache.
+     *
+     * @param gson The gson instance with all hue type adapters registered
+     * @param name A name that is used as part of the version tag
+     * @param fingerprintFunction Returns all values the serialized form of an entry depends on
+     */
+    public JsonFragmentCache(Gson gson, String name, Function<T, List<@Nullable Object>> fingerprintFunction) {
+        this.gson = gson;
+        this.name = name;
+        this.fingerprintFunction = fingerprintFunction;
+    }
+
+    /**
+     * Returns the JSON object for the given map. Only entries that have changed or were invalidated since the last
+     * call are serialized again.
+     *
+     * @param entries The data store map, for example {@link org.openhab.io.hueemulation.internal.dto.HueDataStore#lights}.
+     *            Entries are written in the iteration order of the map.
+     * @return The assembled response
+     */
+    public synchronized Snapshot snapshot(Map<String, T> entries) {
+        boolean changed = fragments.keySet().retainAll(entries.keySet());
+
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            T value = entry.getValue();
+            List<@Nullable Object> fingerprint = fingerprintFunction.apply(value);
+            Fragment fragment = fragments.get(entry.getKey());
+            if (fragment == null || !fragment.fingerprint.equals(fingerprint)) {
+                fragments.put(entry.getKey(), new Fragment(fingerprint, gson.toJson(value)));
+                changed = true;
+            }
+        }
+
+        Snapshot snapshot = this.snapshot;
+        if (snapshot != null && !changed) {
+            return snapshot;
+        }
+
+        StringBuilder b = new StringBuilder(64 * (entries.size() + 1)).append('{');
+        boolean first = true;
+        for (String key : entries.keySet()) {
+            if (!first) {
+                b.append(',');
+            }
+            first = false;
+            b.append(gson.toJson(key)).append(':').append(Objects.requireNonNull(fragments.get(key)).json);
+        }
+        b.append('}');
+
+        ++version;
+        snapshot = new Snapshot(b.toString(), name + "-" + epoch + "-" + version);
+        this.snapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Drops the cached fragment of the given entry. Called whenever the associated item got added, updated or
+     * removed.
+     *
+     * @param hueID The hue ID of the entry
+     */
+    public synchronized void invalidate(String hueID) {
+        fragments.remove(hueID);
+    }
+
+    /**
+     * Drops all cached fragments.
+     */
+    public synchronized void invalidateAll() {
+        fragments.clear();
+        snapshot = null;
+    }
+}
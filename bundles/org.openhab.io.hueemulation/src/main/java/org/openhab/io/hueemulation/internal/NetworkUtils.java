@@ -20,11 +20,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse.HueErrorMessage;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponseSuccessSimple;
@@ -138,4 +140,19 @@ public class NetworkUtils {
         return Response.ok(gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
     }
+
+    /**
+     * Creates a json response out of a cached snapshot. If the client already has this version
+     * (If-None-Match header matches the ETag), a "304 Not Modified" without a body is returned instead.
+     *
+     * @param snapshot A snapshot of a {@link JsonFragmentCache}
+     * @param ifNoneMatch The If-None-Match request header. May be null.
+     */
+    public static Response snapshotResponse(JsonFragmentCache.Snapshot snapshot, @Nullable String ifNoneMatch) {
+        EntityTag tag = new EntityTag(snapshot.etag);
+        if (ifNoneMatch != null && (ifNoneMatch.equals(tag.toString()) || ifNoneMatch.equals(snapshot.etag))) {
+            return Response.notModified(tag).build();
+        }
+        return Response.ok(snapshot.json).tag(tag).build();
+    }
 }
@@ -77,6 +77,18 @@ public class HueGroupEntry {
         groupItem = element;
     }
 
+    /**
+     * Computes the {@link #lights} list out of the item members of the referenced groupItem, if there is one.
+     *
+     * @param cs The configuration store, to map item members to hue IDs
+     */
+    public void updateLights(ConfigStore cs) {
+        GroupItem item = groupItem;
+        if (item != null) {
+            lights = item.getMembers().stream().map(gitem -> cs.mapItemUIDtoHueID(gitem)).collect(Collectors.toList());
+        }
+    }
+
     /**
      * This custom serializer computes the {@link HueGroupEntry#lights} list, before serializing.
      * It does so, by looking up all item members of the references groupItem.
@@ -96,11 +108,7 @@ public class HueGroupEntry {
 
         @Override
         public JsonElement serialize(HueGroupEntry product, Type type, JsonSerializationContext context) {
-            GroupItem item = product.groupItem;
-            if (item != null) {
-                product.lights = item.getMembers().stream().map(gitem -> cs.mapItemUIDtoHueID(gitem))
-                        .collect(Collectors.toList());
-            }
+            product.updateLights(cs);
 
             JsonElement jsonSubscription = context.serialize(product, HueGroupHelper.class);
             return jsonSubscription;
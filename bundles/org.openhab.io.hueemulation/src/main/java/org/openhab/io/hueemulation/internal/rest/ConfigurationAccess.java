@@ -28,6 +28,7 @@ import javax.ws.rs.core.UriInfo;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
 import org.openhab.io.hueemulation.internal.dto.HueUnauthorizedConfig;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueChangeRequest;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
@@ -79,7 +80,27 @@ public class ConfigurationAccess {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds)).build();
+        return Response.ok(fullDataStoreJson()).build();
+    }
+
+    /**
+     * Assembles the full data store response. Lights and groups are taken from the serialized
+     * fragment caches, all other (small) parts are serialized on demand. The field order
+     * equals the one of {@link HueDataStore}.
+     */
+    private String fullDataStoreJson() {
+        HueDataStore ds = cs.ds;
+        StringBuilder b = new StringBuilder();
+        b.append("{\"config\":").append(cs.gson.toJson(ds.config));
+        b.append(",\"lights\":").append(cs.lightsJson.snapshot(ds.lights).json);
+        b.append(",\"groups\":").append(cs.groupsJson.snapshot(ds.groups).json);
+        b.append(",\"scenes\":").append(cs.gson.toJson(ds.scenes));
+        b.append(",\"rules\":").append(cs.gson.toJson(ds.rules));
+        b.append(",\"sensors\":").append(cs.gson.toJson(ds.sensors));
+        b.append(",\"schedules\":").append(cs.gson.toJson(ds.schedules));
+        b.append(",\"resourcelinks\":").append(cs.gson.toJson(ds.resourcelinks));
+        b.append(",\"capabilities\":").append(cs.gson.toJson(ds.capabilities));
+        return b.append('}').toString();
     }
 
     @GET
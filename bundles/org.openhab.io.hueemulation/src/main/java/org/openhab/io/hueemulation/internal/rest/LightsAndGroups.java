@@ -20,12 +20,14 @@ import java.util.stream.Stream;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
@@ -119,6 +121,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        cs.lightsJson.invalidateAll();
+        cs.groupsJson.invalidateAll();
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
@@ -174,10 +178,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
 
             cs.ds.groups.put(hueID, group);
+            cs.groupsJson.invalidate(hueID);
         } else {
             HueLightEntry device = new HueLightEntry(element, cs.ds.config.uuid + "-" + hueID.toString(), deviceType);
             device.item = element;
             cs.ds.lights.put(hueID, device);
+            cs.lightsJson.invalidate(hueID);
             updateGroup0();
         }
     }
@@ -196,6 +202,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         logger.debug("Remove item {}", hueID);
         cs.ds.lights.remove(hueID);
         cs.ds.groups.remove(hueID);
+        cs.lightsJson.invalidate(hueID);
+        cs.groupsJson.invalidate(hueID);
         updateGroup0();
     }
 
@@ -211,6 +219,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         GenericItem element = (GenericItem) newElement;
 
         String hueID = cs.mapItemUIDtoHueID(element);
+        cs.lightsJson.invalidate(hueID);
+        cs.groupsJson.invalidate(hueID);
 
         HueGroupEntry hueGroup = cs.ds.groups.get(hueID);
         if (hueGroup != null) {
@@ -244,11 +254,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @ApiOperation(value = "Return all lights")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
     public Response getAllLightsApi(@Context UriInfo uri,
-            @PathParam("username") @ApiParam(value = "username") String username) {
+            @PathParam("username") @ApiParam(value = "username") String username,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return NetworkUtils.snapshotResponse(cs.lightsJson.snapshot(cs.ds.lights), ifNoneMatch);
     }
 
     @GET
@@ -439,11 +450,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @ApiOperation(value = "Return all groups")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
     public Response getAllGroupsApi(@Context UriInfo uri,
-            @PathParam("username") @ApiParam(value = "username") String username) {
+            @PathParam("username") @ApiParam(value = "username") String username,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return NetworkUtils.snapshotResponse(cs.groupsJson.snapshot(cs.ds.groups), ifNoneMatch);
     }
 
     @GET
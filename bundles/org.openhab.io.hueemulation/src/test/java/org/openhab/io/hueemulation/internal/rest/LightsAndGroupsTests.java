@@ -20,6 +20,7 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -334,6 +335,53 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsConditionalRequest() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertThat(etag, is(notNullValue()));
+        String body = response.readEntity(String.class);
+
+        // Nothing changed -> not modified
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
+        // The item state changed -> new version
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString(HttpHeaders.ETAG), not(etag));
+        assertThat(response.readEntity(String.class), not(body));
+    }
+
+    @Test
+    public void allGroupsConditionalRequest() {
+        SwitchItem member = new SwitchItem("member");
+        cs.ds.groups.get("10").groupItem.addMember(member);
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.readEntity(String.class),
+                containsString("\"lights\":[\"" + cs.mapItemUIDtoHueID(member) + "\"]"));
+
+        // Nothing changed -> not modified, also for the first request after the lights of a group were computed
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
+        // A member was added -> new version
+        cs.ds.groups.get("10").groupItem.addMember(new SwitchItem("switch2"));
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString(HttpHeaders.ETAG), not(etag));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -434,6 +434,7 @@ public class NeeoService implements EventSubscriber, NetworkAddressChangeListene
         final ServiceContext localContext = context;
         if (localContext != null) {
             localContext.getDefinitions().save();
+            localContext.getDefinitions().close();
 
             final HttpService service = localContext.getHttpService();
             for (NeeoBrainServlet servlet : servlets) {
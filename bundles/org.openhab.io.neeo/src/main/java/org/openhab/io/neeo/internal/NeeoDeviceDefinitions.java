@@ -72,6 +72,9 @@ public class NeeoDeviceDefinitions {
     /** The file we store definitions in */
     private final File file = new File(NeeoConstants.FILENAME_DEVICEDEFINITIONS);
 
+    /** The search index over all exposed devices */
+    private final TokenSearchIndex searchIndex;
+
     /**
      * Create the object based on the {@link ServiceContext} and will read the definitions from the {@link #file}
      *
@@ -85,6 +88,7 @@ public class NeeoDeviceDefinitions {
 
         exposeAll = context.isExposeAllThings();
         exposeNeeoBinding = context.isExposeNeeoBinding();
+        searchIndex = new TokenSearchIndex(context, this);
 
         if (file.exists()) {
             try {
@@ -148,6 +152,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        searchIndex.invalidate(device.getUid());
         save();
     }
 
@@ -162,6 +167,7 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            searchIndex.invalidate(uid);
             save();
         }
         return found;
@@ -175,8 +181,7 @@ public class NeeoDeviceDefinitions {
     public List<NeeoDevice> getExposed() {
         final List<NeeoDevice> devices = new ArrayList<>();
         for (NeeoDevice device : exposeAll || exposeNeeoBinding ? getAllDevices() : uidToDevice.values()) {
-            if (device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
-                    && StringUtils.isNotEmpty(device.getType().toString())) {
+            if (isExposed(device)) {
                 devices.add(device);
             }
         }
@@ -184,6 +189,60 @@ public class NeeoDeviceDefinitions {
         return devices;
     }
 
+    /**
+     * Returns the {@link NeeoDevice} for the given {@link NeeoThingUID} if it would be part of {@link #getExposed()}
+     *
+     * @param uid the non-null uid
+     * @return the exposed device or null if the device doesn't exist or isn't exposed
+     */
+    public @Nullable NeeoDevice getExposedDevice(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+
+        NeeoDevice device = uidToDevice.get(uid);
+        if (exposeAll || exposeNeeoBinding) {
+            final boolean isNeeo = StringUtils.equalsIgnoreCase(NeeoConstants.NEEOIO_BINDING_ID, uid.getBindingId());
+            if (device == null || !isNeeo) {
+                final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+                if (thing == null) {
+                    device = null;
+                } else if (device == null) {
+                    device = converter.convert(thing);
+                } else {
+                    device = device.merge(context);
+                }
+            }
+        }
+
+        return device != null && isExposed(device) ? device : null;
+    }
+
+    /**
+     * Whether the device has exposed channels and a type other than {@link NeeoDeviceType#EXCLUDE}
+     *
+     * @param device the non-null device
+     * @return true if exposed, false otherwise
+     */
+    private boolean isExposed(NeeoDevice device) {
+        return device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
+                && StringUtils.isNotEmpty(device.getType().toString());
+    }
+
+    /**
+     * Returns the search index over all exposed devices
+     *
+     * @return the non-null search index
+     */
+    public TokenSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Releases the search index (unregisters it from the registries)
+     */
+    public void close() {
+        searchIndex.close();
+    }
+
     /**
      *
      * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
@@ -13,18 +13,12 @@
 package org.openhab.io.neeo.internal;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
-import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.binding.BindingInfo;
-import org.eclipse.smarthome.core.thing.Thing;
-import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
 import org.openhab.io.neeo.internal.models.TokenScore;
 import org.slf4j.Logger;
@@ -32,7 +26,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The class emulates the same search pattern that the NEEO brain uses (https://github.com/neophob/tokensearch.js) on
- * all the exposed things in the registry.
+ * all the exposed things in the registry. The candidates and their raw scores are looked up in the
+ * {@link TokenSearchIndex} rather than by scanning every exposed device.
  *
  * @author Tim Roberts - Initial Contribution
  */
@@ -90,94 +85,44 @@ public class TokenSearch {
     public Result search(String query) {
         NeeoUtil.requireNotEmpty(query, "query cannot be empty");
 
-        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
-
         final String[] needles = StringUtils.split(query, DELIMITER);
-        int maxScore = -1;
-
-        for (NeeoDevice device : context.getDefinitions().getExposed()) {
-            int score = search(device.getName(), needles);
-            score += search("openhab", needles);
-            // score += searchAlgorithm(thing.getLocation(), needles);
-            score += search(device.getUid().getBindingId(), needles);
-
-            final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
-            if (thing != null) {
-                final String location = thing.getLocation();
-                if (location != null && StringUtils.isNotEmpty(location)) {
-                    score += search(location, needles);
-                }
-
-                final Map<@NonNull String, String> properties = thing.getProperties();
-                final String vendor = properties.get(Thing.PROPERTY_VENDOR);
-                if (StringUtils.isNotEmpty(vendor)) {
-                    score += search(vendor, needles);
-                }
-
-                final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
-                if (tt != null) {
-                    score += search(tt.getLabel(), needles);
-
-                    final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
-                    if (bi != null) {
-                        score += search(bi.getName(), needles);
-                    }
-                }
-            }
 
-            maxScore = Math.max(maxScore, score);
+        // Devices without any match only pass a threshold of 1 (normalized score of 1)
+        final TokenSearchIndex index = context.getDefinitions().getSearchIndex();
+        final List<TokenScore<NeeoDevice>> results = index.search(needles, threshold >= 1);
 
-            results.add(new TokenScore<>(score, device));
+        int maxScore = results.isEmpty() ? (index.size() > 0 ? 0 : -1) : -1;
+        for (TokenScore<NeeoDevice> ts : results) {
+            maxScore = Math.max(maxScore, (int) ts.getScore());
         }
 
         return new Result(applyThreshold(results, maxScore, threshold), maxScore);
     }
 
     /**
-     * Search the 'haystack' for the needles. The 'haystack' will be broken up by delimiter and each part will be
-     * compared to the needles array and the resulting score summation returned.
+     * The search algorithm (lifted from tokensearch.js) for a single token of a haystack and a single needle
      *
-     * @param haystack the search term
-     * @param needles the items to search
+     * @param haystack the search term token
+     * @param needle the item to search
      * @return the score of the match
      */
-    private int search(String haystack, String[] needles) {
-        return Arrays.stream(StringUtils.split(haystack, DELIMITER)).mapToInt(hs -> searchAlgorithm(hs, needles)).sum();
-    }
-
-    /**
-     * The search algorithm (lifted from tokensearch.js)
-     *
-     * @param haystack the search term
-     * @param needles the items to search
-     * @return the score of the match
-     */
-    private int searchAlgorithm(String haystack, String[] needles) {
-        Objects.requireNonNull(needles, "needles cannot be null");
-
-        int score = 0;
-
-        int arrayLength = needles.length;
-        for (int i = 0; i < arrayLength; i++) {
-            String needle = needles[i];
-            int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
-            int tokenScore = 0;
-            if (stringPos > -1) {
-                if (needle.length() < 2) {
-                    tokenScore = 1;
+    static int searchAlgorithm(String haystack, String needle) {
+        int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
+        int tokenScore = 0;
+        if (stringPos > -1) {
+            if (needle.length() < 2) {
+                tokenScore = 1;
+            } else {
+                if (StringUtils.equalsIgnoreCase(haystack, needle)) {
+                    tokenScore = 6;
+                } else if (stringPos == 0) {
+                    tokenScore = 2;
                 } else {
-                    if (StringUtils.equalsIgnoreCase(haystack, needle)) {
-                        tokenScore = 6;
-                    } else if (stringPos == 0) {
-                        tokenScore = 2;
-                    } else {
-                        tokenScore = 1;
-                    }
+                    tokenScore = 1;
                 }
             }
-            score += tokenScore;
         }
-        return score;
+        return tokenScore;
     }
 
     /**
@@ -0,0 +1,404 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted index over the search terms (device name, binding, location, vendor, thing type and binding label) of
+ * all exposed {@link NeeoDevice}s. Each term is split into tokens and each distinct token is indexed by all of its
+ * 1, 2 and 3 character grams, which allows to find all tokens containing a needle without scanning every device.
+ * <p>
+ * The index is maintained incrementally: changes to the {@link NeeoDeviceDefinitions}, the thing registry and the
+ * item channel link registry mark the affected devices as dirty and only those are re-indexed on the next search.
+ * The scoring itself is identical to {@link TokenSearch}.
+ *
+ * @author agent - Initial Contribution
+ */
+@NonNullByDefault
+public class TokenSearchIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(TokenSearchIndex.class);
+
+    /** The delimiter used to split search terms */
+    private static final char DELIMITER = ' ';
+
+    /** The maximum gram length that is indexed */
+    private static final int MAX_GRAM = 3;
+
+    /** The service context */
+    private final ServiceContext context;
+
+    /** The device definitions providing the exposed devices */
+    private final NeeoDeviceDefinitions definitions;
+
+    /** The indexed devices by their uid */
+    private final Map<NeeoThingUID, Document> documents = new HashMap<>();
+
+    /** The distinct (lower case) tokens and the devices that contain them */
+    private final Map<String, Token> tokens = new HashMap<>();
+
+    /** The grams and the (lower case) tokens that contain them */
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    /** The devices that need to be re-indexed before the next search */
+    private final Set<NeeoThingUID> dirty = ConcurrentHashMap.newKeySet();
+
+    /** Whether the index has to be built before the first search */
+    private boolean rebuild = true;
+
+    /** Marks things as dirty when they are added, removed or changed (location, label) */
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void removed(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+    };
+
+    /** Marks things as dirty when their item links change (which changes the exposed channels) */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidate(new NeeoThingUID(oldElement.getLinkedUID().getThingUID()));
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+    };
+
+    /**
+     * Creates the index and registers to the thing and link registries
+     *
+     * @param context the non-null service context
+     * @param definitions the non-null device definitions
+     */
+    TokenSearchIndex(ServiceContext context, NeeoDeviceDefinitions definitions) {
+        Objects.requireNonNull(context, "context cannot be null");
+        Objects.requireNonNull(definitions, "definitions cannot be null");
+
+        this.context = context;
+        this.definitions = definitions;
+
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+    }
+
+    /**
+     * Marks the device with the given uid to be re-indexed on the next search
+     *
+     * @param uid the non-null uid
+     */
+    public void invalidate(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+        dirty.add(uid);
+    }
+
+    /**
+     * Scores all indexed devices against the needles. Only devices that contain at least one needle are returned
+     * unless includeUnmatched is true.
+     *
+     * @param needles the non-null needles (already split by the delimiter)
+     * @param includeUnmatched whether devices with a score of 0 should be returned as well
+     * @return a non-null, possibly empty list of devices with their raw score
+     */
+    public synchronized List<TokenScore<NeeoDevice>> search(String[] needles, boolean includeUnmatched) {
+        Objects.requireNonNull(needles, "needles cannot be null");
+        refresh();
+
+        final Map<NeeoThingUID, Integer> scores = new HashMap<>();
+        for (String needle : needles) {
+            for (String key : candidates(needle.toLowerCase(Locale.ROOT))) {
+                final Token token = tokens.get(key);
+                if (token == null) {
+                    continue;
+                }
+                final int tokenScore = TokenSearch.searchAlgorithm(token.text, needle);
+                if (tokenScore > 0) {
+                    for (Map.Entry<NeeoThingUID, Integer> entry : token.counts.entrySet()) {
+                        scores.merge(entry.getKey(), tokenScore * entry.getValue(), Integer::sum);
+                    }
+                }
+            }
+        }
+
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
+        if (includeUnmatched) {
+            for (Map.Entry<NeeoThingUID, Document> entry : documents.entrySet()) {
+                results.add(new TokenScore<>(scores.getOrDefault(entry.getKey(), 0), entry.getValue().device));
+            }
+        } else {
+            for (Map.Entry<NeeoThingUID, Integer> entry : scores.entrySet()) {
+                final Document doc = documents.get(entry.getKey());
+                if (doc != null) {
+                    results.add(new TokenScore<>(entry.getValue(), doc.device));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of indexed devices
+     *
+     * @return the number of indexed devices
+     */
+    public synchronized int size() {
+        refresh();
+        return documents.size();
+    }
+
+    /**
+     * Unregisters from the thing and link registries
+     */
+    public void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+    }
+
+    /**
+     * Returns the (lower case) tokens that may contain the given (lower case) needle
+     *
+     * @param needle the non-empty lower case needle
+     * @return a non-null, possibly empty set of tokens
+     */
+    private Set<String> candidates(String needle) {
+        if (needle.length() <= MAX_GRAM) {
+            return grams.getOrDefault(needle, Collections.emptySet());
+        }
+
+        // Use the smallest posting of all grams of the needle, the scoring verifies each candidate anyway
+        @Nullable
+        Set<String> smallest = null;
+        for (int i = 0; i + MAX_GRAM <= needle.length(); i++) {
+            final Set<String> posting = grams.get(needle.substring(i, i + MAX_GRAM));
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest == null ? Collections.emptySet() : smallest;
+    }
+
+    /**
+     * Re-indexes all dirty devices (or everything on the first search)
+     */
+    private void refresh() {
+        if (rebuild) {
+            rebuild = false;
+            dirty.clear();
+            documents.clear();
+            tokens.clear();
+            grams.clear();
+
+            for (NeeoDevice device : definitions.getExposed()) {
+                addDocument(device);
+            }
+            logger.debug("Built search index with {} devices and {} tokens", documents.size(), tokens.size());
+            return;
+        }
+
+        for (Iterator<NeeoThingUID> it = dirty.iterator(); it.hasNext();) {
+            final NeeoThingUID uid = it.next();
+            it.remove();
+
+            removeDocument(uid);
+            final NeeoDevice device = definitions.getExposedDevice(uid);
+            if (device != null) {
+                addDocument(device);
+            }
+        }
+    }
+
+    /**
+     * Adds the device and all of its tokens to the index
+     *
+     * @param device the non-null device
+     */
+    private void addDocument(NeeoDevice device) {
+        final NeeoThingUID uid = device.getUid();
+        removeDocument(uid);
+
+        final List<String> terms = new ArrayList<>();
+        terms.add(device.getName());
+        terms.add("openhab");
+        terms.add(uid.getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && StringUtils.isNotEmpty(location)) {
+                terms.add(location);
+            }
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            final String vendor = properties.get(Thing.PROPERTY_VENDOR);
+            if (StringUtils.isNotEmpty(vendor)) {
+                terms.add(vendor);
+            }
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                terms.add(tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    terms.add(bi.getName());
+                }
+            }
+        }
+
+        final Map<String, Integer> docTokens = new HashMap<>();
+        for (String term : terms) {
+            for (String text : StringUtils.split(term, DELIMITER)) {
+                final String key = text.toLowerCase(Locale.ROOT);
+                docTokens.merge(key, 1, Integer::sum);
+
+                Token token = tokens.get(key);
+                if (token == null) {
+                    token = new Token(text);
+                    tokens.put(key, token);
+                    addGrams(key);
+                }
+                token.counts.merge(uid, 1, Integer::sum);
+            }
+        }
+
+        documents.put(uid, new Document(device, docTokens.keySet()));
+    }
+
+    /**
+     * Removes the device from the index and drops all tokens no other device uses
+     *
+     * @param uid the non-null uid
+     */
+    private void removeDocument(NeeoThingUID uid) {
+        final Document doc = documents.remove(uid);
+        if (doc == null) {
+            return;
+        }
+
+        for (String key : doc.tokens) {
+            final Token token = tokens.get(key);
+            if (token != null) {
+                token.counts.remove(uid);
+                if (token.counts.isEmpty()) {
+                    tokens.remove(key);
+                    removeGrams(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds all grams of the given token to the gram index
+     *
+     * @param key the non-null lower case token
+     */
+    private void addGrams(String key) {
+        for (int len = 1; len <= MAX_GRAM; len++) {
+            for (int i = 0; i + len <= key.length(); i++) {
+                grams.computeIfAbsent(key.substring(i, i + len), k -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    /**
+     * Removes all grams of the given token from the gram index
+     *
+     * @param key the non-null lower case token
+     */
+    private void removeGrams(String key) {
+        for (int len = 1; len <= MAX_GRAM; len++) {
+            for (int i = 0; i + len <= key.length(); i++) {
+                final String gram = key.substring(i, i + len);
+                final Set<String> posting = grams.get(gram);
+                if (posting != null) {
+                    posting.remove(key);
+                    if (posting.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An indexed device and the distinct (lower case) tokens of it
+     */
+    private static class Document {
+        private final NeeoDevice device;
+        private final Set<String> tokens;
+
+        private Document(NeeoDevice device, Set<String> tokens) {
+            this.device = device;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * A distinct token with the number of occurrences per device
+     */
+    private static class Token {
+        private final String text;
+        private final Map<NeeoThingUID, Integer> counts = new HashMap<>();
+
+        private Token(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.binding.BindingInfoRegistry;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+
+/**
+ * Random exposed devices for the {@link TokenSearchIndexTest} and the {@link TokenSearchIndexBenchmark}. The devices
+ * are provided to the {@link TokenSearchIndex} through mocked registries. The search terms of every device are kept
+ * as well, so {@link #linearSearch(NeeoThingUID, String[])} can score them like the former search over all exposed
+ * devices did.
+ *
+ * @author agent - Initial contribution
+ */
+class TokenSearchFixture {
+
+    static final String[] QUERIES = { "l", "li", "liv", "living", "LIVING", "lamp", "amp", "room lamp", "hue color",
+            "tv sony", "bed", "bedroom", "openhab", "neeo", "a", "x", "zzz", "ing", "kodi media player", "hue hue",
+            "Ambiance" };
+
+    private static final String[] BINDINGS = { "hue", "sonyprojector", "kodi", "denon" };
+
+    private static final String[] WORDS = { "Living", "living", "Room", "Kitchen", "Lamp", "lamps", "TV", "Sony",
+            "Bravia", "Light", "Hue", "hue", "Color", "Ambiance", "Blind", "Shutter", "Kodi", "Media", "Player", "Bed",
+            "Bedroom", "Ceiling", "Fan", "Amp", "Amplifier", "Denon", "AVR", "a", "X" };
+
+    private final Random random;
+
+    private final Map<NeeoThingUID, NeeoDevice> devices = new LinkedHashMap<>();
+    private final Map<ThingUID, Thing> things = new HashMap<>();
+    private final Map<ThingTypeUID, ThingType> thingTypes = new HashMap<>();
+    private final Map<String, BindingInfo> bindingInfos = new HashMap<>();
+
+    // the search terms of every device in the order of the former search
+    private final Map<NeeoThingUID, List<String>> terms = new HashMap<>();
+    private final Map<ThingTypeUID, String> thingTypeLabels = new HashMap<>();
+    private final Map<String, String> bindingNames = new HashMap<>();
+
+    private final ServiceContext context;
+    private final NeeoDeviceDefinitions definitions;
+
+    TokenSearchFixture(long seed) {
+        random = new Random(seed);
+
+        final ThingRegistry thingRegistry = mock(ThingRegistry.class);
+        when(thingRegistry.get(any())).thenAnswer(i -> things.get(i.getArgument(0)));
+        final ThingTypeRegistry thingTypeRegistry = mock(ThingTypeRegistry.class);
+        when(thingTypeRegistry.getThingType(any())).thenAnswer(i -> thingTypes.get(i.getArgument(0)));
+        final BindingInfoRegistry bindingInfoRegistry = mock(BindingInfoRegistry.class);
+        when(bindingInfoRegistry.getBindingInfo(any())).thenAnswer(i -> bindingInfos.get(i.getArgument(0)));
+
+        context = mock(ServiceContext.class);
+        when(context.getThingRegistry()).thenReturn(thingRegistry);
+        when(context.getThingTypeRegistry()).thenReturn(thingTypeRegistry);
+        when(context.getBindingInfoRegistry()).thenReturn(bindingInfoRegistry);
+        when(context.getItemChannelLinkRegistry()).thenReturn(mock(ItemChannelLinkRegistry.class));
+
+        definitions = mock(NeeoDeviceDefinitions.class);
+        when(definitions.getExposed()).thenAnswer(i -> new ArrayList<>(devices.values()));
+        when(definitions.getExposedDevice(any())).thenAnswer(i -> devices.get(i.getArgument(0)));
+
+        for (String binding : BINDINGS) {
+            final String bindingName = words(2) + " Binding";
+            final BindingInfo bindingInfo = mock(BindingInfo.class);
+            when(bindingInfo.getName()).thenReturn(bindingName);
+            bindingInfos.put(binding, bindingInfo);
+            bindingNames.put(binding, bindingName);
+
+            for (int t = 0; t < 3; t++) {
+                final ThingTypeUID thingTypeUID = new ThingTypeUID(binding, "type" + t);
+                final String label = words(2);
+                final ThingType thingType = mock(ThingType.class);
+                when(thingType.getLabel()).thenReturn(label);
+                when(thingType.getBindingId()).thenReturn(binding);
+                thingTypes.put(thingTypeUID, thingType);
+                thingTypeLabels.put(thingTypeUID, label);
+            }
+        }
+    }
+
+    /**
+     * Creates an index over the exposed devices of this fixture
+     */
+    TokenSearchIndex createIndex() {
+        return new TokenSearchIndex(context, definitions);
+    }
+
+    Map<NeeoThingUID, NeeoDevice> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Adds a device with random search terms or replaces the terms of an existing device
+     *
+     * @param i the number of the device
+     * @return the uid of the device
+     */
+    NeeoThingUID putDevice(int i) {
+        final NeeoThingUID uid = uid(i);
+        final ThingTypeUID thingTypeUID = new ThingTypeUID(uid.getBindingId(), "type" + random.nextInt(3));
+        final String name = words(1 + random.nextInt(3));
+        final String location = random.nextInt(4) == 0 ? null : words(1 + random.nextInt(2));
+        final String vendor = random.nextBoolean() ? words(1) : null;
+
+        final Thing thing = mock(Thing.class);
+        when(thing.getLocation()).thenReturn(location);
+        final Map<String, String> properties = new HashMap<>();
+        if (vendor != null) {
+            properties.put(Thing.PROPERTY_VENDOR, vendor);
+        }
+        when(thing.getProperties()).thenReturn(properties);
+        when(thing.getThingTypeUID()).thenReturn(thingTypeUID);
+        things.put(uid.asThingUID(), thing);
+
+        final NeeoDevice device = mock(NeeoDevice.class);
+        when(device.getUid()).thenReturn(uid);
+        when(device.getName()).thenReturn(name);
+        devices.put(uid, device);
+
+        final List<String> deviceTerms = new ArrayList<>();
+        deviceTerms.add(name);
+        deviceTerms.add("openhab");
+        deviceTerms.add(uid.getBindingId());
+        if (location != null) {
+            deviceTerms.add(location);
+        }
+        if (vendor != null) {
+            deviceTerms.add(vendor);
+        }
+        deviceTerms.add(thingTypeLabels.get(thingTypeUID));
+        deviceTerms.add(bindingNames.get(uid.getBindingId()));
+        terms.put(uid, deviceTerms);
+        return uid;
+    }
+
+    /**
+     * Removes a device
+     *
+     * @param i the number of the device
+     * @return the uid of the device
+     */
+    NeeoThingUID removeDevice(int i) {
+        final NeeoThingUID uid = uid(i);
+        devices.remove(uid);
+        things.remove(uid.asThingUID());
+        terms.remove(uid);
+        return uid;
+    }
+
+    /**
+     * The former search over all search terms of a single device
+     *
+     * @param uid the uid of the device
+     * @param needles the needles (already split by the delimiter)
+     * @return the raw score of the device
+     */
+    int linearSearch(NeeoThingUID uid, String[] needles) {
+        int score = 0;
+        for (String term : terms.get(uid)) {
+            for (String hs : StringUtils.split(term, ' ')) {
+                for (String needle : needles) {
+                    score += TokenSearch.searchAlgorithm(hs, needle);
+                }
+            }
+        }
+        return score;
+    }
+
+    private static NeeoThingUID uid(int i) {
+        return new NeeoThingUID(BINDINGS[i % BINDINGS.length] + ":device:id" + i);
+    }
+
+    private String words(int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+
+/**
+ * Compares the search of the {@link TokenSearchIndex} with the former linear search over all exposed devices. This
+ * is not a unit test, run it from the IDE with the main method:
+ *
+ * <pre>
+ * TokenSearchIndexBenchmark [devices] [rounds]
+ * </pre>
+ *
+ * Every round searches all queries of the {@link TokenSearchFixture}. The index is also measured when one device
+ * was invalidated before every search, which re-indexes that device first. The registries of the fixture are mocks,
+ * so the build and re-index times include the overhead of Mockito.
+ *
+ * @author agent - Initial contribution
+ */
+public class TokenSearchIndexBenchmark {
+
+    private static final int DEFAULT_DEVICES = 1000;
+    private static final int DEFAULT_ROUNDS = 200;
+
+    // keeps the results alive, so the searches are not optimized away
+    private static long checksum;
+
+    public static void main(String[] args) {
+        int deviceCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEVICES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        TokenSearchFixture fixture = new TokenSearchFixture(42);
+        for (int i = 0; i < deviceCount; i++) {
+            fixture.putDevice(i);
+        }
+        List<String[]> queries = new ArrayList<>();
+        for (String query : TokenSearchFixture.QUERIES) {
+            queries.add(StringUtils.split(query, ' '));
+        }
+
+        long start = System.nanoTime();
+        TokenSearchIndex index = fixture.createIndex();
+        index.size();
+        System.out.println(String.format("Index build: %8.2f ms for %d devices", (System.nanoTime() - start) / 1e6,
+                deviceCount));
+
+        // the first half of the rounds warms up
+        for (int pass = 0; pass < 2; pass++) {
+            boolean report = pass == 1;
+            run("Linear", rounds, queries, report, needles -> {
+                int matches = 0;
+                for (NeeoThingUID uid : fixture.getDevices().keySet()) {
+                    if (fixture.linearSearch(uid, needles) > 0) {
+                        matches++;
+                    }
+                }
+                return matches;
+            });
+            run("Index", rounds, queries, report, needles -> index.search(needles, false).size());
+            List<NeeoThingUID> uids = new ArrayList<>(fixture.getDevices().keySet());
+            int[] next = new int[1];
+            run("Index, 1 changed device", rounds, queries, report, needles -> {
+                index.invalidate(uids.get(next[0]++ % uids.size()));
+                return index.search(needles, false).size();
+            });
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    private interface Search {
+        int search(String[] needles);
+    }
+
+    private static void run(String name, int rounds, List<String[]> queries, boolean report, Search search) {
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (String[] needles : queries) {
+                checksum += search.search(needles);
+            }
+        }
+        long duration = System.nanoTime() - start;
+        if (report) {
+            System.out.println(String.format("%-24s %10.2f us/query", name + ":", duration / 1e3 / rounds
+                    / queries.size()));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+
+/**
+ * Tests that the {@link TokenSearchIndex} scores the devices exactly like the former linear search over all exposed
+ * devices, also after devices have been changed, added and removed.
+ *
+ * @author agent - Initial contribution
+ */
+public class TokenSearchIndexTest {
+
+    private TokenSearchFixture fixture;
+    private TokenSearchIndex index;
+
+    @Before
+    public void setUp() {
+        fixture = new TokenSearchFixture(42);
+        for (int i = 0; i < 200; i++) {
+            fixture.putDevice(i);
+        }
+
+        index = fixture.createIndex();
+    }
+
+    @Test
+    public void searchMatchesLinearSearch() {
+        assertSameScores();
+    }
+
+    @Test
+    public void searchMatchesLinearSearchAfterChanges() {
+        assertSameScores();
+
+        // rename some devices, remove some and add new ones
+        for (int i = 0; i < 200; i += 7) {
+            index.invalidate(fixture.putDevice(i));
+        }
+        for (int i = 3; i < 200; i += 11) {
+            index.invalidate(fixture.removeDevice(i));
+        }
+        for (int i = 200; i < 220; i++) {
+            index.invalidate(fixture.putDevice(i));
+        }
+
+        assertSameScores();
+    }
+
+    private void assertSameScores() {
+        final Map<NeeoThingUID, NeeoDevice> devices = fixture.getDevices();
+        assertEquals(devices.size(), index.size());
+        for (String query : TokenSearchFixture.QUERIES) {
+            final String[] needles = StringUtils.split(query, ' ');
+
+            final Map<NeeoThingUID, Integer> expected = new HashMap<>();
+            for (NeeoThingUID uid : devices.keySet()) {
+                final int score = fixture.linearSearch(uid, needles);
+                if (score > 0) {
+                    expected.put(uid, score);
+                }
+            }
+            assertEquals(query, expected, scores(index.search(needles, false)));
+
+            final Map<NeeoThingUID, Integer> expectedAll = new HashMap<>();
+            for (NeeoThingUID uid : devices.keySet()) {
+                expectedAll.put(uid, fixture.linearSearch(uid, needles));
+            }
+            assertEquals(query, expectedAll, scores(index.search(needles, true)));
+        }
+    }
+
+    private static Map<NeeoThingUID, Integer> scores(List<TokenScore<NeeoDevice>> results) {
+        final Map<NeeoThingUID, Integer> scores = new HashMap<>();
+        for (TokenScore<NeeoDevice> result : results) {
+            scores.put(result.getItem().getUid(), (int) result.getScore());
+        }
+        return scores;
+    }
+}
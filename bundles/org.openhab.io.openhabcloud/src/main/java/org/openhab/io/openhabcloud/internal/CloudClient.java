@@ -13,6 +13,7 @@
 package org.openhab.io.openhabcloud.internal;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -20,26 +21,32 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -53,6 +60,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -98,14 +106,65 @@ public class CloudClient {
     private final HttpClient jettyClient;
 
     /*
-     * This hashmap holds HTTP requests to local openHAB which are currently running
+     * The maximum size of a single responseContentBinary message. Response content is aggregated up to this size
+     * before it is sent to the openHAB Cloud.
      */
-    private Map<Integer, Request> runningRequests;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    /*
+     * The time (in milliseconds) aggregated response content may wait for more content before it is sent anyway,
+     * so that streamed responses are not held back
+     */
+    private static final int CHUNK_LINGER_MS = 20;
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * The interval (in milliseconds) in which the item update statistics are logged
+     */
+    private static final long ITEM_UPDATE_STATISTICS_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    /*
+     * This map holds HTTP requests to local openHAB which are currently running
+     */
+    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
-    private boolean isConnected;
+    private volatile boolean isConnected;
+
+    /*
+     * This variable indicates if textual responses should be gzip compressed if the remote client accepts it
+     */
+    private boolean compressResponses;
+
+    /*
+     * Statistics of the proxied requests
+     */
+    private final AtomicLong proxiedRequests = new AtomicLong();
+    private final AtomicLong proxiedBytes = new AtomicLong();
+    private final AtomicLong proxiedLatencyMillis = new AtomicLong();
+
+    /*
+     * The latest not yet sent state of every item, keyed by item name. Updates of the same item that arrive
+     * before the next flush replace each other.
+     */
+    private final Map<String, String> pendingItemUpdates = new ConcurrentHashMap<>();
+
+    /*
+     * The interval (in milliseconds) in which pending item updates are sent. 0 sends every update immediately.
+     */
+    private int itemUpdateInterval;
+
+    private ScheduledFuture<?> itemUpdateJob;
+    private ScheduledFuture<?> statisticsJob;
+
+    /*
+     * Statistics of the item update uplink
+     */
+    private final AtomicLong itemUpdatesEmitted = new AtomicLong();
+    private final AtomicLong itemUpdatesCoalesced = new AtomicLong();
 
     /*
      * This variable holds version of local openHAB
@@ -116,7 +175,7 @@ public class CloudClient {
      * This variable holds instance of Socket.IO client class which provides communication
      * with the openHAB Cloud
      */
-    private Socket socket;
+    Socket socket;
 
     /*
      * The protocol of the openHAB-cloud URL.
@@ -147,7 +206,6 @@ public class CloudClient {
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
     }
 
@@ -222,6 +280,21 @@ public class CloudClient {
             }
         });
         socket.connect();
+
+        startJobs();
+    }
+
+    /**
+     * Starts sending the pending item updates and logging the item update statistics
+     */
+    void startJobs() {
+        ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD);
+        if (itemUpdateInterval > 0) {
+            itemUpdateJob = scheduler.scheduleWithFixedDelay(this::flushItemUpdates, itemUpdateInterval,
+                    itemUpdateInterval, TimeUnit.MILLISECONDS);
+        }
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logItemUpdateStatistics,
+                ITEM_UPDATE_STATISTICS_INTERVAL, ITEM_UPDATE_STATISTICS_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -231,6 +304,10 @@ public class CloudClient {
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         isConnected = true;
+        if (!pendingItemUpdates.isEmpty()) {
+            // send the states that were kept while the connection was down
+            ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(this::flushItemUpdates);
+        }
     }
 
     /**
@@ -242,9 +319,7 @@ public class CloudClient {
                 this.localBaseUrl);
         isConnected = false;
         // And clean up the list of running requests
-        if (runningRequests != null) {
-            runningRequests.clear();
-        }
+        runningRequests.clear();
     }
 
     /**
@@ -334,8 +409,9 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            ResponseListener listener = new ResponseListener(requestId, acceptsGzip(requestHeadersJson));
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -363,15 +439,26 @@ public class CloudClient {
         }
     }
 
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        @SuppressWarnings("unchecked")
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if (HttpHeader.ACCEPT_ENCODING.is(headerName)) {
+                return requestHeadersJson.optString(headerName).contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void handleCancelEvent(JSONObject data) {
         try {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
             // Find and abort running request
-            if (runningRequests.containsKey(requestId)) {
-                Request request = runningRequests.get(requestId);
+            Request request = runningRequests.remove(requestId);
+            if (request != null) {
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -483,6 +570,7 @@ public class CloudClient {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                itemUpdatesEmitted.incrementAndGet();
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
@@ -491,6 +579,49 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Queues an item update for the openHAB Cloud. Only the latest state of an item is sent with the next flush,
+     * previous pending states of the same item are dropped. Priority updates (and all updates if no update
+     * interval is configured) are sent immediately. While there is no connection, the latest state of every item
+     * is kept and sent once the connection is back.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     * @param priority true if the update should bypass the buffer
+     */
+    public void queueItemUpdate(String itemName, String itemState, boolean priority) {
+        if ((priority || itemUpdateInterval <= 0) && isConnected()) {
+            // a pending older state must not be sent after this one
+            if (pendingItemUpdates.remove(itemName) != null) {
+                itemUpdatesCoalesced.incrementAndGet();
+            }
+            sendItemUpdate(itemName, itemState);
+        } else if (pendingItemUpdates.put(itemName, itemState) != null) {
+            itemUpdatesCoalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends all pending item updates to the openHAB Cloud
+     */
+    void flushItemUpdates() {
+        if (pendingItemUpdates.isEmpty() || !isConnected()) {
+            // pending updates are kept until the connection is back
+            return;
+        }
+        for (String itemName : pendingItemUpdates.keySet()) {
+            String itemState = pendingItemUpdates.remove(itemName);
+            if (itemState != null) {
+                sendItemUpdate(itemName, itemState);
+            }
+        }
+    }
+
+    private void logItemUpdateStatistics() {
+        logger.debug("Item updates sent: {}, dropped by coalescing: {}, pending: {}", itemUpdatesEmitted.get(),
+                itemUpdatesCoalesced.get(), pendingItemUpdates.size());
+    }
+
     /**
      * Returns true if openHAB Cloud connection is active
      */
@@ -503,6 +634,15 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        if (itemUpdateJob != null) {
+            itemUpdateJob.cancel(false);
+            itemUpdateJob = null;
+        }
+        if (statisticsJob != null) {
+            statisticsJob.cancel(false);
+            statisticsJob = null;
+        }
+        pendingItemUpdates.clear();
         socket.disconnect();
     }
 
@@ -518,32 +658,166 @@ public class CloudClient {
         this.listener = listener;
     }
 
+    public void setCompressResponses(boolean compressResponses) {
+        this.compressResponses = compressResponses;
+    }
+
+    public void setItemUpdateInterval(int itemUpdateInterval) {
+        this.itemUpdateInterval = itemUpdateInterval;
+    }
+
+    /**
+     * Returns the number of requests proxied from the openHAB Cloud to openHAB since the client was created
+     */
+    public long getProxiedRequests() {
+        return proxiedRequests.get();
+    }
+
+    /**
+     * Returns the number of response content bytes (after compression) sent to the openHAB Cloud
+     */
+    public long getProxiedBytes() {
+        return proxiedBytes.get();
+    }
+
+    /**
+     * Returns the average time (in milliseconds) from sending a proxied request to openHAB until its response was
+     * finished, or 0 if no request has been proxied yet
+     */
+    public long getAverageProxiedLatency() {
+        long requests = proxiedRequests.get();
+        return requests == 0 ? 0 : proxiedLatencyMillis.get() / requests;
+    }
+
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud
+     */
+    public long getItemUpdatesEmitted() {
+        return itemUpdatesEmitted.get();
+    }
+
+    /**
+     * Returns the number of item updates that were dropped because a newer state of the same item replaced them
+     * before they were sent
+     */
+    public long getItemUpdatesCoalesced() {
+        return itemUpdatesCoalesced.get();
+    }
+
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Response content is aggregated into chunks of up to MAX_CHUNK_SIZE bytes (optionally gzip compressed) and
+     * no further content is read from openHAB until a full chunk has been handed over to the socket.io event thread.
      */
-    private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+    class ResponseListener
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
-        private int mRequestId;
+        private final int mRequestId;
+        private final boolean mAcceptsGzip;
+        private final long mStartTime = System.currentTimeMillis();
         private boolean mHeadersSent = false;
+        private boolean mFinished = false;
 
-        public ResponseListener(int requestId) {
+        private final OutputStream mChunkStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                appendToChunk(b, off, len);
+            }
+        };
+        private OutputStream mOut = mChunkStream;
+        private byte[] mChunk;
+        private int mChunkLength = 0;
+        private int mChunksSent = 0;
+        private boolean mChunkEmitted = false;
+        private long mBytesSent = 0;
+        private ScheduledFuture<?> mFlushJob;
+
+        public ResponseListener(int requestId, boolean acceptsGzip) {
             mRequestId = requestId;
+            mAcceptsGzip = acceptsGzip;
         }
 
-        private JSONObject getJSONHeaders(HttpFields httpFields) {
+        private JSONObject getJSONHeaders(HttpFields httpFields, boolean gzip) {
             JSONObject headersJSON = new JSONObject();
             try {
                 for (HttpField field : httpFields) {
+                    if (gzip && field.getHeader() == HttpHeader.CONTENT_LENGTH) {
+                        continue;
+                    }
                     headersJSON.put(field.getName(), field.getValue());
                 }
+                if (gzip) {
+                    headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                }
             } catch (JSONException e) {
                 logger.warn("Error forming response headers: {}", e.getMessage());
             }
             return headersJSON;
         }
 
+        private boolean isCompressible(HttpFields httpFields) {
+            if (httpFields.containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+                return false;
+            }
+            String contentType = httpFields.get(HttpHeader.CONTENT_TYPE);
+            return contentType != null && (contentType.startsWith("text/") || contentType.contains("json")
+                    || contentType.contains("xml") || contentType.contains("javascript"));
+        }
+
+        private void appendToChunk(byte[] b, int off, int len) {
+            if (mChunk == null) {
+                mChunk = new byte[MAX_CHUNK_SIZE];
+            }
+            while (len > 0) {
+                int n = Math.min(len, MAX_CHUNK_SIZE - mChunkLength);
+                System.arraycopy(b, off, mChunk, mChunkLength, n);
+                mChunkLength += n;
+                off += n;
+                len -= n;
+                if (mChunkLength == MAX_CHUNK_SIZE) {
+                    emitChunk();
+                }
+            }
+        }
+
+        private void emitChunk() {
+            if (mChunkLength == 0) {
+                return;
+            }
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", mRequestId);
+                responseJson.put("body", Arrays.copyOf(mChunk, mChunkLength));
+                socket.emit("responseContentBinary", responseJson);
+                logger.debug("Sent {} bytes of content to request {}", mChunkLength, mRequestId);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+            mBytesSent += mChunkLength;
+            mChunksSent++;
+            mChunkLength = 0;
+            mChunkEmitted = true;
+        }
+
+        private synchronized void lingerFlush() {
+            mFlushJob = null;
+            if (mFinished) {
+                return;
+            }
+            try {
+                // a GZIPOutputStream with syncFlush enabled emits all data compressed so far
+                mOut.flush();
+            } catch (IOException e) {
+                logger.debug("Error compressing response content: {}", e.getMessage());
+            }
+            emitChunk();
+        }
+
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
@@ -561,21 +835,37 @@ public class CloudClient {
                 }
             }
 
-            /**
-             * What is this? In some cases where latency is very low the myopenhab service
-             * can receive responseFinished before the headers or content are received and I
-             * cannot find another workaround to prevent it.
-             */
-            ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> {
+            // Headers, all content and the final message are emitted in order from this listener and the socket.io
+            // client sends them in the order of emission, so the last chunk cannot overtake the headers or content
+            synchronized (this) {
+                mFinished = true;
+                if (mFlushJob != null) {
+                    mFlushJob.cancel(false);
+                    mFlushJob = null;
+                }
+                try {
+                    mOut.close();
+                } catch (IOException e) {
+                    logger.debug("Error compressing response content: {}", e.getMessage());
+                }
+                emitChunk();
+
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", mRequestId);
                     socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", mRequestId);
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }, 1, TimeUnit.MILLISECONDS);
+            }
+
+            long latency = System.currentTimeMillis() - mStartTime;
+            long requests = proxiedRequests.incrementAndGet();
+            long bytes = proxiedBytes.addAndGet(mBytesSent);
+            long totalLatency = proxiedLatencyMillis.addAndGet(latency);
+            logger.debug(
+                    "Finished responding to request {}: {} bytes in {} chunks after {} ms (total: {} requests, {} bytes, {} ms average)",
+                    mRequestId, mBytesSent, mChunksSent, latency, requests, bytes, totalLatency / requests);
         }
 
         @Override
@@ -591,28 +881,55 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
-            try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+            boolean chunkEmitted;
+            synchronized (this) {
+                mChunkEmitted = false;
+                try {
+                    if (content.hasArray()) {
+                        mOut.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+                        content.position(content.limit());
+                    } else {
+                        mOut.write(BufferUtil.toArray(content));
+                    }
+                } catch (IOException e) {
+                    logger.debug("Error compressing response content: {}", e.getMessage());
+                }
+                chunkEmitted = mChunkEmitted;
+
+                if (mChunkLength > 0 && mFlushJob == null) {
+                    mFlushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(this::lingerFlush,
+                            CHUNK_LINGER_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (chunkEmitted) {
+                // Only demand more content from openHAB once the socket.io event thread has processed the chunk
+                EventThread.exec(callback::succeeded);
+            } else {
+                callback.succeeded();
             }
         }
 
         @Override
-        public void onHeaders(Response response) {
+        public synchronized void onHeaders(Response response) {
             if (!mHeadersSent) {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
+                boolean gzip = compressResponses && mAcceptsGzip && isCompressible(response.getHeaders());
+                if (gzip) {
+                    try {
+                        mOut = new GZIPOutputStream(mChunkStream, 8192, true);
+                    } catch (IOException e) {
+                        logger.debug("Error compressing response content: {}", e.getMessage());
+                        gzip = false;
+                    }
+                }
                 try {
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(response.getHeaders(), gzip));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the openHAB Cloud connection
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class CloudCommandExtension extends AbstractConsoleCommandExtension {
+    private static final String SUBCMD_STATS = "stats";
+
+    private CloudService cloudService;
+
+    public CloudCommandExtension() {
+        super("openhabcloud", "Inspect the openHAB Cloud connection.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length > 0 && SUBCMD_STATS.equals(args[0])) {
+            printStatistics(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage(SUBCMD_STATS,
+                "print the statistics of the proxied requests and the item updates"));
+    }
+
+    @Reference
+    public void setCloudService(CloudService cloudService) {
+        this.cloudService = cloudService;
+    }
+
+    private void printStatistics(Console console) {
+        CloudClient cloudClient = cloudService.getCloudClient();
+        if (cloudClient == null) {
+            console.println("The openHAB Cloud connection is not configured");
+            return;
+        }
+        console.println("Connected:              " + cloudClient.isConnected());
+        console.println("Proxied requests:       " + cloudClient.getProxiedRequests());
+        console.println("Proxied bytes:          " + cloudClient.getProxiedBytes());
+        console.println("Average latency:        " + cloudClient.getAverageProxiedLatency() + " ms");
+        console.println("Item updates sent:      " + cloudClient.getItemUpdatesEmitted());
+        console.println("Item updates coalesced: " + cloudClient.getItemUpdatesCoalesced());
+    }
+}
@@ -42,6 +42,7 @@ import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.items.events.ItemStateEvent;
+import org.eclipse.smarthome.core.library.items.ContactItem;
 import org.eclipse.smarthome.core.library.items.RollershutterItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -71,7 +72,7 @@ import org.slf4j.LoggerFactory;
  * @author Victor Belov - Initial contribution
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
-@Component(immediate = true, service = { EventSubscriber.class,
+@Component(immediate = true, service = { CloudService.class, EventSubscriber.class,
         ActionService.class }, configurationPid = "org.openhab.openhabcloud", property = {
                 Constants.SERVICE_PID + "=org.openhab.openhabcloud",
                 ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=io:openhabcloud",
@@ -82,10 +83,13 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_COMPRESS = "compress";
+    private static final String CFG_UPDATE_INTERVAL = "updateInterval";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
+    private static final int DEFAULT_UPDATE_INTERVAL = 1000;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
@@ -98,6 +102,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     protected EventPublisher eventPublisher = null;
 
     private boolean remoteAccessEnabled = true;
+    private boolean compressResponses = false;
+    private int itemUpdateInterval = DEFAULT_UPDATE_INTERVAL;
     private Set<String> exposedItems = null;
     private int localPort;
 
@@ -193,6 +199,20 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             logger.debug("remoteAccessEnabled is not set, keeping value '{}'", remoteAccessEnabled);
         }
 
+        Object compressCfg = config.get(CFG_COMPRESS);
+        compressResponses = compressCfg != null && Boolean.parseBoolean(compressCfg.toString());
+
+        Object updateIntervalCfg = config.get(CFG_UPDATE_INTERVAL);
+        itemUpdateInterval = DEFAULT_UPDATE_INTERVAL;
+        if (updateIntervalCfg != null) {
+            try {
+                itemUpdateInterval = Integer.parseInt(updateIntervalCfg.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using {} ms", CFG_UPDATE_INTERVAL, updateIntervalCfg,
+                        DEFAULT_UPDATE_INTERVAL);
+            }
+        }
+
         if (config.get(CFG_BASE_URL) != null) {
             cloudBaseUrl = (String) config.get(CFG_BASE_URL);
         } else {
@@ -239,6 +259,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
                 remoteAccessEnabled, exposedItems);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
+        cloudClient.setCompressResponses(compressResponses);
+        cloudClient.setItemUpdateInterval(itemUpdateInterval);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
@@ -377,6 +399,25 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         this.eventPublisher = null;
     }
 
+    /**
+     * Returns the client of the current openHAB Cloud connection, or null if the service is not configured yet
+     */
+    public CloudClient getCloudClient() {
+        return cloudClient;
+    }
+
+    /**
+     * Switch and contact items change rarely and their updates are expected to arrive without delay, so they are
+     * not buffered.
+     */
+    private boolean isPriorityItem(String itemName) {
+        if (itemRegistry == null) {
+            return false;
+        }
+        Item item = itemRegistry.get(itemName);
+        return item instanceof SwitchItem || item instanceof ContactItem;
+    }
+
     @Override
     public Set<String> getSubscribedEventTypes() {
         return Collections.singleton(ItemStateEvent.TYPE);
@@ -391,7 +432,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     public void receive(Event event) {
         ItemStateEvent ise = (ItemStateEvent) event;
         if (exposedItems != null && exposedItems.contains(ise.getItemName())) {
-            cloudClient.sendItemUpdate(ise.getItemName(), ise.getItemState().toString());
+            cloudClient.queueItemUpdate(ise.getItemName(), ise.getItemState().toString(),
+                    isPriorityItem(ise.getItemName()));
         }
     }
 }
@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.util.Callback;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.socket.client.Socket;
+
+/**
+ * Tests the forwarding of proxied responses and the coalescing of item updates sent to the openHAB Cloud.
+ *
+ * @author agent - Initial contribution
+ */
+public class CloudClientTest {
+
+    private static final int REQUEST_ID = 42;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    private CloudClient client;
+    private Socket socket;
+
+    @Before
+    public void setUp() {
+        client = new CloudClient(null, "uuid", "secret", "https://myopenhab.org/", "http://localhost:8080", true,
+                null);
+        socket = mock(Socket.class);
+        client.socket = socket;
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    public void contentIsSplitAtTheChunkSize() throws Exception {
+        CloudClient.ResponseListener listener = client.new ResponseListener(REQUEST_ID, false);
+        listener.onHeaders(response("application/octet-stream"));
+
+        byte[] content = content(MAX_CHUNK_SIZE + 1);
+        Callback callback = mock(Callback.class);
+        listener.onContent(null, ByteBuffer.wrap(content), callback);
+
+        // the full chunk is sent right away, content is only demanded again once the socket has taken it
+        assertEquals(MAX_CHUNK_SIZE, chunks(-1).get(0).length);
+        verify(callback, timeout(1000)).succeeded();
+
+        listener.onComplete(null);
+        List<byte[]> chunks = chunks(2);
+        assertEquals(1, chunks.get(1).length);
+        assertArrayEquals(content, concat(chunks));
+        verify(socket).emit(eq("responseFinished"), any(JSONObject.class));
+
+        assertEquals(1, client.getProxiedRequests());
+        assertEquals(content.length, client.getProxiedBytes());
+    }
+
+    @Test
+    public void smallContentIsAggregated() throws Exception {
+        CloudClient.ResponseListener listener = client.new ResponseListener(REQUEST_ID, false);
+        listener.onHeaders(response("text/plain"));
+
+        byte[] content = content(300);
+        for (int i = 0; i < 3; i++) {
+            Callback callback = mock(Callback.class);
+            listener.onContent(null, ByteBuffer.wrap(content, i * 100, 100), callback);
+            // no chunk was sent, so more content is demanded immediately
+            verify(callback).succeeded();
+        }
+        listener.onComplete(null);
+
+        List<byte[]> chunks = chunks(1);
+        assertArrayEquals(content, chunks.get(0));
+    }
+
+    @Test
+    public void lingeringContentIsFlushed() throws Exception {
+        CloudClient.ResponseListener listener = client.new ResponseListener(REQUEST_ID, false);
+        listener.onHeaders(response("text/event-stream"));
+
+        byte[] content = content(10);
+        listener.onContent(null, ByteBuffer.wrap(content), mock(Callback.class));
+
+        // the response is not complete, but the content must not wait for more content
+        verify(socket, timeout(1000)).emit(eq("responseContentBinary"), any(JSONObject.class));
+        assertArrayEquals(content, chunks(1).get(0));
+        verify(socket, never()).emit(eq("responseFinished"), any(JSONObject.class));
+    }
+
+    @Test
+    public void textualContentIsCompressed() throws Exception {
+        client.setCompressResponses(true);
+        CloudClient.ResponseListener listener = client.new ResponseListener(REQUEST_ID, true);
+        listener.onHeaders(response("application/json"));
+
+        ArgumentCaptor<JSONObject> captor = ArgumentCaptor.forClass(JSONObject.class);
+        verify(socket).emit(eq("responseHeader"), captor.capture());
+        JSONObject headers = captor.getValue().getJSONObject("headers");
+        assertEquals("gzip", headers.getString(HttpHeader.CONTENT_ENCODING.asString()));
+        assertFalse(headers.has(HttpHeader.CONTENT_LENGTH.asString()));
+
+        byte[] content = "{\"value\":1}".getBytes(StandardCharsets.UTF_8);
+        listener.onContent(null, ByteBuffer.wrap(content), mock(Callback.class));
+        listener.onContent(null, ByteBuffer.wrap(content), mock(Callback.class));
+        listener.onComplete(null);
+
+        byte[] compressed = concat(chunks(-1));
+        byte[] expected = concat(Arrays.asList(content, content));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(expected, IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    public void contentIsNotCompressedWithoutAcceptEncoding() throws Exception {
+        client.setCompressResponses(true);
+        CloudClient.ResponseListener listener = client.new ResponseListener(REQUEST_ID, false);
+        listener.onHeaders(response("application/json"));
+
+        ArgumentCaptor<JSONObject> captor = ArgumentCaptor.forClass(JSONObject.class);
+        verify(socket).emit(eq("responseHeader"), captor.capture());
+        JSONObject headers = captor.getValue().getJSONObject("headers");
+        assertFalse(headers.has(HttpHeader.CONTENT_ENCODING.asString()));
+        assertTrue(headers.has(HttpHeader.CONTENT_LENGTH.asString()));
+    }
+
+    @Test
+    public void latestItemStateWins() {
+        client.setItemUpdateInterval(1000);
+        client.onConnect();
+
+        client.queueItemUpdate("Power", "1", false);
+        client.queueItemUpdate("Power", "2", false);
+        client.queueItemUpdate("Energy", "10", false);
+        client.queueItemUpdate("Power", "3", false);
+        verify(socket, never()).emit(eq("itemupdate"), any(JSONObject.class));
+
+        client.flushItemUpdates();
+        // the order of the items within a flush is not defined
+        assertEquals(new HashSet<>(Arrays.asList("Energy=10", "Power=3")), new HashSet<>(itemUpdates(2)));
+        assertEquals(2, client.getItemUpdatesEmitted());
+        assertEquals(2, client.getItemUpdatesCoalesced());
+
+        // nothing is sent twice
+        client.flushItemUpdates();
+        itemUpdates(2);
+    }
+
+    @Test
+    public void priorityItemUpdatesAreSentImmediately() {
+        client.setItemUpdateInterval(1000);
+        client.onConnect();
+
+        client.queueItemUpdate("Switch", "OFF", false);
+        client.queueItemUpdate("Switch", "ON", true);
+        assertEquals(Arrays.asList("Switch=ON"), itemUpdates(1));
+
+        // the older pending state must not overwrite the newer one
+        client.flushItemUpdates();
+        itemUpdates(1);
+        assertEquals(1, client.getItemUpdatesCoalesced());
+    }
+
+    @Test
+    public void itemUpdatesAreSentImmediatelyWithoutInterval() {
+        client.setItemUpdateInterval(0);
+        client.onConnect();
+
+        client.queueItemUpdate("Power", "1", false);
+        client.queueItemUpdate("Power", "2", false);
+        assertEquals(Arrays.asList("Power=1", "Power=2"), itemUpdates(2));
+        assertEquals(0, client.getItemUpdatesCoalesced());
+    }
+
+    @Test
+    public void itemUpdatesAreSentAfterTheInterval() {
+        client.setItemUpdateInterval(200);
+        client.onConnect();
+        client.startJobs();
+
+        client.queueItemUpdate("Power", "1", false);
+        client.queueItemUpdate("Power", "2", false);
+        verify(socket, after(100).never()).emit(eq("itemupdate"), any(JSONObject.class));
+        verify(socket, timeout(1000)).emit(eq("itemupdate"), any(JSONObject.class));
+        assertEquals(Arrays.asList("Power=2"), itemUpdates(1));
+
+        client.queueItemUpdate("Power", "3", false);
+        verify(socket, timeout(1000).times(2)).emit(eq("itemupdate"), any(JSONObject.class));
+        assertEquals(Arrays.asList("Power=2", "Power=3"), itemUpdates(2));
+    }
+
+    @Test
+    public void itemUpdatesAreKeptWhileDisconnected() {
+        client.setItemUpdateInterval(1000);
+
+        client.queueItemUpdate("Power", "1", false);
+        client.queueItemUpdate("Power", "2", false);
+        client.flushItemUpdates();
+        verify(socket, never()).emit(eq("itemupdate"), any(JSONObject.class));
+
+        // the pending states are sent once the connection is back
+        client.onConnect();
+        verify(socket, timeout(1000)).emit(eq("itemupdate"), any(JSONObject.class));
+        assertEquals(Arrays.asList("Power=2"), itemUpdates(1));
+    }
+
+    private static Response response(String contentType) {
+        HttpFields fields = new HttpFields();
+        fields.put(HttpHeader.CONTENT_TYPE, contentType);
+        fields.put(HttpHeader.CONTENT_LENGTH, "123");
+        Response response = mock(Response.class);
+        when(response.getHeaders()).thenReturn(fields);
+        when(response.getStatus()).thenReturn(200);
+        return response;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    /**
+     * Returns the bodies of the responseContentBinary messages
+     *
+     * @param expected the expected number of messages, or -1 to accept any number
+     */
+    private List<byte[]> chunks(int expected) {
+        ArgumentCaptor<JSONObject> captor = ArgumentCaptor.forClass(JSONObject.class);
+        verify(socket, expected < 0 ? atLeastOnce() : times(expected)).emit(eq("responseContentBinary"),
+                captor.capture());
+        List<byte[]> chunks = new ArrayList<>();
+        for (JSONObject message : captor.getAllValues()) {
+            assertEquals(REQUEST_ID, message.getInt("id"));
+            chunks.add((byte[]) message.get("body"));
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the itemupdate messages as itemName=itemStatus in the order they were sent
+     *
+     * @param expected the expected number of messages
+     */
+    private List<String> itemUpdates(int expected) {
+        ArgumentCaptor<JSONObject> captor = ArgumentCaptor.forClass(JSONObject.class);
+        verify(socket, times(expected)).emit(eq("itemupdate"), captor.capture());
+        List<String> updates = new ArrayList<>();
+        for (JSONObject message : captor.getAllValues()) {
+            updates.add(message.getString("itemName") + "=" + message.getString("itemStatus"));
+        }
+        return updates;
+    }
+
+    private static byte[] concat(List<byte[]> chunks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            out.write(chunk);
+        }
+        return out.toByteArray();
+    }
+}
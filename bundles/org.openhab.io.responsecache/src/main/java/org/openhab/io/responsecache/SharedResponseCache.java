@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.responsecache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * This is a cache for the parsed API responses of the bridges and things of the weather bindings, keyed by the request
+ * URL. A single instance is provided as a service and shared by all bindings.
+ * Concurrent requests of the same URL share a single call. A response is returned as long as it is younger than the
+ * maximum age given by the requester, it is evicted once the longest maximum age requested for it has passed. Failed
+ * calls are not cached.
+ *
+ * The cached objects are shared, so they must not be modified.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = SharedResponseCache.class)
+public class SharedResponseCache {
+
+    private static final long EVICTION_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile long lastEviction = System.nanoTime();
+
+    /**
+     * Returns the cached response of the URL or calls the loader, if there is none younger than the maximum age. If
+     * the URL is already requested by another thread, waits for its response.
+     *
+     * @param url the request URL
+     * @param maxAge the maximum age of the response in milliseconds
+     * @param loader requests and parses the response, exceptions are passed to all waiting requesters
+     * @return the response, null responses are not cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(String url, long maxAge, Supplier<@Nullable T> loader) {
+        long now = System.nanoTime();
+        long maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAge);
+        evictExpired(now);
+
+        Entry created = new Entry(now, maxAgeNanos);
+        Entry entry = entries.merge(url, created,
+                (current, newEntry) -> current.isValid(now, maxAgeNanos) ? current : newEntry);
+        if (entry == created) {
+            try {
+                T value = loader.get();
+                entry.value.complete(value);
+                if (value == null) {
+                    entries.remove(url, entry);
+                }
+                return value;
+            } catch (RuntimeException | Error e) {
+                entries.remove(url, entry);
+                entry.value.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        entry.extendExpiry(maxAgeNanos);
+        try {
+            return (T) entry.value.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the cached response of the URL, e.g. if it contains an error.
+     */
+    public void remove(String url) {
+        entries.remove(url);
+    }
+
+    private void evictExpired(long now) {
+        if (now - lastEviction >= EVICTION_INTERVAL) {
+            lastEviction = now;
+            entries.values().removeIf(entry -> entry.value.isDone() && now - entry.expiry >= 0);
+        }
+    }
+
+    private static class Entry {
+        final CompletableFuture<@Nullable Object> value = new CompletableFuture<>();
+        final long loaded;
+        volatile long expiry;
+
+        Entry(long loaded, long maxAge) {
+            this.loaded = loaded;
+            this.expiry = loaded + maxAge;
+        }
+
+        boolean isValid(long now, long maxAge) {
+            return !value.isDone() || (!value.isCompletedExceptionally() && now - loaded < maxAge);
+        }
+
+        synchronized void extendExpiry(long maxAge) {
+            if (loaded + maxAge - expiry > 0) {
+                expiry = loaded + maxAge;
+            }
+        }
+    }
+}
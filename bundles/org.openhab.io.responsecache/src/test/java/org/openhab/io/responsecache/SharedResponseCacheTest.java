@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.responsecache;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the {@link SharedResponseCache} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedResponseCacheTest {
+
+    private static final String URL = "https://api.darksky.net/forecast/apikey/50.0,8.0";
+    private static final long MAX_AGE = TimeUnit.MINUTES.toMillis(1);
+
+    private SharedResponseCache subject;
+    private AtomicInteger calls;
+
+    @Before
+    public void setUp() {
+        subject = new SharedResponseCache();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void testGetReturnsCachedValue() {
+        assertThat(subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()), is(equalTo("response1")));
+        assertThat(subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()), is(equalTo("response1")));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void testGetReloadsExpiredValue() {
+        subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet());
+        assertThat(subject.get(URL, 0, () -> "response" + calls.incrementAndGet()), is(equalTo("response2")));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void testRemove() {
+        subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet());
+        subject.remove(URL);
+        assertThat(subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()), is(equalTo("response2")));
+    }
+
+    @Test
+    public void testNullIsNotCached() {
+        assertThat(subject.get(URL, MAX_AGE, () -> {
+            calls.incrementAndGet();
+            return null;
+        }), is(nullValue()));
+        assertThat(subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()), is(equalTo("response2")));
+    }
+
+    @Test
+    public void testExceptionIsNotCached() {
+        try {
+            subject.get(URL, MAX_AGE, () -> {
+                throw new IllegalStateException("failed");
+            });
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is(equalTo("failed")));
+        }
+        assertThat(subject.get(URL, MAX_AGE, () -> "response"), is(equalTo("response")));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneCall() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> subject.get(URL, MAX_AGE, () -> {
+                calls.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "response";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor
+                    .submit(() -> subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()));
+            Future<String> third = executor
+                    .submit(() -> subject.get(URL, MAX_AGE, () -> "response" + calls.incrementAndGet()));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS), is(equalTo("response")));
+            assertThat(second.get(5, TimeUnit.SECONDS), is(equalTo("response")));
+            assertThat(third.get(5, TimeUnit.SECONDS), is(equalTo("response")));
+            assertThat(calls.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
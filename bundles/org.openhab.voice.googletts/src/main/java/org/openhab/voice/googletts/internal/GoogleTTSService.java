@@ -20,19 +20,21 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
-import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
 import org.openhab.voice.googletts.internal.protocol.AudioEncoding;
+import org.openhab.voice.ttscache.TTSCacheService;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,11 +68,6 @@ public class GoogleTTSService implements TTSService {
      */
     static final String SERVICE_PID = "org.openhab." + SERVICE_CATEGORY + "." + SERVICE_ID;
 
-    /**
-     * Cache folder under $userdata
-     */
-    private static final String CACHE_FOLDER_NAME = "cache";
-
     /**
      * Configuration parameters
      */
@@ -105,23 +102,29 @@ public class GoogleTTSService implements TTSService {
      */
     private GoogleTTSConfig config = new GoogleTTSConfig();
 
+    /**
+     * Shared audio cache
+     */
+    private TTSCacheService ttsCacheService;
+
     /**
      * DS activate, with access to ConfigAdmin
      */
     @Activate
     protected void activate(Map<String, Object> config) {
-        // create cache folder
-        File userData = new File(ConfigConstants.getUserDataFolder());
-        File cacheFolder = new File(new File(userData, CACHE_FOLDER_NAME), SERVICE_PID);
-        if (!cacheFolder.exists()) {
-            cacheFolder.mkdirs();
-        }
-        logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
-
-        apiImpl = new GoogleCloudAPI(cacheFolder);
+        apiImpl = new GoogleCloudAPI(ttsCacheService.getCache());
         updateConfig(config);
     }
 
+    @Reference
+    protected void setTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = ttsCacheService;
+    }
+
+    protected void unsetTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = null;
+    }
+
     /**
      * Initializing audio formats. Google supports 3 formats:
      * LINEAR16
@@ -306,11 +309,15 @@ public class GoogleTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
-        // create the audio byte array for given text, locale, format
-        byte[] audio = apiImpl.synthesizeSpeech(trimmedText, (GoogleTTSVoice) voice, requestedFormat.getCodec());
+        // get the audio file for given text, locale, format, it is streamed from the cache
+        File audio = apiImpl.synthesizeSpeech(trimmedText, (GoogleTTSVoice) voice, requestedFormat.getCodec());
         if (audio == null) {
             throw new TTSException("Could not read from Google Cloud TTS Service");
         }
-        return new ByteArrayAudioStream(audio, requestedFormat);
+        try {
+            return new FileAudioStream(audio, requestedFormat);
+        } catch (AudioException ex) {
+            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
+        }
     }
 }
@@ -14,16 +14,27 @@ package org.openhab.voice.marytts.internal;
 
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
+import org.openhab.voice.ttscache.CachedAudioStream;
+import org.openhab.voice.ttscache.SynthesisStatistics;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,9 +53,31 @@ import marytts.modules.synthesis.Voice;
 @Component
 public class MaryTTSService implements TTSService {
 
+    private static final String SERVICE_ID = "marytts";
+
+    /**
+     * Number of engines that synthesize in parallel
+     */
+    private static final int POOL_SIZE = Math.min(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Text synthesized with every voice after startup, so the first real request does not pay for loading it
+     */
+    private static final String WARM_UP_TEXT = "OK";
+
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
-    private MaryInterface marytts;
+    /**
+     * Idle engines, an engine is taken from the queue for one synthesis and put back afterwards
+     */
+    private final BlockingQueue<MaryInterface> engines = new LinkedBlockingQueue<>();
+
+    private final SynthesisStatistics statistics = new SynthesisStatistics("MaryTTS");
+
+    /**
+     * Shared audio cache
+     */
+    private TTSCacheService ttsCacheService;
 
     /**
      * Set of supported voices
@@ -58,14 +91,45 @@ public class MaryTTSService implements TTSService {
 
     protected void activate() {
         try {
-            marytts = new LocalMaryInterface();
+            for (int i = 0; i < POOL_SIZE; i++) {
+                engines.add(new LocalMaryInterface());
+            }
             voices = initVoices();
             audioFormats = initAudioFormats();
+            ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(this::warmUp);
         } catch (MaryConfigurationException e) {
             logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
         }
     }
 
+    protected void deactivate() {
+        engines.clear();
+    }
+
+    @Reference
+    protected void setTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = ttsCacheService;
+    }
+
+    protected void unsetTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = null;
+    }
+
+    /**
+     * Synthesizes a short text with every voice, so the voice data is loaded before the first request.
+     */
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        for (org.eclipse.smarthome.core.voice.Voice voice : voices) {
+            try (InputStream audio = generateAudio(WARM_UP_TEXT, voice, null)) {
+                // the audio itself is not needed
+            } catch (IOException e) {
+                logger.debug("Warming up voice {} failed: {}", voice.getLabel(), e.getMessage());
+            }
+        }
+        logger.debug("Warmed up {} MaryTTS voices in {} ms", voices.size(), System.currentTimeMillis() - start);
+    }
+
     @Override
     public Set<org.eclipse.smarthome.core.voice.Voice> getAvailableVoices() {
         return voices;
@@ -79,6 +143,7 @@ public class MaryTTSService implements TTSService {
     @Override
     public AudioStream synthesize(String text, org.eclipse.smarthome.core.voice.Voice voice,
             AudioFormat requestedFormat) throws TTSException {
+        long requestNanos = System.nanoTime();
         // Validate arguments
         if (text == null || text.isEmpty()) {
             throw new TTSException("The passed text is null or empty");
@@ -114,17 +179,40 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
+        // Repeated phrases are served from the cache without synthesizing them again
+        String key = TTSCache.key(SERVICE_ID, voice.getLabel(), text);
+        try {
+            File audioFile = ttsCacheService.getCache().getFile(key, "wav", text,
+                    () -> generateAudio(text, voice, maryTTSVoiceAudioFormat));
+            return new CachedAudioStream(audioFile, maryTTSVoiceAudioFormat, statistics, requestNanos);
+        } catch (IOException | AudioException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        }
+    }
+
+    /**
+     * Synthesizes the text with an idle engine of the pool.
+     *
+     * @return the WAV audio
+     */
+    private InputStream generateAudio(String text, org.eclipse.smarthome.core.voice.Voice voice,
+            AudioFormat audioFormat) throws IOException {
+        MaryInterface marytts;
+        try {
+            marytts = engines.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a MaryTTS engine", e);
+        }
+        try {
             // Set voice (Each voice supports only a single AudioFormat)
             marytts.setLocale(voice.getLocale());
             marytts.setVoice(voice.getLabel());
-
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
-            }
+            return new MaryTTSAudioStream(marytts.generateAudio(text), audioFormat);
+        } catch (SynthesisException e) {
+            throw new IOException(e);
+        } finally {
+            engines.add(marytts);
         }
     }
 
@@ -135,6 +223,7 @@ public class MaryTTSService implements TTSService {
      */
     private Set<org.eclipse.smarthome.core.voice.Voice> initVoices() {
         Set<org.eclipse.smarthome.core.voice.Voice> voices = new HashSet<>();
+        MaryInterface marytts = engines.element();
         for (Locale locale : marytts.getAvailableLocales()) {
             for (String voiceLabel : marytts.getAvailableVoices(locale)) {
                 voices.add(new MaryTTSVoice(locale, voiceLabel));
@@ -150,7 +239,7 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> initAudioFormats() {
         Set<AudioFormat> audioFormats = new HashSet<>();
-        for (String voiceLabel : marytts.getAvailableVoices()) {
+        for (String voiceLabel : engines.element().getAvailableVoices()) {
             audioFormats.add(getAudioFormat(Voice.getVoice(voiceLabel).dbAudioFormat()));
         }
         return audioFormats;
@@ -12,6 +12,10 @@
  */
 package org.openhab.voice.picotts.internal;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
@@ -21,16 +25,34 @@ import java.util.stream.Stream;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.CachedAudioStream;
+import org.openhab.voice.ttscache.SynthesisStatistics;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Florian Schmidt - Initial Contribution
  */
 @Component
 public class PicoTTSService implements TTSService {
+    private static final String SERVICE_ID = "picotts";
+
+    /**
+     * Text synthesized once after startup, so the binary and the language files are loaded from disk before the
+     * first request
+     */
+    private static final String WARM_UP_TEXT = "OK";
+
+    private final Logger logger = LoggerFactory.getLogger(PicoTTSService.class);
+
     private final Set<Voice> voices = Stream
             .of(new PicoTTSVoice("de-DE"), new PicoTTSVoice("en-US"), new PicoTTSVoice("en-GB"),
                     new PicoTTSVoice("es-ES"), new PicoTTSVoice("fr-FR"), new PicoTTSVoice("it-IT"))
@@ -39,6 +61,36 @@ public class PicoTTSService implements TTSService {
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
+    private final SynthesisStatistics statistics = new SynthesisStatistics("PicoTTS");
+
+    /**
+     * Shared audio cache
+     */
+    private TTSCacheService ttsCacheService;
+
+    protected void activate() {
+        ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(this::warmUp);
+    }
+
+    @Reference
+    protected void setTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = ttsCacheService;
+    }
+
+    protected void unsetTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = null;
+    }
+
+    private void warmUp() {
+        for (Voice voice : voices) {
+            try (InputStream audio = generateAudio(WARM_UP_TEXT, voice)) {
+                // the audio itself is not needed
+            } catch (IOException e) {
+                logger.debug("Warming up pico2wave for {} failed: {}", voice.getLabel(), e.getMessage());
+            }
+        }
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -51,6 +103,7 @@ public class PicoTTSService implements TTSService {
 
     @Override
     public AudioStream synthesize(String text, Voice voice, AudioFormat requestedFormat) throws TTSException {
+        long requestNanos = System.nanoTime();
         if (text == null || text.isEmpty()) {
             throw new TTSException("The passed text can not be null or empty");
         }
@@ -67,16 +120,57 @@ public class PicoTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
+        // Repeated phrases are served from the cache without starting pico2wave again
+        String key = TTSCache.key(SERVICE_ID, voice.getLabel(), text);
         try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
+            File audioFile = ttsCacheService.getCache().getFile(key, "wav", text, () -> generateAudio(text, voice));
+            return new CachedAudioStream(audioFile, requestedFormat, statistics, requestNanos);
+        } catch (IOException | AudioException e) {
             throw new TTSException(e);
         }
     }
 
+    /**
+     * Runs pico2wave, which can only write to a file.
+     *
+     * @return the WAV audio, the temporary file is deleted when the stream is closed
+     * @throws IOException if pico2wave failed or did not write any audio
+     */
+    private InputStream generateAudio(String text, Voice voice) throws IOException {
+        File outputFile = File.createTempFile(Integer.toString(text.hashCode()), ".wav");
+        outputFile.deleteOnExit();
+        String[] command = new String[] { "pico2wave", "-l=" + voice.getLabel(), "-w=" + outputFile.getAbsolutePath(),
+                text };
+        try {
+            Process process = Runtime.getRuntime().exec(command);
+            int exitValue = process.waitFor();
+            // nothing must be cached if pico2wave failed
+            if (exitValue != 0) {
+                throw new IOException("pico2wave failed with exit value " + exitValue);
+            }
+            if (outputFile.length() == 0) {
+                throw new IOException("pico2wave did not write any audio");
+            }
+            return new FileInputStream(outputFile) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    outputFile.delete();
+                }
+            };
+        } catch (InterruptedException e) {
+            outputFile.delete();
+            Thread.currentThread().interrupt();
+            throw new IOException("pico2wave has been interrupted", e);
+        } catch (IOException e) {
+            outputFile.delete();
+            throw e;
+        }
+    }
+
     @Override
     public String getId() {
-        return "picotts";
+        return SERVICE_ID;
     }
 
     @Override
@@ -24,7 +24,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
@@ -34,10 +33,12 @@ import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
 import org.openhab.voice.pollytts.internal.cloudapi.CachedPollyTTSCloudImpl;
 import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSConfig;
+import org.openhab.voice.ttscache.TTSCacheService;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,11 +73,6 @@ public class PollyTTSService implements TTSService {
      */
     static final String SERVICE_PID = "org.openhab." + SERVICE_CATEGORY + "." + SERVICE_ID;
 
-    /**
-     * Cache folder under $userdata
-     */
-    private static final String CACHE_FOLDER_NAME = "cache";
-
     private final Logger logger = LoggerFactory.getLogger(PollyTTSService.class);
 
     /**
@@ -96,25 +92,32 @@ public class PollyTTSService implements TTSService {
 
     private PollyTTSConfig pollyTTSConfig;
 
+    /**
+     * Shared audio cache
+     */
+    private TTSCacheService ttsCacheService;
+
     @Activate
     protected void activate(Map<String, Object> config) {
         modified(config);
     }
 
+    @Reference
+    protected void setTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = ttsCacheService;
+    }
+
+    protected void unsetTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = null;
+    }
+
     @Modified
     protected void modified(Map<String, Object> config) {
         try {
             pollyTTSConfig = new PollyTTSConfig(config);
             logger.debug("Using configuration {}", config);
 
-            // create cache folder
-            File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
-            if (!cacheFolder.exists()) {
-                cacheFolder.mkdirs();
-            }
-            logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
-
-            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder);
+            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, ttsCacheService.getCache());
 
             audioFormats.clear();
             audioFormats.addAll(initAudioFormats());
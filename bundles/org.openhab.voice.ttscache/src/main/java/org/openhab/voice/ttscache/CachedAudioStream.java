@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.audio.AudioException;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+
+/**
+ * Streams a cached audio file and reports the time from the synthesis request until the first byte is read to a
+ * {@link SynthesisStatistics}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachedAudioStream extends FileAudioStream {
+
+    private final SynthesisStatistics statistics;
+    private final long requestNanos;
+    private boolean firstByteRead;
+
+    /**
+     * @param file the cached audio file
+     * @param format the format of the audio
+     * @param statistics the statistics the time to the first byte is reported to
+     * @param requestNanos the {@link System#nanoTime()} when the synthesis was requested
+     * @throws AudioException if the file cannot be opened
+     */
+    public CachedAudioStream(File file, AudioFormat format, SynthesisStatistics statistics, long requestNanos)
+            throws AudioException {
+        super(file, format);
+        this.statistics = statistics;
+        this.requestNanos = requestNanos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            firstByteRead();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            firstByteRead();
+        }
+        return read;
+    }
+
+    private void firstByteRead() {
+        if (!firstByteRead) {
+            firstByteRead = true;
+            statistics.recordFirstByte(requestNanos);
+        }
+    }
+}
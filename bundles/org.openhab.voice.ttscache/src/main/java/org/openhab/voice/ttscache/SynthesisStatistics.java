@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the time from a synthesis request until the first audio byte is read by the audio sink. The statistics
+ * are logged whenever a new time is recorded, so the log shows the time of the request that was just played.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SynthesisStatistics {
+
+    private final Logger logger = LoggerFactory.getLogger(SynthesisStatistics.class);
+
+    private final String serviceName;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long lastNanos;
+
+    /**
+     * @param serviceName the name of the TTS service, used in the log
+     */
+    public SynthesisStatistics(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Records the time to the first audio byte of one request.
+     *
+     * @param requestNanos the {@link System#nanoTime()} when the request was received
+     */
+    public void recordFirstByte(long requestNanos) {
+        long nanos = System.nanoTime() - requestNanos;
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        lastNanos = nanos;
+        logger.debug("{} {}", serviceName, this);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the average time to the first audio byte in milliseconds
+     */
+    public long getAverageMillis() {
+        long c = count.get();
+        return c == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / c);
+    }
+
+    /**
+     * @return the longest time to the first audio byte in milliseconds
+     */
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * @return the time to the first audio byte of the latest request in milliseconds
+     */
+    public long getLastMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "time to first audio byte: last=" + getLastMillis() + "ms, avg=" + getAverageMillis() + "ms, max="
+                + getMaxMillis() + "ms, count=" + getCount();
+    }
+}
@@ -0,0 +1,478 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size bounded cache for synthesized audio files, which is shared by the text-to-speech services.
+ * <p>
+ * Every entry is stored as a single audio file in the cache folder. The entries are evicted in least recently used
+ * order as soon as the total size exceeds the configured maximum. The list of entries (in LRU order, together with
+ * the size, the last access time and the synthesized text) is kept in an index file, so only left over temporary
+ * files have to be looked up on startup.
+ * <p>
+ * The callers play the returned files after {@link #getFile} returned, so an entry is considered in use for
+ * {@link #IN_USE_MILLIS} after it was handed out and is not evicted during that time. The cache may therefore exceed
+ * its maximum size for a short time, the next eviction removes these entries once they are no longer in use.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TTSCache {
+
+    /**
+     * Synthesizes the audio of a cache miss.
+     */
+    @FunctionalInterface
+    public interface AudioSupplier {
+        /**
+         * @return the synthesized audio, the stream is closed by the cache
+         * @throws IOException if the audio could not be synthesized
+         */
+        InputStream synthesize() throws IOException;
+    }
+
+    private static class Entry {
+        final String fileName;
+        final long size;
+        final String text;
+        long lastAccess;
+
+        Entry(String fileName, long size, String text, long lastAccess) {
+            this.fileName = fileName;
+            this.size = size;
+            this.text = text;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    static final String INDEX_FILE_NAME = "index.txt";
+    static final String TMP_FILE_EXTENSION = ".tmp";
+
+    /**
+     * Time an entry is protected from eviction after it was handed out, long enough to play the audio
+     */
+    static final long IN_USE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    // hex encoded SHA-256
+    private static final int KEY_HASH_LENGTH = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCache.class);
+
+    private final File folder;
+    private final File indexFile;
+    private final long inUseMillis;
+
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Object> synthesisLocks = new ConcurrentHashMap<>();
+    private long size;
+    private long maxSize;
+    private boolean dirty;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates the cache and loads its index.
+     *
+     * @param folder the cache folder, created if it does not exist
+     * @param maxSize the maximum size of all cached audio files in bytes
+     */
+    public TTSCache(File folder, long maxSize) {
+        this(folder, maxSize, IN_USE_MILLIS);
+    }
+
+    TTSCache(File folder, long maxSize, long inUseMillis) {
+        this.folder = folder;
+        this.indexFile = new File(folder, INDEX_FILE_NAME);
+        this.maxSize = maxSize;
+        this.inUseMillis = inUseMillis;
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        deleteTemporaryFiles();
+        loadIndex();
+    }
+
+    /**
+     * Builds the cache key for the given parameters. The key starts with the service id, so all entries of one
+     * service can be purged.
+     *
+     * @param serviceId the id of the TTS service
+     * @param parts everything the synthesized audio depends on, e.g. voice, format, configuration and text
+     * @return the cache key, which is also used as the file name of the entry
+     */
+    public static String key(String serviceId, String... parts) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                md.update(part.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+            }
+            byte[] hash = md.digest();
+            StringBuilder sb = new StringBuilder(serviceId.length() + 1 + hash.length * 2).append(serviceId)
+                    .append('_');
+            for (byte b : hash) {
+                sb.append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the cached audio file of the given key or synthesizes and caches it. Concurrent requests for the same
+     * key synthesize the audio only once.
+     *
+     * @param key the cache key, see {@link #key(String, String...)}
+     * @param extension the file extension of the audio, e.g. "mp3"
+     * @param text the synthesized text, kept in the index for transparency
+     * @param supplier synthesizes the audio on a cache miss
+     * @return the audio file, which is not evicted for {@link #IN_USE_MILLIS}
+     * @throws IOException if the audio could not be synthesized or written
+     */
+    public File getFile(String key, String extension, String text, AudioSupplier supplier) throws IOException {
+        File file = lookup(key);
+        if (file != null) {
+            return file;
+        }
+
+        Object lock = synthesisLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                // another thread might have synthesized it in the meantime
+                file = lookup(key);
+                if (file != null) {
+                    return file;
+                }
+                misses.incrementAndGet();
+                return store(key, extension.toLowerCase(), text, supplier);
+            }
+        } finally {
+            // only remove our own lock, a later synthesis of the same key might already use a new one
+            synthesisLocks.remove(key, lock);
+        }
+    }
+
+    /**
+     * Returns whether the given key is cached.
+     *
+     * @param key the cache key
+     * @return true if an audio file is cached for the key
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    private @Nullable File lookup(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccess = System.currentTimeMillis();
+            dirty = true;
+        }
+        File file = new File(folder, entry.fileName);
+        if (!file.exists()) {
+            // deleted from outside, the index is out of date
+            logger.debug("Cached audio file {} is missing, removing it from the index", entry.fileName);
+            remove(key);
+            return null;
+        }
+        hits.incrementAndGet();
+        bytesServed.addAndGet(entry.size);
+        return file;
+    }
+
+    private File store(String key, String extension, String text, AudioSupplier supplier) throws IOException {
+        String fileName = key + "." + extension;
+        Path target = new File(folder, fileName).toPath();
+        Path tmp = new File(folder, fileName + TMP_FILE_EXTENSION).toPath();
+        try (InputStream is = supplier.synthesize()) {
+            Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        long fileSize = Files.size(target);
+        logger.debug("Cached audio file {} ({} bytes)", fileName, fileSize);
+
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(fileName, fileSize, text, System.currentTimeMillis()));
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += fileSize;
+            dirty = true;
+            evict();
+        }
+        return target.toFile();
+    }
+
+    /**
+     * Evicts least recently used entries until the cache fits into its maximum size again. Entries that are in use
+     * and the most recently used entry are always kept.
+     */
+    private synchronized void evict() {
+        long inUse = System.currentTimeMillis() - inUseMillis;
+        Iterator<Entry> it = entries.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Entry entry = it.next();
+            if (!it.hasNext()) {
+                // the most recently used entry
+                break;
+            }
+            if (entry.lastAccess > inUse) {
+                continue;
+            }
+            it.remove();
+            deleteEntry(entry);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            deleteEntry(entry);
+        }
+    }
+
+    private void deleteEntry(Entry entry) {
+        size -= entry.size;
+        dirty = true;
+        File file = new File(folder, entry.fileName);
+        if (file.exists() && !file.delete()) {
+            // e.g. still being played on a platform that does not allow to delete open files
+            logger.debug("Could not delete cached audio file {}", entry.fileName);
+        }
+    }
+
+    /**
+     * Removes all entries of the given service.
+     *
+     * @param serviceId the id of the TTS service
+     * @return the number of removed entries
+     */
+    public synchronized int purge(String serviceId) {
+        return expire(serviceId, -1);
+    }
+
+    /**
+     * Removes the entries of the given service that have not been used for the given time.
+     *
+     * @param serviceId the id of the TTS service
+     * @param maxAgeMillis the maximum time since the last use in milliseconds, a negative value removes all
+     *            entries of the service
+     * @return the number of removed entries
+     */
+    public synchronized int expire(String serviceId, long maxAgeMillis) {
+        String prefix = serviceId + "_";
+        // the key of another service may start with the prefix as well, e.g. "mary_tts_<hash>" for service "mary"
+        int keyLength = prefix.length() + KEY_HASH_LENGTH;
+        long oldest = maxAgeMillis < 0 ? Long.MAX_VALUE : System.currentTimeMillis() - maxAgeMillis;
+        int removed = 0;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getKey().length() == keyLength && e.getKey().startsWith(prefix)
+                    && e.getValue().lastAccess < oldest) {
+                it.remove();
+                deleteEntry(e.getValue());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Sets the maximum size and evicts entries if necessary.
+     *
+     * @param maxSize the maximum size of all cached audio files in bytes
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /**
+     * Evicts the entries that could not be evicted while they were in use and writes the index file if entries were
+     * added, used or removed since it was written the last time.
+     */
+    public synchronized void flush() {
+        evict();
+        if (!dirty) {
+            return;
+        }
+        Path tmp = new File(folder, INDEX_FILE_NAME + TMP_FILE_EXTENSION).toPath();
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    writer.write(e.getKey());
+                    writer.write('\t');
+                    writer.write(entry.fileName);
+                    writer.write('\t');
+                    writer.write(Long.toString(entry.size));
+                    writer.write('\t');
+                    writer.write(Long.toString(entry.lastAccess));
+                    writer.write('\t');
+                    writer.write(escape(entry.text));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            logger.warn("Could not write the TTS cache index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the temporary files that were left over when the process ended while audio or the index was written.
+     */
+    private void deleteTemporaryFiles() {
+        try (DirectoryStream<Path> tmpFiles = Files.newDirectoryStream(folder.toPath(), "*" + TMP_FILE_EXTENSION)) {
+            for (Path tmp : tmpFiles) {
+                logger.debug("Deleting left over temporary file {}", tmp.getFileName());
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete the temporary files of the TTS cache {}: {}", folder, e.getMessage());
+        }
+    }
+
+    private synchronized void loadIndex() {
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 5);
+                if (fields.length < 5) {
+                    continue;
+                }
+                try {
+                    Entry entry = new Entry(fields[1], Long.parseLong(fields[2]), unescape(fields[4]),
+                            Long.parseLong(fields[3]));
+                    entries.put(fields[0], entry);
+                    size += entry.size;
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring invalid TTS cache index line '{}'", line);
+                }
+            }
+            logger.debug("Loaded {} entries ({} bytes) from the TTS cache index", entries.size(), size);
+        } catch (NoSuchFileException e) {
+            // new cache
+        } catch (IOException e) {
+            logger.warn("Could not read the TTS cache index {}: {}", indexFile, e.getMessage());
+        }
+        evict();
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char n = text.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'r' ? '\r' : n == 'n' ? '\n' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the size of all cached audio files in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the ratio of requests served from the cache, 0 if there were no requests yet
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @return the number of bytes served from the cache
+     */
+    public long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import static org.openhab.voice.ttscache.TTSCacheService.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.TTSService;
+import org.eclipse.smarthome.core.voice.Voice;
+import org.eclipse.smarthome.core.voice.VoiceManager;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the {@link TTSCache} that is shared by the text-to-speech services, writes its index periodically and
+ * pre-warms it with a list of phrases.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = TTSCacheService.class, configurationPid = SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Text-to-Speech Cache",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:ttscache",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
+public class TTSCacheService {
+
+    /**
+     * Service pid
+     */
+    static final String SERVICE_PID = "org.openhab.voice.ttscache";
+
+    /**
+     * Cache folder under $userdata
+     */
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    /**
+     * Configuration parameters
+     */
+    private static final String PARAM_MAX_SIZE = "maxSize";
+    private static final String PARAM_PREWARM_FILE = "prewarmFile";
+    private static final String PARAM_PREWARM_VOICES = "prewarmVoices";
+
+    private static final long DEFAULT_MAX_SIZE_MB = 1024;
+    private static final int INDEX_FLUSH_INTERVAL_SECONDS = 60;
+    // gives the TTS services some time to come up before they are used for pre-warming
+    private static final int PREWARM_DELAY_SECONDS = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCacheService.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+
+    private final VoiceManager voiceManager;
+    private final TTSCache cache;
+
+    private @Nullable ScheduledFuture<?> flushJob;
+    private @Nullable ScheduledFuture<?> prewarmJob;
+
+    @Activate
+    public TTSCacheService(@Reference VoiceManager voiceManager, Map<String, Object> config) {
+        this.voiceManager = voiceManager;
+        File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
+        logger.info("Using TTS cache folder {}", cacheFolder.getAbsolutePath());
+        cache = new TTSCache(cacheFolder, getMaxSize(config));
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, INDEX_FLUSH_INTERVAL_SECONDS,
+                INDEX_FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        schedulePrewarm(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        cache.setMaxSize(getMaxSize(config));
+        schedulePrewarm(config);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        flushJob = null;
+        cancelPrewarm();
+        cache.flush();
+    }
+
+    /**
+     * @return the shared cache
+     */
+    public TTSCache getCache() {
+        return cache;
+    }
+
+    private void flush() {
+        cache.flush();
+        logger.debug("TTS cache: {} entries, {} bytes, hit ratio {}, {} bytes served, {} evicted",
+                cache.getEntryCount(), cache.getSize(), cache.getHitRatio(), cache.getBytesServed(),
+                cache.getEvictionCount());
+    }
+
+    private long getMaxSize(Map<String, Object> config) {
+        Object param = config.get(PARAM_MAX_SIZE);
+        long maxSizeMB = DEFAULT_MAX_SIZE_MB;
+        if (param != null) {
+            try {
+                maxSizeMB = (long) Double.parseDouble(param.toString());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid TTS cache size '{}', using {} MB", param, DEFAULT_MAX_SIZE_MB);
+            }
+        }
+        return maxSizeMB * 1024 * 1024;
+    }
+
+    private synchronized void schedulePrewarm(Map<String, Object> config) {
+        cancelPrewarm();
+        Object file = config.get(PARAM_PREWARM_FILE);
+        Object voices = config.get(PARAM_PREWARM_VOICES);
+        if (file == null || file.toString().trim().isEmpty() || voices == null) {
+            return;
+        }
+        File phraseFile = new File(file.toString().trim());
+        if (!phraseFile.isAbsolute()) {
+            phraseFile = new File(ConfigConstants.getConfigFolder(), phraseFile.getPath());
+        }
+        final File prewarmFile = phraseFile;
+        List<String> voiceIds = Stream.of(voices.toString().split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+        prewarmJob = scheduler.schedule(() -> prewarm(prewarmFile, voiceIds), PREWARM_DELAY_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    private synchronized void cancelPrewarm() {
+        ScheduledFuture<?> job = prewarmJob;
+        if (job != null) {
+            job.cancel(true);
+        }
+        prewarmJob = null;
+    }
+
+    /**
+     * Synthesizes every phrase of the given file with every given voice, so the audio is cached before it is needed
+     * the first time.
+     *
+     * @param phraseFile text file with one phrase per line
+     * @param voiceIds the UIDs of the voices, e.g. "pollytts:Joanna"
+     */
+    void prewarm(File phraseFile, List<String> voiceIds) {
+        List<String> phrases;
+        try {
+            phrases = Files.readAllLines(phraseFile.toPath(), StandardCharsets.UTF_8).stream().map(String::trim)
+                    .filter(s -> !s.isEmpty()).collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Could not read TTS cache phrase file {}: {}", phraseFile, e.getMessage());
+            return;
+        }
+
+        for (String voiceId : voiceIds) {
+            Optional<Voice> voice = voiceManager.getAllVoices().stream().filter(v -> v.getUID().equals(voiceId))
+                    .findAny();
+            TTSService tts = voiceManager.getTTS(voiceId.split(":")[0]);
+            if (!voice.isPresent() || tts == null) {
+                logger.warn("Voice '{}' is not available, skipping TTS cache pre-warming", voiceId);
+                continue;
+            }
+            AudioFormat format = getPrewarmFormat(tts);
+            if (format == null) {
+                continue;
+            }
+            long misses = cache.getMissCount();
+            for (String phrase : phrases) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try (AudioStream stream = tts.synthesize(phrase, voice.get(), format)) {
+                    // synthesizing is enough to fill the cache
+                } catch (TTSException | IOException e) {
+                    logger.warn("Could not pre-warm '{}' with voice '{}': {}", phrase, voiceId, e.getMessage());
+                }
+            }
+            logger.debug("Pre-warmed TTS cache with {} phrases for voice '{}', {} newly synthesized", phrases.size(),
+                    voiceId, cache.getMissCount() - misses);
+        }
+        cache.flush();
+    }
+
+    /**
+     * Most audio sinks request MP3, so the phrases are pre-warmed in MP3 if the service supports it.
+     */
+    private @Nullable AudioFormat getPrewarmFormat(TTSService tts) {
+        AudioFormat fallback = null;
+        for (AudioFormat format : tts.getSupportedFormats()) {
+            if (AudioFormat.CODEC_MP3.equals(format.getCodec())) {
+                return format;
+            }
+            fallback = format;
+        }
+        return fallback;
+    }
+}
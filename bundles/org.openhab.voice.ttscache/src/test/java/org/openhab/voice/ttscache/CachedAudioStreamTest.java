@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that {@link CachedAudioStream} reports the time to the first audio byte to the {@link SynthesisStatistics}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CachedAudioStreamTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final SynthesisStatistics statistics = new SynthesisStatistics("test");
+
+    @Test
+    public void firstByteIsRecordedWhenTheSinkReads() throws Exception {
+        long requestNanos = System.nanoTime();
+        try (CachedAudioStream stream = new CachedAudioStream(audioFile(100), AudioFormat.WAV, statistics,
+                requestNanos)) {
+            // creating the stream is not the first byte yet
+            Thread.sleep(50);
+            assertThat(statistics.getCount(), is(0L));
+
+            assertThat(stream.read(new byte[10], 0, 10), is(10));
+            assertThat(statistics.getCount(), is(1L));
+            assertThat(statistics.getLastMillis(), greaterThanOrEqualTo(50L));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestNanos);
+            assertThat(statistics.getLastMillis(), lessThanOrEqualTo(elapsed));
+
+            // further reads are not recorded
+            stream.read();
+            stream.read(new byte[10], 0, 10);
+            assertThat(statistics.getCount(), is(1L));
+        }
+    }
+
+    @Test
+    public void everyStreamIsRecordedOnce() throws Exception {
+        File file = audioFile(10);
+        for (int i = 0; i < 3; i++) {
+            try (CachedAudioStream stream = new CachedAudioStream(file, AudioFormat.WAV, statistics,
+                    System.nanoTime())) {
+                stream.read();
+            }
+        }
+        assertThat(statistics.getCount(), is(3L));
+        assertThat(statistics.getMaxMillis(), greaterThanOrEqualTo(statistics.getAverageMillis()));
+    }
+
+    @Test
+    public void emptyStreamIsNotRecorded() throws Exception {
+        try (CachedAudioStream stream = new CachedAudioStream(audioFile(0), AudioFormat.WAV, statistics,
+                System.nanoTime())) {
+            assertThat(stream.read(), is(-1));
+            assertThat(stream.read(new byte[10], 0, 10), is(-1));
+        }
+        assertThat(statistics.getCount(), is(0L));
+    }
+
+    private File audioFile(int size) throws Exception {
+        File file = tmp.newFile();
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+}
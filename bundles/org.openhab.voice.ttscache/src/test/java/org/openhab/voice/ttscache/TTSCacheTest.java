@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link TTSCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSCacheTest {
+
+    private static final int AUDIO_SIZE = 100;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File folder;
+    private final AtomicInteger synthesized = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        folder = tmp.newFolder("cache");
+    }
+
+    @Test
+    public void secondRequestIsServedFromCache() throws IOException {
+        TTSCache cache = new TTSCache(folder, 10 * AUDIO_SIZE, 0);
+
+        File first = get(cache, "pico", "hello");
+        File second = get(cache, "pico", "hello");
+
+        assertThat(second, is(first));
+        assertThat(synthesized.get(), is(1));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() throws IOException {
+        TTSCache cache = new TTSCache(folder, 3 * AUDIO_SIZE, 0);
+
+        File one = get(cache, "pico", "one");
+        File two = get(cache, "pico", "two");
+        get(cache, "pico", "three");
+        // makes "two" the least recently used entry
+        get(cache, "pico", "one");
+        get(cache, "pico", "four");
+
+        assertThat(cache.getEntryCount(), is(3));
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertTrue(one.exists());
+        assertFalse(two.exists());
+        assertFalse(cache.contains(TTSCache.key("pico", "two")));
+    }
+
+    @Test
+    public void sizeStaysWithinBound() throws IOException {
+        TTSCache cache = new TTSCache(folder, 5 * AUDIO_SIZE + AUDIO_SIZE / 2, 0);
+
+        for (int i = 0; i < 20; i++) {
+            get(cache, "pico", "text " + i);
+            assertThat(cache.getSize(), is(lessThanOrEqualTo(5L * AUDIO_SIZE)));
+        }
+        assertThat(cache.getEntryCount(), is(5));
+        assertThat(audioFileCount(), is(5));
+
+        cache.setMaxSize(2 * AUDIO_SIZE);
+        assertThat(cache.getEntryCount(), is(2));
+        assertThat(cache.getSize(), is(2L * AUDIO_SIZE));
+        assertThat(audioFileCount(), is(2));
+    }
+
+    @Test
+    public void mostRecentlyUsedEntryIsKeptEvenIfTooLarge() throws IOException {
+        TTSCache cache = new TTSCache(folder, AUDIO_SIZE / 2, 0);
+
+        get(cache, "pico", "one");
+        File two = get(cache, "pico", "two");
+
+        assertThat(cache.getEntryCount(), is(1));
+        assertTrue(two.exists());
+    }
+
+    @Test
+    public void entriesInUseAreNotEvicted() throws IOException {
+        TTSCache cache = new TTSCache(folder, 2 * AUDIO_SIZE, TTSCache.IN_USE_MILLIS);
+
+        File one = get(cache, "pico", "one");
+        get(cache, "pico", "two");
+        get(cache, "pico", "three");
+
+        assertTrue(one.exists());
+        assertThat(cache.getEntryCount(), is(3));
+        assertThat(cache.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void keysDoNotCollide() {
+        assertThat(TTSCache.key("pico", "en-US", "wav", "hello"), is(TTSCache.key("pico", "en-US", "wav", "hello")));
+        assertThat(TTSCache.key("pico", "en-US", "wav", "hello"),
+                is(not(TTSCache.key("pico", "en-US", "mp3", "hello"))));
+        assertThat(TTSCache.key("pico", "ab", "c"), is(not(TTSCache.key("pico", "a", "bc"))));
+        assertThat(TTSCache.key("pico", "abc"), is(not(TTSCache.key("pico", "ab", "c"))));
+        assertThat(TTSCache.key("pico", "hello"), is(not(TTSCache.key("mary", "hello"))));
+    }
+
+    @Test
+    public void purgeOnlyRemovesEntriesOfTheService() throws IOException {
+        TTSCache cache = new TTSCache(folder, 10 * AUDIO_SIZE, 0);
+
+        get(cache, "mary", "hello");
+        get(cache, "mary_tts", "hello");
+        get(cache, "pico", "hello");
+
+        assertThat(cache.purge("mary"), is(1));
+        assertFalse(cache.contains(TTSCache.key("mary", "hello")));
+        assertTrue(cache.contains(TTSCache.key("mary_tts", "hello")));
+        assertTrue(cache.contains(TTSCache.key("pico", "hello")));
+    }
+
+    @Test
+    public void indexAndOrderSurviveRestart() throws IOException {
+        TTSCache cache = new TTSCache(folder, 3 * AUDIO_SIZE, 0);
+        get(cache, "pico", "one");
+        get(cache, "pico", "two\twith\nspecial characters");
+        get(cache, "pico", "three");
+        get(cache, "pico", "one");
+        cache.flush();
+
+        TTSCache restarted = new TTSCache(folder, 3 * AUDIO_SIZE, 0);
+        assertThat(restarted.getEntryCount(), is(3));
+        assertThat(restarted.getSize(), is(3L * AUDIO_SIZE));
+        get(restarted, "pico", "four");
+
+        assertThat(synthesized.get(), is(4));
+        assertFalse(restarted.contains(TTSCache.key("pico", "two\twith\nspecial characters")));
+        assertTrue(restarted.contains(TTSCache.key("pico", "one")));
+    }
+
+    @Test
+    public void leftOverTemporaryFilesAreDeletedOnStartup() throws IOException {
+        File audioTmp = new File(folder, TTSCache.key("pico", "hello") + ".wav" + TTSCache.TMP_FILE_EXTENSION);
+        File indexTmp = new File(folder, TTSCache.INDEX_FILE_NAME + TTSCache.TMP_FILE_EXTENSION);
+        Files.write(audioTmp.toPath(), new byte[AUDIO_SIZE]);
+        Files.write(indexTmp.toPath(), new byte[AUDIO_SIZE]);
+
+        new TTSCache(folder, 10 * AUDIO_SIZE, 0);
+
+        assertFalse(audioTmp.exists());
+        assertFalse(indexTmp.exists());
+    }
+
+    @Test
+    public void failedSynthesisIsNotCached() throws IOException {
+        TTSCache cache = new TTSCache(folder, 10 * AUDIO_SIZE, 0);
+        String key = TTSCache.key("pico", "hello");
+
+        try {
+            cache.getFile(key, "wav", "hello", () -> {
+                throw new IOException("synthesis failed");
+            });
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("synthesis failed"));
+        }
+
+        assertFalse(cache.contains(key));
+        assertThat(folder.list().length, is(0));
+    }
+
+    private File get(TTSCache cache, String serviceId, String text) throws IOException {
+        return cache.getFile(TTSCache.key(serviceId, text), "wav", text, () -> {
+            synthesized.incrementAndGet();
+            return new ByteArrayInputStream(new byte[AUDIO_SIZE]);
+        });
+    }
+
+    private int audioFileCount() {
+        return folder.list((dir, name) -> name.endsWith(".wav")).length;
+    }
+}
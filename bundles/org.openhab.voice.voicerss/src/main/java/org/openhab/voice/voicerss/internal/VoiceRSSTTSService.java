@@ -20,7 +20,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
@@ -28,10 +27,12 @@ import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCacheService;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,9 +48,6 @@ import org.slf4j.LoggerFactory;
         ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class VoiceRSSTTSService implements TTSService {
 
-    /** Cache folder name is below userdata/voicerss/cache. */
-    private static final String CACHE_FOLDER_NAME = "voicerss" + File.separator + "cache";
-
     // API Key comes from ConfigAdmin
     private static final String CONFIG_API_KEY = "apiKey";
     private String apiKey;
@@ -71,6 +69,11 @@ public class VoiceRSSTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
+    /**
+     * Shared audio cache
+     */
+    private TTSCacheService ttsCacheService;
+
     /**
      * DS activate, with access to ConfigAdmin
      */
@@ -80,13 +83,20 @@ public class VoiceRSSTTSService implements TTSService {
             voiceRssImpl = initVoiceImplementation();
             voices = initVoices();
             audioFormats = initAudioFormats();
-
-            logger.debug("Using VoiceRSS cache folder {}", getCacheFolderName());
         } catch (IllegalStateException e) {
             logger.error("Failed to activate VoiceRSS: {}", e.getMessage(), e);
         }
     }
 
+    @Reference
+    protected void setTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = ttsCacheService;
+    }
+
+    protected void unsetTTSCacheService(TTSCacheService ttsCacheService) {
+        this.ttsCacheService = null;
+    }
+
     @Modified
     protected void modified(Map<String, Object> config) {
         if (config != null) {
@@ -215,12 +225,7 @@ public class VoiceRSSTTSService implements TTSService {
     }
 
     private CachedVoiceRSSCloudImpl initVoiceImplementation() {
-        return new CachedVoiceRSSCloudImpl(getCacheFolderName());
-    }
-
-    private String getCacheFolderName() {
-        // we assume that this folder does NOT have a trailing separator
-        return ConfigConstants.getUserDataFolder() + File.separator + CACHE_FOLDER_NAME;
+        return new CachedVoiceRSSCloudImpl(ttsCacheService.getCache());
     }
 
     @Override
@@ -17,6 +17,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 
+import org.openhab.voice.ttscache.TTSCache;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 
 /**
@@ -49,6 +50,8 @@ public class CreateTTSCache {
         String apiKey = args[1];
         String cacheDir = args[2];
         String locale = args[3];
+        TTSCache cache = new TTSCache(new File(cacheDir), Long.MAX_VALUE);
+        CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cache);
         if (args[4].startsWith("@")) {
             String inputFileName = args[4].substring(1);
             File inputFile = new File(inputFileName);
@@ -57,11 +60,12 @@ public class CreateTTSCache {
                 System.err.println("File " + inputFileName + " not found");
                 return RC_INPUT_FILE_NOT_FOUND;
             }
-            generateCacheForFile(apiKey, cacheDir, locale, inputFileName);
+            generateCacheForFile(impl, apiKey, locale, inputFileName);
         } else {
             String text = args[4];
-            generateCacheForMessage(apiKey, cacheDir, locale, text);
+            generateCacheForMessage(impl, apiKey, locale, text);
         }
+        cache.flush();
         return RC_OK;
     }
 
@@ -80,19 +84,20 @@ public class CreateTTSCache {
         System.out.println();
     }
 
-    private void generateCacheForFile(String apiKey, String cacheDir, String locale, String inputFileName)
-            throws IOException {
+    private void generateCacheForFile(CachedVoiceRSSCloudImpl impl, String apiKey, String locale,
+            String inputFileName) throws IOException {
         File inputFile = new File(inputFileName);
         try (BufferedReader br = new BufferedReader(new FileReader(inputFile))) {
             String line;
             while ((line = br.readLine()) != null) {
                 // process the line.
-                generateCacheForMessage(apiKey, cacheDir, locale, line);
+                generateCacheForMessage(impl, apiKey, locale, line);
             }
         }
     }
 
-    private void generateCacheForMessage(String apiKey, String cacheDir, String locale, String msg) throws IOException {
+    private void generateCacheForMessage(CachedVoiceRSSCloudImpl impl, String apiKey, String locale, String msg)
+            throws IOException {
         if (msg == null) {
             System.err.println("Ignore msg=null");
             return;
@@ -102,7 +107,6 @@ public class CreateTTSCache {
             System.err.println("Ignore msg=''");
             return;
         }
-        CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cacheDir);
         File cachedFile = impl.getTextToSpeechAsFile(apiKey, trimmedMsg, locale, "MP3");
         System.out.println(
                 "Created cached audio for locale='" + locale + "', msg='" + trimmedMsg + "' to file=" + cachedFile);